@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which an {@code IdentifiedDataSerializable} implementation is generated at build time.
+ * <p/>
+ * For a class {@code Person} the processor generates {@code PersonDataSerializable}, a subclass of {@code Person} in the
+ * same package that writes and reads the fields of {@code Person} one by one. Next to it a {@code DataSerializerHook}
+ * named {@code GeneratedDataSerializerHook<factoryId>} is generated for every factory id and registered in
+ * {@code META-INF/services/com.hazelcast.DataSerializerHook}, so no serialization configuration is needed.
+ * <p/>
+ * The annotated class must be a non-final top level or static nested class with a non-private no-arg constructor. All
+ * non-static and non-transient fields, including the inherited ones, are serialized and must therefore be non-private
+ * and non-final. All classes of a factory id must be in the same package and should be compiled together, since the
+ * factory is generated from the classes seen in a single compilation.
+ *
+ * @since 3.8
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface DataSerializableType {
+
+    /**
+     * @return the id of the factory creating instances of the generated class
+     */
+    int factoryId();
+
+    /**
+     * @return the id of the generated class, unique within its factory
+     */
+    int classId();
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.annotation.processor;
+
+import com.hazelcast.annotation.DataSerializableType;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates an {@code IdentifiedDataSerializable} subclass for every class annotated with {@link DataSerializableType},
+ * a {@code DataSerializerHook} for every factory id and the {@code META-INF/services} file registering the hooks.
+ * <p/>
+ * The subclasses are generated in the round the annotated classes are found. The hooks are generated in the next round,
+ * once all annotated classes of the compilation are known, and the services file is written when processing is over.
+ * The hooks already listed in the services file of the class output, e.g. copied there from the resources of the
+ * project, are kept.
+ */
+public class DataSerializableProcessor extends AbstractProcessor {
+
+    static final String SERVICES_FILE = "META-INF/services/com.hazelcast.DataSerializerHook";
+
+    private static final String DATA_SERIALIZABLE = "com.hazelcast.nio.serialization.DataSerializable";
+    // javax.annotation.Generated is gone from the JDK since Java 9 unless javax.annotation-api is on the class path,
+    // its replacement is only available since Java 9
+    private static final String[] GENERATED_ANNOTATIONS = {"javax.annotation.processing.Generated", "javax.annotation.Generated"};
+
+    private final Map<Integer, Factory> pendingFactories = new TreeMap<Integer, Factory>();
+    private final Map<Integer, Factory> generatedFactories = new TreeMap<Integer, Factory>();
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+    private String generatedAnnotation;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+        for (String annotation : GENERATED_ANNOTATIONS) {
+            if (elements.getTypeElement(annotation) != null) {
+                generatedAnnotation = annotation;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(DataSerializableType.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<? extends Element> annotated = roundEnv.getElementsAnnotatedWith(DataSerializableType.class);
+        if (!annotated.isEmpty()) {
+            for (TypeElement type : ElementFilter.typesIn(annotated)) {
+                process(type);
+            }
+        } else {
+            generateFactories();
+        }
+
+        if (roundEnv.processingOver()) {
+            generateFactories();
+            generateServicesFile();
+        }
+        return true;
+    }
+
+    private void process(TypeElement type) {
+        if (!isValidClass(type)) {
+            return;
+        }
+        List<SerializedField> fields = fieldsOf(type);
+        if (fields == null) {
+            return;
+        }
+
+        DataSerializableType annotation = type.getAnnotation(DataSerializableType.class);
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        Factory factory = factoryFor(annotation.factoryId(), packageName, type);
+        if (factory == null) {
+            return;
+        }
+        if (factory.classes.containsKey(annotation.classId())) {
+            error(type, "Class id " + annotation.classId() + " of factory " + annotation.factoryId()
+                    + " is already used by " + factory.classes.get(annotation.classId()));
+            return;
+        }
+
+        DataSerializableWriter writer = new DataSerializableWriter(packageName, generatedAnnotation);
+        String generatedName = writer.generatedNameOf(type.getQualifiedName().toString());
+        factory.classes.put(annotation.classId(), generatedName);
+        String source = writer.writeClass(type.getQualifiedName().toString(), generatedName,
+                Factory.hookNameOf(annotation.factoryId()), annotation.classId(), fields);
+        writeSource(qualify(packageName, generatedName), source, type);
+    }
+
+    private boolean isValidClass(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS) {
+            error(type, "@DataSerializableType can only be applied to classes");
+            return false;
+        }
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.PRIVATE)) {
+            error(type, "A @DataSerializableType class must not be final or private");
+            return false;
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL
+                && !(type.getNestingKind() == NestingKind.MEMBER && modifiers.contains(Modifier.STATIC))) {
+            error(type, "A @DataSerializableType class must be a top level or a static nested class");
+            return false;
+        }
+        TypeElement dataSerializable = elements.getTypeElement(DATA_SERIALIZABLE);
+        if (dataSerializable != null
+                && types.isAssignable(types.erasure(type.asType()), types.erasure(dataSerializable.asType()))) {
+            error(type, "A @DataSerializableType class must not implement DataSerializable itself");
+            return false;
+        }
+        if (!hasNoArgConstructor(type)) {
+            error(type, "A @DataSerializableType class must have a non-private no-arg constructor");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean hasNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the serialized fields of the given class and its superclasses, superclass fields first. Returns
+     * {@code null} if any of the fields can't be serialized by a generated subclass.
+     */
+    private List<SerializedField> fieldsOf(TypeElement type) {
+        PackageElement typePackage = elements.getPackageOf(type);
+        List<TypeElement> hierarchy = new ArrayList<TypeElement>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            if (current.getQualifiedName().contentEquals(Object.class.getName())) {
+                break;
+            }
+            hierarchy.add(0, current);
+        }
+
+        boolean valid = true;
+        List<SerializedField> fields = new ArrayList<SerializedField>();
+        for (TypeElement declaringType : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                String problem = problemOf(modifiers, typePackage.equals(elements.getPackageOf(declaringType)));
+                if (problem != null) {
+                    error(field, "Field " + field.getSimpleName() + " of @DataSerializableType class "
+                            + type.getQualifiedName() + " " + problem);
+                    valid = false;
+                    continue;
+                }
+                fields.add(new SerializedField(field.getSimpleName().toString(), FieldType.of(field.asType())));
+            }
+        }
+        return valid ? fields : null;
+    }
+
+    private static String problemOf(Set<Modifier> modifiers, boolean samePackage) {
+        if (modifiers.contains(Modifier.FINAL)) {
+            return "must not be final";
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return "must not be private";
+        }
+        if (!modifiers.contains(Modifier.PUBLIC) && !samePackage) {
+            return "must be public since it is declared in another package";
+        }
+        return null;
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private Factory factoryFor(int factoryId, String packageName, TypeElement type) {
+        if (generatedFactories.containsKey(factoryId)) {
+            error(type, "The factory " + factoryId + " has already been generated, all classes of a factory must be"
+                    + " compiled together");
+            return null;
+        }
+        Factory factory = pendingFactories.get(factoryId);
+        if (factory == null) {
+            factory = new Factory(factoryId, packageName);
+            pendingFactories.put(factoryId, factory);
+        } else if (!factory.packageName.equals(packageName)) {
+            error(type, "All classes of factory " + factoryId + " must be in package " + factory.packageName);
+            return null;
+        }
+        return factory;
+    }
+
+    private void generateFactories() {
+        for (Factory factory : pendingFactories.values()) {
+            DataSerializableWriter writer = new DataSerializableWriter(factory.packageName, generatedAnnotation);
+            String hookName = Factory.hookNameOf(factory.factoryId);
+            writeSource(qualify(factory.packageName, hookName),
+                    writer.writeHook(hookName, factory.factoryId, factory.classes), null);
+            generatedFactories.put(factory.factoryId, factory);
+        }
+        pendingFactories.clear();
+    }
+
+    private void generateServicesFile() {
+        if (generatedFactories.isEmpty()) {
+            return;
+        }
+        Set<String> hooks = readServicesFile();
+        for (Factory factory : generatedFactories.values()) {
+            hooks.add(qualify(factory.packageName, Factory.hookNameOf(factory.factoryId)));
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICES_FILE);
+            Writer writer = file.openWriter();
+            try {
+                for (String hook : hooks) {
+                    writer.write(hook);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write " + SERVICES_FILE + ": " + e);
+        }
+    }
+
+    /**
+     * Reads the hooks listed in an existing services file of the class output.
+     */
+    private Set<String> readServicesFile() {
+        Set<String> hooks = new LinkedHashSet<String>();
+        try {
+            FileObject file = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICES_FILE);
+            BufferedReader reader = new BufferedReader(file.openReader(true));
+            try {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    int comment = line.indexOf('#');
+                    String hook = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!hook.isEmpty()) {
+                        hooks.add(hook);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // there is no services file yet
+            return hooks;
+        }
+        return hooks;
+    }
+
+    private void writeSource(String name, String source, Element origin) {
+        try {
+            JavaFileObject file = origin == null ? filer.createSourceFile(name) : filer.createSourceFile(name, origin);
+            Writer writer = file.openWriter();
+            try {
+                writer.write(source);
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write " + name + ": " + e, origin);
+        }
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+    }
+
+    /**
+     * The classes of a single factory id, by their class id.
+     */
+    private static final class Factory {
+
+        final int factoryId;
+        final String packageName;
+        final Map<Integer, String> classes = new TreeMap<Integer, String>();
+
+        Factory(int factoryId, String packageName) {
+            this.factoryId = factoryId;
+            this.packageName = packageName;
+        }
+
+        static String hookNameOf(int factoryId) {
+            return "GeneratedDataSerializerHook" + (factoryId < 0 ? "_" + -factoryId : String.valueOf(factoryId));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.annotation.processor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the sources of the generated classes of a single package.
+ */
+final class DataSerializableWriter {
+
+    private final String packageName;
+    private final String generatedAnnotation;
+
+    /**
+     * @param packageName         the package of the generated classes
+     * @param generatedAnnotation the qualified name of the {@code Generated} annotation to mark the generated classes with,
+     *                            or {@code null} if the compiling JDK has none
+     */
+    DataSerializableWriter(String packageName, String generatedAnnotation) {
+        this.packageName = packageName;
+        this.generatedAnnotation = generatedAnnotation;
+    }
+
+    /**
+     * Returns the simple name of the class generated for the given annotated class, {@code Outer_InnerDataSerializable}
+     * for a nested class {@code Outer.Inner}.
+     */
+    String generatedNameOf(String qualifiedName) {
+        String name = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return name.replace('.', '_') + "DataSerializable";
+    }
+
+    String writeClass(String typeName, String generatedName, String hookName, int classId, List<SerializedField> fields) {
+        StringBuilder sb = new StringBuilder();
+        writeHeader(sb);
+        sb.append("import com.hazelcast.nio.ObjectDataInput;\n")
+          .append("import com.hazelcast.nio.ObjectDataOutput;\n")
+          .append("import com.hazelcast.nio.serialization.IdentifiedDataSerializable;\n\n")
+          .append("import java.io.IOException;\n\n");
+        writeGenerated(sb);
+        sb.append("public class ").append(generatedName).append(" extends ").append(typeName)
+          .append(" implements IdentifiedDataSerializable {\n\n");
+
+        sb.append("    public ").append(generatedName).append("() {\n")
+          .append("    }\n\n");
+
+        sb.append("    public ").append(generatedName).append('(').append(typeName).append(" source) {\n");
+        for (SerializedField field : fields) {
+            sb.append("        this.").append(field.getName()).append(" = source.").append(field.getName()).append(";\n");
+        }
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n")
+          .append("    public int getFactoryId() {\n")
+          .append("        return ").append(hookName).append(".F_ID;\n")
+          .append("    }\n\n")
+          .append("    @Override\n")
+          .append("    public int getId() {\n")
+          .append("        return ").append(classId).append(";\n")
+          .append("    }\n\n");
+
+        sb.append("    @Override\n")
+          .append("    public void writeData(ObjectDataOutput out) throws IOException {\n");
+        for (SerializedField field : fields) {
+            sb.append("        out.write").append(field.getType().getMethodSuffix())
+              .append('(').append(field.getName()).append(");\n");
+        }
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n")
+          .append("    public void readData(ObjectDataInput in) throws IOException {\n");
+        for (SerializedField field : fields) {
+            sb.append("        this.").append(field.getName()).append(" = in.read")
+              .append(field.getType().getMethodSuffix()).append("();\n");
+        }
+        sb.append("    }\n")
+          .append("}\n");
+        return sb.toString();
+    }
+
+    String writeHook(String hookName, int factoryId, Map<Integer, String> classes) {
+        StringBuilder sb = new StringBuilder();
+        writeHeader(sb);
+        sb.append("import com.hazelcast.internal.serialization.DataSerializerHook;\n")
+          .append("import com.hazelcast.nio.serialization.DataSerializableFactory;\n")
+          .append("import com.hazelcast.nio.serialization.IdentifiedDataSerializable;\n\n");
+        writeGenerated(sb);
+        sb.append("public final class ").append(hookName).append(" implements DataSerializerHook {\n\n")
+          .append("    public static final int F_ID = ").append(factoryId).append(";\n\n")
+          .append("    @Override\n")
+          .append("    public int getFactoryId() {\n")
+          .append("        return F_ID;\n")
+          .append("    }\n\n")
+          .append("    @Override\n")
+          .append("    public DataSerializableFactory createFactory() {\n")
+          .append("        return new DataSerializableFactory() {\n")
+          .append("            @Override\n")
+          .append("            public IdentifiedDataSerializable create(int typeId) {\n")
+          .append("                switch (typeId) {\n");
+        for (Map.Entry<Integer, String> entry : classes.entrySet()) {
+            sb.append("                    case ").append(entry.getKey()).append(":\n")
+              .append("                        return new ").append(entry.getValue()).append("();\n");
+        }
+        sb.append("                    default:\n")
+          .append("                        return null;\n")
+          .append("                }\n")
+          .append("            }\n")
+          .append("        };\n")
+          .append("    }\n")
+          .append("}\n");
+        return sb.toString();
+    }
+
+    private void writeGenerated(StringBuilder sb) {
+        if (generatedAnnotation != null) {
+            sb.append('@').append(generatedAnnotation).append("(\"").append(DataSerializableProcessor.class.getName())
+              .append("\")\n");
+        }
+    }
+
+    private void writeHeader(StringBuilder sb) {
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.annotation.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * The ways a field is written to an {@code ObjectDataOutput}, named after the suffix of the matching
+ * {@code writeXxx} and {@code readXxx} methods.
+ */
+enum FieldType {
+
+    BOOLEAN("Boolean"),
+    BYTE("Byte"),
+    CHAR("Char"),
+    SHORT("Short"),
+    INT("Int"),
+    LONG("Long"),
+    FLOAT("Float"),
+    DOUBLE("Double"),
+    UTF("UTF"),
+    BOOLEAN_ARRAY("BooleanArray"),
+    BYTE_ARRAY("ByteArray"),
+    CHAR_ARRAY("CharArray"),
+    SHORT_ARRAY("ShortArray"),
+    INT_ARRAY("IntArray"),
+    LONG_ARRAY("LongArray"),
+    FLOAT_ARRAY("FloatArray"),
+    DOUBLE_ARRAY("DoubleArray"),
+    UTF_ARRAY("UTFArray"),
+    OBJECT("Object");
+
+    private final String methodSuffix;
+
+    FieldType(String methodSuffix) {
+        this.methodSuffix = methodSuffix;
+    }
+
+    String getMethodSuffix() {
+        return methodSuffix;
+    }
+
+    static FieldType of(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return ofPrimitive(type.getKind());
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) type).getComponentType();
+            if (component.getKind().isPrimitive()) {
+                return valueOf(ofPrimitive(component.getKind()).name() + "_ARRAY");
+            }
+            return isString(component) ? UTF_ARRAY : OBJECT;
+        }
+        return isString(type) ? UTF : OBJECT;
+    }
+
+    private static FieldType ofPrimitive(TypeKind kind) {
+        return valueOf(kind.name());
+    }
+
+    private static boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(String.class.getName());
+    }
+}
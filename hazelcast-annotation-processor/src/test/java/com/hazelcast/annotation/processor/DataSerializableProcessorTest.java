@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.annotation.processor;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class DataSerializableProcessorTest extends HazelcastTestSupport {
+
+    private static final String PERSON = "package sample;\n"
+            + "import com.hazelcast.annotation.DataSerializableType;\n"
+            + "@DataSerializableType(factoryId = 1000, classId = 1)\n"
+            + "public class Person extends Named {\n"
+            + "    public static int ignoredStatic;\n"
+            + "    transient int ignoredTransient;\n"
+            + "    boolean active; byte b; char c; short s; int age; long id; float f; double d;\n"
+            + "    int[] scores; String[] tags;\n"
+            + "    Address address;\n"
+            + "    java.util.List<String> nicknames;\n"
+            + "    public static class Address { String street; }\n"
+            + "}\n";
+
+    private static final String NAMED = "package sample;\n"
+            + "public class Named { protected String name; }\n";
+
+    private static final String ADDRESS = "package sample;\n"
+            + "import com.hazelcast.annotation.DataSerializableType;\n"
+            + "public class Holder {\n"
+            + "    @DataSerializableType(factoryId = 1000, classId = 2)\n"
+            + "    public static class Address { String street; int number; }\n"
+            + "}\n";
+
+    private File outputDir;
+    private List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+    @Before
+    public void setUp() {
+        outputDir = new File(System.getProperty("java.io.tmpdir"), "processor-" + randomString());
+        assertTrue(outputDir.mkdirs());
+    }
+
+    @After
+    public void tearDown() {
+        IOUtil.delete(outputDir);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        assertTrue(compile("sample.Person", PERSON, "sample.Named", NAMED, "sample.Holder", ADDRESS));
+        ClassLoader classLoader = new URLClassLoader(new URL[]{outputDir.toURI().toURL()}, getClass().getClassLoader());
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder()
+                .setClassLoader(classLoader).build();
+
+        Class<?> personClass = classLoader.loadClass("sample.Person");
+        Object person = personClass.newInstance();
+        set(person, "name", "joe");
+        set(person, "active", true);
+        set(person, "b", (byte) 1);
+        set(person, "c", 'c');
+        set(person, "s", (short) 2);
+        set(person, "age", 42);
+        set(person, "id", 1234L);
+        set(person, "f", 0.5f);
+        set(person, "d", 1.5d);
+        set(person, "scores", new int[]{1, 2});
+        set(person, "tags", new String[]{"a", "b"});
+        set(person, "nicknames", new ArrayList<String>(Arrays.asList("jo", "joey")));
+        set(person, "ignoredTransient", 5);
+
+        Object serializable = classLoader.loadClass("sample.PersonDataSerializable")
+                .getConstructor(personClass).newInstance(person);
+        Data data = serializationService.toData(serializable);
+        Object found = serializationService.toObject(data);
+
+        assertEquals(serializable.getClass(), found.getClass());
+        assertEquals(1000, ((IdentifiedDataSerializable) found).getFactoryId());
+        assertEquals(1, ((IdentifiedDataSerializable) found).getId());
+        assertEquals("joe", get(found, "name"));
+        assertEquals(true, get(found, "active"));
+        assertEquals((byte) 1, get(found, "b"));
+        assertEquals('c', get(found, "c"));
+        assertEquals((short) 2, get(found, "s"));
+        assertEquals(42, get(found, "age"));
+        assertEquals(1234L, get(found, "id"));
+        assertEquals(0.5f, get(found, "f"));
+        assertEquals(1.5d, get(found, "d"));
+        assertArrayEquals(new int[]{1, 2}, (int[]) get(found, "scores"));
+        assertArrayEquals(new String[]{"a", "b"}, (String[]) get(found, "tags"));
+        assertEquals(Arrays.asList("jo", "joey"), get(found, "nicknames"));
+        assertEquals(0, get(found, "ignoredTransient"));
+    }
+
+    @Test
+    public void testNestedClass() throws Exception {
+        assertTrue(compile("sample.Holder", ADDRESS));
+        ClassLoader classLoader = new URLClassLoader(new URL[]{outputDir.toURI().toURL()}, getClass().getClassLoader());
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder()
+                .setClassLoader(classLoader).build();
+
+        Object address = classLoader.loadClass("sample.Holder_AddressDataSerializable").newInstance();
+        set(address, "street", "main street");
+        set(address, "number", 7);
+        Object found = serializationService.toObject(serializationService.toData(address));
+
+        assertEquals("main street", get(found, "street"));
+        assertEquals(7, get(found, "number"));
+    }
+
+    @Test
+    public void testHookIsRegistered() throws Exception {
+        assertTrue(compile("sample.Person", PERSON, "sample.Named", NAMED, "sample.Holder", ADDRESS));
+
+        File services = new File(outputDir, DataSerializableProcessor.SERVICES_FILE);
+        assertTrue(services.exists());
+        ClassLoader classLoader = new URLClassLoader(new URL[]{outputDir.toURI().toURL()}, getClass().getClassLoader());
+        Class<?> hook = classLoader.loadClass("sample.GeneratedDataSerializerHook1000");
+        assertEquals(1000, hook.getField("F_ID").getInt(null));
+    }
+
+    @Test
+    public void testHookIsRegistered_whenServicesFileExists() throws Exception {
+        File services = new File(outputDir, DataSerializableProcessor.SERVICES_FILE);
+        assertTrue(services.getParentFile().mkdirs());
+        Writer writer = new FileWriter(services);
+        try {
+            writer.write("# hooks of the project\nsample.ExistingHook\n");
+        } finally {
+            writer.close();
+        }
+
+        assertTrue(compile("sample.Person", PERSON, "sample.Named", NAMED));
+
+        BufferedReader reader = new BufferedReader(new FileReader(services));
+        try {
+            assertEquals("sample.ExistingHook", reader.readLine());
+            assertEquals("sample.GeneratedDataSerializerHook1000", reader.readLine());
+            assertNull(reader.readLine());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testNoWarnings() {
+        assertTrue(compile("sample.Person", PERSON, "sample.Named", NAMED));
+
+        assertEquals(Collections.emptyList(), diagnostics);
+    }
+
+    @Test
+    public void testPrivateField() {
+        assertCompilationError("must not be private", "sample.A", "package sample;\n"
+                + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                + "public class A { private int value; }\n");
+    }
+
+    @Test
+    public void testFinalField() {
+        assertCompilationError("must not be final", "sample.A", "package sample;\n"
+                + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                + "public class A { final int value = 1; }\n");
+    }
+
+    @Test
+    public void testFinalClass() {
+        assertCompilationError("must not be final", "sample.A", "package sample;\n"
+                + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                + "public final class A { int value; }\n");
+    }
+
+    @Test
+    public void testNoArgConstructorMissing() {
+        assertCompilationError("no-arg constructor", "sample.A", "package sample;\n"
+                + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                + "public class A { int value; A(int value) { this.value = value; } }\n");
+    }
+
+    @Test
+    public void testAlreadyDataSerializable() {
+        assertCompilationError("must not implement DataSerializable", "sample.A", "package sample;\n"
+                + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                + "public abstract class A implements com.hazelcast.nio.serialization.DataSerializable { }\n");
+    }
+
+    @Test
+    public void testDuplicateClassId() {
+        assertCompilationError("already used", "sample.A", "package sample;\n"
+                        + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                        + "public class A { }\n",
+                "sample.B", "package sample;\n"
+                        + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                        + "public class B { }\n");
+    }
+
+    @Test
+    public void testFactoryInSeveralPackages() {
+        assertCompilationError("must be in package", "sample.A", "package sample;\n"
+                        + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 1)\n"
+                        + "public class A { }\n",
+                "other.B", "package other;\n"
+                        + "@com.hazelcast.annotation.DataSerializableType(factoryId = 1, classId = 2)\n"
+                        + "public class B { }\n");
+    }
+
+    private void assertCompilationError(String expectedMessage, String... sources) {
+        assertFalse(compile(sources));
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains(expectedMessage)) {
+                return;
+            }
+        }
+        throw new AssertionError("No error containing '" + expectedMessage + "' in " + diagnostics);
+    }
+
+    /**
+     * Compiles the given sources, passed as pairs of class name and source, with the processor into the output dir.
+     */
+    private boolean compile(String... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(collector, null, null);
+        List<JavaFileObject> units = new ArrayList<JavaFileObject>();
+        for (int i = 0; i < sources.length; i += 2) {
+            units.add(new SourceFile(sources[i], sources[i + 1]));
+        }
+        List<String> options = Arrays.asList("-d", outputDir.getPath(), "-s", outputDir.getPath(),
+                "-classpath", System.getProperty("java.class.path"));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, collector, options, null, units);
+        task.setProcessors(Collections.singletonList(new DataSerializableProcessor()));
+        boolean success = task.call();
+        diagnostics = collector.getDiagnostics();
+        return success;
+    }
+
+    private static void set(Object target, String name, Object value) throws Exception {
+        field(target.getClass(), name).set(target, value);
+    }
+
+    private static Object get(Object target, String name) throws Exception {
+        return field(target.getClass(), name).get(target);
+    }
+
+    private static Field field(Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException ignored) {
+                continue;
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
@@ -68,6 +68,19 @@ public interface ClientConnectionManager extends ConnectionListenable {
      */
     Connection getOrTriggerConnect(Address address, boolean asOwner);
 
+    /**
+     * Returns the connection to use for an operation on the given partition of the member the primary connection
+     * points to. If additional connections per member are configured, this can be a different connection than the
+     * primary one. This method never blocks: if the connection of the partition is not established yet, its connection is
+     * triggered and the primary connection is returned. The operations of a partition therefore switch from the primary
+     * connection to the pooled one once it is established; only the operations in flight at that moment may be reordered.
+     *
+     * @param primary     the primary connection to the partition owner
+     * @param partitionId the partition id of the operation
+     * @return the connection to use for the operation
+     */
+    Connection getPartitionConnection(Connection primary, int partitionId);
+
     /**
      * Destroys the connection
      * Clears related resources of given connection.
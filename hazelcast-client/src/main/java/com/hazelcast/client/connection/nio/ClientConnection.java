@@ -18,6 +18,7 @@ package com.hazelcast.client.connection.nio;
 
 import com.hazelcast.client.connection.ClientConnectionManager;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.spi.properties.ClientProperty;
 import com.hazelcast.core.LifecycleService;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeLevel;
@@ -90,7 +91,9 @@ public class ClientConnection implements Connection {
         this.logger = clientLoggingService.getLogger(ClientConnection.class);
         boolean directBuffer = client.getProperties().getBoolean(GroupProperty.SOCKET_CLIENT_BUFFER_DIRECT);
         this.readHandler = new ClientReadHandler(this, in, socket.getReceiveBufferSize(), directBuffer, clientLoggingService);
-        this.writeHandler = new ClientWriteHandler(this, out, socket.getSendBufferSize(), directBuffer, clientLoggingService);
+        int batchMaxCount = client.getProperties().getInteger(ClientProperty.PROTOCOL_BATCH_MAX_COUNT);
+        this.writeHandler = new ClientWriteHandler(this, out, socket.getSendBufferSize(), directBuffer, batchMaxCount,
+                clientLoggingService);
 
         MetricsRegistryImpl metricsRegistry = client.getMetricsRegistry();
         String connectionName = "tcp.connection["
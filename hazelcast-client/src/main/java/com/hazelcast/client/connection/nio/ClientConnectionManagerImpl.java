@@ -41,6 +41,7 @@ import com.hazelcast.client.spi.impl.listener.ClientListenerServiceImpl;
 import com.hazelcast.config.SocketInterceptorConfig;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
@@ -64,6 +65,8 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.LinkedList;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -75,12 +78,16 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.client.config.SocketOptions.DEFAULT_BUFFER_SIZE_BYTE;
 import static com.hazelcast.client.config.SocketOptions.KILO_BYTE;
+import static com.hazelcast.client.spi.properties.ClientProperty.CONNECTION_POOL_SIZE;
 import static com.hazelcast.client.spi.properties.ClientProperty.HEARTBEAT_INTERVAL;
 import static com.hazelcast.client.spi.properties.ClientProperty.HEARTBEAT_TIMEOUT;
+import static com.hazelcast.client.spi.properties.ClientProperty.IO_THREAD_COUNT;
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 
 /**
  * Implementation of {@link ClientConnectionManager}.
  */
+@SuppressWarnings("checkstyle:classdataabstractioncoupling")
 public class ClientConnectionManagerImpl implements ClientConnectionManager {
 
     protected final AtomicInteger connectionIdGen = new AtomicInteger();
@@ -101,8 +108,10 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     private final HazelcastClientInstanceImpl client;
     private final SocketInterceptor socketInterceptor;
     private final SocketOptions socketOptions;
-    private NonBlockingIOThread inputThread;
-    private NonBlockingIOThread outputThread;
+    private final int ioThreadCount;
+    private final int connectionPoolSize;
+    private NonBlockingIOThread[] inputThreads;
+    private NonBlockingIOThread[] outputThreads;
     private final SocketChannelWrapperFactory socketChannelWrapperFactory;
 
     private final ClientExecutionServiceImpl executionService;
@@ -111,6 +120,8 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             = new ConcurrentHashMap<Address, ClientConnection>();
     private final ConcurrentMap<Address, AuthenticationFuture> connectionsInProgress =
             new ConcurrentHashMap<Address, AuthenticationFuture>();
+    private final ConcurrentMap<Address, ClientConnectionPool> connectionPools =
+            new ConcurrentHashMap<Address, ClientConnectionPool>();
     private final Set<ConnectionListener> connectionListeners = new CopyOnWriteArraySet<ConnectionListener>();
 
     private final Set<ConnectionHeartbeatListener> heartbeatListeners =
@@ -118,6 +129,7 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     private final LoggingService loggingService;
     private final Credentials credentials;
 
+    @SuppressWarnings("checkstyle:executablestatementcount")
     public ClientConnectionManagerImpl(HazelcastClientInstanceImpl client, AddressTranslator addressTranslator) {
         this.client = client;
         this.addressTranslator = addressTranslator;
@@ -134,10 +146,14 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         long interval = hazelcastProperties.getMillis(HEARTBEAT_INTERVAL);
         heartbeatInterval = interval > 0 ? interval : Integer.parseInt(HEARTBEAT_INTERVAL.getDefaultValue());
 
+        ioThreadCount = hazelcastProperties.getInteger(IO_THREAD_COUNT);
+        connectionPoolSize = hazelcastProperties.getInteger(CONNECTION_POOL_SIZE);
+
         executionService = (ClientExecutionServiceImpl) client.getClientExecutionService();
         loggingService = client.getLoggingService();
 
         initializeSelectors(client);
+        client.getMetricsRegistry().scanAndRegister(this, "tcp");
 
         socketOptions = networkConfig.getSocketOptions();
         ClientExtension clientExtension = client.getClientExtension();
@@ -148,19 +164,31 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     }
 
     protected void initializeSelectors(HazelcastClientInstanceImpl client) {
-        inputThread = new NonBlockingIOThread(
-                client.getThreadGroup(),
-                client.getName() + ".thread-in",
-                loggingService.getLogger(NonBlockingIOThread.class),
-                outOfMemoryHandler);
-        client.getMetricsRegistry().scanAndRegister(inputThread, "tcp." + inputThread.getName());
-
-        outputThread = new ClientNonBlockingOutputThread(
-                client.getThreadGroup(),
-                client.getName() + ".thread-out",
-                loggingService.getLogger(ClientNonBlockingOutputThread.class),
-                outOfMemoryHandler);
-        client.getMetricsRegistry().scanAndRegister(outputThread, "tcp." + outputThread.getName());
+        inputThreads = new NonBlockingIOThread[ioThreadCount];
+        outputThreads = new NonBlockingIOThread[ioThreadCount];
+        for (int i = 0; i < ioThreadCount; i++) {
+            String suffix = ioThreadCount == 1 ? "" : "-" + i;
+
+            NonBlockingIOThread inputThread = new NonBlockingIOThread(
+                    client.getThreadGroup(),
+                    client.getName() + ".thread-in" + suffix,
+                    loggingService.getLogger(NonBlockingIOThread.class),
+                    outOfMemoryHandler);
+            client.getMetricsRegistry().scanAndRegister(inputThread, "tcp." + inputThread.getName());
+            inputThreads[i] = inputThread;
+
+            NonBlockingIOThread outputThread = new ClientNonBlockingOutputThread(
+                    client.getThreadGroup(),
+                    client.getName() + ".thread-out" + suffix,
+                    loggingService.getLogger(ClientNonBlockingOutputThread.class),
+                    outOfMemoryHandler);
+            client.getMetricsRegistry().scanAndRegister(outputThread, "tcp." + outputThread.getName());
+            if (outputThread.getClientMessageBufferPool() != null) {
+                client.getMetricsRegistry().scanAndRegister(outputThread.getClientMessageBufferPool(),
+                        "tcp." + outputThread.getName() + ".clientMessageBufferPool");
+            }
+            outputThreads[i] = outputThread;
+        }
     }
 
     private SocketInterceptor initSocketInterceptor(SocketInterceptorConfig sic) {
@@ -188,8 +216,10 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     }
 
     protected void startSelectors() {
-        inputThread.start();
-        outputThread.start();
+        for (int i = 0; i < ioThreadCount; i++) {
+            inputThreads[i].start();
+            outputThreads[i].start();
+        }
     }
 
     @Override
@@ -201,14 +231,20 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         for (ClientConnection connection : connections.values()) {
             connection.close("Hazelcast client is shutting down", null);
         }
+        for (ClientConnection connection : getPooledConnections()) {
+            connection.close("Hazelcast client is shutting down", null);
+        }
+        connectionPools.clear();
         shutdownSelectors();
         connectionListeners.clear();
         heartbeatListeners.clear();
     }
 
     protected void shutdownSelectors() {
-        inputThread.shutdown();
-        outputThread.shutdown();
+        for (int i = 0; i < ioThreadCount; i++) {
+            inputThreads[i].shutdown();
+            outputThreads[i].shutdown();
+        }
     }
 
     public ClientConnection getConnection(Address target) {
@@ -219,6 +255,80 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         return connections.get(target);
     }
 
+    /**
+     * When the connection pool is enabled, the operations of a partition use the pooled connection of its slot. If that
+     * connection is not established, e.g. because it is being recreated after a failure, the connection is triggered and
+     * the primary connection is used meanwhile. This method is called on user and internal executor threads, and the
+     * pooled connections are established on the internal executor, so it must never wait for them.
+     */
+    @Override
+    public Connection getPartitionConnection(Connection primary, int partitionId) {
+        if (connectionPoolSize <= 1 || partitionId < 0) {
+            return primary;
+        }
+
+        Address target = primary.getEndPoint();
+        ClientConnectionPool pool = getOrCreateConnectionPool(target);
+        int slot = pool.slotOf(partitionId);
+        if (slot == 0) {
+            return primary;
+        }
+
+        ClientConnection connection = pool.get(slot);
+        if (connection != null) {
+            return connection;
+        }
+
+        connectPooledConnection(target, pool, slot);
+        return primary;
+    }
+
+    private ClientConnectionPool getOrCreateConnectionPool(Address target) {
+        ClientConnectionPool pool = connectionPools.get(target);
+        if (pool == null) {
+            ClientConnectionPool newPool = new ClientConnectionPool(connectionPoolSize);
+            pool = connectionPools.putIfAbsent(target, newPool);
+            pool = pool == null ? newPool : pool;
+        }
+        return pool;
+    }
+
+    private void connectPooledConnection(Address target, ClientConnectionPool pool, int slot) {
+        if (alive && pool.tryStartConnecting(slot)) {
+            executionService.executeInternal(new InitPooledConnectionTask(target, pool, slot));
+        }
+    }
+
+    private void connectPooledConnections(Address target) {
+        if (connectionPoolSize <= 1) {
+            return;
+        }
+        ClientConnectionPool pool = getOrCreateConnectionPool(target);
+        for (int slot = 1; slot < pool.size(); slot++) {
+            if (pool.get(slot) == null) {
+                connectPooledConnection(target, pool, slot);
+            }
+        }
+    }
+
+    private Collection<ClientConnection> getPooledConnections() {
+        Collection<ClientConnection> pooledConnections = new LinkedList<ClientConnection>();
+        for (ClientConnectionPool pool : connectionPools.values()) {
+            pool.addConnectionsTo(pooledConnections);
+        }
+        return pooledConnections;
+    }
+
+    @Probe(name = "pooledConnectionCount", level = MANDATORY)
+    private int getPooledConnectionCount() {
+        return getPooledConnections().size();
+    }
+
+    @Probe(name = "connectionCount", level = MANDATORY)
+    private int getConnectionCount() {
+        return connections.size();
+    }
+
     @Override
     public Connection getOrConnect(Address address, boolean asOwner) throws IOException {
         try {
@@ -345,8 +455,10 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             socketChannel.socket().connect(inetSocketAddress, connectionTimeout);
             SocketChannelWrapper socketChannelWrapper =
                     socketChannelWrapperFactory.wrapSocketChannel(socketChannel, true);
-            final ClientConnection clientConnection = new ClientConnection(client, inputThread,
-                    outputThread, connectionIdGen.incrementAndGet(), socketChannelWrapper);
+            int connectionId = connectionIdGen.incrementAndGet();
+            int ioThreadIndex = connectionId % ioThreadCount;
+            final ClientConnection clientConnection = new ClientConnection(client, inputThreads[ioThreadIndex],
+                    outputThreads[ioThreadIndex], connectionId, socketChannelWrapper);
             socketChannel.configureBlocking(true);
             if (socketInterceptor != null) {
                 socketInterceptor.onConnect(socket);
@@ -372,14 +484,40 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             logger.info("Removed connection to endpoint: " + endPoint + ", connection: " + connection);
 
             conn.close(reason, cause);
+            closeConnectionPool(endPoint);
             for (ConnectionListener connectionListener : connectionListeners) {
                 connectionListener.connectionRemoved(conn);
             }
+        } else if (endPoint != null && removePooledConnection(endPoint, conn)) {
+            logger.info("Removed pooled connection to endpoint: " + endPoint + ", connection: " + connection);
+
+            conn.close(reason, cause);
+            if (connections.containsKey(endPoint)) {
+                // the operations of the slot wait for its new connection
+                connectPooledConnections(endPoint);
+            }
         } else {
             connection.close(reason, cause);
         }
     }
 
+    private void closeConnectionPool(Address endPoint) {
+        ClientConnectionPool pool = connectionPools.remove(endPoint);
+        if (pool == null) {
+            return;
+        }
+        Collection<ClientConnection> pooledConnections = new LinkedList<ClientConnection>();
+        pool.addConnectionsTo(pooledConnections);
+        for (ClientConnection pooledConnection : pooledConnections) {
+            pooledConnection.close("Primary connection is closed", null);
+        }
+    }
+
+    private boolean removePooledConnection(Address endPoint, ClientConnection connection) {
+        ClientConnectionPool pool = connectionPools.get(endPoint);
+        return pool != null && pool.remove(connection) >= 0;
+    }
+
     @Override
     public void handleClientMessage(ClientMessage message, Connection connection) {
         ClientConnection conn = (ClientConnection) connection;
@@ -401,6 +539,9 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
                 return;
             }
             final long now = Clock.currentTimeMillis();
+            for (final ClientConnection connection : getPooledConnections()) {
+                checkPooledConnection(connection, now);
+            }
             for (final ClientConnection connection : connections.values()) {
                 if (now - connection.lastReadTimeMillis() > heartbeatTimeout) {
                     if (connection.isHeartBeating()) {
@@ -435,6 +576,20 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             }
         }
 
+        // pooled connections are not known by the heartbeat listeners; they are closed on a heartbeat failure and
+        // recreated on demand.
+        private void checkPooledConnection(final ClientConnection connection, long now) {
+            if (now - connection.lastReadTimeMillis() > heartbeatTimeout) {
+                logger.warning("Heartbeat failed to pooled connection : " + connection);
+                destroyConnection(connection, "Heartbeat timed out", null);
+            } else if (now - connection.lastReadTimeMillis() > heartbeatInterval) {
+                ClientMessage request = ClientPingCodec.encodeRequest();
+                ClientInvocation clientInvocation = new ClientInvocation(client, request, connection);
+                clientInvocation.setBypassHeartbeatCheck(true);
+                clientInvocation.invokeUrgent();
+            }
+        }
+
         private void fireHeartbeatResumed(ClientConnection connection) {
             for (ConnectionHeartbeatListener heartbeatListener : heartbeatListeners) {
                 heartbeatListener.heartbeatResumed(connection);
@@ -462,29 +617,15 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     private void authenticate(final Address target, final ClientConnection connection,
                               final boolean asOwner,
                               final AuthenticationFuture callback) {
-        SerializationService ss = client.getSerializationService();
-        final ClientClusterServiceImpl clusterService = (ClientClusterServiceImpl) client.getClientClusterService();
-        ClientPrincipal principal = clusterService.getPrincipal();
-        byte serializationVersion = ((InternalSerializationService) client.getSerializationService()).getVersion();
-
-        String uuid = null;
-        String ownerUuid = null;
-        if (principal != null) {
-            uuid = principal.getUuid();
-            ownerUuid = principal.getOwnerUuid();
-        }
-
-        ClientMessage clientMessage;
-        if (credentials.getClass().equals(UsernamePasswordCredentials.class)) {
-            UsernamePasswordCredentials cr = (UsernamePasswordCredentials) credentials;
-            clientMessage = ClientAuthenticationCodec.encodeRequest(cr.getUsername(), cr.getPassword(),
-                    uuid, ownerUuid, asOwner, ClientTypes.JAVA, serializationVersion);
-        } else {
-            Data data = ss.toData(credentials);
-            clientMessage = ClientAuthenticationCustomCodec.encodeRequest(data, uuid, ownerUuid,
-                    asOwner, ClientTypes.JAVA, serializationVersion);
+        authenticate(target, connection, asOwner, callback, null, -1);
+    }
 
-        }
+    private void authenticate(final Address target, final ClientConnection connection,
+                              final boolean asOwner,
+                              final AuthenticationFuture callback,
+                              final ClientConnectionPool pool, final int poolSlot) {
+        final ClientClusterServiceImpl clusterService = (ClientClusterServiceImpl) client.getClientClusterService();
+        ClientMessage clientMessage = encodeAuthenticationRequest(clusterService.getPrincipal(), asOwner);
         ClientInvocation clientInvocation = new ClientInvocation(client, clientMessage, connection);
         ClientInvocationFuture future = clientInvocation.invokeUrgent();
         future.andThen(new ExecutionCallback<ClientMessage>() {
@@ -499,31 +640,59 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
                             connection.setIsAuthenticatedAsOwner();
                             clusterService.setPrincipal(new ClientPrincipal(result.uuid, result.ownerUuid));
                         }
+                        if (pool != null) {
+                            pooledConnectionAuthenticated(pool, poolSlot, connection);
+                            break;
+                        }
                         authenticated(target, connection);
                         callback.onSuccess(connection, asOwner);
                         break;
                     case CREDENTIALS_FAILED:
-                        AuthenticationException e = new AuthenticationException("Invalid credentials!");
-                        failed(target, connection, e);
-                        callback.onFailure(e);
+                        onFailure(new AuthenticationException("Invalid credentials!"));
                         break;
                     default:
-                        AuthenticationException exception =
-                                new AuthenticationException("Authentication status code not supported. status:"
-                                        + authenticationStatus);
-                        failed(target, connection, exception);
-                        callback.onFailure(exception);
+                        onFailure(new AuthenticationException("Authentication status code not supported. status:"
+                                + authenticationStatus));
                 }
             }
 
             @Override
             public void onFailure(Throwable t) {
+                if (pool != null) {
+                    pooledConnectionFailed(pool, poolSlot, connection, t);
+                    return;
+                }
                 failed(target, connection, t);
                 callback.onFailure(t);
             }
         }, executionService.getInternalExecutor());
     }
 
+    private ClientMessage encodeAuthenticationRequest(ClientPrincipal principal, boolean asOwner) {
+        SerializationService ss = client.getSerializationService();
+        byte serializationVersion = ((InternalSerializationService) client.getSerializationService()).getVersion();
+
+        String uuid = null;
+        String ownerUuid = null;
+        if (principal != null) {
+            uuid = principal.getUuid();
+            ownerUuid = principal.getOwnerUuid();
+        }
+
+        ClientMessage clientMessage;
+        if (credentials.getClass().equals(UsernamePasswordCredentials.class)) {
+            UsernamePasswordCredentials cr = (UsernamePasswordCredentials) credentials;
+            clientMessage = ClientAuthenticationCodec.encodeRequest(cr.getUsername(), cr.getPassword(),
+                    uuid, ownerUuid, asOwner, ClientTypes.JAVA, serializationVersion);
+        } else {
+            Data data = ss.toData(credentials);
+            clientMessage = ClientAuthenticationCustomCodec.encodeRequest(data, uuid, ownerUuid,
+                    asOwner, ClientTypes.JAVA, serializationVersion);
+
+        }
+        return clientMessage;
+    }
+
     private class InitConnectionTask implements Runnable {
 
         private final Address target;
@@ -560,6 +729,54 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         }
     }
 
+    private class InitPooledConnectionTask implements Runnable {
+
+        private final Address target;
+        private final ClientConnectionPool pool;
+        private final int slot;
+
+        InitPooledConnectionTask(Address target, ClientConnectionPool pool, int slot) {
+            this.target = target;
+            this.pool = pool;
+            this.slot = slot;
+        }
+
+        @Override
+        public void run() {
+            ClientConnection connection;
+            try {
+                connection = createSocketConnection(target);
+            } catch (Exception e) {
+                logger.finest(e);
+                pool.connectFailed(slot);
+                return;
+            }
+
+            try {
+                authenticate(target, connection, false, null, pool, slot);
+            } catch (Exception e) {
+                pooledConnectionFailed(pool, slot, connection, e);
+            }
+        }
+    }
+
+    private void pooledConnectionAuthenticated(ClientConnectionPool pool, int slot, ClientConnection connection) {
+        if (!alive || connectionPools.get(connection.getEndPoint()) != pool) {
+            // the client shut down or the member was lost while this connection was being set up
+            pool.connectFailed(slot);
+            connection.close("Connection pool is closed", null);
+            return;
+        }
+        pool.connected(slot, connection);
+    }
+
+    private void pooledConnectionFailed(ClientConnectionPool pool, int slot, ClientConnection connection,
+                                        Throwable cause) {
+        logger.finest(cause);
+        connection.close(null, cause);
+        pool.connectFailed(slot);
+    }
+
     private void authenticated(Address target, ClientConnection connection) {
         ClientConnection oldConnection = connections.put(connection.getRemoteEndpoint(), connection);
         if (oldConnection == null) {
@@ -567,6 +784,7 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         }
         assert oldConnection == null || connection.equals(oldConnection);
         connectionsInProgress.remove(target);
+        connectPooledConnections(connection.getRemoteEndpoint());
     }
 
     private void failed(Address target, ClientConnection connection, Throwable cause) {
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.connection.nio;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The connections of a smart client to a single member.
+ * <p/>
+ * Partition operations are assigned to a slot by {@code partitionId % size}, so all operations of a partition use the
+ * same connection and their ordering is preserved. Slot 0 is served by the primary connection of the member, which is
+ * kept by the {@link ClientConnectionManagerImpl} itself and is also used for listeners, heartbeats and non-partition
+ * operations. The other slots are connected as soon as the primary connection is authenticated.
+ * <p/>
+ * While a slot is not connected, its operations use the primary connection; nobody waits for a slot to connect. Once
+ * the slot is connected, the operations of its partitions stay on the slot's connection.
+ */
+final class ClientConnectionPool {
+
+    private static final int IDLE = 0;
+    private static final int CONNECTING = 1;
+
+    private final AtomicReferenceArray<ClientConnection> connections;
+    private final AtomicIntegerArray states;
+
+    ClientConnectionPool(int size) {
+        this.connections = new AtomicReferenceArray<ClientConnection>(size);
+        this.states = new AtomicIntegerArray(size);
+    }
+
+    int size() {
+        return connections.length();
+    }
+
+    /**
+     * @param partitionId the partition to find the slot for
+     * @return the slot used by the operations of the partition
+     */
+    int slotOf(int partitionId) {
+        return partitionId % connections.length();
+    }
+
+    /**
+     * @param slot the slot
+     * @return the live connection of the slot or null if the slot is not connected
+     */
+    ClientConnection get(int slot) {
+        ClientConnection connection = connections.get(slot);
+        return connection != null && connection.isAlive() ? connection : null;
+    }
+
+    /**
+     * Marks the slot as connecting unless a connection for the slot is already being established.
+     *
+     * @param slot the slot
+     * @return true if the caller should establish the connection, false otherwise
+     */
+    boolean tryStartConnecting(int slot) {
+        return states.compareAndSet(slot, IDLE, CONNECTING);
+    }
+
+    void connected(int slot, ClientConnection connection) {
+        connections.set(slot, connection);
+        states.set(slot, IDLE);
+    }
+
+    void connectFailed(int slot) {
+        states.set(slot, IDLE);
+    }
+
+    /**
+     * Removes the connection from the pool.
+     *
+     * @param connection the connection to remove
+     * @return the slot of the connection or -1 if the connection was not part of the pool
+     */
+    int remove(ClientConnection connection) {
+        for (int slot = 0; slot < connections.length(); slot++) {
+            if (connections.compareAndSet(slot, connection, null)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the connections of the pool to the given collection.
+     *
+     * @param result the collection to add the connections to
+     */
+    void addConnectionsTo(Collection<ClientConnection> result) {
+        for (int slot = 0; slot < connections.length(); slot++) {
+            ClientConnection connection = connections.get(slot);
+            if (connection != null) {
+                result.add(connection);
+            }
+        }
+    }
+}
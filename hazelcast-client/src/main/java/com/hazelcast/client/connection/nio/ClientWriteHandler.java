@@ -17,6 +17,8 @@
 package com.hazelcast.client.connection.nio;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBufferPool;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.LoggingService;
@@ -28,10 +30,13 @@ import com.hazelcast.util.Clock;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.hazelcast.client.impl.protocol.ClientMessage.HEADER_SIZE;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
@@ -49,11 +54,17 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
     private final SwCounter bytesWritten = newSwCounter();
     @Probe(name = "messagesWritten")
     private final SwCounter messagesWritten = newSwCounter();
+    @Probe(name = "batchesWritten")
+    private final SwCounter batchesWritten = newSwCounter();
 
     private final AtomicBoolean informSelector = new AtomicBoolean(true);
 
     private final ByteBuffer buffer;
 
+    private final int batchMaxCount;
+    private final List<ClientMessage> batch = new ArrayList<ClientMessage>();
+    private final ClientMessageBufferPool bufferPool;
+
     private boolean ready;
 
     private ClientMessage lastMessage;
@@ -61,9 +72,11 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
     private volatile long lastHandle;
 
     public ClientWriteHandler(ClientConnection connection, NonBlockingIOThread ioThread, int bufferSize,
-                              boolean direct, LoggingService loggingService) {
+                              boolean direct, int batchMaxCount, LoggingService loggingService) {
         super(connection, ioThread, loggingService);
         buffer = IOUtil.newByteBuffer(bufferSize, direct);
+        this.batchMaxCount = batchMaxCount;
+        this.bufferPool = ioThread.getClientMessageBufferPool();
     }
 
     @Probe(name = "idleTimeMs", level = DEBUG)
@@ -103,6 +116,8 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
         while (buffer.hasRemaining() && lastMessage != null) {
             boolean complete = lastMessage.writeTo(buffer);
             if (complete) {
+                // only batches, which are written exactly once, have pooled buffers; requests are kept for retries
+                lastMessage.release();
                 lastMessage = poll();
             } else {
                 break;
@@ -137,12 +152,46 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
 
     private ClientMessage poll() {
         ClientMessage message = writeQueue.poll();
-        if (message != null) {
-            messagesWritten.inc();
+        if (message == null) {
+            return null;
+        }
+        messagesWritten.inc();
+        if (batchMaxCount > 1 && writeQueue.peek() != null) {
+            return batch(message);
         }
         return message;
     }
 
+    /**
+     * Packs the given message and the messages that are already queued into a single batch message. A batch, including
+     * its own header, never exceeds the size of the buffer; a single message which is larger is written on its own. Since
+     * only this thread polls from the queue a peeked message can safely be polled afterwards.
+     */
+    private ClientMessage batch(ClientMessage first) {
+        batch.add(first);
+        int batchSize = HEADER_SIZE + first.getFrameLength();
+        while (batch.size() < batchMaxCount) {
+            ClientMessage next = writeQueue.peek();
+            if (next == null || batchSize + next.getFrameLength() > buffer.capacity()) {
+                break;
+            }
+            writeQueue.poll();
+            messagesWritten.inc();
+            batch.add(next);
+            batchSize += next.getFrameLength();
+        }
+
+        try {
+            if (batch.size() == 1) {
+                return first;
+            }
+            batchesWritten.inc();
+            return ClientMessageBatch.encode(batch, bufferPool);
+        } finally {
+            batch.clear();
+        }
+    }
+
     @Override
     public void run() {
         try {
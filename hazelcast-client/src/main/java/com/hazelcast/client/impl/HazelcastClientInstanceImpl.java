@@ -44,6 +44,7 @@ import com.hazelcast.client.spi.impl.ClientExecutionServiceImpl;
 import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ClientNonSmartInvocationServiceImpl;
 import com.hazelcast.client.spi.impl.ClientPartitionServiceImpl;
+import com.hazelcast.client.spi.impl.ClientSchemaReplicator;
 import com.hazelcast.client.spi.impl.ClientSmartInvocationServiceImpl;
 import com.hazelcast.client.spi.impl.ClientTransactionManagerServiceImpl;
 import com.hazelcast.client.spi.impl.DefaultAddressProvider;
@@ -381,6 +382,8 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
             lifecycleService.shutdown();
             throw ExceptionUtil.rethrow(e);
         }
+        ((InternalSerializationService) serializationService).getSchemaRegistry()
+                .setReplicator(new ClientSchemaReplicator(this));
         listenerService.start();
         loadBalancer.init(getCluster(), config);
         partitionService.start();
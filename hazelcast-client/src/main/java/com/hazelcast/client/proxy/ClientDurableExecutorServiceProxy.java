@@ -37,6 +37,7 @@ import com.hazelcast.durableexecutor.DurableExecutorServiceFuture;
 import com.hazelcast.executor.impl.RunnableAdapter;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.executor.ChainedFuture;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -284,7 +285,7 @@ public final class ClientDurableExecutorServiceProxy extends ClientProxy impleme
 
         @Override
         public void andThen(ExecutionCallback<T> callback) {
-            andThen(callback, executor);
+            andThen(callback, ChainedFuture.executorFor(callback, executor));
         }
 
         @Override
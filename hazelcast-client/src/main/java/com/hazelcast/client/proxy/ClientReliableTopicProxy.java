@@ -18,6 +18,7 @@ package com.hazelcast.client.proxy;
 
 import com.hazelcast.client.config.ClientReliableTopicConfig;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.spi.ClientExecutionService;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
@@ -30,19 +31,19 @@ import com.hazelcast.core.MessageListener;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.LocalTopicStats;
 import com.hazelcast.nio.serialization.Data;
-import com.hazelcast.ringbuffer.OverflowPolicy;
-import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.topic.ReliableMessageListener;
-import com.hazelcast.topic.TopicOverloadException;
 import com.hazelcast.topic.TopicOverloadPolicy;
 import com.hazelcast.topic.impl.reliable.ReliableMessageListenerAdapter;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
+import com.hazelcast.topic.impl.reliable.ReliableTopicPublisher;
+import com.hazelcast.topic.impl.reliable.ReliableTopicReader;
 import com.hazelcast.util.UuidUtil;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
@@ -63,9 +64,6 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  */
 public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E> {
 
-    private static final int MAX_BACKOFF = 2000;
-    private static final int INITIAL_BACKOFF_MS = 100;
-
     private final ILogger logger;
     private final ConcurrentMap<String, MessageRunner> runnersMap = new ConcurrentHashMap<String, MessageRunner>();
     private final Ringbuffer ringbuffer;
@@ -73,6 +71,8 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
     private final ClientReliableTopicConfig config;
     private final Executor executor;
     private final TopicOverloadPolicy overloadPolicy;
+    private final ReliableTopicPublisher publisher;
+    private final ReliableTopicReader reader;
 
     public ClientReliableTopicProxy(String objectId, HazelcastClientInstanceImpl client) {
         super(SERVICE_NAME, objectId);
@@ -82,6 +82,18 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         this.executor = getExecutor(config, client);
         this.overloadPolicy = config.getTopicOverloadPolicy();
         logger = client.getLoggingService().getLogger(getClass());
+        this.publisher = newPublisher(objectId, client);
+        this.reader = new ReliableTopicReader(ringbuffer, executor, config.getReadBatchSize());
+    }
+
+    private ReliableTopicPublisher newPublisher(String objectId, HazelcastClientInstanceImpl client) {
+        final ClientExecutionService executionService = client.getClientExecutionService();
+        return new ReliableTopicPublisher(objectId, ringbuffer, overloadPolicy, executionService, logger) {
+            @Override
+            protected void schedule(Runnable task, long delayMs) {
+                executionService.schedule(task, delayMs, MILLISECONDS);
+            }
+        };
     }
 
     private Executor getExecutor(ClientReliableTopicConfig config, HazelcastClientInstanceImpl client) {
@@ -95,24 +107,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
     @Override
     public void publish(E payload) {
         try {
-            Data data = serializationService.toData(payload);
-            ReliableTopicMessage message = new ReliableTopicMessage(data, null);
-            switch (overloadPolicy) {
-                case ERROR:
-                    addOrFail(message);
-                    break;
-                case DISCARD_OLDEST:
-                    addOrOverwrite(message);
-                    break;
-                case DISCARD_NEWEST:
-                    ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-                    break;
-                case BLOCK:
-                    addWithBackoff(message);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
-            }
+            publishAsync(payload).get();
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -120,31 +115,11 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         }
     }
 
-    private Long addOrOverwrite(ReliableTopicMessage message) throws Exception {
-        return (Long) ringbuffer.addAsync(message, OverflowPolicy.OVERWRITE).get();
-    }
-
-    private void addOrFail(ReliableTopicMessage message) throws Exception {
-        long sequenceId = (Long) ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-        if (sequenceId == -1) {
-            throw new TopicOverloadException("Failed to publish message: " + message + " on topic:" + name);
-        }
-    }
-
-    private void addWithBackoff(ReliableTopicMessage message) throws Exception {
-        long timeoutMs = INITIAL_BACKOFF_MS;
-        for (; ; ) {
-            long result = (Long) ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-            if (result != -1) {
-                break;
-            }
-
-            MILLISECONDS.sleep(timeoutMs);
-            timeoutMs *= 2;
-            if (timeoutMs > MAX_BACKOFF) {
-                timeoutMs = MAX_BACKOFF;
-            }
-        }
+    @Override
+    public ICompletableFuture<Void> publishAsync(E payload) {
+        Data data = serializationService.toData(payload);
+        ReliableTopicMessage message = new ReliableTopicMessage(data, null);
+        return publisher.publish(message);
     }
 
     @Override
@@ -194,7 +169,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         return "ITopic{" + "name='" + name + '\'' + '}';
     }
 
-    class MessageRunner implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+    class MessageRunner implements ExecutionCallback<List<ReliableTopicMessage>> {
 
         final ReliableMessageListener<E> listener;
         private final String id;
@@ -218,19 +193,15 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
                 return;
             }
 
-            ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f
-                    = ringbuffer.readManyAsync(sequence, 1, config.getReadBatchSize(), null);
-            f.andThen(this, executor);
+            reader.read(sequence, this);
         }
 
         // This method is called from the provided executor.
         @Override
-        public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+        public void onResponse(List<ReliableTopicMessage> result) {
             // we process all messages in batch. So we don't release the thread and reschedule ourselves;
             // but we'll process whatever was received in 1 go.
-            for (Object item : result) {
-                ReliableTopicMessage message = (ReliableTopicMessage) item;
-
+            for (ReliableTopicMessage message : result) {
                 if (cancelled) {
                     return;
                 }
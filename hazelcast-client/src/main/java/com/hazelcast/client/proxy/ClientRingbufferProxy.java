@@ -36,9 +36,11 @@ import com.hazelcast.core.IFunction;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.strategy.StringPartitioningStrategy;
 import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.ProjectingRingbuffer;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.ringbuffer.impl.ProjectionFilter;
 import com.hazelcast.ringbuffer.impl.client.PortableReadResultSet;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.CollectionUtil;
@@ -60,7 +62,7 @@ import static java.lang.String.format;
  *
  * @param <E> the type of elements in this ringbuffer
  */
-public class ClientRingbufferProxy<E> extends ClientProxy implements Ringbuffer<E> {
+public class ClientRingbufferProxy<E> extends ClientProxy implements ProjectingRingbuffer<E> {
 
     private static final ClientMessageDecoder ADD_ASYNC_ASYNC_RESPONSE_DECODER = new ClientMessageDecoder() {
         @Override
@@ -213,7 +215,20 @@ public class ClientRingbufferProxy<E> extends ClientProxy implements Ringbuffer<
     @Override
     public ICompletableFuture<ReadResultSet<E>> readManyAsync(long startSequence, int minCount,
                                                               int maxCount, IFunction<E, Boolean> filter) {
+        return invokeReadMany(startSequence, minCount, maxCount, filter);
+    }
+
+    @Override
+    public <T> ICompletableFuture<ReadResultSet<T>> readManyAsync(long startSequence, int minCount, int maxCount,
+                                                                  IFunction<E, Boolean> filter,
+                                                                  IFunction<E, T> projection) {
+        checkNotNull(projection, "projection can't be null");
+
+        return invokeReadMany(startSequence, minCount, maxCount, new ProjectionFilter(filter, projection));
+    }
 
+    private <T> ICompletableFuture<ReadResultSet<T>> invokeReadMany(long startSequence, int minCount, int maxCount,
+                                                                    IFunction<?, Boolean> filter) {
         checkSequence(startSequence);
         checkNotNegative(minCount, "minCount can't be smaller than 0");
         checkTrue(maxCount >= minCount, "maxCount should be equal or larger than minCount");
@@ -229,7 +244,7 @@ public class ClientRingbufferProxy<E> extends ClientProxy implements Ringbuffer<
 
         try {
             ClientInvocationFuture invocationFuture = new ClientInvocation(getClient(), request, partitionId).invoke();
-            return new ClientDelegatingFuture<ReadResultSet<E>>(
+            return new ClientDelegatingFuture<ReadResultSet<T>>(
                     invocationFuture,
                     getContext().getSerializationService(),
                     readManyAsyncResponseDecoder);
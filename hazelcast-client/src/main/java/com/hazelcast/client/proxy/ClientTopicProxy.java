@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.TopicAddMessageListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.TopicPublishCodec;
@@ -23,6 +24,7 @@ import com.hazelcast.client.impl.protocol.codec.TopicRemoveMessageListenerCodec;
 import com.hazelcast.client.spi.ClientClusterService;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.Message;
@@ -39,6 +41,13 @@ import com.hazelcast.topic.impl.DataAwareMessage;
  */
 public class ClientTopicProxy<E> extends PartitionSpecificClientProxy implements ITopic<E> {
 
+    private static final ClientMessageDecoder PUBLISH_ASYNC_RESPONSE_DECODER = new ClientMessageDecoder() {
+        @Override
+        public <T> T decodeClientMessage(ClientMessage clientMessage) {
+            return null;
+        }
+    };
+
     public ClientTopicProxy(String serviceName, String objectId) {
         super(serviceName, objectId);
     }
@@ -51,6 +60,14 @@ public class ClientTopicProxy<E> extends PartitionSpecificClientProxy implements
         invokeOnPartition(request);
     }
 
+    @Override
+    public ICompletableFuture<Void> publishAsync(E message) {
+        SerializationService serializationService = getContext().getSerializationService();
+        Data data = serializationService.toData(message);
+        ClientMessage request = TopicPublishCodec.encodeRequest(name, data);
+        return invokeOnPartitionAsync(request, PUBLISH_ASYNC_RESPONSE_DECODER);
+    }
+
     @Override
     public String addMessageListener(final MessageListener<E> listener) {
         EventHandler<ClientMessage> handler = new TopicItemHandler(listener);
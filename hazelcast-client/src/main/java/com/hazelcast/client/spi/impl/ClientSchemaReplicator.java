@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.spi.impl;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.schema.SchemaFetchCodec;
+import com.hazelcast.client.impl.protocol.schema.SchemaSendCodec;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaRegistry;
+import com.hazelcast.internal.serialization.impl.compact.SchemaReplicator;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Sends the schemas of the compact serialized classes of the client to the cluster and fetches unknown schemas from
+ * it. Schemas are sent asynchronously, a member that reads an object before the schema has arrived lets the operation
+ * retry. Fetching a schema blocks, since the client deserializes on user and event threads only.
+ */
+public class ClientSchemaReplicator implements SchemaReplicator {
+
+    private final HazelcastClientInstanceImpl client;
+    private final SerializationService serializationService;
+    private final SchemaRegistry registry;
+    private final ILogger logger;
+
+    public ClientSchemaReplicator(HazelcastClientInstanceImpl client) {
+        this.client = client;
+        this.serializationService = client.getSerializationService();
+        this.registry = ((InternalSerializationService) serializationService).getSchemaRegistry();
+        this.logger = client.getLoggingService().getLogger(ClientSchemaReplicator.class);
+    }
+
+    @Override
+    public void replicate(final Schema schema) {
+        Data schemaData = serializationService.toData(schema);
+        ClientMessage request = SchemaSendCodec.encodeRequest(schemaData);
+        new ClientInvocation(client, request).invoke().andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                registry.replicated(schema.getSchemaId());
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                logger.finest("Could not send " + schema + " to the cluster", t);
+                registry.replicationFailed(schema.getSchemaId());
+            }
+        });
+    }
+
+    @Override
+    public Schema fetch(long schemaId) {
+        ClientMessage request = SchemaFetchCodec.encodeRequest(schemaId);
+        try {
+            ClientMessage response = new ClientInvocation(client, request).invoke().get();
+            return serializationService.toObject(SchemaFetchCodec.decodeResponse(response).response);
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+}
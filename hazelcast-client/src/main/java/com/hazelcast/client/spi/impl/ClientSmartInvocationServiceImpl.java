@@ -43,7 +43,10 @@ public final class ClientSmartInvocationServiceImpl extends ClientInvocationServ
             throw new IOException("Partition does not have owner. partitionId : " + partitionId);
         }
         invocation.getClientMessage().setPartitionId(partitionId);
-        Connection connection = getConnection(owner);
+        Connection connection = connectionManager.getPartitionConnection(getConnection(owner), partitionId);
+        if (connection == null) {
+            throw new IOException("No available connection to address " + owner + " for partition " + partitionId);
+        }
         send(invocation, (ClientConnection) connection);
     }
 
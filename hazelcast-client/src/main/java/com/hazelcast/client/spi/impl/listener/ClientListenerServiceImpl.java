@@ -27,8 +27,8 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.executor.SingleExecutorThreadFactory;
-import com.hazelcast.util.executor.StripedExecutor;
 import com.hazelcast.util.executor.StripedRunnable;
+import com.hazelcast.util.executor.WorkStealingStripedExecutor;
 
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,7 +50,7 @@ public abstract class ClientListenerServiceImpl implements ClientListenerService
     private final ConcurrentMap<Long, EventHandler> eventHandlerMap
             = new ConcurrentHashMap<Long, EventHandler>();
 
-    private final StripedExecutor eventExecutor;
+    private final WorkStealingStripedExecutor eventExecutor;
 
     public ClientListenerServiceImpl(HazelcastClientInstanceImpl client, int eventThreadCount, int eventQueueCapacity) {
         this.client = client;
@@ -60,8 +60,9 @@ public abstract class ClientListenerServiceImpl implements ClientListenerService
         logger = client.getLoggingService().getLogger(ClientListenerService.class);
         ThreadGroup threadGroup = client.getThreadGroup();
         String name = client.getName();
-        eventExecutor = new StripedExecutor(logger, name + ".event",
+        eventExecutor = new WorkStealingStripedExecutor(logger, name + ".event",
                 threadGroup, eventThreadCount, eventQueueCapacity);
+        eventExecutor.provideMetrics(client.getMetricsRegistry(), "event");
         ClassLoader classLoader = client.getClientConfig().getClassLoader();
 
         ThreadFactory threadFactory = new SingleExecutorThreadFactory(threadGroup, classLoader, name + ".eventRegistration-");
@@ -93,7 +94,7 @@ public abstract class ClientListenerServiceImpl implements ClientListenerService
         ClientExecutionServiceImpl.shutdownExecutor("registrationExecutor", registrationExecutor, logger);
     }
 
-    public StripedExecutor getEventExecutor() {
+    public WorkStealingStripedExecutor getEventExecutor() {
         return eventExecutor;
     }
 
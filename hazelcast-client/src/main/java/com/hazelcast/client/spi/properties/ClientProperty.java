@@ -94,6 +94,39 @@ public final class ClientProperty {
     public static final HazelcastProperty DISCOVERY_SPI_PUBLIC_IP_ENABLED
             = new HazelcastProperty("hazelcast.discovery.public.ip.enabled", false);
 
+    /**
+     * Maximum number of requests that are sent to a member in a single batch message.
+     * <p/>
+     * When more requests are waiting to be written to a connection, they are packed into a single message which is
+     * unpacked by the member and processed as if the requests had been sent one by one. Requests are never delayed
+     * to form a batch; only requests that are already queued are batched. This saves a message header and a buffer
+     * allocation per request on the member side.
+     * <p/>
+     * The members need to support batch messages. By default it is set to 1, which disables batching.
+     */
+    public static final HazelcastProperty PROTOCOL_BATCH_MAX_COUNT
+            = new HazelcastProperty("hazelcast.client.protocol.batch.max.count", 1);
+
+    /**
+     * Number of connections a smart client opens to each member.
+     * <p/>
+     * Partition operations are spread over the connections by partition id, so the operations of a partition always
+     * use the same connection and keep their order, while operations on different partitions no longer share a single
+     * socket and its write queue. The additional connections are opened on demand. By default it is set to 1, which
+     * means a single connection per member.
+     */
+    public static final HazelcastProperty CONNECTION_POOL_SIZE
+            = new HazelcastProperty("hazelcast.client.connection.pool.size", 1);
+
+    /**
+     * Number of input and number of output threads used by the client for its connections.
+     * <p/>
+     * Connections are assigned to the threads in a round robin fashion. Increasing this value is mostly useful
+     * together with {@link #CONNECTION_POOL_SIZE}.
+     */
+    public static final HazelcastProperty IO_THREAD_COUNT
+            = new HazelcastProperty("hazelcast.client.io.thread.count", 1);
+
     private ClientProperty() {
     }
 }
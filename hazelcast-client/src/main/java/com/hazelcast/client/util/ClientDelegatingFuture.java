@@ -20,9 +20,13 @@ import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.core.NonBlocking;
 import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.ExceptionUtil;
+import com.hazelcast.util.executor.CallingThreadExecutor;
 
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -30,6 +34,8 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static com.hazelcast.util.Preconditions.isNotNull;
+
 /**
  * Client Delegating Future is used to delegate ClientInvocationFuture to user to be used with
  * andThen or get. It converts ClientMessage coming from ClientInvocationFuture to user object
@@ -74,7 +80,11 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
 
     @Override
     public void andThen(final ExecutionCallback<V> callback) {
-        future.andThen(new DelegatingExecutionCallback<V>(callback, true));
+        if (callback instanceof NonBlocking) {
+            future.andThen(new DelegatingExecutionCallback<V>(callback, true), CallingThreadExecutor.INSTANCE);
+        } else {
+            future.andThen(new DelegatingExecutionCallback<V>(callback, true));
+        }
     }
 
     @Override
@@ -82,6 +92,22 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
         future.andThen(new DelegatingExecutionCallback<V>(callback, true), executor);
     }
 
+    @Override
+    public <R> InternalCompletableFuture<R> thenApply(IFunction<? super V, ? extends R> function) {
+        return future.thenApply(resolving(function));
+    }
+
+    @Override
+    public <R> InternalCompletableFuture<R> thenCompose(IFunction<? super V, ? extends ICompletableFuture<R>> function) {
+        return future.thenCompose(resolving(function));
+    }
+
+    private <R> IFunction<ClientMessage, R> resolving(IFunction<? super V, ? extends R> function) {
+        isNotNull(function, "function");
+        return function instanceof NonBlocking
+                ? new NonBlockingResolvingFunction<R>(function) : new ResolvingFunction<R>(function);
+    }
+
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
         done = true;
@@ -201,6 +227,42 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
         return response != mutex;
     }
 
+    private V resolve(ClientMessage message) {
+        if (!done || !isResponseSet()) {
+            synchronized (mutex) {
+                if (!done || !isResponseSet()) {
+                    response = resolveMessageToValue(message);
+                    done = true;
+                }
+            }
+        }
+        return getResult();
+    }
+
+    /**
+     * Applies the function to the decoded and deserialized response of the invocation.
+     */
+    private class ResolvingFunction<R> implements IFunction<ClientMessage, R> {
+
+        private final IFunction<? super V, ? extends R> function;
+
+        ResolvingFunction(IFunction<? super V, ? extends R> function) {
+            this.function = function;
+        }
+
+        @Override
+        public R apply(ClientMessage message) {
+            return function.apply(resolve(message));
+        }
+    }
+
+    private final class NonBlockingResolvingFunction<R> extends ResolvingFunction<R> implements NonBlocking {
+
+        NonBlockingResolvingFunction(IFunction<? super V, ? extends R> function) {
+            super(function);
+        }
+    }
+
     class DelegatingExecutionCallback<T> implements ExecutionCallback<ClientMessage> {
 
         private final ExecutionCallback<T> callback;
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.serialization.CompactSerializable;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientCompactSerializationTest extends HazelcastTestSupport {
+
+    private TestHazelcastFactory factory = new TestHazelcastFactory();
+    private HazelcastInstance member;
+
+    @Before
+    public void setup() {
+        member = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        HazelcastInstance client = factory.newHazelcastClient();
+        IMap<Integer, Employee> map = client.getMap(randomMapName());
+        map.put(1, new Employee("joe", 42));
+
+        Employee employee = map.get(1);
+
+        assertEquals("joe", employee.name);
+        assertEquals(42, employee.age);
+    }
+
+    @Test
+    public void testQuery() {
+        HazelcastInstance client = factory.newHazelcastClient();
+        IMap<Integer, Employee> map = client.getMap(randomMapName());
+        for (int i = 0; i < 50; i++) {
+            map.put(i, new Employee("name" + i, i));
+        }
+
+        Collection<Employee> result = map.values(new SqlPredicate("age < 10 and name != 'name0'"));
+
+        assertEquals(9, result.size());
+    }
+
+    @Test
+    public void testGet_fromClientThatDidNotWriteTheValue() {
+        HazelcastInstance client1 = factory.newHazelcastClient();
+        HazelcastInstance client2 = factory.newHazelcastClient();
+        IMap<Integer, Employee> map = client1.getMap(randomMapName());
+        map.put(1, new Employee("joe", 42));
+
+        Employee employee = client2.<Integer, Employee>getMap(map.getName()).get(1);
+
+        assertEquals("joe", employee.name);
+    }
+
+    @Test
+    public void testGet_onMember_whenWrittenByClient() {
+        HazelcastInstance client = factory.newHazelcastClient();
+        IMap<Integer, Employee> map = client.getMap(randomMapName());
+        map.put(1, new Employee("joe", 42));
+
+        Employee employee = member.<Integer, Employee>getMap(map.getName()).get(1);
+
+        assertEquals("joe", employee.name);
+    }
+
+    static class Employee implements CompactSerializable {
+        String name;
+        int age;
+
+        Employee() {
+        }
+
+        Employee(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.connection.nio;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.metrics.LongGauge;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.client.impl.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientConnectionPoolTest extends HazelcastTestSupport {
+
+    private static final int POOL_SIZE = 4;
+    private static final int ENTRY_COUNT = 1000;
+    private static final int ROUND_COUNT = 20;
+
+    private HazelcastInstance member;
+    private ClientConfig clientConfig;
+    private IMap<Integer, Integer> map;
+    private LongGauge pooledConnectionCount;
+    private LongGauge connectionCount;
+
+    @Before
+    public void setUp() {
+        member = Hazelcast.newHazelcastInstance();
+        Hazelcast.newHazelcastInstance();
+
+        clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.CONNECTION_POOL_SIZE.getName(), String.valueOf(POOL_SIZE));
+        clientConfig.setProperty(ClientProperty.IO_THREAD_COUNT.getName(), "2");
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+        map = client.getMap(randomMapName());
+
+        pooledConnectionCount = getHazelcastClientInstanceImpl(client).getMetricsRegistry()
+                .newLongGauge("tcp.pooledConnectionCount");
+        connectionCount = getHazelcastClientInstanceImpl(client).getMetricsRegistry()
+                .newLongGauge("tcp.connectionCount");
+    }
+
+    @After
+    public void cleanUp() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testPartitionOperations_openPooledConnections() {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                putAndGetAll();
+                assertEquals(2 * (POOL_SIZE - 1), pooledConnectionCount.read());
+            }
+        });
+        assertEquals(2, connectionCount.read());
+    }
+
+    @Test
+    public void testPooledConnectionsClosed_whenMemberShutdown() {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                putAndGetAll();
+                assertEquals(2 * (POOL_SIZE - 1), pooledConnectionCount.read());
+            }
+        });
+
+        member.shutdown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(POOL_SIZE - 1, pooledConnectionCount.read());
+            }
+        });
+        putAndGetAll();
+    }
+
+    @Test
+    public void testPartitionOperations_doNotWaitForPooledConnections() {
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+        map = client.getMap(map.getName());
+
+        // the pooled connections of the new client are still connecting, the operations use the primary connections
+        putAndGetAll();
+    }
+
+    @Test
+    public void testPartitionOperationsStayOrdered_onPooledConnections() throws Exception {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                putAndGetAll();
+                assertEquals(2 * (POOL_SIZE - 1), pooledConnectionCount.read());
+            }
+        });
+
+        List<ICompletableFuture<Integer>> futures = new ArrayList<ICompletableFuture<Integer>>();
+        for (int round = 0; round < ROUND_COUNT; round++) {
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                futures.add(map.putAsync(i, round));
+            }
+        }
+        for (ICompletableFuture<Integer> future : futures) {
+            future.get();
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(ROUND_COUNT - 1, (int) map.get(i));
+        }
+    }
+
+    private void putAndGetAll() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+        assertEquals(ENTRY_COUNT, map.size());
+    }
+}
@@ -6,6 +6,9 @@ import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IFunction;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.ringbuffer.PredicateFilter;
+import com.hazelcast.ringbuffer.ProjectingRingbuffer;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.impl.client.PortableReadResultSet;
@@ -209,6 +212,32 @@ public class RingbufferTest extends HazelcastTestSupport {
         assertEquals("good3", rs.get(2));
     }
 
+    @Test
+    public void readManyAsync_withPredicateFilter_andProjection() throws Exception {
+        serverRingbuffer.add("good1");
+        serverRingbuffer.add("bad1");
+        serverRingbuffer.add("good22");
+        serverRingbuffer.add("bad2");
+
+        ProjectingRingbuffer<String> projecting = (ProjectingRingbuffer<String>) clientRingbuffer;
+        ICompletableFuture<ReadResultSet<Integer>> f = projecting.readManyAsync(0, 2, 2,
+                new PredicateFilter<String>(Predicates.like("this", "good%")), new Length());
+
+        ReadResultSet<Integer> rs = f.get();
+        assertInstanceOf(PortableReadResultSet.class, rs);
+
+        assertEquals(3, rs.readCount());
+        assertEquals(Integer.valueOf(5), rs.get(0));
+        assertEquals(Integer.valueOf(6), rs.get(1));
+    }
+
+    static class Length implements IFunction<String, Integer> {
+        @Override
+        public Integer apply(String input) {
+            return input.length();
+        }
+    }
+
     static class Filter implements IFunction<String, Boolean> {
         @Override
         public Boolean apply(String input) {
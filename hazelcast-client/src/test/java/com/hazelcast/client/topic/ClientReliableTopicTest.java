@@ -20,6 +20,7 @@ import com.hazelcast.client.proxy.ClientReliableTopicProxy;
 import com.hazelcast.client.test.TestHazelcastFactory;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.Message;
 import com.hazelcast.core.MessageListener;
@@ -180,6 +181,30 @@ public class ClientReliableTopicTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void publishAsyncMultiple() throws Exception {
+        ITopic<String> topic = client.getReliableTopic(randomString());
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        final List<String> items = new ArrayList<String>();
+        List<ICompletableFuture<Void>> futures = new ArrayList<ICompletableFuture<Void>>();
+        for (int k = 0; k < 5; k++) {
+            items.add("" + k);
+            futures.add(topic.publishAsync("" + k));
+        }
+        for (ICompletableFuture<Void> future : futures) {
+            future.get();
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(items, Arrays.asList(listener.objects.toArray()));
+            }
+        });
+    }
+
     @Test
     public void publishMultiple() throws InterruptedException {
         ITopic topic = client.getReliableTopic(randomString());
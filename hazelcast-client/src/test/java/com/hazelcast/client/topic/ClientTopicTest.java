@@ -73,6 +73,23 @@ public class ClientTopicTest {
         assertTrue(latch.await(20, TimeUnit.SECONDS));
     }
 
+    @Test
+    public void testPublishAsync() throws Exception {
+        ITopic<Integer> topic = client.getTopic(randomString());
+
+        final CountDownLatch latch = new CountDownLatch(10);
+        topic.addMessageListener(new MessageListener<Integer>() {
+            public void onMessage(Message<Integer> message) {
+                latch.countDown();
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            topic.publishAsync(i).get();
+        }
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+    }
+
     @Test
     public void testRemoveListener() {
         ITopic topic = client.getTopic(randomString());
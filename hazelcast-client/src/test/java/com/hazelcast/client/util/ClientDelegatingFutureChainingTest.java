@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.util;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.NonBlocking;
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.ChainedFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientDelegatingFutureChainingTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    private IMap<String, Integer> map;
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance();
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient();
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void cleanup() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void thenApply() throws Exception {
+        map.put("key", 1);
+
+        ICompletableFuture<Integer> future = ChainedFuture.thenApply(map.getAsync("key"), new IFunction<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer input) {
+                return input + 1;
+            }
+        });
+
+        assertEquals(2, (int) future.get());
+    }
+
+    @Test
+    public void thenApply_whenNonBlocking_runsOnResponseThread() throws Exception {
+        map.put("key", 1);
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+
+        ICompletableFuture<Integer> future = ChainedFuture.thenApply(map.getAsync("key"), new NonBlockingIncrement(thread));
+
+        assertEquals(2, (int) future.get());
+        assertTrue(thread.get().getName(), thread.get().getName().contains(".response-"));
+    }
+
+    @Test
+    public void thenCompose_chainsMapOperations() throws Exception {
+        map.put("source", 1);
+
+        ICompletableFuture<Integer> future = ChainedFuture.thenCompose(map.getAsync("source"), new NonBlockingCopy("target"))
+                .thenCompose(new NonBlockingGet("target"));
+
+        assertEquals(1, (int) future.get());
+        assertEquals(1, (int) map.get("target"));
+    }
+
+    @Test
+    public void thenApply_whenOperationFails() throws Exception {
+        map.put("key", 1);
+
+        ICompletableFuture<Object> failing = map.submitToKey("key", new FailingEntryProcessor());
+        ICompletableFuture<String> future = ChainedFuture.thenApply(failing, new IFunction<Object, String>() {
+            @Override
+            public String apply(Object input) {
+                return String.valueOf(input);
+            }
+        });
+
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    public void andThen_whenNonBlocking_runsOnResponseThread() throws Exception {
+        map.put("key", 1);
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        map.getAsync("key").andThen(new NonBlockingCallback(thread, latch));
+
+        assertOpenEventually(latch);
+        assertTrue(thread.get().getName(), thread.get().getName().contains(".response-"));
+    }
+
+    private static class NonBlockingIncrement implements IFunction<Integer, Integer>, NonBlocking {
+
+        private final AtomicReference<Thread> thread;
+
+        NonBlockingIncrement(AtomicReference<Thread> thread) {
+            this.thread = thread;
+        }
+
+        @Override
+        public Integer apply(Integer input) {
+            thread.set(Thread.currentThread());
+            return input + 1;
+        }
+    }
+
+    private class NonBlockingCopy implements IFunction<Integer, ICompletableFuture<Integer>>, NonBlocking {
+
+        private final String key;
+
+        NonBlockingCopy(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public ICompletableFuture<Integer> apply(Integer input) {
+            return map.putAsync(key, input);
+        }
+    }
+
+    private class NonBlockingGet implements IFunction<Integer, ICompletableFuture<Integer>>, NonBlocking {
+
+        private final String key;
+
+        NonBlockingGet(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public ICompletableFuture<Integer> apply(Integer input) {
+            return map.getAsync(key);
+        }
+    }
+
+    private static class NonBlockingCallback implements ExecutionCallback<Integer>, NonBlocking {
+
+        private final AtomicReference<Thread> thread;
+        private final CountDownLatch latch;
+
+        NonBlockingCallback(AtomicReference<Thread> thread, CountDownLatch latch) {
+            this.thread = thread;
+            this.latch = latch;
+        }
+
+        @Override
+        public void onResponse(Integer response) {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+        }
+    }
+
+    private static class FailingEntryProcessor extends AbstractEntryProcessor<String, Integer> {
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            throw new IllegalStateException("expected");
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol;
 
 import com.hazelcast.client.impl.protocol.exception.MaxMessageSizeExceeded;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBufferPool;
 import com.hazelcast.client.impl.protocol.util.ClientProtocolBuffer;
 import com.hazelcast.client.impl.protocol.util.MessageFlyweight;
 import com.hazelcast.client.impl.protocol.util.SafeBuffer;
@@ -84,6 +85,13 @@ public class ClientMessage
      */
     public static final short LISTENER_EVENT_FLAG = 0x01;
 
+    /**
+     * Batch Flag, the payload of the message is a sequence of complete messages
+     *
+     * @see com.hazelcast.client.impl.protocol.util.ClientMessageBatch
+     */
+    public static final short BATCH_FLAG = 0x02;
+
     /**
      * ClientMessage Fixed Header size in bytes
      */
@@ -92,6 +100,14 @@ public class ClientMessage
     private static final String PROP_HAZELCAST_PROTOCOL_UNSAFE = "hazelcast.protocol.unsafe.enabled";
     private static final boolean USE_UNSAFE = Boolean.getBoolean(PROP_HAZELCAST_PROTOCOL_UNSAFE);
 
+    private static final String PROP_HAZELCAST_PROTOCOL_BUFFER_POOL = "hazelcast.protocol.buffer.pool.enabled";
+    private static final String PROP_HAZELCAST_PROTOCOL_BUFFER_POOL_SIZE = "hazelcast.protocol.buffer.pool.size";
+    private static final int DEFAULT_BUFFER_POOL_SIZE = 64;
+    private static final boolean USE_BUFFER_POOL = Boolean.getBoolean(PROP_HAZELCAST_PROTOCOL_BUFFER_POOL);
+    private static final int BUFFER_POOL_SIZE = Integer.getInteger(PROP_HAZELCAST_PROTOCOL_BUFFER_POOL_SIZE,
+            DEFAULT_BUFFER_POOL_SIZE);
+    private static final ThreadLocal<ClientMessageBufferPool> ENCODE_BUFFER_POOL = new ThreadLocal<ClientMessageBufferPool>();
+
     private static final int FRAME_LENGTH_FIELD_OFFSET = 0;
     private static final int VERSION_FIELD_OFFSET = FRAME_LENGTH_FIELD_OFFSET + Bits.INT_SIZE_IN_BYTES;
     private static final int FLAGS_FIELD_OFFSET = VERSION_FIELD_OFFSET + Bits.BYTE_SIZE_IN_BYTES;
@@ -107,6 +123,7 @@ public class ClientMessage
 
     private transient int writeOffset;
     private transient boolean isRetryable;
+    private transient ClientMessageBufferPool bufferPool;
 
     protected ClientMessage() {
     }
@@ -379,6 +396,10 @@ public class ClientMessage
 
     @Override
     public String toString() {
+        if (buffer == null) {
+            // the buffer has been given back to its pool, a released message may still end up in a debug log
+            return "ClientMessage{released}";
+        }
         int len = index();
         final StringBuilder sb = new StringBuilder("ClientMessage{");
         sb.append("length=").append(len);
@@ -389,6 +410,7 @@ public class ClientMessage
             sb.append(", isComplete=").append(isComplete());
             sb.append(", isRetryable=").append(isRetryable());
             sb.append(", isEvent=").append(isFlagSet(LISTENER_EVENT_FLAG));
+            sb.append(", isBatch=").append(isFlagSet(BATCH_FLAG));
             sb.append(", writeOffset=").append(writeOffset);
         }
         sb.append('}');
@@ -400,11 +422,80 @@ public class ClientMessage
     }
 
     public static ClientMessage createForEncode(int initialCapacity) {
+        return createForEncode(initialCapacity, USE_BUFFER_POOL ? ENCODE_BUFFER_POOL.get() : null);
+    }
+
+    /**
+     * Creates a message for encoding whose buffer is taken from the given pool. The buffer is given back to the pool
+     * when the message is {@link #release() released}.
+     *
+     * @param initialCapacity the minimum capacity of the message buffer
+     * @param pool            the pool to take the buffer from or {@code null} to allocate a new buffer
+     * @return the created message
+     */
+    public static ClientMessage createForEncode(int initialCapacity, ClientMessageBufferPool pool) {
         initialCapacity = findSuitableMessageSize(initialCapacity);
-        if (USE_UNSAFE) {
-            return createForEncode(new UnsafeBuffer(new byte[initialCapacity]), 0);
+        if (pool == null) {
+            if (USE_UNSAFE) {
+                return createForEncode(new UnsafeBuffer(new byte[initialCapacity]), 0);
+            } else {
+                return createForEncode(new SafeBuffer(new byte[initialCapacity]), 0);
+            }
+        }
+
+        byte[] bytes = pool.take(initialCapacity);
+        ClientProtocolBuffer buffer = USE_UNSAFE ? new UnsafeBuffer(bytes) : new SafeBuffer(bytes);
+        // a pooled buffer still contains the header of the message it was used for before
+        buffer.putLong(VERSION_FIELD_OFFSET, 0);
+        buffer.putLong(CORRELATION_ID_FIELD_OFFSET, 0);
+        ClientMessage clientMessage = createForEncode(buffer, 0);
+        clientMessage.bufferPool = pool;
+        return clientMessage;
+    }
+
+    /**
+     * Returns the buffer of this message to the pool it was taken from. This is a no-op if the buffer was not taken
+     * from a pool or has been released already.
+     * <p/>
+     * Must only be called once the message has been written completely and nothing refers to it anymore; the message
+     * can't be used after it has been released. Only {@link #toString()}, {@link #hashCode()} and {@link #equals(Object)}
+     * remain safe to call on a released message.
+     */
+    public void release() {
+        ClientMessageBufferPool pool = bufferPool;
+        if (pool == null) {
+            return;
+        }
+        bufferPool = null;
+        pool.giveBack(buffer.byteArray());
+        buffer = null;
+    }
+
+    /**
+     * Creates a buffer pool for an IO thread if pooling is enabled with the {@code hazelcast.protocol.buffer.pool.enabled}
+     * system property. The buffers of the messages written by an IO thread are given back to the pool they were taken
+     * from, so each IO thread has its own pool.
+     *
+     * @return the new buffer pool or {@code null} if pooling is disabled
+     */
+    public static ClientMessageBufferPool newBufferPool() {
+        return USE_BUFFER_POOL ? new ClientMessageBufferPool(BUFFER_POOL_SIZE) : null;
+    }
+
+    /**
+     * Sets the pool {@link #createForEncode(int)} takes the buffers from on the calling thread, typically the pool of
+     * the IO thread that is going to write the encoded message.
+     *
+     * @param pool the pool or {@code null} to stop pooling on the calling thread
+     */
+    public static void setEncodeBufferPool(ClientMessageBufferPool pool) {
+        if (!USE_BUFFER_POOL) {
+            return;
+        }
+        if (pool == null) {
+            ENCODE_BUFFER_POOL.remove();
         } else {
-            return createForEncode(new SafeBuffer(new byte[initialCapacity]), 0);
+            ENCODE_BUFFER_POOL.set(pool);
         }
     }
 
@@ -429,6 +520,9 @@ public class ClientMessage
 
     @Override
     public int hashCode() {
+        if (buffer == null) {
+            return 0;
+        }
         return ByteBuffer.wrap(buffer().byteArray(), 0, getFrameLength()).hashCode();
     }
 
@@ -442,6 +536,10 @@ public class ClientMessage
         }
 
         ClientMessage that = (ClientMessage) o;
+        if (this.buffer == null || that.buffer == null) {
+            // a released message has no content left to compare
+            return false;
+        }
 
         byte[] thisBytes = this.buffer().byteArray();
         byte[] thatBytes = that.buffer().byteArray();
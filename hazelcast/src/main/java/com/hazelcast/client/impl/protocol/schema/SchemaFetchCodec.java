@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.schema;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Fetches the schema with the given id from the cluster. The response is {@code null} if no member knows the schema.
+ */
+public final class SchemaFetchCodec {
+
+    public static final SchemaMessageType REQUEST_TYPE = SchemaMessageType.SCHEMA_FETCH;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.DATA;
+    public static final boolean RETRYABLE = true;
+
+    private SchemaFetchCodec() {
+    }
+
+    public static class RequestParameters {
+
+        public static final SchemaMessageType TYPE = REQUEST_TYPE;
+
+        public long schemaId;
+
+        public static int calculateDataSize(long schemaId) {
+            int dataSize = ClientMessage.HEADER_SIZE;
+            dataSize += Bits.LONG_SIZE_IN_BYTES;
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeRequest(long schemaId) {
+        int requiredDataSize = RequestParameters.calculateDataSize(schemaId);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(REQUEST_TYPE.id());
+        clientMessage.setRetryable(RETRYABLE);
+        clientMessage.set(schemaId);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        parameters.schemaId = clientMessage.getLong();
+        return parameters;
+    }
+
+    public static class ResponseParameters {
+
+        public Data response;
+
+        public static int calculateDataSize(Data response) {
+            int dataSize = ClientMessage.HEADER_SIZE;
+            dataSize += Bits.BOOLEAN_SIZE_IN_BYTES;
+            if (response != null) {
+                dataSize += ParameterUtil.calculateDataSize(response);
+            }
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeResponse(Data response) {
+        int requiredDataSize = ResponseParameters.calculateDataSize(response);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        boolean isNull = response == null;
+        clientMessage.set(isNull);
+        if (!isNull) {
+            clientMessage.set(response);
+        }
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ResponseParameters parameters = new ResponseParameters();
+        boolean isNull = clientMessage.getBoolean();
+        if (!isNull) {
+            parameters.response = clientMessage.getData();
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.schema;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.MessageTaskFactory;
+import com.hazelcast.client.impl.protocol.MessageTaskFactoryProvider;
+import com.hazelcast.client.impl.protocol.task.MessageTask;
+import com.hazelcast.client.impl.protocol.task.schema.SchemaFetchMessageTask;
+import com.hazelcast.client.impl.protocol.task.schema.SchemaSendMessageTask;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+/**
+ * Provides the message tasks of the schema messages.
+ */
+public class SchemaMessageTaskFactoryProvider implements MessageTaskFactoryProvider {
+
+    private final MessageTaskFactory[] factories = new MessageTaskFactory[Short.MAX_VALUE];
+    private final Node node;
+
+    public SchemaMessageTaskFactoryProvider(NodeEngine nodeEngine) {
+        this.node = ((NodeEngineImpl) nodeEngine).getNode();
+        factories[SchemaMessageType.SCHEMA_SEND.id()] = new MessageTaskFactory() {
+            @Override
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new SchemaSendMessageTask(clientMessage, node, connection);
+            }
+        };
+        factories[SchemaMessageType.SCHEMA_FETCH.id()] = new MessageTaskFactory() {
+            @Override
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new SchemaFetchMessageTask(clientMessage, node, connection);
+            }
+        };
+    }
+
+    @Override
+    public MessageTaskFactory[] getFactories() {
+        return factories;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.schema;
+
+/**
+ * Message types of the schema messages. They are not part of the generated protocol, so they use a range of ids no
+ * generated message type uses.
+ */
+public enum SchemaMessageType {
+
+    SCHEMA_SEND(0x1c01),
+    SCHEMA_FETCH(0x1c02);
+
+    private final int id;
+
+    SchemaMessageType(int messageType) {
+        this.id = messageType;
+    }
+
+    public int id() {
+        return id;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.schema;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Sends the schema of a compact serialized class to the cluster. The response is sent once all members know the
+ * schema.
+ */
+public final class SchemaSendCodec {
+
+    public static final SchemaMessageType REQUEST_TYPE = SchemaMessageType.SCHEMA_SEND;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.VOID;
+    public static final boolean RETRYABLE = true;
+
+    private SchemaSendCodec() {
+    }
+
+    public static class RequestParameters {
+
+        public static final SchemaMessageType TYPE = REQUEST_TYPE;
+
+        public Data schema;
+
+        public static int calculateDataSize(Data schema) {
+            int dataSize = ClientMessage.HEADER_SIZE;
+            dataSize += ParameterUtil.calculateDataSize(schema);
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeRequest(Data schema) {
+        int requiredDataSize = RequestParameters.calculateDataSize(schema);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(REQUEST_TYPE.id());
+        clientMessage.setRetryable(RETRYABLE);
+        clientMessage.set(schema);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        parameters.schema = clientMessage.getData();
+        return parameters;
+    }
+
+    public static class ResponseParameters {
+
+        public static int calculateDataSize() {
+            return ClientMessage.HEADER_SIZE;
+        }
+    }
+
+    public static ClientMessage encodeResponse() {
+        int requiredDataSize = ResponseParameters.calculateDataSize();
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        return new ResponseParameters();
+    }
+}
@@ -23,11 +23,15 @@ import com.hazelcast.client.impl.ClientEngineImpl;
 import com.hazelcast.client.impl.client.SecureRequest;
 import com.hazelcast.client.impl.protocol.ClientExceptionFactory;
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBufferPool;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.tcp.SocketWriter;
+import com.hazelcast.nio.tcp.TcpIpConnection;
+import com.hazelcast.nio.tcp.nonblocking.NonBlockingSocketWriter;
 import com.hazelcast.security.Credentials;
 import com.hazelcast.security.SecurityContext;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
@@ -193,10 +197,35 @@ public abstract class AbstractMessageTask<P>
     protected abstract void processMessage() throws Throwable;
 
     protected void sendResponse(Object response) {
-        ClientMessage clientMessage = encodeResponse(response);
+        ClientMessageBufferPool bufferPool = getBufferPool();
+        if (bufferPool == null) {
+            sendClientMessage(encodeResponse(response));
+            return;
+        }
+
+        // the response buffer is given back to the pool of the IO thread once it has been written
+        ClientMessage clientMessage;
+        ClientMessage.setEncodeBufferPool(bufferPool);
+        try {
+            clientMessage = encodeResponse(response);
+        } finally {
+            ClientMessage.setEncodeBufferPool(null);
+        }
         sendClientMessage(clientMessage);
     }
 
+    private ClientMessageBufferPool getBufferPool() {
+        Connection endpointConnection = endpoint.getConnection();
+        if (!(endpointConnection instanceof TcpIpConnection)) {
+            return null;
+        }
+        SocketWriter socketWriter = ((TcpIpConnection) endpointConnection).getSocketWriter();
+        if (!(socketWriter instanceof NonBlockingSocketWriter)) {
+            return null;
+        }
+        return ((NonBlockingSocketWriter) socketWriter).getOwner().getClientMessageBufferPool();
+    }
+
     protected void sendClientMessage(ClientMessage resultClientMessage) {
         resultClientMessage.setCorrelationId(clientMessage.getCorrelationId());
         resultClientMessage.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
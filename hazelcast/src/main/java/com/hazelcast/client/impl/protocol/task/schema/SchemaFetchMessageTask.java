@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.task.schema;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.schema.SchemaFetchCodec;
+import com.hazelcast.client.impl.protocol.task.AbstractMessageTask;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+
+import java.security.Permission;
+
+public class SchemaFetchMessageTask extends AbstractMessageTask<SchemaFetchCodec.RequestParameters>
+        implements ExecutionCallback<Schema> {
+
+    public SchemaFetchMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected void processMessage() {
+        SchemaService schemaService = getService(SchemaService.SERVICE_NAME);
+        schemaService.getSchemaAsync(parameters.schemaId, this);
+    }
+
+    @Override
+    public void onResponse(Schema schema) {
+        sendResponse(serializationService.toData(schema));
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+        handleProcessingFailure(t);
+    }
+
+    @Override
+    protected SchemaFetchCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return SchemaFetchCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return SchemaFetchCodec.encodeResponse((Data) response);
+    }
+
+    @Override
+    public String getServiceName() {
+        return SchemaService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return null;
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return null;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "fetchSchema";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.schemaId};
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+
+import java.util.Collection;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.BATCH_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_AND_END_FLAGS;
+import static com.hazelcast.client.impl.protocol.ClientMessage.HEADER_SIZE;
+
+/**
+ * Packs multiple complete {@link ClientMessage}s into a single batch message and unpacks them again.
+ * <p/>
+ * A batch message has the {@link ClientMessage#BATCH_FLAG} and {@link ClientMessage#BEGIN_AND_END_FLAGS} set and
+ * its payload is the sequence of the complete frames of the batched messages, each with its own header:
+ * <pre>
+ * +--------------------+--------------------+--------------------+-----
+ * |   Batch header     |  Frame 1 (header + |  Frame 2 (header + | ...
+ * |   (HEADER_SIZE)    |  payload)          |  payload)          |
+ * +--------------------+--------------------+--------------------+-----
+ * </pre>
+ * Since every batched message keeps its own correlation and partition id, the receiver processes them exactly as
+ * if they had been received one by one. Only messages that are not fragmented can be batched and a batch itself is
+ * never fragmented.
+ */
+public final class ClientMessageBatch {
+
+    private ClientMessageBatch() {
+    }
+
+    /**
+     * Creates a batch message containing the given messages.
+     *
+     * @param messages the messages to batch, in the order they are going to be processed by the receiver
+     * @return the batch message
+     */
+    public static ClientMessage encode(Collection<ClientMessage> messages) {
+        return encode(messages, null);
+    }
+
+    /**
+     * Creates a batch message containing the given messages whose buffer is taken from the given pool.
+     *
+     * @param messages the messages to batch, in the order they are going to be processed by the receiver
+     * @param pool     the pool to take the buffer of the batch from or {@code null} to allocate a new buffer
+     * @return the batch message
+     * @see ClientMessage#release()
+     */
+    public static ClientMessage encode(Collection<ClientMessage> messages, ClientMessageBufferPool pool) {
+        int frameLength = HEADER_SIZE;
+        for (ClientMessage message : messages) {
+            frameLength += message.getFrameLength();
+        }
+
+        ClientMessage batch = ClientMessage.createForEncode(frameLength, pool);
+        ClientProtocolBuffer buffer = batch.buffer();
+        int index = batch.index();
+        for (ClientMessage message : messages) {
+            int length = message.getFrameLength();
+            buffer.putBytes(index, message.buffer().byteArray(), 0, length);
+            index += length;
+        }
+        batch.index(index);
+        batch.updateFrameLength();
+        batch.setVersion(ClientMessage.VERSION);
+        batch.addFlag((short) (BEGIN_AND_END_FLAGS | BATCH_FLAG));
+        return batch;
+    }
+
+    /**
+     * Passes every message contained in the batch to the handler. The messages are not copied; they are views on
+     * the buffer of the batch message.
+     *
+     * @param batch   the batch message
+     * @param handler the handler to pass the messages to
+     * @return the number of messages in the batch
+     */
+    public static int decode(ClientMessage batch, ClientMessageBuilder.MessageHandler handler) {
+        ClientProtocolBuffer buffer = batch.buffer();
+        int batchFrameLength = batch.getFrameLength();
+        int offset = batch.getDataOffset();
+        int count = 0;
+        while (offset < batchFrameLength) {
+            ClientMessage message = ClientMessage.createForDecode(buffer, offset);
+            int frameLength = message.getFrameLength();
+            if (frameLength < HEADER_SIZE || offset + frameLength > batchFrameLength) {
+                throw new IllegalArgumentException("Invalid frame length " + frameLength + " at offset " + offset
+                        + " of batch message with frame length " + batchFrameLength);
+            }
+            handler.handleMessage(message);
+            offset += frameLength;
+            count++;
+        }
+        return count;
+    }
+}
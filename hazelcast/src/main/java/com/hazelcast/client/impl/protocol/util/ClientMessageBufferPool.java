@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A pool of byte arrays used as the buffers of encoded {@link com.hazelcast.client.impl.protocol.ClientMessage}s.
+ * <p/>
+ * The arrays are kept in size classes of powers of two between {@link #MIN_BUFFER_SIZE} and {@link #MAX_BUFFER_SIZE}
+ * bytes; larger buffers are never pooled. Each size class holds a bounded number of arrays in slots that are taken and
+ * returned with a CAS, so a buffer can be taken by the thread encoding a message and returned by the IO thread that
+ * has written it without any locking or allocation.
+ * <p/>
+ * Each IO thread owns a pool, see {@link com.hazelcast.nio.tcp.nonblocking.NonBlockingIOThread#getClientMessageBufferPool()},
+ * and the buffers of the messages it writes are returned to the pool they were taken from.
+ * <p/>
+ * A buffer must only be returned once nothing refers to it anymore.
+ */
+public final class ClientMessageBufferPool {
+
+    /**
+     * The size of the smallest pooled buffer.
+     */
+    public static final int MIN_BUFFER_SIZE = 64;
+
+    /**
+     * The size of the largest pooled buffer.
+     */
+    public static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MIN_SIZE_CLASS_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    private static final int SIZE_CLASS_COUNT = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE) - MIN_SIZE_CLASS_SHIFT + 1;
+    private static final int MAX_PROBES = 4;
+
+    @Probe
+    private final MwCounter hits = newMwCounter();
+    @Probe
+    private final MwCounter misses = newMwCounter();
+    @Probe
+    private final MwCounter returns = newMwCounter();
+    @Probe
+    private final MwCounter drops = newMwCounter();
+
+    // the slots of all size classes; the slots of a size class are consecutive
+    private final AtomicReferenceArray<byte[]> slots;
+    private final int slotCount;
+    private final int slotMask;
+
+    /**
+     * @param buffersPerSizeClass the maximum number of buffers pooled per size class, rounded up to a power of two
+     */
+    public ClientMessageBufferPool(int buffersPerSizeClass) {
+        this.slotCount = nextPowerOfTwo(buffersPerSizeClass);
+        this.slotMask = slotCount - 1;
+        this.slots = new AtomicReferenceArray<byte[]>(SIZE_CLASS_COUNT * slotCount);
+    }
+
+    /**
+     * Takes a buffer of at least the given size from the pool or allocates a new one if none is available.
+     *
+     * @param minSize the minimum size of the buffer
+     * @return the buffer; its length is the size class of the requested size unless it is larger than
+     * {@link #MAX_BUFFER_SIZE}
+     */
+    public byte[] take(int minSize) {
+        if (minSize > MAX_BUFFER_SIZE) {
+            misses.inc();
+            return new byte[minSize];
+        }
+
+        int sizeClass = sizeClassOf(minSize);
+        int firstSlot = sizeClass * slotCount;
+        int start = startSlot();
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = firstSlot + ((start + probe) & slotMask);
+            byte[] buffer = slots.get(slot);
+            if (buffer != null && slots.compareAndSet(slot, buffer, null)) {
+                hits.inc();
+                return buffer;
+            }
+        }
+        misses.inc();
+        return new byte[sizeOf(sizeClass)];
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers that don't match a size class or don't fit into the pool are dropped.
+     *
+     * @param buffer the buffer to return
+     */
+    public void giveBack(byte[] buffer) {
+        int length = buffer.length;
+        if (length < MIN_BUFFER_SIZE || length > MAX_BUFFER_SIZE || Integer.bitCount(length) != 1) {
+            drops.inc();
+            return;
+        }
+
+        int firstSlot = sizeClassOf(length) * slotCount;
+        int start = startSlot();
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = firstSlot + ((start + probe) & slotMask);
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer)) {
+                returns.inc();
+                return;
+            }
+        }
+        drops.inc();
+    }
+
+    /**
+     * @param size the requested size
+     * @return the size of the buffers handed out for the requested size
+     */
+    public static int bufferSizeFor(int size) {
+        return size > MAX_BUFFER_SIZE ? size : sizeOf(sizeClassOf(size));
+    }
+
+    private static int sizeClassOf(int size) {
+        int pow2 = nextPowerOfTwo(Math.max(size, MIN_BUFFER_SIZE));
+        return Integer.numberOfTrailingZeros(pow2) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private static int sizeOf(int sizeClass) {
+        return 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+    }
+
+    // spreads the threads over the slots to reduce contention
+    private int startSlot() {
+        return (int) Thread.currentThread().getId() & slotMask;
+    }
+}
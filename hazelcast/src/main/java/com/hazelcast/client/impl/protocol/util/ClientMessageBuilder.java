@@ -21,18 +21,26 @@ import com.hazelcast.util.collection.Long2ObjectHashMap;
 
 import java.nio.ByteBuffer;
 
+import static com.hazelcast.client.impl.protocol.ClientMessage.BATCH_FLAG;
 import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_AND_END_FLAGS;
 import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_FLAG;
 import static com.hazelcast.client.impl.protocol.ClientMessage.END_FLAG;
 
 /**
- * Builds {@link ClientMessage}s from byte chunks. Fragmented messages are merged into single messages before processed.
+ * Builds {@link ClientMessage}s from byte chunks. Fragmented messages are merged into single messages before processed
+ * and batch messages are unpacked into the messages they contain, see {@link ClientMessageBatch}.
  */
 public class ClientMessageBuilder {
 
     private final Long2ObjectHashMap<BufferBuilder> builderBySessionIdMap = new Long2ObjectHashMap<BufferBuilder>();
 
     private final MessageHandler delegate;
+    private final MessageHandler batchHandler = new MessageHandler() {
+        @Override
+        public void handleMessage(ClientMessage message) {
+            ClientMessageBuilder.this.handleMessage(message);
+        }
+    };
     private ClientMessage message = ClientMessage.create();
 
     public ClientMessageBuilder(MessageHandler delegate) {
@@ -48,6 +56,13 @@ public class ClientMessageBuilder {
             }
 
             //MESSAGE IS COMPLETE HERE
+            if (message.isFlagSet(BATCH_FLAG)) {
+                //HANDLE-BATCHED-MESSAGES
+                messagesCreated += ClientMessageBatch.decode(message, batchHandler);
+                message = ClientMessage.create();
+                continue;
+            }
+
             if (message.isFlagSet(BEGIN_AND_END_FLAGS)) {
                 //HANDLE-MESSAGE
                 handleMessage(message);
@@ -32,6 +32,7 @@ import com.hazelcast.transaction.TransactionException;
 import com.hazelcast.util.Clock;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -40,9 +41,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -53,11 +52,14 @@ import java.util.concurrent.TimeUnit;
  */
 public class QueueContainer implements IdentifiedDataSerializable {
     private static final int ID_PROMOTION_OFFSET = 100000;
+    // an ArrayDeque never shrinks, so one that held more items than this is replaced once it is drained
+    private static final int ITEM_QUEUE_TRIM_THRESHOLD = 1024;
     private final Map<Long, TxQueueItem> txMap = new HashMap<Long, TxQueueItem>();
     private final Map<Long, Data> dataMap = new HashMap<Long, Data>();
     private final QueueWaitNotifyKey pollWaitNotifyKey;
     private final QueueWaitNotifyKey offerWaitNotifyKey;
-    private LinkedList<QueueItem> itemQueue;
+    private ArrayDeque<QueueItem> itemQueue;
+    private int itemQueuePeakSize;
     private Map<Long, QueueItem> backupMap;
     private QueueConfig config;
     private QueueStoreWrapper store;
@@ -96,7 +98,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 long maxId = -1;
                 for (Long key : keys) {
                     QueueItem item = new QueueItem(this, key, null);
-                    getItemQueue().offer(item);
+                    offerItem(item);
                     maxId = Math.max(maxId, key);
                 }
                 idGenerator = maxId + 1;
@@ -193,15 +195,19 @@ public class QueueContainer implements IdentifiedDataSerializable {
     }
 
     private void addTxItemOrdered(TxQueueItem txQueueItem) {
-        ListIterator<QueueItem> iterator = ((List) getItemQueue()).listIterator();
-        while (iterator.hasNext()) {
-            QueueItem queueItem = iterator.next();
-            if (txQueueItem.itemId < queueItem.itemId) {
-                iterator.previous();
-                break;
+        Deque<QueueItem> itemQueue = getItemQueue();
+        // a rolled back poll was taken from the head, so usually no items have to be moved
+        List<QueueItem> preceding = Collections.emptyList();
+        while (!itemQueue.isEmpty() && itemQueue.peekFirst().itemId < txQueueItem.itemId) {
+            if (preceding.isEmpty()) {
+                preceding = new ArrayList<QueueItem>();
             }
+            preceding.add(itemQueue.pollFirst());
+        }
+        itemQueue.offerFirst(txQueueItem);
+        for (int i = preceding.size() - 1; i >= 0; i--) {
+            itemQueue.offerFirst(preceding.get(i));
         }
-        iterator.add(txQueueItem);
     }
 
     //TX Offer
@@ -228,7 +234,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         }
         item.setData(data);
         if (!backup) {
-            getItemQueue().offer(item);
+            offerItem(item);
             cancelEvictionIfExists();
         } else {
             getBackupMap().put(itemId, item);
@@ -296,7 +302,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         if (!store.isEnabled() || store.getMemoryLimit() > getItemQueue().size()) {
             item.setData(data);
         }
-        getItemQueue().offer(item);
+        offerItem(item);
         cancelEvictionIfExists();
         return item.getItemId();
     }
@@ -312,9 +318,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
     public Map<Long, Data> addAll(Collection<Data> dataList) {
         Map<Long, Data> map = new HashMap<Long, Data>(dataList.size());
         List<QueueItem> list = new ArrayList<QueueItem>(dataList.size());
+        int size = getItemQueue().size();
         for (Data data : dataList) {
             QueueItem item = new QueueItem(this, nextId(), null);
-            if (!store.isEnabled() || store.getMemoryLimit() > getItemQueue().size()) {
+            if (!store.isEnabled() || store.getMemoryLimit() > size + list.size()) {
                 item.setData(data);
             }
             map.put(item.getItemId(), data);
@@ -328,7 +335,9 @@ public class QueueContainer implements IdentifiedDataSerializable {
             }
         }
         if (!list.isEmpty()) {
-            getItemQueue().addAll(list);
+            for (QueueItem item : list) {
+                offerItem(item);
+            }
             cancelEvictionIfExists();
         }
         return map;
@@ -373,6 +382,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         }
         getItemQueue().poll();
         age(item, Clock.currentTimeMillis());
+        trimItemQueueIfEmpty();
         scheduleEvictionIfEmpty();
         return item;
     }
@@ -406,6 +416,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             age(item, current);
         }
         if (maxSizeParam != 0) {
+            trimItemQueueIfEmpty();
             scheduleEvictionIfEmpty();
         }
         return map;
@@ -461,6 +472,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             }
         }
         getItemQueue().clear();
+        trimItemQueueIfEmpty();
         dataMap.clear();
         scheduleEvictionIfEmpty();
         return map;
@@ -489,6 +501,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 iter.remove();
                 //For Stats
                 age(item, Clock.currentTimeMillis());
+                trimItemQueueIfEmpty();
                 scheduleEvictionIfEmpty();
                 return item.getItemId();
             }
@@ -573,15 +586,20 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 throw new HazelcastException(e);
             }
         }
-        Iterator<QueueItem> iter = getItemQueue().iterator();
-        while (iter.hasNext()) {
-            QueueItem item = iter.next();
+        // removing from the middle of an array deque shifts the items, so the remaining ones are copied once instead
+        Deque<QueueItem> items = getItemQueue();
+        ArrayDeque<QueueItem> remaining = new ArrayDeque<QueueItem>(Math.max(items.size() - map.size(), 1));
+        long current = Clock.currentTimeMillis();
+        for (QueueItem item : items) {
             if (map.containsKey(item.getItemId())) {
-                iter.remove();
                 //For Stats
-                age(item, Clock.currentTimeMillis());
+                age(item, current);
+            } else {
+                remaining.add(item);
             }
         }
+        itemQueue = remaining;
+        itemQueuePeakSize = remaining.size();
         scheduleEvictionIfEmpty();
     }
 
@@ -616,22 +634,38 @@ public class QueueContainer implements IdentifiedDataSerializable {
 
     public Deque<QueueItem> getItemQueue() {
         if (itemQueue == null) {
-            itemQueue = new LinkedList<QueueItem>();
             if (backupMap != null && !backupMap.isEmpty()) {
                 List<QueueItem> values = new ArrayList<QueueItem>(backupMap.values());
                 Collections.sort(values);
-                itemQueue.addAll(values);
+                itemQueue = new ArrayDeque<QueueItem>(values);
+                itemQueuePeakSize = values.size();
                 final QueueItem lastItem = itemQueue.peekLast();
                 if (lastItem != null) {
                     setId(lastItem.itemId + ID_PROMOTION_OFFSET);
                 }
                 backupMap.clear();
                 backupMap = null;
+            } else {
+                itemQueue = new ArrayDeque<QueueItem>();
+                itemQueuePeakSize = 0;
             }
         }
         return itemQueue;
     }
 
+    private void offerItem(QueueItem item) {
+        Deque<QueueItem> items = getItemQueue();
+        items.offer(item);
+        itemQueuePeakSize = Math.max(itemQueuePeakSize, items.size());
+    }
+
+    private void trimItemQueueIfEmpty() {
+        if (itemQueuePeakSize > ITEM_QUEUE_TRIM_THRESHOLD && itemQueue != null && itemQueue.isEmpty()) {
+            itemQueue = new ArrayDeque<QueueItem>();
+            itemQueuePeakSize = 0;
+        }
+    }
+
     Map<Long, QueueItem> getBackupMap() {
         if (backupMap == null) {
             backupMap = new HashMap<Long, QueueItem>();
@@ -759,7 +793,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         int size = in.readInt();
         for (int j = 0; j < size; j++) {
             QueueItem item = in.readObject();
-            getItemQueue().offer(item);
+            offerItem(item);
             setId(item.getItemId());
         }
         int txSize = in.readInt();
@@ -323,6 +323,13 @@ public class ConfigXmlGenerator {
             xml.append("<async-backup-count>").append(rbConfig.getAsyncBackupCount()).append("</async-backup-count>");
             xml.append("<time-to-live-seconds>").append(rbConfig.getTimeToLiveSeconds()).append("</time-to-live-seconds>");
             xml.append("<in-memory-format>").append(rbConfig.getInMemoryFormat().toString()).append("</in-memory-format>");
+            RingbufferPersistenceConfig persistenceConfig = rbConfig.getPersistenceConfig();
+            xml.append("<persistence enabled=\"").append(persistenceConfig.isEnabled()).append("\">");
+            xml.append("<base-dir>").append(persistenceConfig.getBaseDir().getAbsolutePath()).append("</base-dir>");
+            xml.append("<segment-size>").append(persistenceConfig.getSegmentSize()).append("</segment-size>");
+            xml.append("<retention-seconds>").append(persistenceConfig.getRetentionSeconds()).append("</retention-seconds>");
+            xml.append("<max-size-mb>").append(persistenceConfig.getMaxSizeMb()).append("</max-size-mb>");
+            xml.append("</persistence>");
             xml.append("</ringbuffer>");
         }
     }
@@ -410,6 +417,8 @@ public class ConfigXmlGenerator {
                     .append("</merge-policy>");
             xml.append("<read-backup-data>").append(m.isReadBackupData())
                     .append("</read-backup-data>");
+            xml.append("<value-compression-enabled>").append(m.isValueCompressionEnabled())
+                    .append("</value-compression-enabled>");
             appendHotRestartConfig(xml, m.getHotRestartConfig());
             xml.append("<statistics-enabled>").append(m.isStatisticsEnabled())
                     .append("</statistics-enabled>");
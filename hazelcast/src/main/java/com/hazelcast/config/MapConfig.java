@@ -130,6 +130,8 @@ public class MapConfig {
 
     private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
 
+    private boolean valueCompressionEnabled;
+
     private WanReplicationRef wanReplicationRef;
 
     private List<EntryListenerConfig> entryListenerConfigs;
@@ -178,6 +180,7 @@ public class MapConfig {
         this.evictionPolicy = config.evictionPolicy;
         this.mapEvictionPolicy = config.mapEvictionPolicy;
         this.inMemoryFormat = config.inMemoryFormat;
+        this.valueCompressionEnabled = config.valueCompressionEnabled;
         this.mapStoreConfig = config.mapStoreConfig != null ? new MapStoreConfig(config.mapStoreConfig) : null;
         this.nearCacheConfig = config.nearCacheConfig != null ? new NearCacheConfig(config.nearCacheConfig) : null;
         this.readBackupData = config.readBackupData;
@@ -550,6 +553,31 @@ public class MapConfig {
         return this;
     }
 
+    /**
+     * Checks if the values of this map are stored compressed.
+     *
+     * @return True if value compression is enabled, false otherwise.
+     * @since 3.8
+     */
+    public boolean isValueCompressionEnabled() {
+        return valueCompressionEnabled;
+    }
+
+    /**
+     * Enables or disables storing the values of this map compressed. Values are compressed when they are stored and
+     * decompressed when they are read, trading CPU for heap. Values that don't get smaller by compression are stored as
+     * they are. Only the {@link InMemoryFormat#BINARY} in-memory format is supported; creating a map which enables value
+     * compression with another in-memory format fails with an {@link IllegalArgumentException}.
+     *
+     * @param valueCompressionEnabled True to store values compressed, false to disable.
+     * @return The current map config instance.
+     * @since 3.8
+     */
+    public MapConfig setValueCompressionEnabled(boolean valueCompressionEnabled) {
+        this.valueCompressionEnabled = valueCompressionEnabled;
+        return this;
+    }
+
     /**
      * Checks if statistics are enabled for this map.
      *
@@ -908,6 +936,7 @@ public class MapConfig {
         result = prime * result + this.timeToLiveSeconds;
         result = prime * result + cacheDeserializedValues.hashCode();
         result = prime * result + (this.readBackupData ? 1231 : 1237);
+        result = prime * result + (this.valueCompressionEnabled ? 1231 : 1237);
         return result;
     }
 
@@ -930,6 +959,7 @@ public class MapConfig {
                         && this.maxSizeConfig.getSize() == other.maxSizeConfig.getSize()
                         && this.timeToLiveSeconds == other.timeToLiveSeconds
                         && this.readBackupData == other.readBackupData
+                        && this.valueCompressionEnabled == other.valueCompressionEnabled
                         && (this.cacheDeserializedValues == other.cacheDeserializedValues)
                         && (this.mergePolicy != null ? this.mergePolicy.equals(other.mergePolicy) : other.mergePolicy == null)
                         && (this.inMemoryFormat != null ? this.inMemoryFormat.equals(other.inMemoryFormat)
@@ -949,6 +979,7 @@ public class MapConfig {
         return "MapConfig{"
                 + "name='" + name + '\''
                 + "', inMemoryFormat=" + inMemoryFormat + '\''
+                + ", valueCompressionEnabled=" + valueCompressionEnabled
                 + ", backupCount=" + backupCount
                 + ", asyncBackupCount=" + asyncBackupCount
                 + ", timeToLiveSeconds=" + timeToLiveSeconds
@@ -62,6 +62,7 @@ public class RingbufferConfig {
     private int asyncBackupCount = DEFAULT_ASYNC_BACKUP_COUNT;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
     private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
+    private RingbufferPersistenceConfig persistenceConfig = new RingbufferPersistenceConfig();
 
     /**
      * Creates a RingbufferConfig with the provided name.
@@ -87,6 +88,7 @@ public class RingbufferConfig {
         this.asyncBackupCount = config.asyncBackupCount;
         this.timeToLiveSeconds = config.timeToLiveSeconds;
         this.inMemoryFormat = config.inMemoryFormat;
+        this.persistenceConfig = new RingbufferPersistenceConfig(config.persistenceConfig);
     }
 
     /**
@@ -272,6 +274,31 @@ public class RingbufferConfig {
         return this;
     }
 
+    /**
+     * Gets the persistence configuration.
+     *
+     * @return the persistence configuration.
+     */
+    public RingbufferPersistenceConfig getPersistenceConfig() {
+        return persistenceConfig;
+    }
+
+    /**
+     * Sets the persistence configuration.
+     *
+     * When persistence is enabled, the capacity only bounds the number of recent items kept in memory and the time to
+     * live is not used; the retention of the persistence configuration decides how long items remain readable.
+     *
+     * @param persistenceConfig the persistence configuration.
+     * @return the updated Config.
+     * @throws NullPointerException if persistenceConfig is null.
+     * @see RingbufferPersistenceConfig
+     */
+    public RingbufferConfig setPersistenceConfig(RingbufferPersistenceConfig persistenceConfig) {
+        this.persistenceConfig = checkNotNull(persistenceConfig, "persistenceConfig can't be null");
+        return this;
+    }
+
     @Override
     public String toString() {
         return "RingbufferConfig{"
@@ -281,6 +308,7 @@ public class RingbufferConfig {
                 + ", asyncBackupCount=" + asyncBackupCount
                 + ", timeToLiveSeconds=" + timeToLiveSeconds
                 + ", inMemoryFormat=" + inMemoryFormat
+                + ", persistenceConfig=" + persistenceConfig
                 + '}';
     }
 
@@ -318,5 +346,15 @@ public class RingbufferConfig {
         public RingbufferConfig setInMemoryFormat(InMemoryFormat inMemoryFormat) {
             throw new UnsupportedOperationException("This config is read-only");
         }
+
+        @Override
+        public RingbufferPersistenceConfig getPersistenceConfig() {
+            return new RingbufferPersistenceConfig(super.getPersistenceConfig());
+        }
+
+        @Override
+        public RingbufferConfig setPersistenceConfig(RingbufferPersistenceConfig persistenceConfig) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
     }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.config;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.io.File;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Configures the persistence of a {@link com.hazelcast.ringbuffer.Ringbuffer}.
+ * <p/>
+ * When persistence is enabled, every item added to the ringbuffer is also appended to memory-mapped segment files on
+ * the member owning (or backing up) the ringbuffer. The {@link RingbufferConfig#getCapacity() capacity} then only bounds
+ * the number of most recent items kept in heap; older items are read from the segment files and remain available until
+ * the retention removes their segment. So the head sequence is governed by the retention and not by the capacity.
+ * <p/>
+ * When the ringbuffer migrates to another member, or a new backup is created, the segment files are transferred along
+ * with the items in memory, so the history survives migrations. The whole history is sent in a single replication, so
+ * a large {@link #setMaxSizeMb(int) maximum size} makes migrations slower.
+ */
+@Beta
+public class RingbufferPersistenceConfig {
+
+    /**
+     * Default directory name for the ringbuffer segment files.
+     */
+    public static final String DEFAULT_BASE_DIR = "ringbuffer-store";
+    /**
+     * Default size of a segment file in bytes. Every persistent ringbuffer maps at least one segment, so the default
+     * is kept small.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+    /**
+     * Default retention in seconds, 0 means the segments are retained regardless of their age.
+     */
+    public static final int DEFAULT_RETENTION_SECONDS = 0;
+    /**
+     * Default maximum size of the segments of a ringbuffer in megabytes, 0 means unlimited.
+     */
+    public static final int DEFAULT_MAX_SIZE_MB = 0;
+
+    private boolean enabled;
+    private File baseDir = new File(DEFAULT_BASE_DIR);
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private int retentionSeconds = DEFAULT_RETENTION_SECONDS;
+    private int maxSizeMb = DEFAULT_MAX_SIZE_MB;
+
+    public RingbufferPersistenceConfig() {
+    }
+
+    public RingbufferPersistenceConfig(RingbufferPersistenceConfig config) {
+        checkNotNull(config, "config can't be null");
+        this.enabled = config.enabled;
+        this.baseDir = config.baseDir;
+        this.segmentSize = config.segmentSize;
+        this.retentionSeconds = config.retentionSeconds;
+        this.maxSizeMb = config.maxSizeMb;
+    }
+
+    /**
+     * Returns whether the ringbuffer is persisted in segment files.
+     *
+     * @return true if persistence is enabled, false otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the ringbuffer is persisted in segment files.
+     *
+     * @param enabled true to enable persistence.
+     * @return the updated config.
+     */
+    public RingbufferPersistenceConfig setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * Gets the base directory of the segment files. Each member writes to its own subdirectory.
+     *
+     * @return the base directory.
+     */
+    public File getBaseDir() {
+        return baseDir;
+    }
+
+    /**
+     * Sets the base directory of the segment files.
+     *
+     * @param baseDir the base directory.
+     * @return the updated config.
+     * @throws NullPointerException if baseDir is null.
+     */
+    public RingbufferPersistenceConfig setBaseDir(File baseDir) {
+        this.baseDir = checkNotNull(baseDir, "baseDir can't be null");
+        return this;
+    }
+
+    /**
+     * Gets the size of a segment file in bytes. A segment that gets full is closed and a new one is created.
+     *
+     * @return the segment size in bytes.
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Sets the size of a segment file in bytes. An item larger than the segment size gets a segment of its own.
+     *
+     * @param segmentSize the segment size in bytes.
+     * @return the updated config.
+     * @throws IllegalArgumentException if segmentSize is smaller than 1.
+     */
+    public RingbufferPersistenceConfig setSegmentSize(int segmentSize) {
+        this.segmentSize = checkPositive(segmentSize, "segmentSize can't be smaller than 1");
+        return this;
+    }
+
+    /**
+     * Gets the retention in seconds. A segment is deleted once its last item was added longer ago than the retention.
+     *
+     * @return the retention in seconds, 0 if segments are not deleted because of their age.
+     */
+    public int getRetentionSeconds() {
+        return retentionSeconds;
+    }
+
+    /**
+     * Sets the retention in seconds.
+     *
+     * @param retentionSeconds the retention in seconds, 0 to disable the time based retention.
+     * @return the updated config.
+     * @throws IllegalArgumentException if retentionSeconds is smaller than 0.
+     */
+    public RingbufferPersistenceConfig setRetentionSeconds(int retentionSeconds) {
+        this.retentionSeconds = checkNotNegative(retentionSeconds, "retentionSeconds can't be smaller than 0");
+        return this;
+    }
+
+    /**
+     * Gets the maximum size of all segments of a ringbuffer in megabytes. When it is exceeded, the oldest segments are
+     * deleted. The segment being written is never deleted.
+     *
+     * @return the maximum size in megabytes, 0 if unlimited.
+     */
+    public int getMaxSizeMb() {
+        return maxSizeMb;
+    }
+
+    /**
+     * Sets the maximum size of all segments of a ringbuffer in megabytes.
+     *
+     * @param maxSizeMb the maximum size in megabytes, 0 for unlimited.
+     * @return the updated config.
+     * @throws IllegalArgumentException if maxSizeMb is smaller than 0.
+     */
+    public RingbufferPersistenceConfig setMaxSizeMb(int maxSizeMb) {
+        this.maxSizeMb = checkNotNegative(maxSizeMb, "maxSizeMb can't be smaller than 0");
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "RingbufferPersistenceConfig{"
+                + "enabled=" + enabled
+                + ", baseDir=" + baseDir
+                + ", segmentSize=" + segmentSize
+                + ", retentionSeconds=" + retentionSeconds
+                + ", maxSizeMb=" + maxSizeMb
+                + '}';
+    }
+}
@@ -1088,6 +1088,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 mapConfig.setHotRestartConfig(createHotRestartConfig(node));
             } else if ("read-backup-data".equals(nodeName)) {
                 mapConfig.setReadBackupData(getBooleanValue(value));
+            } else if ("value-compression-enabled".equals(nodeName)) {
+                mapConfig.setValueCompressionEnabled(getBooleanValue(value));
             } else if ("statistics-enabled".equals(nodeName)) {
                 mapConfig.setStatisticsEnabled(getBooleanValue(value));
             } else if ("optimize-queries".equals(nodeName)) {
@@ -1752,11 +1754,34 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
             } else if ("in-memory-format".equals(nodeName)) {
                 InMemoryFormat inMemoryFormat = InMemoryFormat.valueOf(upperCaseInternal(value));
                 rbConfig.setInMemoryFormat(inMemoryFormat);
+            } else if ("persistence".equals(nodeName)) {
+                rbConfig.setPersistenceConfig(createRingbufferPersistenceConfig(n));
             }
         }
         config.addRingBufferConfig(rbConfig);
     }
 
+    private RingbufferPersistenceConfig createRingbufferPersistenceConfig(Node node) {
+        RingbufferPersistenceConfig persistenceConfig = new RingbufferPersistenceConfig();
+        Node attrEnabled = node.getAttributes().getNamedItem("enabled");
+        persistenceConfig.setEnabled(getBooleanValue(getTextContent(attrEnabled)));
+
+        for (Node n : childElements(node)) {
+            String name = cleanNodeName(n);
+            String value = getTextContent(n).trim();
+            if ("base-dir".equals(name)) {
+                persistenceConfig.setBaseDir(new File(value).getAbsoluteFile());
+            } else if ("segment-size".equals(name)) {
+                persistenceConfig.setSegmentSize(getIntegerValue("segment-size", value));
+            } else if ("retention-seconds".equals(name)) {
+                persistenceConfig.setRetentionSeconds(getIntegerValue("retention-seconds", value));
+            } else if ("max-size-mb".equals(name)) {
+                persistenceConfig.setMaxSizeMb(getIntegerValue("max-size-mb", value));
+            }
+        }
+        return persistenceConfig;
+    }
+
     private void handleListeners(Node node) throws Exception {
         for (Node child : childElements(node)) {
             if ("listener".equals(cleanNodeName(child))) {
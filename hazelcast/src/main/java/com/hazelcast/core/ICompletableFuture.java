@@ -37,7 +37,8 @@ public interface ICompletableFuture<V> extends Future<V> {
     /**
      * Registers a callback that will run after the future is completed.
      * Please note that there is no ordering guarantee for running multiple callbacks.
-     * It is also not guaranteed that the callback will run within the same thread that completes the future.
+     * It is also not guaranteed that the callback will run within the same thread that completes the future,
+     * unless the callback implements {@link NonBlocking}.
      *
      * @param callback the callback to execute
      */
@@ -52,6 +52,22 @@ public interface ITopic<E> extends DistributedObject {
      */
     void publish(E message);
 
+    /**
+     * Asynchronously publishes the message to all subscribers of this topic.
+     *
+     * The returned future completes when the message has been published. For a reliable topic, messages published
+     * asynchronously by the same member or client are coalesced and written to the ringbuffer in batches, which
+     * results in a much higher throughput than calling {@link #publish(Object)} for every message. The order of the
+     * messages published by a single thread is preserved.
+     *
+     * @param message the message to publish to all subscribers of this topic
+     * @return the future to synchronize on the completion of the publish. If the topic is overloaded and a reliable
+     * topic is configured with {@link com.hazelcast.topic.TopicOverloadPolicy#ERROR}, the future fails with a
+     * {@link TopicOverloadException}.
+     * @since 3.8
+     */
+    ICompletableFuture<Void> publishAsync(E message);
+
     /**
      * Subscribes to this topic. When someone publishes a message on this topic.
      * onMessage() function of the given MessageListener is called. More than one message listener can be
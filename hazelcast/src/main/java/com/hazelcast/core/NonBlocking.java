@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+/**
+ * Marks an {@link ExecutionCallback} or an {@link IFunction} passed to an {@link ICompletableFuture} as non-blocking.
+ * <p/>
+ * A non-blocking callback or function is run directly on the thread that completes the future, e.g. the response
+ * thread of the client, instead of being handed over to the default executor of the future. This saves a thread hop
+ * per completion, but a non-blocking callback must never block or run for a long time since it would delay the
+ * processing of other responses. In particular it must not call {@link java.util.concurrent.Future#get()}.
+ *
+ * @since 3.8
+ */
+public interface NonBlocking {
+}
@@ -446,6 +446,7 @@ public class Node {
             logger.info("Shutting down multicast service...");
             multicastService.stop();
         }
+        nodeEngine.flushPendingEvents();
         logger.info("Shutting down connection manager...");
         connectionManager.shutdown();
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.NonBlocking;
+
+/**
+ * Completes a text command once the asynchronous map call started by its processor returns.
+ * <p/>
+ * The callback only turns the result into the response of the command and hands the command to
+ * {@link TextCommandService#sendResponse(TextCommand)}, so it is {@link NonBlocking} and runs on the thread completing
+ * the call. The text executor thread which started the call is free again as soon as the call has been sent, so the
+ * number of requests in flight is not limited by the size of the executor.
+ *
+ * @param <V> the type of the result of the asynchronous call
+ */
+public abstract class TextCommandCallback<V> implements ExecutionCallback<V>, NonBlocking {
+
+    private final TextCommandService textCommandService;
+    private final TextCommand command;
+
+    protected TextCommandCallback(TextCommandService textCommandService, TextCommand command) {
+        this.textCommandService = textCommandService;
+        this.command = command;
+    }
+
+    @Override
+    public final void onResponse(V response) {
+        try {
+            handleResponse(response);
+        } catch (Throwable t) {
+            fail(t);
+        }
+        sendResponse();
+    }
+
+    @Override
+    public final void onFailure(Throwable t) {
+        fail(t);
+        sendResponse();
+    }
+
+    /**
+     * Sets the response of the command from the result of the call.
+     */
+    protected abstract void handleResponse(V response);
+
+    /**
+     * Sets the response of the command when the call failed.
+     */
+    protected abstract void handleFailure(Throwable t);
+
+    private void fail(Throwable t) {
+        textCommandService.getNode().getLogger(getClass()).warning(t);
+        handleFailure(t);
+    }
+
+    private void sendResponse() {
+        if (command.shouldReply()) {
+            textCommandService.sendResponse(command);
+        }
+    }
+}
@@ -72,6 +72,8 @@ public final class TextCommandConstants {
         TOUCH((byte) 16),
         INCREMENT((byte) 17),
         DECREMENT((byte) 18),
+        MEMCACHE_BINARY((byte) 19),
+        MEMCACHE_BINARY_GET((byte) 20),
         HTTP_GET((byte) 30),
         HTTP_POST((byte) 31),
         HTTP_PUT((byte) 32),
@@ -16,9 +16,14 @@
 
 package com.hazelcast.internal.ascii;
 
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.ascii.memcache.Stats;
 
+import java.util.Map;
+import java.util.Set;
+
+@SuppressWarnings("checkstyle:methodcount")
 public interface TextCommandService {
 
     boolean offer(String queueName, Object value);
@@ -33,6 +38,20 @@ public interface TextCommandService {
 
     Object get(String mapName, String key);
 
+    Map<String, Object> getAll(String mapName, Set<String> keys);
+
+    ICompletableFuture<Object> getAsync(String mapName, String key);
+
+    /**
+     * Sets the value without returning the old one.
+     */
+    ICompletableFuture<Void> setAsync(String mapName, String key, Object value, int ttlSeconds);
+
+    /**
+     * Deletes the key without returning the old value. The future completes with {@code true} if the key was mapped.
+     */
+    ICompletableFuture<Boolean> deleteAsync(String mapName, String key);
+
     byte[] getByteArray(String mapName, String key);
 
     Object put(String mapName, String key, Object value);
@@ -17,6 +17,7 @@
 package com.hazelcast.internal.ascii;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.Node;
@@ -25,6 +26,8 @@ import com.hazelcast.internal.ascii.memcache.DeleteCommandProcessor;
 import com.hazelcast.internal.ascii.memcache.ErrorCommandProcessor;
 import com.hazelcast.internal.ascii.memcache.GetCommandProcessor;
 import com.hazelcast.internal.ascii.memcache.IncrementCommandProcessor;
+import com.hazelcast.internal.ascii.memcache.MemcacheBinaryCommandProcessor;
+import com.hazelcast.internal.ascii.memcache.MemcacheBinaryMultiGetCommandProcessor;
 import com.hazelcast.internal.ascii.memcache.SetCommandProcessor;
 import com.hazelcast.internal.ascii.memcache.SimpleCommandProcessor;
 import com.hazelcast.internal.ascii.memcache.Stats;
@@ -36,6 +39,7 @@ import com.hazelcast.internal.ascii.rest.HttpGetCommandProcessor;
 import com.hazelcast.internal.ascii.rest.HttpPostCommandProcessor;
 import com.hazelcast.internal.ascii.rest.RestValue;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
 import com.hazelcast.nio.ascii.TextWriteHandler;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.Clock;
@@ -43,8 +47,10 @@ import com.hazelcast.util.EmptyStatement;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.nio.ByteBuffer;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -61,6 +67,8 @@ import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.HTTP_POST;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.HTTP_PUT;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.INCREMENT;
+import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.MEMCACHE_BINARY;
+import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.MEMCACHE_BINARY_GET;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.NO_OP;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.PARTIAL_GET;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.PREPEND;
@@ -77,6 +85,7 @@ public class TextCommandServiceImpl implements TextCommandService {
     private static final int TEXT_COMMAND_PROCESSOR_SIZE = 100;
     private static final int MILLIS_TO_SECONDS = 1000;
     private static final long WAIT_TIME = 1000;
+    private static final int RESPONSE_QUEUE_CAPACITY = 10000;
     private final Node node;
     private final TextCommandProcessor[] textCommandProcessors = new TextCommandProcessor[TEXT_COMMAND_PROCESSOR_SIZE];
     private final HazelcastInstance hazelcast;
@@ -115,6 +124,8 @@ public class TextCommandServiceImpl implements TextCommandService {
         textCommandProcessors[TOUCH.getValue()] = new TouchCommandProcessor(this);
         textCommandProcessors[INCREMENT.getValue()] = new IncrementCommandProcessor(this);
         textCommandProcessors[DECREMENT.getValue()] = new IncrementCommandProcessor(this);
+        textCommandProcessors[MEMCACHE_BINARY.getValue()] = new MemcacheBinaryCommandProcessor(this);
+        textCommandProcessors[MEMCACHE_BINARY_GET.getValue()] = new MemcacheBinaryMultiGetCommandProcessor(this);
         textCommandProcessors[ERROR_CLIENT.getValue()] = new ErrorCommandProcessor(this);
         textCommandProcessors[ERROR_SERVER.getValue()] = new ErrorCommandProcessor(this);
         textCommandProcessors[HTTP_GET.getValue()] = new HttpGetCommandProcessor(this);
@@ -227,6 +238,29 @@ public class TextCommandServiceImpl implements TextCommandService {
         return hazelcast.getMap(mapName).get(key);
     }
 
+    @Override
+    public Map<String, Object> getAll(String mapName, Set<String> keys) {
+        IMap<String, Object> map = hazelcast.getMap(mapName);
+        return map.getAll(keys);
+    }
+
+    @Override
+    public ICompletableFuture<Object> getAsync(String mapName, String key) {
+        return hazelcast.getMap(mapName).getAsync(key);
+    }
+
+    @Override
+    public ICompletableFuture<Void> setAsync(String mapName, String key, Object value, int ttlSeconds) {
+        IMap<String, Object> map = hazelcast.getMap(mapName);
+        return map.setAsync(key, value, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ICompletableFuture<Boolean> deleteAsync(String mapName, String key) {
+        IMap<String, Object> map = hazelcast.getMap(mapName);
+        return ((MapProxyImpl<String, Object>) map).deleteAsync(key);
+    }
+
     @Override
     public int getAdjustedTTLSeconds(int ttl) {
         if (ttl <= TextCommandConstants.getMonthSeconds()) {
@@ -357,12 +391,21 @@ public class TextCommandServiceImpl implements TextCommandService {
     }
 
     private class ResponseThreadRunnable implements Runnable {
-        private final BlockingQueue<TextCommand> blockingQueue = new ArrayBlockingQueue<TextCommand>(200);
+        private final BlockingQueue<TextCommand> blockingQueue =
+                new LinkedBlockingQueue<TextCommand>(RESPONSE_QUEUE_CAPACITY);
         private final Object stopObject = new Object();
 
-        @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+        /**
+         * Queues the response without blocking, since responses are also sent by the callbacks of asynchronous map
+         * calls. The responses of a connection are written in request order, so a response can't just be dropped when
+         * the queue is full: the responses after it would never be written. The connection is closed instead, which
+         * tells the client to retry its outstanding requests.
+         */
         public void sendResponse(TextCommand textCommand) {
-            blockingQueue.offer(textCommand);
+            if (!blockingQueue.offer(textCommand)) {
+                logger.warning("Text command response queue is full, closing the connection of " + textCommand);
+                textCommand.getReadHandler().closeConnection();
+            }
         }
 
         @Override
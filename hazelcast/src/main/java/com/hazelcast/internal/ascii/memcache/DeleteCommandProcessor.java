@@ -17,6 +17,7 @@
 package com.hazelcast.internal.ascii.memcache;
 
 import com.hazelcast.internal.ascii.TextCommandConstants;
+import com.hazelcast.internal.ascii.TextCommandCallback;
 import com.hazelcast.internal.ascii.TextCommandService;
 
 import java.io.UnsupportedEncodingException;
@@ -46,19 +47,11 @@ public class DeleteCommandProcessor extends MemcacheCommandProcessor<DeleteComma
         }
         if (key.equals("")) {
             textCommandService.deleteAll(mapName);
-        } else {
-            final Object oldValue = textCommandService.delete(mapName, key);
-            if (oldValue == null) {
-                textCommandService.incrementDeleteMissCount();
-                command.setResponse(TextCommandConstants.NOT_FOUND);
-            } else {
-                textCommandService.incrementDeleteHitCount(1);
-                command.setResponse(TextCommandConstants.DELETED);
+            if (command.shouldReply()) {
+                textCommandService.sendResponse(command);
             }
-        }
-
-        if (command.shouldReply()) {
-            textCommandService.sendResponse(command);
+        } else {
+            textCommandService.deleteAsync(mapName, key).andThen(new DeleteCallback(command));
         }
     }
 
@@ -66,4 +59,30 @@ public class DeleteCommandProcessor extends MemcacheCommandProcessor<DeleteComma
     public void handleRejection(DeleteCommand command) {
         handle(command);
     }
+
+    private final class DeleteCallback extends TextCommandCallback<Boolean> {
+
+        private final DeleteCommand command;
+
+        DeleteCallback(DeleteCommand command) {
+            super(textCommandService, command);
+            this.command = command;
+        }
+
+        @Override
+        protected void handleResponse(Boolean deleted) {
+            if (deleted) {
+                textCommandService.incrementDeleteHitCount(1);
+                command.setResponse(TextCommandConstants.DELETED);
+            } else {
+                textCommandService.incrementDeleteMissCount();
+                command.setResponse(TextCommandConstants.NOT_FOUND);
+            }
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            command.setResponse(TextCommandConstants.NOT_FOUND);
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package com.hazelcast.internal.ascii.memcache;
 
 import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.ascii.TextCommandCallback;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.logging.ILogger;
 
@@ -49,7 +50,10 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
             mapName = MAP_NAME_PRECEDER + key.substring(0, index);
             key = key.substring(index + 1);
         }
-        Object value = textCommandService.get(mapName, key);
+        textCommandService.getAsync(mapName, key).andThen(new GetCallback(getCommand));
+    }
+
+    private MemcacheEntry toEntry(GetCommand getCommand, Object value) {
         MemcacheEntry entry = null;
         if (value != null) {
             if (value instanceof MemcacheEntry) {
@@ -66,13 +70,7 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
                 }
             }
         }
-        if (entry != null) {
-            textCommandService.incrementGetHitCount();
-        } else {
-            textCommandService.incrementGetMissCount();
-        }
-        getCommand.setValue(entry, single);
-        textCommandService.sendResponse(getCommand);
+        return entry;
     }
 
     @Override
@@ -80,4 +78,30 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
         getCommand.setValue(null, single);
         textCommandService.sendResponse(getCommand);
     }
+
+    private final class GetCallback extends TextCommandCallback<Object> {
+
+        private final GetCommand getCommand;
+
+        GetCallback(GetCommand getCommand) {
+            super(textCommandService, getCommand);
+            this.getCommand = getCommand;
+        }
+
+        @Override
+        protected void handleResponse(Object value) {
+            MemcacheEntry entry = toEntry(getCommand, value);
+            if (entry != null) {
+                textCommandService.incrementGetHitCount();
+            } else {
+                textCommandService.incrementGetMissCount();
+            }
+            getCommand.setValue(entry, single);
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            getCommand.setValue(null, single);
+        }
+    }
 }
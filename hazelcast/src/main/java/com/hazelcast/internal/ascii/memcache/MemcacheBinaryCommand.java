@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii.memcache;
+
+import com.hazelcast.internal.ascii.AbstractTextCommand;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.MEMCACHE_BINARY;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.HEADER_LENGTH;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.MAGIC_RESPONSE;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.readLongB;
+import static com.hazelcast.nio.IOUtil.copyToHeapBuffer;
+import static com.hazelcast.util.StringUtil.bytesToString;
+
+/**
+ * A single request of the memcache binary protocol.
+ * <p/>
+ * The header is decoded by the {@link MemcacheBinaryCommandParser}; the body (extras, key and value) is read straight
+ * from the socket buffer into a single array. The response is encoded once by the processor and copied to the socket
+ * buffer on write. Quiet commands which have nothing to report still pass through the response queue, so that the
+ * responses of the commands pipelined after them keep their order, but they write nothing.
+ */
+@SuppressWarnings({"checkstyle:magicnumber", "checkstyle:npathcomplexity"})
+public class MemcacheBinaryCommand extends AbstractTextCommand {
+
+    private static final ByteBuffer NO_RESPONSE = ByteBuffer.allocate(0);
+
+    private final byte opcode;
+    private final int keyLength;
+    private final int extrasLength;
+    private final long cas;
+    private final int opaque;
+    private final byte[] body;
+    private int bodyPosition;
+    private String key;
+    private ByteBuffer response;
+
+    public MemcacheBinaryCommand(byte opcode, int keyLength, int extrasLength, int bodyLength, int opaque, long cas) {
+        super(MEMCACHE_BINARY);
+        this.opcode = opcode;
+        this.keyLength = keyLength;
+        this.extrasLength = extrasLength;
+        this.opaque = opaque;
+        this.cas = cas;
+        this.body = new byte[bodyLength];
+    }
+
+    @Override
+    public boolean readFrom(ByteBuffer src) {
+        int length = Math.min(src.remaining(), body.length - bodyPosition);
+        src.get(body, bodyPosition, length);
+        bodyPosition += length;
+        return bodyPosition == body.length;
+    }
+
+    public byte getOpcode() {
+        return opcode;
+    }
+
+    public boolean isQuiet() {
+        return MemcacheBinaryConstants.isQuiet(opcode);
+    }
+
+    public long getCas() {
+        return cas;
+    }
+
+    public int getExtrasLength() {
+        return extrasLength;
+    }
+
+    /**
+     * Returns the key as sent by the client; unlike the text protocol the binary protocol does not URL-encode keys.
+     */
+    public String getKey() {
+        if (key == null) {
+            key = bytesToString(body, extrasLength, keyLength);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the name of the map the key is stored in, following the same {@code <map>:<key>} convention as the
+     * text protocol so both protocols see the same entries.
+     */
+    public String getMapName() {
+        String fullKey = getKey();
+        int index = fullKey.indexOf(':');
+        return index == -1 ? MemcacheCommandProcessor.DEFAULT_MAP_NAME
+                : MemcacheCommandProcessor.MAP_NAME_PRECEDER + fullKey.substring(0, index);
+    }
+
+    public String getMapKey() {
+        String fullKey = getKey();
+        int index = fullKey.indexOf(':');
+        return index == -1 ? fullKey : fullKey.substring(index + 1);
+    }
+
+    public byte[] getValue() {
+        return Arrays.copyOfRange(body, extrasLength + keyLength, body.length);
+    }
+
+    public int getExtraInt(int offset) {
+        return readIntB(body, offset);
+    }
+
+    public long getExtraLong(int offset) {
+        return readLongB(body, offset);
+    }
+
+    public void setResponse(short status) {
+        setResponse(status, null, false, null);
+    }
+
+    /**
+     * Encodes the response sent back to the client.
+     *
+     * @param status     the response status
+     * @param extras     the extras of the response or {@code null}
+     * @param includeKey {@code true} if the key of the request is echoed back
+     * @param value      the value of the response or {@code null}
+     */
+    public void setResponse(short status, byte[] extras, boolean includeKey, byte[] value) {
+        int responseExtrasLength = extras == null ? 0 : extras.length;
+        int responseKeyLength = includeKey ? keyLength : 0;
+        int valueLength = value == null ? 0 : value.length;
+        int totalBodyLength = responseExtrasLength + responseKeyLength + valueLength;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + totalBodyLength);
+        buffer.put(MAGIC_RESPONSE);
+        buffer.put(opcode);
+        buffer.putShort((short) responseKeyLength);
+        buffer.put((byte) responseExtrasLength);
+        // data type
+        buffer.put((byte) 0);
+        buffer.putShort(status);
+        buffer.putInt(totalBodyLength);
+        buffer.putInt(opaque);
+        // cas
+        buffer.putLong(0);
+        if (extras != null) {
+            buffer.put(extras);
+        }
+        if (includeKey) {
+            buffer.put(body, extrasLength, keyLength);
+        }
+        if (value != null) {
+            buffer.put(value);
+        }
+        buffer.flip();
+        response = buffer;
+    }
+
+    /**
+     * Marks the command as having nothing to send back; used for successful quiet commands and quiet get misses.
+     */
+    public void setNoResponse() {
+        response = NO_RESPONSE;
+    }
+
+    @Override
+    public boolean writeTo(ByteBuffer dst) {
+        if (response == NO_RESPONSE) {
+            return true;
+        }
+        copyToHeapBuffer(response, dst);
+        return !response.hasRemaining();
+    }
+
+    @Override
+    public String toString() {
+        return "MemcacheBinaryCommand{"
+                + "opcode=" + opcode
+                + ", key=" + getKey()
+                + ", opaque=" + opaque
+                + '}';
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii.memcache;
+
+import com.hazelcast.nio.ascii.TextReadHandler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.HEADER_LENGTH;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.MAGIC_REQUEST;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.isGet;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+
+/**
+ * Decodes the memcache binary protocol of a single connection.
+ * <p/>
+ * Headers are decoded in place from the socket buffer; only a header split over two reads is copied into a small
+ * per-connection buffer. Consecutive get requests are collected into a {@link MemcacheBinaryMultiGetCommand} which
+ * is published when a non-quiet get or a non-get request arrives, when the batch is full or when the socket buffer
+ * is drained, so a pipelined multi-get is served by a single partition-grouped lookup.
+ * <p/>
+ * Not thread safe; it is only accessed by the IO thread owning the connection.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public class MemcacheBinaryCommandParser {
+
+    /**
+     * The maximum number of gets collected into a single multi-get.
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * The maximum accepted body length of a request; larger requests close the connection.
+     */
+    public static final int MAX_BODY_LENGTH = 32 * 1024 * 1024;
+
+    private final TextReadHandler readHandler;
+    private final ByteBuffer partialHeader = ByteBuffer.allocate(HEADER_LENGTH);
+    private MemcacheBinaryCommand command;
+    private MemcacheBinaryMultiGetCommand batch;
+    private boolean failed;
+
+    public MemcacheBinaryCommandParser(TextReadHandler readHandler) {
+        this.readHandler = readHandler;
+    }
+
+    public void read(ByteBuffer src) {
+        if (failed) {
+            src.position(src.limit());
+            return;
+        }
+        while (src.hasRemaining()) {
+            if (command == null) {
+                command = readHeader(src);
+                if (command == null) {
+                    break;
+                }
+            }
+            if (!command.readFrom(src)) {
+                break;
+            }
+            MemcacheBinaryCommand complete = command;
+            command = null;
+            onCommand(complete);
+        }
+        if (!failed) {
+            publishBatch();
+        }
+    }
+
+    private void onCommand(MemcacheBinaryCommand complete) {
+        if (isGet(complete.getOpcode())) {
+            if (batch == null) {
+                batch = new MemcacheBinaryMultiGetCommand();
+            }
+            batch.add(complete);
+            if (!complete.isQuiet() || batch.size() >= MAX_BATCH_SIZE) {
+                publishBatch();
+            }
+        } else {
+            publishBatch();
+            readHandler.publishRequest(complete);
+        }
+    }
+
+    private void publishBatch() {
+        if (batch != null) {
+            MemcacheBinaryMultiGetCommand published = batch;
+            batch = null;
+            readHandler.publishRequest(published);
+        }
+    }
+
+    private MemcacheBinaryCommand readHeader(ByteBuffer src) {
+        ByteBuffer header;
+        if (partialHeader.position() == 0 && src.remaining() >= HEADER_LENGTH) {
+            header = src;
+        } else {
+            while (partialHeader.hasRemaining() && src.hasRemaining()) {
+                partialHeader.put(src.get());
+            }
+            if (partialHeader.hasRemaining()) {
+                return null;
+            }
+            partialHeader.flip();
+            header = partialHeader;
+        }
+        int start = header.position();
+        ByteOrder order = header.order();
+        header.order(BIG_ENDIAN);
+        byte magic = header.get(start);
+        byte opcode = header.get(start + 1);
+        int keyLength = header.getShort(start + 2) & 0xFFFF;
+        int extrasLength = header.get(start + 4) & 0xFF;
+        int bodyLength = header.getInt(start + 8);
+        int opaque = header.getInt(start + 12);
+        long cas = header.getLong(start + 16);
+        header.order(order);
+        header.position(start + HEADER_LENGTH);
+        if (header == partialHeader) {
+            partialHeader.clear();
+        }
+        if (magic != MAGIC_REQUEST || bodyLength < 0 || bodyLength > MAX_BODY_LENGTH
+                || keyLength + extrasLength > bodyLength) {
+            fail(src);
+            return null;
+        }
+        return new MemcacheBinaryCommand(opcode, keyLength, extrasLength, bodyLength, opaque, cas);
+    }
+
+    private void fail(ByteBuffer src) {
+        failed = true;
+        src.position(src.limit());
+        readHandler.closeConnection();
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii.memcache;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.internal.ascii.TextCommandCallback;
+import com.hazelcast.internal.ascii.TextCommandService;
+import com.hazelcast.logging.ILogger;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_ADD;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_ADDQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_APPEND;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_APPENDQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_DECREMENT;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_DECREMENTQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_DELETE;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_DELETEQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_INCREMENT;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_INCREMENTQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_NOOP;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_PREPEND;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_PREPENDQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_QUIT;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_QUITQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_REPLACE;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_REPLACEQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_SET;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_SETQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_TOUCH;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_VERSION;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_INTERNAL_ERROR;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_INVALID_ARGUMENTS;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_ITEM_NOT_STORED;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_KEY_EXISTS;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_KEY_NOT_FOUND;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_NON_NUMERIC_VALUE;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_NO_ERROR;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_UNKNOWN_COMMAND;
+import static com.hazelcast.util.StringUtil.bytesToString;
+import static com.hazelcast.util.StringUtil.stringToBytes;
+
+/**
+ * Processes all memcache binary protocol requests except gets, which are handled by
+ * {@link MemcacheBinaryMultiGetCommandProcessor}.
+ * <p/>
+ * Values are stored as {@link MemcacheEntry} instances in the same maps as the text protocol uses. Counters are
+ * stored as decimal strings, as memcached does.
+ */
+@SuppressWarnings({"checkstyle:magicnumber", "checkstyle:cyclomaticcomplexity", "checkstyle:methodlength"})
+public class MemcacheBinaryCommandProcessor extends MemcacheCommandProcessor<MemcacheBinaryCommand> {
+
+    private static final byte[] VERSION = stringToBytes("Hazelcast");
+    private static final int NO_AUTO_CREATE = 0xFFFFFFFF;
+    private static final int STORE_EXTRAS_LENGTH = 8;
+    private static final int COUNTER_EXTRAS_LENGTH = 20;
+    private static final int TOUCH_EXTRAS_LENGTH = 4;
+
+    private final ILogger logger;
+
+    public MemcacheBinaryCommandProcessor(TextCommandService textCommandService) {
+        super(textCommandService);
+        this.logger = textCommandService.getNode().getLogger(getClass());
+    }
+
+    @Override
+    public void handle(MemcacheBinaryCommand command) {
+        byte opcode = command.getOpcode();
+        if (opcode == OPCODE_QUIT || opcode == OPCODE_QUITQ) {
+            command.getReadHandler().closeConnection();
+            return;
+        }
+        try {
+            if (process(command)) {
+                // the response is sent by the callback of the asynchronous map call
+                return;
+            }
+        } catch (Throwable e) {
+            logger.warning(e);
+            command.setResponse(STATUS_INTERNAL_ERROR);
+        }
+        textCommandService.sendResponse(command);
+    }
+
+    @Override
+    public void handleRejection(MemcacheBinaryCommand command) {
+        command.setResponse(STATUS_INTERNAL_ERROR);
+        textCommandService.sendResponse(command);
+    }
+
+    /**
+     * Returns {@code true} if the command was handed to an asynchronous map call which completes it.
+     */
+    private boolean process(MemcacheBinaryCommand command) throws InterruptedException {
+        switch (command.getOpcode()) {
+            case OPCODE_SET:
+            case OPCODE_SETQ:
+            case OPCODE_ADD:
+            case OPCODE_ADDQ:
+            case OPCODE_REPLACE:
+            case OPCODE_REPLACEQ:
+                return store(command);
+            case OPCODE_APPEND:
+            case OPCODE_APPENDQ:
+            case OPCODE_PREPEND:
+            case OPCODE_PREPENDQ:
+                concatenateValue(command);
+                break;
+            case OPCODE_DELETE:
+            case OPCODE_DELETEQ:
+                delete(command);
+                return true;
+            case OPCODE_INCREMENT:
+            case OPCODE_INCREMENTQ:
+            case OPCODE_DECREMENT:
+            case OPCODE_DECREMENTQ:
+                count(command);
+                break;
+            case OPCODE_TOUCH:
+                touch(command);
+                break;
+            case OPCODE_NOOP:
+                command.setResponse(STATUS_NO_ERROR);
+                break;
+            case OPCODE_VERSION:
+                command.setResponse(STATUS_NO_ERROR, null, false, VERSION);
+                break;
+            default:
+                command.setResponse(STATUS_UNKNOWN_COMMAND);
+        }
+        return false;
+    }
+
+    private boolean store(final MemcacheBinaryCommand command) {
+        if (command.getExtrasLength() != STORE_EXTRAS_LENGTH || command.getKey().length() == 0) {
+            command.setResponse(STATUS_INVALID_ARGUMENTS);
+            return false;
+        }
+        String mapName = command.getMapName();
+        String key = command.getMapKey();
+        int flag = command.getExtraInt(0);
+        int ttl = textCommandService.getAdjustedTTLSeconds(command.getExtraInt(4));
+        MemcacheEntry entry = new MemcacheEntry(command.getKey(), command.getValue(), flag);
+        textCommandService.incrementSetCount();
+        short status = STATUS_NO_ERROR;
+        byte opcode = command.getOpcode();
+        if (opcode == OPCODE_SET || opcode == OPCODE_SETQ) {
+            textCommandService.setAsync(mapName, key, entry, ttl).andThen(new StatusCallback<Void>(command) {
+                @Override
+                protected void handleResponse(Void response) {
+                    respond(command, STATUS_NO_ERROR);
+                }
+            });
+            return true;
+        } else if (opcode == OPCODE_ADD || opcode == OPCODE_ADDQ) {
+            if (textCommandService.putIfAbsent(mapName, key, entry, ttl) != null) {
+                status = STATUS_KEY_EXISTS;
+            }
+        } else if (textCommandService.replace(mapName, key, entry) == null) {
+            status = STATUS_KEY_NOT_FOUND;
+        }
+        respond(command, status);
+        return false;
+    }
+
+    private void concatenateValue(MemcacheBinaryCommand command) throws InterruptedException {
+        String mapName = command.getMapName();
+        String key = command.getMapKey();
+        boolean append = command.getOpcode() == OPCODE_APPEND || command.getOpcode() == OPCODE_APPENDQ;
+        textCommandService.lock(mapName, key);
+        try {
+            MemcacheEntry oldEntry = toEntry(textCommandService, command.getKey(), textCommandService.get(mapName, key));
+            if (oldEntry == null) {
+                respond(command, STATUS_ITEM_NOT_STORED);
+                return;
+            }
+            byte[] value = append
+                    ? concatenate(oldEntry.getValue(), command.getValue())
+                    : concatenate(command.getValue(), oldEntry.getValue());
+            textCommandService.put(mapName, key, new MemcacheEntry(command.getKey(), value, oldEntry.getFlag()));
+            textCommandService.incrementSetCount();
+            respond(command, STATUS_NO_ERROR);
+        } finally {
+            textCommandService.unlock(mapName, key);
+        }
+    }
+
+    private void delete(final MemcacheBinaryCommand command) {
+        ICompletableFuture<Boolean> future = textCommandService.deleteAsync(command.getMapName(), command.getMapKey());
+        future.andThen(new StatusCallback<Boolean>(command) {
+            @Override
+            protected void handleResponse(Boolean deleted) {
+                if (deleted) {
+                    textCommandService.incrementDeleteHitCount(1);
+                    respond(command, STATUS_NO_ERROR);
+                } else {
+                    textCommandService.incrementDeleteMissCount();
+                    respond(command, STATUS_KEY_NOT_FOUND);
+                }
+            }
+        });
+    }
+
+    private void count(MemcacheBinaryCommand command) throws InterruptedException {
+        if (command.getExtrasLength() != COUNTER_EXTRAS_LENGTH) {
+            command.setResponse(STATUS_INVALID_ARGUMENTS);
+            return;
+        }
+        boolean increment = command.getOpcode() == OPCODE_INCREMENT || command.getOpcode() == OPCODE_INCREMENTQ;
+        long delta = command.getExtraLong(0);
+        long initial = command.getExtraLong(8);
+        int expiration = command.getExtraInt(16);
+        String mapName = command.getMapName();
+        String key = command.getMapKey();
+        textCommandService.lock(mapName, key);
+        try {
+            MemcacheEntry oldEntry = toEntry(textCommandService, command.getKey(), textCommandService.get(mapName, key));
+            long value;
+            int flag = 0;
+            if (oldEntry == null) {
+                countMiss(increment);
+                if (expiration == NO_AUTO_CREATE) {
+                    respond(command, STATUS_KEY_NOT_FOUND);
+                    return;
+                }
+                value = initial;
+            } else {
+                countHit(increment);
+                try {
+                    value = Long.parseLong(bytesToString(oldEntry.getValue()).trim());
+                } catch (NumberFormatException e) {
+                    respond(command, STATUS_NON_NUMERIC_VALUE);
+                    return;
+                }
+                value = increment ? value + delta : Math.max(0, value - delta);
+                flag = oldEntry.getFlag();
+            }
+            MemcacheEntry entry = new MemcacheEntry(command.getKey(), stringToBytes(String.valueOf(value)), flag);
+            if (oldEntry == null) {
+                textCommandService.put(mapName, key, entry, textCommandService.getAdjustedTTLSeconds(expiration));
+            } else {
+                textCommandService.put(mapName, key, entry);
+            }
+            if (command.isQuiet()) {
+                command.setNoResponse();
+            } else {
+                command.setResponse(STATUS_NO_ERROR, null, false, ByteBuffer.allocate(8).putLong(value).array());
+            }
+        } finally {
+            textCommandService.unlock(mapName, key);
+        }
+    }
+
+    private void countHit(boolean increment) {
+        if (increment) {
+            textCommandService.incrementIncHitCount();
+        } else {
+            textCommandService.incrementDecrHitCount();
+        }
+    }
+
+    private void countMiss(boolean increment) {
+        if (increment) {
+            textCommandService.incrementIncMissCount();
+        } else {
+            textCommandService.incrementDecrMissCount();
+        }
+    }
+
+    private void touch(MemcacheBinaryCommand command) throws InterruptedException {
+        if (command.getExtrasLength() != TOUCH_EXTRAS_LENGTH) {
+            command.setResponse(STATUS_INVALID_ARGUMENTS);
+            return;
+        }
+        String mapName = command.getMapName();
+        String key = command.getMapKey();
+        int ttl = textCommandService.getAdjustedTTLSeconds(command.getExtraInt(0));
+        textCommandService.lock(mapName, key);
+        try {
+            Object value = textCommandService.get(mapName, key);
+            if (value == null) {
+                command.setResponse(STATUS_KEY_NOT_FOUND);
+                return;
+            }
+            textCommandService.put(mapName, key, value, ttl);
+            textCommandService.incrementTouchCount();
+            command.setResponse(STATUS_NO_ERROR);
+        } finally {
+            textCommandService.unlock(mapName, key);
+        }
+    }
+
+    private static void respond(MemcacheBinaryCommand command, short status) {
+        if (status == STATUS_NO_ERROR && command.isQuiet()) {
+            command.setNoResponse();
+        } else {
+            command.setResponse(status);
+        }
+    }
+
+    /**
+     * Converts a value stored in a memcache map into a {@link MemcacheEntry}; values put by other clients than
+     * memcache are exposed with a zero flag, the same way the text protocol does.
+     */
+    static MemcacheEntry toEntry(TextCommandService textCommandService, String key, Object value) {
+        if (value == null || value instanceof MemcacheEntry) {
+            return (MemcacheEntry) value;
+        } else if (value instanceof byte[]) {
+            return new MemcacheEntry(key, (byte[]) value, 0);
+        } else if (value instanceof String) {
+            return new MemcacheEntry(key, stringToBytes((String) value), 0);
+        }
+        return new MemcacheEntry(key, textCommandService.toByteArray(value), 0);
+    }
+
+    /**
+     * Completes a binary command with an internal error status when its asynchronous map call fails.
+     */
+    abstract class StatusCallback<V> extends TextCommandCallback<V> {
+
+        private final MemcacheBinaryCommand command;
+
+        StatusCallback(MemcacheBinaryCommand command) {
+            super(textCommandService, command);
+            this.command = command;
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            command.setResponse(STATUS_INTERNAL_ERROR);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii.memcache;
+
+/**
+ * Constants of the memcache binary protocol.
+ * <p/>
+ * See https://github.com/memcached/memcached/wiki/BinaryProtocolRevamped for the protocol description.
+ */
+public final class MemcacheBinaryConstants {
+
+    public static final byte MAGIC_REQUEST = (byte) 0x80;
+    public static final byte MAGIC_RESPONSE = (byte) 0x81;
+
+    public static final int HEADER_LENGTH = 24;
+
+    public static final byte OPCODE_GET = 0x00;
+    public static final byte OPCODE_SET = 0x01;
+    public static final byte OPCODE_ADD = 0x02;
+    public static final byte OPCODE_REPLACE = 0x03;
+    public static final byte OPCODE_DELETE = 0x04;
+    public static final byte OPCODE_INCREMENT = 0x05;
+    public static final byte OPCODE_DECREMENT = 0x06;
+    public static final byte OPCODE_QUIT = 0x07;
+    public static final byte OPCODE_GETQ = 0x09;
+    public static final byte OPCODE_NOOP = 0x0a;
+    public static final byte OPCODE_VERSION = 0x0b;
+    public static final byte OPCODE_GETK = 0x0c;
+    public static final byte OPCODE_GETKQ = 0x0d;
+    public static final byte OPCODE_APPEND = 0x0e;
+    public static final byte OPCODE_PREPEND = 0x0f;
+    public static final byte OPCODE_SETQ = 0x11;
+    public static final byte OPCODE_ADDQ = 0x12;
+    public static final byte OPCODE_REPLACEQ = 0x13;
+    public static final byte OPCODE_DELETEQ = 0x14;
+    public static final byte OPCODE_INCREMENTQ = 0x15;
+    public static final byte OPCODE_DECREMENTQ = 0x16;
+    public static final byte OPCODE_QUITQ = 0x17;
+    public static final byte OPCODE_APPENDQ = 0x19;
+    public static final byte OPCODE_PREPENDQ = 0x1a;
+    public static final byte OPCODE_TOUCH = 0x1c;
+
+    public static final short STATUS_NO_ERROR = 0x0000;
+    public static final short STATUS_KEY_NOT_FOUND = 0x0001;
+    public static final short STATUS_KEY_EXISTS = 0x0002;
+    public static final short STATUS_INVALID_ARGUMENTS = 0x0004;
+    public static final short STATUS_ITEM_NOT_STORED = 0x0005;
+    public static final short STATUS_NON_NUMERIC_VALUE = 0x0006;
+    public static final short STATUS_UNKNOWN_COMMAND = 0x0081;
+    public static final short STATUS_INTERNAL_ERROR = 0x0084;
+
+    private MemcacheBinaryConstants() {
+    }
+
+    /**
+     * Returns {@code true} if the opcode is one of the get variants which can be batched into a single multi-get.
+     */
+    public static boolean isGet(byte opcode) {
+        return opcode == OPCODE_GET || opcode == OPCODE_GETQ || opcode == OPCODE_GETK || opcode == OPCODE_GETKQ;
+    }
+
+    /**
+     * Returns {@code true} if the opcode is a quiet variant which sends no response on success (or on a miss for gets).
+     */
+    public static boolean isQuiet(byte opcode) {
+        return opcode == OPCODE_GETQ || opcode == OPCODE_GETKQ || (opcode >= OPCODE_SETQ && opcode <= OPCODE_PREPENDQ);
+    }
+}
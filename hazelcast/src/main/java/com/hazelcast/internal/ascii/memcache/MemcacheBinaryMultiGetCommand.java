@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii.memcache;
+
+import com.hazelcast.internal.ascii.AbstractTextCommand;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.MEMCACHE_BINARY_GET;
+
+/**
+ * A run of consecutive binary get requests which is looked up with a single {@code getAll} per map.
+ * <p/>
+ * Clients implement multi-gets as a burst of quiet gets terminated by a non-quiet command; the parser collects
+ * such a burst into one command so that it costs one executor task and one partition-grouped lookup instead of
+ * one blocking map call per key. The responses are written in request order.
+ */
+public class MemcacheBinaryMultiGetCommand extends AbstractTextCommand {
+
+    private final List<MemcacheBinaryCommand> gets = new ArrayList<MemcacheBinaryCommand>();
+    private int writeIndex;
+
+    public MemcacheBinaryMultiGetCommand() {
+        super(MEMCACHE_BINARY_GET);
+    }
+
+    public void add(MemcacheBinaryCommand get) {
+        gets.add(get);
+    }
+
+    public List<MemcacheBinaryCommand> getGets() {
+        return gets;
+    }
+
+    public int size() {
+        return gets.size();
+    }
+
+    @Override
+    public boolean readFrom(ByteBuffer src) {
+        return true;
+    }
+
+    @Override
+    public boolean writeTo(ByteBuffer dst) {
+        while (writeIndex < gets.size()) {
+            if (!gets.get(writeIndex).writeTo(dst)) {
+                return false;
+            }
+            writeIndex++;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "MemcacheBinaryMultiGetCommand{"
+                + "size=" + gets.size()
+                + '}';
+    }
+}
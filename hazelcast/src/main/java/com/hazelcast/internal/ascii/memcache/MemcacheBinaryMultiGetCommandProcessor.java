@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii.memcache;
+
+import com.hazelcast.internal.ascii.TextCommandCallback;
+import com.hazelcast.internal.ascii.TextCommandService;
+import com.hazelcast.logging.ILogger;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryCommandProcessor.toEntry;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_GETK;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_GETKQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_INTERNAL_ERROR;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_KEY_NOT_FOUND;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_NO_ERROR;
+
+/**
+ * Processes a {@link MemcacheBinaryMultiGetCommand}: a single get is an asynchronous map lookup, a batch issues one
+ * {@code getAll} per map, which fetches the keys of each partition with a single operation.
+ */
+public class MemcacheBinaryMultiGetCommandProcessor extends MemcacheCommandProcessor<MemcacheBinaryMultiGetCommand> {
+
+    private static final int FLAG_LENGTH = 4;
+
+    private final ILogger logger;
+
+    public MemcacheBinaryMultiGetCommandProcessor(TextCommandService textCommandService) {
+        super(textCommandService);
+        this.logger = textCommandService.getNode().getLogger(getClass());
+    }
+
+    @Override
+    public void handle(MemcacheBinaryMultiGetCommand multiGet) {
+        List<MemcacheBinaryCommand> gets = multiGet.getGets();
+        try {
+            if (gets.size() == 1) {
+                MemcacheBinaryCommand get = gets.get(0);
+                textCommandService.getAsync(get.getMapName(), get.getMapKey()).andThen(new GetCallback(multiGet, get));
+                return;
+            }
+            Map<String, Map<String, Object>> valuesByMap = getAll(gets);
+            for (MemcacheBinaryCommand get : gets) {
+                respond(get, valuesByMap.get(get.getMapName()).get(get.getMapKey()));
+            }
+        } catch (Throwable e) {
+            logger.warning(e);
+            for (MemcacheBinaryCommand get : gets) {
+                get.setResponse(STATUS_INTERNAL_ERROR);
+            }
+        }
+        textCommandService.sendResponse(multiGet);
+    }
+
+    @Override
+    public void handleRejection(MemcacheBinaryMultiGetCommand multiGet) {
+        for (MemcacheBinaryCommand get : multiGet.getGets()) {
+            get.setResponse(STATUS_INTERNAL_ERROR);
+        }
+        textCommandService.sendResponse(multiGet);
+    }
+
+    private Map<String, Map<String, Object>> getAll(List<MemcacheBinaryCommand> gets) {
+        Map<String, Set<String>> keysByMap = new HashMap<String, Set<String>>();
+        for (MemcacheBinaryCommand get : gets) {
+            Set<String> keys = keysByMap.get(get.getMapName());
+            if (keys == null) {
+                keys = new HashSet<String>();
+                keysByMap.put(get.getMapName(), keys);
+            }
+            keys.add(get.getMapKey());
+        }
+        Map<String, Map<String, Object>> valuesByMap = new HashMap<String, Map<String, Object>>(keysByMap.size());
+        for (Map.Entry<String, Set<String>> entry : keysByMap.entrySet()) {
+            valuesByMap.put(entry.getKey(), textCommandService.getAll(entry.getKey(), entry.getValue()));
+        }
+        return valuesByMap;
+    }
+
+    private void respond(MemcacheBinaryCommand get, Object value) {
+        boolean includeKey = get.getOpcode() == OPCODE_GETK || get.getOpcode() == OPCODE_GETKQ;
+        MemcacheEntry entry = toEntry(textCommandService, get.getKey(), value);
+        if (entry == null) {
+            textCommandService.incrementGetMissCount();
+            if (get.isQuiet()) {
+                get.setNoResponse();
+            } else {
+                get.setResponse(STATUS_KEY_NOT_FOUND, null, includeKey, null);
+            }
+        } else {
+            textCommandService.incrementGetHitCount();
+            byte[] flag = ByteBuffer.allocate(FLAG_LENGTH).putInt(entry.getFlag()).array();
+            get.setResponse(STATUS_NO_ERROR, flag, includeKey, entry.getValue());
+        }
+    }
+
+    private final class GetCallback extends TextCommandCallback<Object> {
+
+        private final MemcacheBinaryCommand get;
+
+        GetCallback(MemcacheBinaryMultiGetCommand multiGet, MemcacheBinaryCommand get) {
+            super(textCommandService, multiGet);
+            this.get = get;
+        }
+
+        @Override
+        protected void handleResponse(Object value) {
+            respond(get, value);
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            get.setResponse(STATUS_INTERNAL_ERROR);
+        }
+    }
+}
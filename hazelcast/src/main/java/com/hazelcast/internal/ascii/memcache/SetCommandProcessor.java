@@ -18,6 +18,7 @@ package com.hazelcast.internal.ascii.memcache;
 
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.ascii.TextCommandConstants;
+import com.hazelcast.internal.ascii.TextCommandCallback;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.logging.ILogger;
 
@@ -77,8 +78,8 @@ public class SetCommandProcessor extends MemcacheCommandProcessor<SetCommand> {
         int ttl = textCommandService.getAdjustedTTLSeconds(setCommand.getExpiration());
         textCommandService.incrementSetCount();
         if (SET == setCommand.getType()) {
-            textCommandService.put(mapName, key, value, ttl);
-            setCommand.setResponse(TextCommandConstants.STORED);
+            textCommandService.setAsync(mapName, key, value, ttl).andThen(new SetCallback(setCommand));
+            return;
         } else if (ADD == setCommand.getType()) {
 
             addCommandType(setCommand, mapName, key, value, ttl);
@@ -204,4 +205,24 @@ public class SetCommandProcessor extends MemcacheCommandProcessor<SetCommand> {
             textCommandService.sendResponse(request);
         }
     }
+
+    private final class SetCallback extends TextCommandCallback<Void> {
+
+        private final SetCommand setCommand;
+
+        SetCallback(SetCommand setCommand) {
+            super(textCommandService, setCommand);
+            this.setCommand = setCommand;
+        }
+
+        @Override
+        protected void handleResponse(Void response) {
+            setCommand.setResponse(TextCommandConstants.STORED);
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            setCommand.setResponse(TextCommandConstants.NOT_STORED);
+        }
+    }
 }
@@ -18,6 +18,8 @@ package com.hazelcast.internal.ascii.rest;
 
 import com.hazelcast.internal.ascii.AbstractTextCommand;
 import com.hazelcast.internal.ascii.TextCommandConstants;
+import com.hazelcast.nio.ascii.TextReadHandler;
+import com.hazelcast.util.StringUtil;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.nio.ByteBuffer;
@@ -32,10 +34,12 @@ public abstract class HttpCommand extends AbstractTextCommand {
     public static final String HEADER_CONTENT_LENGTH = "content-length: ";
     public static final String HEADER_CHUNKED = "transfer-encoding: chunked";
     public static final String HEADER_EXPECT_100 = "expect: 100";
+    public static final String HEADER_CONNECTION = "connection: ";
+    public static final String HTTP_1_0 = "HTTP/1.0";
     public static final byte[] RES_200 = stringToBytes("HTTP/1.1 200 OK\r\n");
     public static final byte[] RES_400 = stringToBytes("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n");
-    public static final byte[] RES_403 = stringToBytes("HTTP/1.1 403 Forbidden\r\n\r\n");
-    public static final byte[] RES_404 = stringToBytes("HTTP/1.1 404 Not Found\r\n\r\n");
+    public static final byte[] RES_403 = stringToBytes("HTTP/1.1 403 Forbidden\r\nContent-Length: 0\r\n\r\n");
+    public static final byte[] RES_404 = stringToBytes("HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\n\r\n");
     public static final byte[] RES_100 = stringToBytes("HTTP/1.1 100 Continue\r\n\r\n");
     public static final byte[] RES_204 = stringToBytes("HTTP/1.1 204 No Content\r\nContent-Length: 0\r\n\r\n");
     public static final byte[] RES_503 = stringToBytes("HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\n\r\n");
@@ -45,10 +49,21 @@ public abstract class HttpCommand extends AbstractTextCommand {
     public static final byte[] CONTENT_TYPE_PLAIN_TEXT = stringToBytes("text/plain");
     public static final byte[] CONTENT_TYPE_JSON = stringToBytes("application/javascript");
     public static final byte[] CONTENT_TYPE_BINARY = stringToBytes("application/binary");
+    public static final byte[] CONNECTION_CLOSE = stringToBytes("Connection: close\r\n");
+    public static final byte[] CONNECTION_KEEP_ALIVE = stringToBytes("Connection: keep-alive\r\n");
+
+    private static final int HEADER_LINE_CAPACITY = 500;
 
     protected final String uri;
     protected ByteBuffer response;
 
+    private boolean http10;
+    private boolean keepAlive = true;
+    private boolean connectionHeaderAdded;
+    private ByteBuffer headerLine;
+    // the request line has just been read, so an empty line ends the headers
+    private boolean nextLine = true;
+
 
     public HttpCommand(TextCommandConstants.TextCommandType type, String uri) {
         super(type);
@@ -64,6 +79,64 @@ public abstract class HttpCommand extends AbstractTextCommand {
         return uri;
     }
 
+    /**
+     * Sets the protocol version of the request line. HTTP/1.1 connections are persistent unless the request says
+     * otherwise, HTTP/1.0 connections only if the request asks for it.
+     */
+    public void setHttpVersion(String version) {
+        http10 = HTTP_1_0.equals(version);
+        keepAlive = !http10;
+    }
+
+    /**
+     * Returns {@code true} if the connection may be used for further requests after this one.
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Reads the headers of a request without a body, up to and including the empty line ending them.
+     *
+     * @return {@code true} if all headers have been read
+     */
+    protected boolean readHeaders(ByteBuffer src) {
+        if (headerLine == null) {
+            headerLine = ByteBuffer.allocate(HEADER_LINE_CAPACITY);
+        }
+        while (src.hasRemaining()) {
+            byte b = src.get();
+            if (b == '\n') {
+                if (nextLine) {
+                    return true;
+                }
+                nextLine = true;
+                processHeader(StringUtil.lowerCaseInternal(TextReadHandler.toStringAndClear(headerLine)));
+            } else if (b != '\r') {
+                nextLine = false;
+                // only the beginning of a header is needed to recognize it
+                if (headerLine.hasRemaining()) {
+                    headerLine.put(b);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Processes a header line, which has been converted to lower case.
+     */
+    protected void processHeader(String header) {
+        if (header.startsWith(HEADER_CONNECTION)) {
+            String value = header.substring(HEADER_CONNECTION.length());
+            if (value.contains("close")) {
+                keepAlive = false;
+            } else if (value.contains("keep-alive")) {
+                keepAlive = true;
+            }
+        }
+    }
+
     public void send204() {
         this.response = ByteBuffer.wrap(RES_204);
     }
@@ -122,10 +195,45 @@ public abstract class HttpCommand extends AbstractTextCommand {
 
     @Override
     public boolean writeTo(ByteBuffer dst) {
+        if (!connectionHeaderAdded) {
+            connectionHeaderAdded = true;
+            addConnectionHeader();
+        }
         copyToHeapBuffer(response, dst);
         return !response.hasRemaining();
     }
 
+    /**
+     * Tells the client whether the connection stays open when that differs from the default of its protocol version.
+     * The header is inserted right after the status line.
+     */
+    private void addConnectionHeader() {
+        byte[] header;
+        if (!keepAlive) {
+            header = CONNECTION_CLOSE;
+        } else if (http10) {
+            header = CONNECTION_KEEP_ALIVE;
+        } else {
+            return;
+        }
+        int start = response.position();
+        int statusLineEnd = start;
+        while (statusLineEnd < response.limit() && response.get(statusLineEnd) != '\n') {
+            statusLineEnd++;
+        }
+        if (statusLineEnd == response.limit()) {
+            return;
+        }
+        int statusLineLength = statusLineEnd + 1 - start;
+        ByteBuffer buffer = ByteBuffer.allocate(response.remaining() + header.length);
+        buffer.put(response.array(), response.arrayOffset() + start, statusLineLength);
+        buffer.put(header);
+        response.position(start + statusLineLength);
+        buffer.put(response);
+        buffer.flip();
+        response = buffer;
+    }
+
     @Override
     public String toString() {
         return "HttpCommand ["
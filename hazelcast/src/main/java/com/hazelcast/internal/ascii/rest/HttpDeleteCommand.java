@@ -21,7 +21,6 @@ import java.nio.ByteBuffer;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.HTTP_DELETE;
 
 public class HttpDeleteCommand extends HttpCommand {
-    private boolean nextLine;
 
     public HttpDeleteCommand(String uri) {
         super(HTTP_DELETE, uri);
@@ -29,17 +28,6 @@ public class HttpDeleteCommand extends HttpCommand {
 
     @Override
     public boolean readFrom(ByteBuffer src) {
-        while (src.hasRemaining()) {
-            char c = (char) src.get();
-            if (c == '\n') {
-                if (nextLine) {
-                    return true;
-                }
-                nextLine = true;
-            } else if (c != '\r') {
-                nextLine = false;
-            }
-        }
-        return false;
+        return readHeaders(src);
     }
 }
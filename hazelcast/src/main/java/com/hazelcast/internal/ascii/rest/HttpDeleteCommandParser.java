@@ -37,6 +37,10 @@ public class HttpDeleteCommandParser implements CommandParser {
         } else {
             return new ErrorCommand(ERROR_CLIENT);
         }
-        return new HttpDeleteCommand(uri);
+        HttpDeleteCommand command = new HttpDeleteCommand(uri);
+        if (st.hasMoreTokens()) {
+            command.setHttpVersion(st.nextToken());
+        }
+        return command;
     }
 }
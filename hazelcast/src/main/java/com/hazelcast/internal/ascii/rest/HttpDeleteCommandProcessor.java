@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.ascii.rest;
 
+import com.hazelcast.internal.ascii.TextCommandCallback;
 import com.hazelcast.internal.ascii.TextCommandService;
 
 import static com.hazelcast.internal.ascii.rest.HttpCommand.CONTENT_TYPE_PLAIN_TEXT;
@@ -31,7 +32,9 @@ public class HttpDeleteCommandProcessor extends HttpCommandProcessor<HttpDeleteC
     public void handle(HttpDeleteCommand command) {
         String uri = command.getURI();
         if (uri.startsWith(URI_MAPS)) {
-            handleMap(command, uri);
+            if (handleMap(command, uri)) {
+                return;
+            }
         } else if (uri.startsWith(URI_QUEUES)) {
             handleQueue(command, uri);
         } else {
@@ -40,19 +43,21 @@ public class HttpDeleteCommandProcessor extends HttpCommandProcessor<HttpDeleteC
         textCommandService.sendResponse(command);
     }
 
-    private void handleMap(HttpDeleteCommand command, String uri) {
+    /**
+     * Returns {@code true} if the response is sent later by the callback of an asynchronous delete.
+     */
+    private boolean handleMap(HttpDeleteCommand command, String uri) {
         int indexEnd = uri.indexOf('/', URI_MAPS.length());
         if (indexEnd == -1) {
             String mapName = uri.substring(URI_MAPS.length(), uri.length());
             textCommandService.deleteAll(mapName);
             command.send200();
-
-        } else {
-            String mapName = uri.substring(URI_MAPS.length(), indexEnd);
-            String key = uri.substring(indexEnd + 1);
-            textCommandService.delete(mapName, key);
-            command.send200();
+            return false;
         }
+        String mapName = uri.substring(URI_MAPS.length(), indexEnd);
+        String key = uri.substring(indexEnd + 1);
+        textCommandService.deleteAsync(mapName, key).andThen(new DeleteCallback(command));
+        return true;
     }
 
     private void handleQueue(HttpDeleteCommand command, String uri) {
@@ -83,4 +88,24 @@ public class HttpDeleteCommandProcessor extends HttpCommandProcessor<HttpDeleteC
     public void handleRejection(HttpDeleteCommand command) {
         handle(command);
     }
+
+    private final class DeleteCallback extends TextCommandCallback<Boolean> {
+
+        private final HttpDeleteCommand command;
+
+        DeleteCallback(HttpDeleteCommand command) {
+            super(textCommandService, command);
+            this.command = command;
+        }
+
+        @Override
+        protected void handleResponse(Boolean deleted) {
+            command.send200();
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            command.setResponse(HttpCommand.RES_500);
+        }
+    }
 }
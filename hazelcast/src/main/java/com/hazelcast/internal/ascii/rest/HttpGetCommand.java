@@ -21,7 +21,6 @@ import com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType;
 import java.nio.ByteBuffer;
 
 public class HttpGetCommand extends HttpCommand {
-    private boolean nextLine;
 
     public HttpGetCommand(String uri) {
         super(TextCommandType.HTTP_GET, uri);
@@ -29,17 +28,6 @@ public class HttpGetCommand extends HttpCommand {
 
     @Override
     public boolean readFrom(ByteBuffer src) {
-        while (src.hasRemaining()) {
-            char c = (char) src.get();
-            if (c == '\n') {
-                if (nextLine) {
-                    return true;
-                }
-                nextLine = true;
-            } else if (c != '\r') {
-                nextLine = false;
-            }
-        }
-        return false;
+        return readHeaders(src);
     }
 }
@@ -37,6 +37,10 @@ public class HttpGetCommandParser implements CommandParser {
         } else {
             return new ErrorCommand(ERROR_CLIENT);
         }
-        return new HttpGetCommand(uri);
+        HttpGetCommand command = new HttpGetCommand(uri);
+        if (st.hasMoreTokens()) {
+            command.setHttpVersion(st.nextToken());
+        }
+        return command;
     }
 }
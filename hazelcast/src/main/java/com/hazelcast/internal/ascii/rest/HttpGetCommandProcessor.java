@@ -16,18 +16,33 @@
 
 package com.hazelcast.internal.ascii.rest;
 
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.NonBlocking;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.ascii.TextCommandCallback;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.nio.ConnectionManager;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import static com.hazelcast.internal.ascii.rest.HttpCommand.CONTENT_TYPE_BINARY;
+import static com.hazelcast.internal.ascii.rest.HttpCommand.CONTENT_TYPE_JSON;
 import static com.hazelcast.internal.ascii.rest.HttpCommand.CONTENT_TYPE_PLAIN_TEXT;
+import static com.hazelcast.util.StringUtil.bytesToString;
 import static com.hazelcast.util.StringUtil.stringToBytes;
 
 public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand> {
 
     public static final String QUEUE_SIZE_COMMAND = "size";
 
+    private static final String KEY_PARAMETER = "key=";
+
     public HttpGetCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
     }
@@ -37,6 +52,7 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
         String uri = command.getURI();
         if (uri.startsWith(URI_MAPS)) {
             handleMap(command, uri);
+            return;
         } else if (uri.startsWith(URI_QUEUES)) {
             handleQueue(command, uri);
         } else if (uri.startsWith(URI_CLUSTER)) {
@@ -76,10 +92,58 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
 
     private void handleMap(HttpGetCommand command, String uri) {
         int indexEnd = uri.indexOf('/', URI_MAPS.length());
+        if (indexEnd == -1) {
+            if (!handleMapBulkGet(command, uri)) {
+                textCommandService.sendResponse(command);
+            }
+            return;
+        }
         String mapName = uri.substring(URI_MAPS.length(), indexEnd);
         String key = uri.substring(indexEnd + 1);
-        Object value = textCommandService.get(mapName, key);
-        prepareResponse(command, value);
+        textCommandService.getAsync(mapName, key).andThen(new GetCallback(command));
+    }
+
+    /**
+     * Handles {@code /hazelcast/rest/maps/<map>?key=k1&key=k2...} by returning the found entries as a JSON object.
+     * Keys that are not in the map are left out of the response.
+     * <p/>
+     * Returns {@code true} if the response is sent later, once the asynchronous gets of all keys have completed.
+     */
+    private boolean handleMapBulkGet(HttpGetCommand command, String uri) {
+        int indexQuery = uri.indexOf('?', URI_MAPS.length());
+        if (indexQuery == -1) {
+            command.send400();
+            return false;
+        }
+        String mapName = uri.substring(URI_MAPS.length(), indexQuery);
+        Set<String> keys = new LinkedHashSet<String>();
+        try {
+            for (String parameter : uri.substring(indexQuery + 1).split("&")) {
+                if (parameter.startsWith(KEY_PARAMETER)) {
+                    keys.add(URLDecoder.decode(parameter.substring(KEY_PARAMETER.length()), "UTF-8"));
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        } catch (IllegalArgumentException e) {
+            command.send400();
+            return false;
+        }
+        if (mapName.length() == 0 || keys.isEmpty()) {
+            command.send400();
+            return false;
+        }
+        new BulkGet(command, keys).start(mapName);
+        return true;
+    }
+
+    private String toJsonString(Object value) {
+        if (value instanceof RestValue) {
+            return bytesToString(((RestValue) value).getValue());
+        } else if (value instanceof byte[]) {
+            return bytesToString((byte[]) value);
+        }
+        return String.valueOf(value);
     }
 
     @Override
@@ -101,4 +165,105 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
             command.setResponse(CONTENT_TYPE_BINARY, textCommandService.toByteArray(value));
         }
     }
+
+    /**
+     * Looks up the keys of a bulk get with one asynchronous get per key, so no text executor thread waits for the
+     * lookups. The response is sent by the callback of the last lookup to complete.
+     */
+    private final class BulkGet {
+
+        private final HttpGetCommand command;
+        private final String[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final AtomicInteger pending;
+        private volatile boolean failed;
+
+        BulkGet(HttpGetCommand command, Set<String> keys) {
+            this.command = command;
+            this.keys = keys.toArray(new String[keys.size()]);
+            this.values = new AtomicReferenceArray<Object>(this.keys.length);
+            this.pending = new AtomicInteger(this.keys.length);
+        }
+
+        void start(String mapName) {
+            for (int i = 0; i < keys.length; i++) {
+                try {
+                    textCommandService.getAsync(mapName, keys[i]).andThen(new BulkGetCallback(this, i));
+                } catch (Throwable t) {
+                    fail(t);
+                }
+            }
+        }
+
+        void complete(int index, Object value) {
+            values.set(index, value);
+            completeOne();
+        }
+
+        void fail(Throwable t) {
+            textCommandService.getNode().getLogger(getClass()).warning(t);
+            failed = true;
+            completeOne();
+        }
+
+        private void completeOne() {
+            if (pending.decrementAndGet() > 0) {
+                return;
+            }
+            if (failed) {
+                command.setResponse(HttpCommand.RES_500);
+            } else {
+                JsonObject result = new JsonObject();
+                for (int i = 0; i < keys.length; i++) {
+                    Object value = values.get(i);
+                    if (value != null) {
+                        result.add(keys[i], toJsonString(value));
+                    }
+                }
+                command.setResponse(CONTENT_TYPE_JSON, stringToBytes(result.toString()));
+            }
+            textCommandService.sendResponse(command);
+        }
+    }
+
+    private static final class BulkGetCallback implements ExecutionCallback<Object>, NonBlocking {
+
+        private final BulkGet bulkGet;
+        private final int index;
+
+        BulkGetCallback(BulkGet bulkGet, int index) {
+            this.bulkGet = bulkGet;
+            this.index = index;
+        }
+
+        @Override
+        public void onResponse(Object value) {
+            bulkGet.complete(index, value);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            bulkGet.fail(t);
+        }
+    }
+
+    private final class GetCallback extends TextCommandCallback<Object> {
+
+        private final HttpGetCommand command;
+
+        GetCallback(HttpGetCommand command) {
+            super(textCommandService, command);
+            this.command = command;
+        }
+
+        @Override
+        protected void handleResponse(Object value) {
+            prepareResponse(command, value);
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            command.setResponse(HttpCommand.RES_500);
+        }
+    }
 }
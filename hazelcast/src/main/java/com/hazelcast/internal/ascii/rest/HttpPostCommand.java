@@ -30,7 +30,8 @@ public class HttpPostCommand extends HttpCommand {
     private static final int RADIX = 16;
     private static final int CAPACITY = 500;
 
-    boolean nextLine;
+    // the request line has just been read, so an empty line ends the headers
+    boolean nextLine = true;
     boolean readyToReadData;
 
     private ByteBuffer data;
@@ -38,6 +39,7 @@ public class HttpPostCommand extends HttpCommand {
     private String contentType;
     private final TextReadHandler readHandler;
     private boolean chunked;
+    private boolean lastChunk;
 
     public HttpPostCommand(TextReadHandler readHandler, String uri) {
         super(HTTP_POST, uri);
@@ -64,9 +66,10 @@ public class HttpPostCommand extends HttpCommand {
             complete = doActualRead(src);
         }
         if (complete) {
-            if (data != null) {
-                data.flip();
+            if (data == null) {
+                data = ByteBuffer.allocate(0);
             }
+            data.flip();
         }
         return complete;
     }
@@ -105,15 +108,26 @@ public class HttpPostCommand extends HttpCommand {
                 processLine(StringUtil.lowerCaseInternal(toStringAndClear(line)));
                 if (nextLine) {
                     readyToReadData = true;
+                    if (data == null && !chunked) {
+                        // neither a content length nor chunks: the request has no body
+                        data = ByteBuffer.allocate(0);
+                    }
                 }
                 nextLine = true;
             } else if (c != '\r') {
                 nextLine = false;
-                line.put(b);
+                appendToLine(b);
             }
         }
     }
 
+    private void appendToLine(byte b) {
+        // only the beginning of a header is needed to recognize it, the rest of a long line is dropped
+        if (line.hasRemaining()) {
+            line.put(b);
+        }
+    }
+
     public boolean doActualRead(ByteBuffer cb) {
         if (readyToReadData) {
             if (chunked && (data == null || !data.hasRemaining())) {
@@ -122,7 +136,9 @@ public class HttpPostCommand extends HttpCommand {
                     return true;
                 }
             }
-            IOUtil.copyToHeapBuffer(cb, data);
+            if (data != null) {
+                IOUtil.copyToHeapBuffer(cb, data);
+            }
         }
 
         setReadyToReadData(cb);
@@ -144,27 +160,44 @@ public class HttpPostCommand extends HttpCommand {
         return result;
     }
 
+    /**
+     * Reads the chunk size lines of a chunked body. Stops after a size line so the data of the chunk can be read,
+     * skips the line break ending the data of the previous chunk and consumes the trailer after the last chunk, so
+     * a pipelined request following this one is left untouched.
+     *
+     * @return {@code true} if the body has been read completely
+     */
     boolean readLine(ByteBuffer cb) {
-        boolean hasLine = false;
         while (cb.hasRemaining()) {
             byte b = cb.get();
             char c = (char) b;
             if (c == '\n') {
-                hasLine = true;
+                String lineStr = toStringAndClear(line).trim();
+                if (lastChunk) {
+                    if (lineStr.length() == 0) {
+                        return true;
+                    }
+                    continue;
+                }
+                if (lineStr.length() == 0) {
+                    continue;
+                }
+                int extension = lineStr.indexOf(';');
+                if (extension != -1) {
+                    lineStr = lineStr.substring(0, extension).trim();
+                }
+                // hex string
+                int dataSize = Integer.parseInt(lineStr, RADIX);
+                if (dataSize == 0) {
+                    lastChunk = true;
+                    continue;
+                }
+                dataNullCheck(dataSize);
+                return false;
             } else if (c != '\r') {
-                line.put(b);
+                appendToLine(b);
             }
         }
-        if (hasLine) {
-            String lineStr = toStringAndClear(line).trim();
-
-            // hex string
-            int dataSize = lineStr.length() == 0 ? 0 : Integer.parseInt(lineStr, RADIX);
-            if (dataSize == 0) {
-                return true;
-            }
-            dataNullCheck(dataSize);
-        }
         return false;
     }
 
@@ -177,6 +210,8 @@ public class HttpPostCommand extends HttpCommand {
             chunked = true;
         } else if (currentLine.startsWith(HEADER_EXPECT_100)) {
             readHandler.sendResponse(new NoOpCommand(RES_100));
+        } else {
+            processHeader(currentLine);
         }
     }
 }
@@ -37,6 +37,10 @@ public class HttpPostCommandParser implements CommandParser {
         } else {
             return new ErrorCommand(ERROR_CLIENT);
         }
-        return new HttpPostCommand(readHandler, uri);
+        HttpPostCommand command = new HttpPostCommand(readHandler, uri);
+        if (st.hasMoreTokens()) {
+            command.setHttpVersion(st.nextToken());
+        }
+        return command;
     }
 }
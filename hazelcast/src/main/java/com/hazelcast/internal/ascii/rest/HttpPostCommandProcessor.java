@@ -20,6 +20,7 @@ import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.GroupConfig;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.ascii.TextCommandCallback;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.management.ManagementCenterService;
@@ -45,6 +46,7 @@ public class HttpPostCommandProcessor extends HttpCommandProcessor<HttpPostComma
             String uri = command.getURI();
             if (uri.startsWith(URI_MAPS)) {
                 handleMap(command, uri);
+                return;
             } else if (uri.startsWith(URI_MANCENTER_CHANGE_URL)) {
                 handleManagementCenterUrlChange(command);
             } else if (uri.startsWith(URI_QUEUES)) {
@@ -298,8 +300,8 @@ public class HttpPostCommandProcessor extends HttpCommandProcessor<HttpPostComma
         String mapName = uri.substring(URI_MAPS.length(), indexEnd);
         String key = uri.substring(indexEnd + 1);
         byte[] data = command.getData();
-        textCommandService.put(mapName, key, new RestValue(data, command.getContentType()), -1);
-        command.send200();
+        textCommandService.setAsync(mapName, key, new RestValue(data, command.getContentType()), -1)
+                .andThen(new PostCallback(command));
     }
 
     private void handleWanSyncMap(HttpPostCommand command) throws UnsupportedEncodingException {
@@ -327,4 +329,24 @@ public class HttpPostCommandProcessor extends HttpCommandProcessor<HttpPostComma
     public void handleRejection(HttpPostCommand command) {
         handle(command);
     }
+
+    private final class PostCallback extends TextCommandCallback<Void> {
+
+        private final HttpPostCommand command;
+
+        PostCallback(HttpPostCommand command) {
+            super(textCommandService, command);
+            this.command = command;
+        }
+
+        @Override
+        protected void handleResponse(Void response) {
+            command.send200();
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            command.setResponse(HttpCommand.RES_500);
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization;
 
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.serialization.impl.compact.SchemaRegistry;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.Disposable;
@@ -55,6 +56,10 @@ public interface InternalSerializationService extends SerializationService, Disp
 
     PortableContext getPortableContext();
 
+    SchemaRegistry getSchemaRegistry();
+
+    Object readCompactField(Data data, String fieldPath) throws IOException;
+
     ClassLoader getClassLoader();
 
     ByteOrder getByteOrder();
@@ -20,6 +20,8 @@ import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.internal.serialization.InputOutputFactory;
+import com.hazelcast.internal.metrics.MetricsProvider;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactory;
@@ -30,6 +32,7 @@ import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.CompactSerializable;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
@@ -56,7 +59,7 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.indexF
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.isNullData;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
-public abstract class AbstractSerializationService implements InternalSerializationService {
+public abstract class AbstractSerializationService implements InternalSerializationService, MetricsProvider {
 
     protected final ManagedContext managedContext;
     protected final InputOutputFactory inputOutputFactory;
@@ -65,6 +68,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
 
     protected SerializerAdapter dataSerializerAdapter;
     protected SerializerAdapter portableSerializerAdapter;
+    protected SerializerAdapter compactSerializerAdapter;
     protected final SerializerAdapter nullSerializerAdapter;
     protected SerializerAdapter javaSerializerAdapter;
     protected SerializerAdapter javaExternalizableAdapter;
@@ -75,6 +79,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
     private final ConcurrentMap<Class, SerializerAdapter> typeMap = new ConcurrentHashMap<Class, SerializerAdapter>();
     private final ConcurrentMap<Integer, SerializerAdapter> idMap = new ConcurrentHashMap<Integer, SerializerAdapter>();
     private final AtomicReference<SerializerAdapter> global = new AtomicReference<SerializerAdapter>();
+    private final SerializerLookupCache lookupCache = new SerializerLookupCache();
 
     //Global serializer may override Java Serialization or not
     private boolean overrideJavaSerialization;
@@ -277,8 +282,14 @@ public abstract class AbstractSerializationService implements InternalSerializat
         idMap.clear();
         global.set(null);
         constantTypesMap.clear();
+        lookupCache.clear();
         bufferPoolThreadLocal.clear();
     }
+
+    @Override
+    public void provideMetrics(MetricsRegistry metricsRegistry) {
+        metricsRegistry.collectMetrics(bufferPoolThreadLocal);
+    }
     //endregion Serialization Service
 
     public final void register(Class type, Serializer serializer) {
@@ -290,6 +301,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
                     "Type id must be positive! Current: " + serializer.getTypeId() + ", Serializer: " + serializer);
         }
         safeRegister(type, createSerializerAdapter(serializer, this));
+        lookupCache.clear();
     }
 
     public final void registerGlobal(final Serializer serializer) {
@@ -309,6 +321,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
             throw new IllegalStateException(
                     "Serializer [" + current.getImpl() + "] has been already registered for type-id: " + serializer.getTypeId());
         }
+        lookupCache.clear();
     }
 
     protected final int calculatePartitionHash(Object obj, PartitioningStrategy strategy) {
@@ -390,7 +403,20 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
         Class type = object.getClass();
 
-        //2-Default serializers, Dataserializable, Portable, primitives, arrays, String and some helper Java types(BigInteger etc)
+        //2 to 5 are only done on the first lookup of a class, the outcome is cached per class
+        SerializerAdapter serializer = lookupCache.get(type);
+        if (serializer == null) {
+            // a serializer registered during the lookup clears the cache, so the outcome is only cached if it wasn't
+            int version = lookupCache.version();
+            serializer = lookupSerializer(type);
+            lookupCache.put(type, serializer, version);
+        }
+        return serializer;
+    }
+
+    private SerializerAdapter lookupSerializer(Class type) {
+        //2-Default serializers, Dataserializable, Portable, CompactSerializable, primitives, arrays, String and
+        //  some helper Java types(BigInteger etc)
         SerializerAdapter serializer = lookupDefaultSerializer(type);
 
         //3-Custom registered types by user
@@ -424,6 +450,9 @@ public abstract class AbstractSerializationService implements InternalSerializat
         if (Portable.class.isAssignableFrom(type)) {
             return portableSerializerAdapter;
         }
+        if (CompactSerializable.class.isAssignableFrom(type)) {
+            return compactSerializerAdapter;
+        }
         return constantTypesMap.get(type);
     }
 
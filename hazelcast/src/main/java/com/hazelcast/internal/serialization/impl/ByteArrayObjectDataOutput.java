@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization.impl;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.PoolableOutput;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -31,7 +32,7 @@ import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
 import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
 
-class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectDataOutput {
+class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectDataOutput, PoolableOutput {
 
     final int initialSize;
 
@@ -43,6 +44,8 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
 
     private final boolean isBigEndian;
 
+    private int growCount;
+
     ByteArrayObjectDataOutput(int size, InternalSerializationService service, ByteOrder byteOrder) {
         this.initialSize = size;
         this.buffer = new byte[size];
@@ -360,6 +363,7 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
                 byte[] newBuffer = new byte[newCap];
                 System.arraycopy(buffer, 0, newBuffer, 0, pos);
                 buffer = newBuffer;
+                growCount++;
             } else {
                 buffer = new byte[len > initialSize / 2 ? len * 2 : initialSize];
             }
@@ -422,6 +426,23 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
         buffer = null;
     }
 
+    @Override
+    public int capacity() {
+        return buffer != null ? buffer.length : 0;
+    }
+
+    @Override
+    public void reset() {
+        pos = 0;
+    }
+
+    @Override
+    public int resetGrowCount() {
+        int count = growCount;
+        growCount = 0;
+        return count;
+    }
+
     @Override
     public ByteOrder getByteOrder() {
         return isBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
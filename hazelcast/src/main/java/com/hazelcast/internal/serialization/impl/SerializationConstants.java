@@ -83,6 +83,11 @@ public final class SerializationConstants {
     // NUMBER OF CONSTANT SERIALIZERS...
     public static final int CONSTANT_SERIALIZERS_LENGTH = 28;
 
+    // ------------------------------------------------------------
+    // COMPACT SERIALIZATION
+
+    public static final int COMPACT_TYPE = -50;
+
     // ------------------------------------------------------------
     // JAVA SERIALIZATION
 
@@ -24,8 +24,11 @@ import com.hazelcast.internal.serialization.impl.ConstantSerializers.BooleanSeri
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.ByteSerializer;
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.StringArraySerializer;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactory;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
+import com.hazelcast.internal.serialization.impl.compact.SchemaRegistry;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.CompactSerializable;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -76,6 +79,8 @@ public class SerializationServiceV1 extends AbstractSerializationService {
 
     private final PortableContextImpl portableContext;
     private final PortableSerializer portableSerializer;
+    private final SchemaRegistry schemaRegistry = new SchemaRegistry();
+    private final CompactStreamSerializer compactSerializer;
 
     SerializationServiceV1(InputOutputFactory inputOutputFactory, byte version, int portableVersion, ClassLoader classLoader,
             Map<Integer, ? extends DataSerializableFactory> dataSerializableFactories,
@@ -95,12 +100,15 @@ public class SerializationServiceV1 extends AbstractSerializationService {
                 new DataSerializableSerializer(dataSerializableFactories, classLoader), this);
         portableSerializer = new PortableSerializer(portableContext, loader.getFactories());
         portableSerializerAdapter = createSerializerAdapter(portableSerializer, this);
+        compactSerializer = new CompactStreamSerializer(schemaRegistry, classLoader);
+        compactSerializerAdapter = createSerializerAdapter(compactSerializer, this);
 
         javaSerializerAdapter = createSerializerAdapter(new JavaSerializer(enableSharedObject, enableCompression), this);
         javaExternalizableAdapter = createSerializerAdapter(
                 new JavaDefaultSerializers.ExternalizableSerializer(enableCompression), this);
         registerConstantSerializers();
         registerJavaTypeSerializers();
+        safeRegister(CompactSerializable.class, compactSerializerAdapter);
     }
 
     public PortableReader createPortableReader(Data data) throws IOException {
@@ -115,6 +123,20 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         return portableContext;
     }
 
+    @Override
+    public SchemaRegistry getSchemaRegistry() {
+        return schemaRegistry;
+    }
+
+    @Override
+    public Object readCompactField(Data data, String fieldPath) throws IOException {
+        if (!CompactStreamSerializer.isCompact(data)) {
+            throw new IllegalArgumentException("Given data is not compact serialized! -> " + data.getType());
+        }
+        BufferObjectDataInput in = createObjectDataInput(data);
+        return compactSerializer.readField(in, fieldPath);
+    }
+
     private void registerConstantSerializers() {
         registerConstant(null, nullSerializerAdapter);
         registerConstant(DataSerializable.class, dataSerializerAdapter);
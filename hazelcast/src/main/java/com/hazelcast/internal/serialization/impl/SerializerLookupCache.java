@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An identity based class to {@link SerializerAdapter} table that caches the outcome of
+ * {@link AbstractSerializationService#serializerFor(Object)}, so the type checks, map lookups and hierarchy scans are
+ * done once per class instead of once per serialized object.
+ *
+ * Reads are lock-free and don't allocate: the table is an immutable open addressing array that is probed by the identity
+ * hash of the class. Writes copy the table and swap it in with a CAS, which is fine since a class is written once.
+ *
+ * Every {@link #clear()} starts a new version. A serializer looked up before a clear could be outdated by the
+ * registration that caused the clear, so a put is only done if the version is still the one read before the lookup.
+ *
+ * The number of cached classes is bounded by {@link #MAX_CACHED_TYPES}; once full, the remaining classes are looked up
+ * the slow way. This also bounds how many classes (and thereby class loaders) the cache can keep reachable.
+ */
+final class SerializerLookupCache {
+
+    static final int MAX_CACHED_TYPES = 1024;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final AtomicReference<Table> table = new AtomicReference<Table>(new Table(new Entry[INITIAL_CAPACITY], 0, 0));
+
+    /**
+     * Returns the cached serializer for the given class.
+     *
+     * @param type the class to look up
+     * @return the serializer or {@code null} if none is cached for the class
+     */
+    SerializerAdapter get(Class type) {
+        Entry[] entries = table.get().entries;
+        int mask = entries.length - 1;
+        int index = indexFor(type, mask);
+        for (; ; ) {
+            Entry entry = entries[index];
+            if (entry == null) {
+                return null;
+            }
+            if (entry.type == type) {
+                return entry.serializer;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the current version, which has to be read before the serializer to cache is looked up.
+     */
+    int version() {
+        return table.get().version;
+    }
+
+    /**
+     * Caches the serializer for the given class. Does nothing if the cache has been cleared since the given version was
+     * read, the class is already cached or the cache is full.
+     *
+     * @param type       the class
+     * @param serializer the serializer to use for the class
+     * @param version    the {@link #version()} read before the serializer was looked up
+     */
+    void put(Class type, SerializerAdapter serializer, int version) {
+        for (; ; ) {
+            Table current = table.get();
+            if (current.version != version || current.size >= MAX_CACHED_TYPES || get(type) != null) {
+                return;
+            }
+            if (table.compareAndSet(current, current.with(new Entry(type, serializer)))) {
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return table.get().size;
+    }
+
+    void clear() {
+        for (; ; ) {
+            Table current = table.get();
+            if (table.compareAndSet(current, new Table(new Entry[INITIAL_CAPACITY], 0, current.version + 1))) {
+                return;
+            }
+        }
+    }
+
+    private static int indexFor(Class type, int mask) {
+        return System.identityHashCode(type) & mask;
+    }
+
+    private static final class Table {
+        private final Entry[] entries;
+        private final int size;
+        private final int version;
+
+        Table(Entry[] entries, int size, int version) {
+            this.entries = entries;
+            this.size = size;
+            this.version = version;
+        }
+
+        /**
+         * Creates a copy of this table containing the given entry, doubling the capacity when the copy would be more
+         * than half full.
+         */
+        Table with(Entry entry) {
+            int capacity = (size + 1) * 2 > entries.length ? entries.length * 2 : entries.length;
+            Entry[] copy = new Entry[capacity];
+            for (Entry existing : entries) {
+                if (existing != null) {
+                    insert(copy, existing);
+                }
+            }
+            insert(copy, entry);
+            return new Table(copy, size + 1, version);
+        }
+
+        private static void insert(Entry[] entries, Entry entry) {
+            int mask = entries.length - 1;
+            int index = indexFor(entry.type, mask);
+            while (entries[index] != null) {
+                index = (index + 1) & mask;
+            }
+            entries[index] = entry;
+        }
+    }
+
+    private static final class Entry {
+        private final Class type;
+        private final SerializerAdapter serializer;
+
+        Entry(Class type, SerializerAdapter serializer) {
+            this.type = type;
+            this.serializer = serializer;
+        }
+    }
+}
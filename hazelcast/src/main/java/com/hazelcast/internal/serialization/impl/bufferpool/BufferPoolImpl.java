@@ -18,6 +18,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -26,31 +27,78 @@ import java.io.Closeable;
 import java.util.ArrayDeque;
 import java.util.Queue;
 
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.nio.IOUtil.closeResource;
 
 /**
  * Default {BufferPool} implementation.
  *
  * This class is designed to that a subclass can be made. This is done for the Enterprise version.
+ *
+ * <h1>Size classes</h1>
+ * Outputs implementing {@link PoolableOutput} keep their buffer when they are returned, so a thread that repeatedly
+ * serializes big values doesn't grow a buffer from scratch for every value. The pooled outputs are sorted by the
+ * capacity of their buffer into a small, a medium and a large class and the biggest available output is taken first.
+ * Buffers bigger than {@link #LARGE_CAPACITY} are shrunk when they are returned.
+ *
+ * <h1>Shrinking idle buffers</h1>
+ * A medium or large buffer is shrunk once {@link #SHRINK_AFTER_IDLE_USES} outputs in a row have been returned without
+ * needing its size class, so a thread doesn't hold on to a big buffer it needed only once.
+ *
+ * The counters of the pool are written by the owning thread only and are aggregated by {@link BufferPoolThreadLocal}.
  */
 public class BufferPoolImpl implements BufferPool {
     static final int MAX_POOLED_ITEMS = 3;
 
+    static final int SMALL_CAPACITY = 64 * 1024;
+    static final int MEDIUM_CAPACITY = 1024 * 1024;
+    static final int LARGE_CAPACITY = 8 * 1024 * 1024;
+    static final int SHRINK_AFTER_IDLE_USES = 256;
+
+    static final int MAX_POOLED_MEDIUM_ITEMS = 2;
+    static final int MAX_POOLED_LARGE_ITEMS = 1;
+
+    private static final int SMALL = 0;
+    private static final int MEDIUM = 1;
+    private static final int LARGE = 2;
+    private static final int OVERSIZED = 3;
+
     protected final InternalSerializationService serializationService;
 
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<BufferObjectDataOutput>(MAX_POOLED_ITEMS);
+    final Queue<BufferObjectDataOutput> mediumOutputQueue = new ArrayDeque<BufferObjectDataOutput>(MAX_POOLED_MEDIUM_ITEMS);
+    final Queue<BufferObjectDataOutput> largeOutputQueue = new ArrayDeque<BufferObjectDataOutput>(MAX_POOLED_LARGE_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<BufferObjectDataInput>(MAX_POOLED_ITEMS);
 
+    final SwCounter outputHits = newSwCounter();
+    final SwCounter outputMisses = newSwCounter();
+    final SwCounter outputGrows = newSwCounter();
+    final SwCounter outputShrinks = newSwCounter();
+    final SwCounter inputHits = newSwCounter();
+    final SwCounter inputMisses = newSwCounter();
+
+    private int mediumIdleUses;
+    private int largeIdleUses;
+
     public BufferPoolImpl(InternalSerializationService serializationService) {
         this.serializationService = serializationService;
     }
 
     @Override
     public BufferObjectDataOutput takeOutputBuffer() {
-        BufferObjectDataOutput out = outputQueue.poll();
+        BufferObjectDataOutput out = largeOutputQueue.poll();
+        if (out == null) {
+            out = mediumOutputQueue.poll();
+            if (out == null) {
+                out = outputQueue.poll();
+            }
+        }
         if (out == null) {
+            outputMisses.inc();
             out = serializationService.createObjectDataOutput();
+        } else {
+            outputHits.inc();
         }
         return out;
     }
@@ -61,16 +109,89 @@ public class BufferPoolImpl implements BufferPool {
             return;
         }
 
-        out.clear();
+        if (!(out instanceof PoolableOutput)) {
+            out.clear();
+            offerOrClose(outputQueue, MAX_POOLED_ITEMS, out);
+            return;
+        }
 
-        offerOrClose(outputQueue, out);
+        PoolableOutput poolable = (PoolableOutput) out;
+        outputGrows.inc(poolable.resetGrowCount());
+        int sizeClass = sizeClassOf(poolable.capacity());
+        boolean idle = shouldShrink(sizeClassOf(out.position()), sizeClass);
+        if (idle || sizeClass == OVERSIZED) {
+            out.clear();
+            outputShrinks.inc();
+            sizeClass = sizeClassOf(poolable.capacity());
+        } else {
+            poolable.reset();
+        }
+
+        switch (sizeClass) {
+            case LARGE:
+                offerOrClose(largeOutputQueue, MAX_POOLED_LARGE_ITEMS, out);
+                break;
+            case MEDIUM:
+                offerOrClose(mediumOutputQueue, MAX_POOLED_MEDIUM_ITEMS, out);
+                break;
+            default:
+                offerOrClose(outputQueue, MAX_POOLED_ITEMS, out);
+        }
+    }
+
+    /**
+     * Updates the idle counts of the medium and large size classes with a use that needed the given size class. Queued
+     * buffers of an idle size class are shrunk right away.
+     *
+     * @return {@code true} if the returned buffer of the given size class should be shrunk
+     */
+    private boolean shouldShrink(int neededClass, int sizeClass) {
+        boolean shrink = false;
+        if (neededClass >= MEDIUM) {
+            mediumIdleUses = 0;
+        } else if (++mediumIdleUses >= SHRINK_AFTER_IDLE_USES) {
+            mediumIdleUses = 0;
+            shrinkQueued(mediumOutputQueue);
+            shrink = sizeClass == MEDIUM;
+        }
+        if (neededClass >= LARGE) {
+            largeIdleUses = 0;
+        } else if (++largeIdleUses >= SHRINK_AFTER_IDLE_USES) {
+            largeIdleUses = 0;
+            shrinkQueued(largeOutputQueue);
+            shrink |= sizeClass == LARGE;
+        }
+        return shrink;
+    }
+
+    private void shrinkQueued(Queue<BufferObjectDataOutput> queue) {
+        BufferObjectDataOutput out;
+        while ((out = queue.poll()) != null) {
+            out.clear();
+            outputShrinks.inc();
+            offerOrClose(outputQueue, MAX_POOLED_ITEMS, out);
+        }
+    }
+
+    private static int sizeClassOf(int size) {
+        if (size <= SMALL_CAPACITY) {
+            return SMALL;
+        } else if (size <= MEDIUM_CAPACITY) {
+            return MEDIUM;
+        } else if (size <= LARGE_CAPACITY) {
+            return LARGE;
+        }
+        return OVERSIZED;
     }
 
     @Override
     public BufferObjectDataInput takeInputBuffer(Data data) {
         BufferObjectDataInput in = inputQueue.poll();
         if (in == null) {
+            inputMisses.inc();
             in = serializationService.createObjectDataInput((byte[]) null);
+        } else {
+            inputHits.inc();
         }
         in.init(data.toByteArray(), HeapData.DATA_OFFSET);
         return in;
@@ -84,11 +205,11 @@ public class BufferPoolImpl implements BufferPool {
 
         in.clear();
 
-        offerOrClose(inputQueue, in);
+        offerOrClose(inputQueue, MAX_POOLED_ITEMS, in);
     }
 
-    private static <C extends Closeable> void offerOrClose(Queue<C> queue, C item) {
-        if (queue.size() == MAX_POOLED_ITEMS) {
+    private static <C extends Closeable> void offerOrClose(Queue<C> queue, int maxItems, C item) {
+        if (queue.size() >= maxItems) {
             closeResource(item);
             return;
         }
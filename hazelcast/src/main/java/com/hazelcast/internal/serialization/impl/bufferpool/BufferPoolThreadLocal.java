@@ -17,7 +17,11 @@
 package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.internal.metrics.MetricsProvider;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.util.ConcurrentReferenceHashMap;
 
@@ -76,8 +80,19 @@ import static com.hazelcast.util.ConcurrentReferenceHashMap.ReferenceType.WEAK;
  * The Performance of using a ThreadLocal in combination with a WeakReference is almost the same as using a ThreadLocal without
  * WeakReference. There is an extra pointer indirection and some additional pressure on the gc system since it needs to deal with
  * the WeakReferences, but the number of threads is limited.
+ *
+ * <h1>Metrics</h1>
+ * The counters of the {@link BufferPoolImpl} instances are written by their owning threads only. The probes of the
+ * BufferPoolThreadLocal sum them up over all pools, so counting doesn't add any contention to the pools.
  */
-public final class BufferPoolThreadLocal {
+public final class BufferPoolThreadLocal implements MetricsProvider {
+
+    static final int OUTPUT_HITS = 0;
+    static final int OUTPUT_MISSES = 1;
+    static final int OUTPUT_GROWS = 2;
+    static final int OUTPUT_SHRINKS = 3;
+    static final int INPUT_HITS = 4;
+    static final int INPUT_MISSES = 5;
 
     private final ThreadLocal<WeakReference<BufferPool>> threadLocal = new ThreadLocal<WeakReference<BufferPool>>();
     private final InternalSerializationService serializationService;
@@ -109,4 +124,75 @@ public final class BufferPoolThreadLocal {
     public void clear() {
         strongReferences.clear();
     }
+
+    @Override
+    public void provideMetrics(MetricsRegistry metricsRegistry) {
+        metricsRegistry.scanAndRegister(this, "serialization.bufferPool");
+    }
+
+    @Probe(name = "poolCount")
+    private int poolCount() {
+        return strongReferences.size();
+    }
+
+    @Probe(name = "outputHits")
+    private long outputHits() {
+        return sum(OUTPUT_HITS);
+    }
+
+    @Probe(name = "outputMisses")
+    private long outputMisses() {
+        return sum(OUTPUT_MISSES);
+    }
+
+    @Probe(name = "outputGrows")
+    private long outputGrows() {
+        return sum(OUTPUT_GROWS);
+    }
+
+    @Probe(name = "outputShrinks")
+    private long outputShrinks() {
+        return sum(OUTPUT_SHRINKS);
+    }
+
+    @Probe(name = "inputHits")
+    private long inputHits() {
+        return sum(INPUT_HITS);
+    }
+
+    @Probe(name = "inputMisses")
+    private long inputMisses() {
+        return sum(INPUT_MISSES);
+    }
+
+    // accessible for testing.
+    long sum(int counter) {
+        long sum = 0;
+        for (BufferPool pool : strongReferences.values()) {
+            if (pool instanceof BufferPoolImpl) {
+                sum += counterOf((BufferPoolImpl) pool, counter).get();
+            }
+        }
+        return sum;
+    }
+
+    @SuppressWarnings("checkstyle:returncount")
+    private static SwCounter counterOf(BufferPoolImpl pool, int counter) {
+        switch (counter) {
+            case OUTPUT_HITS:
+                return pool.outputHits;
+            case OUTPUT_MISSES:
+                return pool.outputMisses;
+            case OUTPUT_GROWS:
+                return pool.outputGrows;
+            case OUTPUT_SHRINKS:
+                return pool.outputShrinks;
+            case INPUT_HITS:
+                return pool.inputHits;
+            case INPUT_MISSES:
+                return pool.inputMisses;
+            default:
+                throw new IllegalArgumentException("Unknown counter " + counter);
+        }
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+/**
+ * A {@link com.hazelcast.nio.BufferObjectDataOutput} whose buffer the {@link BufferPoolImpl} can keep between uses and
+ * sort into a size class.
+ */
+public interface PoolableOutput {
+
+    /**
+     * @return the current capacity of the buffer in bytes
+     */
+    int capacity();
+
+    /**
+     * Resets the position to 0 and keeps the buffer, no matter how much it has grown. In contrast
+     * {@link com.hazelcast.nio.BufferObjectDataOutput#clear()} shrinks a grown buffer.
+     */
+    void reset();
+
+    /**
+     * Returns the number of times the buffer grew since the previous call and resets that number.
+     *
+     * @return the number of times the buffer grew
+     */
+    int resetGrowCount();
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binds the fields of a {@link Schema} to the fields of a class.
+ */
+final class ClassBinding {
+
+    final Schema schema;
+    /**
+     * The fields of the class in the order of the schema fields; {@code null} for schema fields the class doesn't have.
+     */
+    final Field[] fields;
+    private final Constructor constructor;
+
+    private ClassBinding(Schema schema, Field[] fields, Constructor constructor) {
+        this.schema = schema;
+        this.fields = fields;
+        this.constructor = constructor;
+    }
+
+    Object newInstance() throws Exception {
+        if (constructor == null) {
+            throw new HazelcastSerializationException("Compact class " + schema.getClassName()
+                    + " has no no-arg constructor");
+        }
+        return constructor.newInstance();
+    }
+
+    /**
+     * Creates the binding used to serialize objects of the given class.
+     */
+    static ClassBinding forClass(Class clazz) {
+        Map<String, Field> classFields = fieldsOf(clazz);
+        Map<String, FieldKind> kinds = new HashMap<String, FieldKind>(classFields.size());
+        for (Map.Entry<String, Field> entry : classFields.entrySet()) {
+            kinds.put(entry.getKey(), FieldKind.of(entry.getValue().getType()));
+        }
+        Schema schema = new Schema(clazz.getName(), kinds);
+        return forSchema(schema, clazz, classFields);
+    }
+
+    /**
+     * Creates the binding used to deserialize objects written with the given schema into the given class. Fields the
+     * class doesn't have are skipped and fields the schema doesn't have keep their initial value.
+     */
+    static ClassBinding forSchema(Schema schema, Class clazz) {
+        return forSchema(schema, clazz, fieldsOf(clazz));
+    }
+
+    private static ClassBinding forSchema(Schema schema, Class clazz, Map<String, Field> classFields) {
+        SchemaField[] schemaFields = schema.getFields();
+        Field[] fields = new Field[schemaFields.length];
+        for (int i = 0; i < schemaFields.length; i++) {
+            SchemaField schemaField = schemaFields[i];
+            Field field = classFields.get(schemaField.getName());
+            if (field == null) {
+                continue;
+            }
+            FieldKind kind = FieldKind.of(field.getType());
+            if (kind != schemaField.getKind()) {
+                throw new HazelcastSerializationException("Field " + schemaField.getName() + " of " + clazz.getName()
+                        + " is a " + kind + " field but the schema " + schema.getSchemaId() + " describes it as a "
+                        + schemaField.getKind() + " field");
+            }
+            fields[i] = field;
+        }
+        return new ClassBinding(schema, fields, noArgConstructorOf(clazz));
+    }
+
+    private static Map<String, Field> fieldsOf(Class clazz) {
+        Map<String, Field> fields = new LinkedHashMap<String, Field>();
+        for (Class c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                if (fields.containsKey(field.getName())) {
+                    throw new HazelcastSerializationException("Compact class " + clazz.getName()
+                            + " declares more than one field named " + field.getName());
+                }
+                field.setAccessible(true);
+                fields.put(field.getName(), field);
+            }
+        }
+        return fields;
+    }
+
+    private static Constructor noArgConstructorOf(Class clazz) {
+        try {
+            Constructor constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.DataSerializerHook;
+import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.COMPACT_DS_FACTORY;
+import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.COMPACT_DS_FACTORY_ID;
+
+/**
+ * {@link com.hazelcast.internal.serialization.DataSerializerHook} implementation for the schemas of compact serialization
+ * and the operations that replicate them.
+ */
+public class CompactDataSerializerHook implements DataSerializerHook {
+
+    public static final int F_ID = FactoryIdHelper.getFactoryId(COMPACT_DS_FACTORY, COMPACT_DS_FACTORY_ID);
+
+    /**
+     * Id of {@link Schema}
+     */
+    public static final int SCHEMA = 0;
+
+    /**
+     * Id of {@link PutSchemasOperation}
+     */
+    public static final int PUT_SCHEMAS = 1;
+
+    /**
+     * Id of {@link FetchSchemaOperation}
+     */
+    public static final int FETCH_SCHEMA = 2;
+
+    @Override
+    public int getFactoryId() {
+        return F_ID;
+    }
+
+    //CHECKSTYLE:OFF
+    @Override
+    public DataSerializableFactory createFactory() {
+        return new DataSerializableFactory() {
+
+            public IdentifiedDataSerializable create(int typeId) {
+                switch (typeId) {
+                    case SCHEMA:
+                        return new Schema();
+                    case PUT_SCHEMAS:
+                        return new PutSchemasOperation();
+                    case FETCH_SCHEMA:
+                        return new FetchSchemaOperation();
+                }
+                throw new IllegalArgumentException("Unknown type-id: " + typeId);
+            }
+        };
+    }
+    //CHECKSTYLE:ON
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.CompactSerializable;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Serializes {@link CompactSerializable} objects using reflection.
+ * <p/>
+ * The layout of a serialized object is:
+ * <pre>
+ * long   schema id
+ * int    length of the serialized object
+ * ...    fixed size fields at the offsets given by the schema
+ * int[]  offsets of the variable size fields relative to the start of the object, -1 for null
+ * ...    variable size fields
+ * </pre>
+ * so a single field can be read with a constant number of positional reads.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class CompactStreamSerializer implements StreamSerializer<CompactSerializable> {
+
+    static final int HEADER_SIZE = LONG_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
+    private static final int NULL_OFFSET = -1;
+
+    private final SchemaRegistry registry;
+    private final ClassLoader classLoader;
+    private final ConcurrentMap<Class, ClassBinding> writeBindings = new ConcurrentHashMap<Class, ClassBinding>();
+    private final ConcurrentMap<Long, ClassBinding> readBindings = new ConcurrentHashMap<Long, ClassBinding>();
+
+    public CompactStreamSerializer(SchemaRegistry registry, ClassLoader classLoader) {
+        this.registry = registry;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @param data the data to check
+     * @return {@code true} if the data is a compact serialized object
+     */
+    public static boolean isCompact(Data data) {
+        return data.getType() == SerializationConstants.COMPACT_TYPE;
+    }
+
+    @Override
+    public int getTypeId() {
+        return SerializationConstants.COMPACT_TYPE;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, CompactSerializable object) throws IOException {
+        if (!(out instanceof BufferObjectDataOutput)) {
+            throw new IllegalArgumentException("ObjectDataOutput must be instance of BufferObjectDataOutput!");
+        }
+        ClassBinding binding = writeBindingFor(object.getClass());
+        registry.register(binding.schema);
+        try {
+            write((BufferObjectDataOutput) out, binding, object);
+        } catch (IllegalAccessException e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private void write(BufferObjectDataOutput out, ClassBinding binding, Object object)
+            throws IOException, IllegalAccessException {
+        Schema schema = binding.schema;
+        int start = out.position();
+        int fixedStart = start + HEADER_SIZE;
+        int tableStart = fixedStart + schema.getFixedSize();
+        out.writeLong(schema.getSchemaId());
+        out.writeInt(0);
+        out.writeZeroBytes(schema.getFixedSectionSize());
+
+        SchemaField[] schemaFields = schema.getFields();
+        for (int i = 0; i < schemaFields.length; i++) {
+            SchemaField schemaField = schemaFields[i];
+            Field field = binding.fields[i];
+            int position = fixedStart + schemaField.getOffset();
+            switch (schemaField.getKind()) {
+                case BOOLEAN:
+                    out.writeBoolean(position, field.getBoolean(object));
+                    break;
+                case BYTE:
+                    out.writeByte(position, field.getByte(object));
+                    break;
+                case CHAR:
+                    out.writeChar(position, field.getChar(object));
+                    break;
+                case SHORT:
+                    out.writeShort(position, field.getShort(object));
+                    break;
+                case INT:
+                    out.writeInt(position, field.getInt(object));
+                    break;
+                case LONG:
+                    out.writeLong(position, field.getLong(object));
+                    break;
+                case FLOAT:
+                    out.writeFloat(position, field.getFloat(object));
+                    break;
+                case DOUBLE:
+                    out.writeDouble(position, field.getDouble(object));
+                    break;
+                default:
+                    int tablePosition = tableStart + schemaField.getOffset() * INT_SIZE_IN_BYTES;
+                    Object value = field.get(object);
+                    if (value == null) {
+                        out.writeInt(tablePosition, NULL_OFFSET);
+                    } else {
+                        out.writeInt(tablePosition, out.position() - start);
+                        writeVariableSize(out, schemaField.getKind(), value);
+                    }
+            }
+        }
+        out.writeInt(start + LONG_SIZE_IN_BYTES, out.position() - start);
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private static void writeVariableSize(ObjectDataOutput out, FieldKind kind, Object value) throws IOException {
+        switch (kind) {
+            case UTF:
+                out.writeUTF((String) value);
+                break;
+            case BOOLEAN_ARRAY:
+                out.writeBooleanArray((boolean[]) value);
+                break;
+            case BYTE_ARRAY:
+                out.writeByteArray((byte[]) value);
+                break;
+            case CHAR_ARRAY:
+                out.writeCharArray((char[]) value);
+                break;
+            case SHORT_ARRAY:
+                out.writeShortArray((short[]) value);
+                break;
+            case INT_ARRAY:
+                out.writeIntArray((int[]) value);
+                break;
+            case LONG_ARRAY:
+                out.writeLongArray((long[]) value);
+                break;
+            case FLOAT_ARRAY:
+                out.writeFloatArray((float[]) value);
+                break;
+            case DOUBLE_ARRAY:
+                out.writeDoubleArray((double[]) value);
+                break;
+            case UTF_ARRAY:
+                out.writeUTFArray((String[]) value);
+                break;
+            case OBJECT:
+                out.writeObject(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Not a variable size field kind: " + kind);
+        }
+    }
+
+    @Override
+    public CompactSerializable read(ObjectDataInput in) throws IOException {
+        if (!(in instanceof BufferObjectDataInput)) {
+            throw new IllegalArgumentException("ObjectDataInput must be instance of BufferObjectDataInput!");
+        }
+        BufferObjectDataInput input = (BufferObjectDataInput) in;
+        int start = input.position();
+        long schemaId = input.readLong();
+        int length = input.readInt();
+        ClassBinding binding = readBindingFor(schemaId);
+        try {
+            Object object = binding.newInstance();
+            read(input, start, binding, object);
+            return (CompactSerializable) object;
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HazelcastSerializationException(e);
+        } finally {
+            input.position(start + length);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private static void read(BufferObjectDataInput in, int start, ClassBinding binding, Object object)
+            throws IOException, IllegalAccessException {
+        Schema schema = binding.schema;
+        int fixedStart = start + HEADER_SIZE;
+        SchemaField[] schemaFields = schema.getFields();
+        for (int i = 0; i < schemaFields.length; i++) {
+            Field field = binding.fields[i];
+            if (field == null) {
+                continue;
+            }
+            SchemaField schemaField = schemaFields[i];
+            int position = fixedStart + schemaField.getOffset();
+            switch (schemaField.getKind()) {
+                case BOOLEAN:
+                    field.setBoolean(object, in.readBoolean(position));
+                    break;
+                case BYTE:
+                    field.setByte(object, in.readByte(position));
+                    break;
+                case CHAR:
+                    field.setChar(object, in.readChar(position));
+                    break;
+                case SHORT:
+                    field.setShort(object, in.readShort(position));
+                    break;
+                case INT:
+                    field.setInt(object, in.readInt(position));
+                    break;
+                case LONG:
+                    field.setLong(object, in.readLong(position));
+                    break;
+                case FLOAT:
+                    field.setFloat(object, in.readFloat(position));
+                    break;
+                case DOUBLE:
+                    field.setDouble(object, in.readDouble(position));
+                    break;
+                default:
+                    field.set(object, readVariableSize(in, start, schema, schemaField));
+            }
+        }
+    }
+
+    /**
+     * Reads a single field of a compact serialized object without deserializing the object. A path of the form
+     * {@code a.b} reads the field {@code b} of the object in field {@code a}.
+     *
+     * @param in        the input positioned at the start of the object
+     * @param fieldPath the path of the field
+     * @return the value of the field or {@code null} if the object has no such field
+     * @throws IOException if reading fails
+     */
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    public Object readField(BufferObjectDataInput in, String fieldPath) throws IOException {
+        int start = in.position();
+        String path = fieldPath;
+        while (true) {
+            Schema schema = schemaFor(in.readLong(start));
+            int dot = path.indexOf('.');
+            String name = dot < 0 ? path : path.substring(0, dot);
+            SchemaField field = schema.getField(name);
+            if (field == null) {
+                return null;
+            }
+            if (dot < 0) {
+                return readValue(in, start, schema, field);
+            }
+            path = path.substring(dot + 1);
+            if (field.getKind() != FieldKind.OBJECT) {
+                return null;
+            }
+            int offset = in.readInt(start + HEADER_SIZE + schema.getFixedSize() + field.getOffset() * INT_SIZE_IN_BYTES);
+            if (offset == NULL_OFFSET) {
+                return null;
+            }
+            in.position(start + offset);
+            if (in.readInt() != SerializationConstants.COMPACT_TYPE) {
+                in.position(start + offset);
+                return extractValue(in.readObject(), path);
+            }
+            start = in.position();
+        }
+    }
+
+    private static Object extractValue(Object object, String path) throws IOException {
+        try {
+            return ReflectionHelper.extractValue(object, path);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:returncount")
+    private static Object readValue(BufferObjectDataInput in, int start, Schema schema, SchemaField field)
+            throws IOException {
+        int position = start + HEADER_SIZE + field.getOffset();
+        switch (field.getKind()) {
+            case BOOLEAN:
+                return in.readBoolean(position);
+            case BYTE:
+                return in.readByte(position);
+            case CHAR:
+                return in.readChar(position);
+            case SHORT:
+                return in.readShort(position);
+            case INT:
+                return in.readInt(position);
+            case LONG:
+                return in.readLong(position);
+            case FLOAT:
+                return in.readFloat(position);
+            case DOUBLE:
+                return in.readDouble(position);
+            default:
+                return readVariableSize(in, start, schema, field);
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    private static Object readVariableSize(BufferObjectDataInput in, int start, Schema schema, SchemaField field)
+            throws IOException {
+        int offset = in.readInt(start + HEADER_SIZE + schema.getFixedSize() + field.getOffset() * INT_SIZE_IN_BYTES);
+        if (offset == NULL_OFFSET) {
+            return null;
+        }
+        in.position(start + offset);
+        switch (field.getKind()) {
+            case UTF:
+                return in.readUTF();
+            case BOOLEAN_ARRAY:
+                return in.readBooleanArray();
+            case BYTE_ARRAY:
+                return in.readByteArray();
+            case CHAR_ARRAY:
+                return in.readCharArray();
+            case SHORT_ARRAY:
+                return in.readShortArray();
+            case INT_ARRAY:
+                return in.readIntArray();
+            case LONG_ARRAY:
+                return in.readLongArray();
+            case FLOAT_ARRAY:
+                return in.readFloatArray();
+            case DOUBLE_ARRAY:
+                return in.readDoubleArray();
+            case UTF_ARRAY:
+                return in.readUTFArray();
+            case OBJECT:
+                return in.readObject();
+            default:
+                throw new IllegalArgumentException("Not a variable size field kind: " + field.getKind());
+        }
+    }
+
+    private ClassBinding writeBindingFor(Class clazz) {
+        ClassBinding binding = writeBindings.get(clazz);
+        if (binding == null) {
+            binding = ClassBinding.forClass(clazz);
+            ClassBinding current = writeBindings.putIfAbsent(clazz, binding);
+            binding = current == null ? binding : current;
+        }
+        return binding;
+    }
+
+    private ClassBinding readBindingFor(long schemaId) {
+        ClassBinding binding = readBindings.get(schemaId);
+        if (binding == null) {
+            Schema schema = schemaFor(schemaId);
+            Class clazz;
+            try {
+                clazz = ClassLoaderUtil.loadClass(classLoader, schema.getClassName());
+            } catch (ClassNotFoundException e) {
+                throw new HazelcastSerializationException("Could not load compact class " + schema.getClassName(), e);
+            }
+            binding = ClassBinding.forSchema(schema, clazz);
+            ClassBinding current = readBindings.putIfAbsent(schemaId, binding);
+            binding = current == null ? binding : current;
+        }
+        return binding;
+    }
+
+    private Schema schemaFor(long schemaId) {
+        Schema schema = registry.get(schemaId);
+        if (schema == null) {
+            throw new HazelcastSerializationException("Unknown compact schema id " + schemaId + ". The schema of a compact"
+                    + " serialized object must be registered in the cluster before the object can be read.");
+        }
+        return schema;
+    }
+
+    @Override
+    public void destroy() {
+        writeBindings.clear();
+        readBindings.clear();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.UrgentSystemOperation;
+
+import java.io.IOException;
+
+/**
+ * Looks up a schema in the registry of a member. Only the local registry is consulted, so fetching a schema that no
+ * member knows doesn't cascade through the cluster.
+ */
+public class FetchSchemaOperation extends Operation implements UrgentSystemOperation, IdentifiedDataSerializable {
+
+    private long schemaId;
+    private Schema response;
+
+    public FetchSchemaOperation() {
+    }
+
+    public FetchSchemaOperation(long schemaId) {
+        this.schemaId = schemaId;
+    }
+
+    @Override
+    public void run() throws Exception {
+        SchemaService service = getService();
+        response = service.getLocalSchema(schemaId);
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    public String getServiceName() {
+        return SchemaService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return CompactDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CompactDataSerializerHook.FETCH_SCHEMA;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(schemaId);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        schemaId = in.readLong();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import static com.hazelcast.nio.Bits.BOOLEAN_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.CHAR_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.DOUBLE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.FLOAT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
+
+/**
+ * The kinds of fields of a compact serialized object. Fields of a fixed size are stored at fixed offsets, all other
+ * fields are reached through the offset table of the object.
+ */
+public enum FieldKind {
+
+    // FIXED SIZE KINDS
+    BOOLEAN(0, BOOLEAN_SIZE_IN_BYTES, boolean.class),
+    BYTE(1, BYTE_SIZE_IN_BYTES, byte.class),
+    CHAR(2, CHAR_SIZE_IN_BYTES, char.class),
+    SHORT(3, SHORT_SIZE_IN_BYTES, short.class),
+    INT(4, INT_SIZE_IN_BYTES, int.class),
+    LONG(5, LONG_SIZE_IN_BYTES, long.class),
+    FLOAT(6, FLOAT_SIZE_IN_BYTES, float.class),
+    DOUBLE(7, DOUBLE_SIZE_IN_BYTES, double.class),
+
+    // VARIABLE SIZE KINDS
+    UTF(8, -1, String.class),
+    BOOLEAN_ARRAY(9, -1, boolean[].class),
+    BYTE_ARRAY(10, -1, byte[].class),
+    CHAR_ARRAY(11, -1, char[].class),
+    SHORT_ARRAY(12, -1, short[].class),
+    INT_ARRAY(13, -1, int[].class),
+    LONG_ARRAY(14, -1, long[].class),
+    FLOAT_ARRAY(15, -1, float[].class),
+    DOUBLE_ARRAY(16, -1, double[].class),
+    UTF_ARRAY(17, -1, String[].class),
+    OBJECT(18, -1, Object.class);
+
+    private static final FieldKind[] ALL = FieldKind.values();
+
+    private final byte id;
+    private final int size;
+    private final Class type;
+
+    FieldKind(int id, int size, Class type) {
+        this.id = (byte) id;
+        this.size = size;
+        this.type = type;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * @return the size in bytes of a field of this kind or -1 if the size is variable
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isFixedSize() {
+        return size > 0;
+    }
+
+    public static FieldKind get(byte id) {
+        return ALL[id];
+    }
+
+    /**
+     * Returns the kind of a field declared with the given type. Types without a native representation are
+     * {@link #OBJECT} fields.
+     *
+     * @param type the declared type of the field
+     * @return the kind of the field
+     */
+    public static FieldKind of(Class type) {
+        for (FieldKind kind : ALL) {
+            if (kind.type == type) {
+                return kind;
+            }
+        }
+        return OBJECT;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.UrgentSystemOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Adds schemas that are known to the cluster to the registry of a member. Used to replicate a new schema and as the
+ * post join operation of the {@link SchemaService}.
+ */
+public class PutSchemasOperation extends Operation implements UrgentSystemOperation, IdentifiedDataSerializable {
+
+    private Collection<Schema> schemas;
+
+    public PutSchemasOperation() {
+    }
+
+    public PutSchemasOperation(Collection<Schema> schemas) {
+        this.schemas = schemas;
+    }
+
+    @Override
+    public void run() throws Exception {
+        SchemaService service = getService();
+        service.putSchemas(schemas);
+    }
+
+    @Override
+    public String getServiceName() {
+        return SchemaService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return CompactDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CompactDataSerializerHook.PUT_SCHEMAS;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(schemas.size());
+        for (Schema schema : schemas) {
+            schema.writeData(out);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        schemas = new ArrayList<Schema>(size);
+        for (int i = 0; i < size; i++) {
+            Schema schema = new Schema();
+            schema.readData(in);
+            schemas.add(schema);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.util.HashUtil.MurmurHash3_x64_64;
+import static com.hazelcast.util.StringUtil.stringToBytes;
+
+/**
+ * Describes the layout of the compact serialized objects of a class.
+ * <p/>
+ * Fixed size fields are laid out at fixed offsets, ordered by decreasing size and then by name, followed by a table
+ * with the offsets of the variable size fields, ordered by name. The schema id is a fingerprint of the class name and
+ * the fields, so every member computes the same id for the same class.
+ */
+public final class Schema implements IdentifiedDataSerializable {
+
+    private static final Comparator<SchemaField> FIELD_ORDER = new Comparator<SchemaField>() {
+        @Override
+        public int compare(SchemaField o1, SchemaField o2) {
+            boolean fixed1 = o1.getKind().isFixedSize();
+            boolean fixed2 = o2.getKind().isFixedSize();
+            if (fixed1 != fixed2) {
+                return fixed1 ? -1 : 1;
+            }
+            if (fixed1) {
+                int sizeOrder = o2.getKind().getSize() - o1.getKind().getSize();
+                if (sizeOrder != 0) {
+                    return sizeOrder;
+                }
+            }
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
+    private String className;
+    private SchemaField[] fields;
+    private Map<String, SchemaField> fieldsByName;
+    private int fixedSize;
+    private int varCount;
+    private long id;
+
+    public Schema() {
+    }
+
+    /**
+     * @param className the name of the described class
+     * @param fields    the kinds of the fields of the class by their name
+     */
+    public Schema(String className, Map<String, FieldKind> fields) {
+        this.className = className;
+        List<SchemaField> unordered = new ArrayList<SchemaField>(fields.size());
+        for (Map.Entry<String, FieldKind> entry : fields.entrySet()) {
+            unordered.add(new SchemaField(entry.getKey(), entry.getValue(), 0, 0));
+        }
+        init(unordered);
+    }
+
+    private void init(List<SchemaField> unordered) {
+        Collections.sort(unordered, FIELD_ORDER);
+        fields = new SchemaField[unordered.size()];
+        fieldsByName = new HashMap<String, SchemaField>(fields.length);
+        StringBuilder fingerprint = new StringBuilder(className);
+        fixedSize = 0;
+        varCount = 0;
+        for (int i = 0; i < fields.length; i++) {
+            SchemaField field = unordered.get(i);
+            FieldKind kind = field.getKind();
+            int offset;
+            if (kind.isFixedSize()) {
+                offset = fixedSize;
+                fixedSize += kind.getSize();
+            } else {
+                offset = varCount++;
+            }
+            fields[i] = new SchemaField(field.getName(), kind, i, offset);
+            fieldsByName.put(field.getName(), fields[i]);
+            fingerprint.append(',').append(field.getName()).append(':').append(kind.getId());
+        }
+        byte[] bytes = stringToBytes(fingerprint.toString());
+        id = MurmurHash3_x64_64(bytes, 0, bytes.length);
+    }
+
+    public long getSchemaId() {
+        return id;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return the fields in the order of their layout
+     */
+    public SchemaField[] getFields() {
+        return fields;
+    }
+
+    /**
+     * @param name the name of the field
+     * @return the field or {@code null} if there is no field with the given name
+     */
+    public SchemaField getField(String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * @return the size in bytes of the fixed size fields
+     */
+    public int getFixedSize() {
+        return fixedSize;
+    }
+
+    /**
+     * @return the number of variable size fields
+     */
+    public int getVarCount() {
+        return varCount;
+    }
+
+    /**
+     * @return the size of the fixed size section and the offset table together
+     */
+    public int getFixedSectionSize() {
+        return fixedSize + varCount * INT_SIZE_IN_BYTES;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return CompactDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CompactDataSerializerHook.SCHEMA;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(className);
+        out.writeInt(fields.length);
+        for (SchemaField field : fields) {
+            out.writeUTF(field.getName());
+            out.writeByte(field.getKind().getId());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        className = in.readUTF();
+        int count = in.readInt();
+        List<SchemaField> unordered = new ArrayList<SchemaField>(count);
+        for (int i = 0; i < count; i++) {
+            unordered.add(new SchemaField(in.readUTF(), FieldKind.get(in.readByte()), 0, 0));
+        }
+        init(unordered);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Schema that = (Schema) o;
+        return id == that.id && className.equals(that.className) && fieldsByName.keySet().equals(that.fieldsByName.keySet());
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (id ^ (id >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "Schema{id=" + id + ", className='" + className + "', fields=" + Arrays.toString(fields) + '}';
+    }
+}
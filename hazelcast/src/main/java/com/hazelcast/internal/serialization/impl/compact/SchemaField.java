@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+/**
+ * A field of a {@link Schema}.
+ */
+public final class SchemaField {
+
+    private final String name;
+    private final FieldKind kind;
+    private final int index;
+    private final int offset;
+
+    SchemaField(String name, FieldKind kind, int index, int offset) {
+        this.name = name;
+        this.kind = kind;
+        this.index = index;
+        this.offset = offset;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the index of this field in the fields of its schema
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the offset of a fixed size field within the fixed size section or the index of a variable size field
+     * in the offset table of the object.
+     *
+     * @return the offset or the offset table index of this field
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaField{name='" + name + "', kind=" + kind + ", offset=" + offset + '}';
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The schemas of compact serialized objects known to a serialization service, by their id.
+ * <p/>
+ * The schemas of locally serialized classes are {@link #register(Schema) registered} and replicated asynchronously by
+ * the {@link SchemaReplicator}, so serialization never waits for the cluster. A member that reads an object before the
+ * schema has arrived fetches it from the other members. Schemas received from the cluster are {@link #put(Schema) put}
+ * directly. Without a replicator, e.g. for a standalone serialization service, schemas are only known locally.
+ */
+public final class SchemaRegistry {
+
+    private final ConcurrentMap<Long, Schema> schemas = new ConcurrentHashMap<Long, Schema>();
+    private final Set<Long> replicated = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    private final Set<Long> replicating = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    private volatile SchemaReplicator replicator;
+
+    public void setReplicator(SchemaReplicator replicator) {
+        this.replicator = replicator;
+    }
+
+    /**
+     * Registers the schema of a locally serialized class and starts its replication if it isn't known to the cluster
+     * yet. Never blocks.
+     *
+     * @param schema the schema to register
+     */
+    public void register(Schema schema) {
+        long schemaId = schema.getSchemaId();
+        if (replicated.contains(schemaId)) {
+            return;
+        }
+        schemas.putIfAbsent(schemaId, schema);
+        SchemaReplicator replicator = this.replicator;
+        if (replicator != null && replicating.add(schemaId)) {
+            replicator.replicate(schema);
+        }
+    }
+
+    /**
+     * Called by the {@link SchemaReplicator} once a schema is known to the cluster.
+     *
+     * @param schemaId the id of the replicated schema
+     */
+    public void replicated(long schemaId) {
+        replicated.add(schemaId);
+        replicating.remove(schemaId);
+    }
+
+    /**
+     * Called by the {@link SchemaReplicator} if a schema could not be replicated. The replication is retried with the
+     * next registration of the schema.
+     *
+     * @param schemaId the id of the schema
+     */
+    public void replicationFailed(long schemaId) {
+        replicating.remove(schemaId);
+    }
+
+    /**
+     * Adds a schema received from the cluster.
+     *
+     * @param schema the schema to add
+     */
+    public void put(Schema schema) {
+        schemas.putIfAbsent(schema.getSchemaId(), schema);
+        replicated.add(schema.getSchemaId());
+    }
+
+    /**
+     * Returns the schema with the given id. A schema that is not known locally is looked up by the replicator, which
+     * may throw a {@link com.hazelcast.spi.exception.RetryableHazelcastException} while it fetches the schema.
+     *
+     * @param schemaId the id of the schema
+     * @return the schema or {@code null} if it is not known
+     * @see SchemaReplicator#fetch(long)
+     */
+    public Schema get(long schemaId) {
+        Schema schema = schemas.get(schemaId);
+        if (schema != null) {
+            return schema;
+        }
+        SchemaReplicator replicator = this.replicator;
+        if (replicator == null) {
+            return null;
+        }
+        schema = replicator.fetch(schemaId);
+        if (schema != null) {
+            put(schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the schema with the given id if it is known locally.
+     *
+     * @param schemaId the id of the schema
+     * @return the schema or {@code null} if it is not known locally
+     */
+    public Schema getLocal(long schemaId) {
+        return schemas.get(schemaId);
+    }
+
+    /**
+     * @return the schemas known locally
+     */
+    public Collection<Schema> getSchemas() {
+        return schemas.values();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+/**
+ * Makes the schemas of compact serialized objects known to the whole cluster. It is implemented by the members,
+ * which replicate the schemas among each other, and by the clients, which send their schemas to the cluster.
+ * <p/>
+ * It is called from the serialization path, so {@link #replicate(Schema)} must not block and {@link #fetch(long)}
+ * must not block on partition or IO threads.
+ */
+public interface SchemaReplicator {
+
+    /**
+     * Starts the replication of a schema of a locally serialized class. Once the schema is known to the cluster, the
+     * replicator calls {@link SchemaRegistry#replicated(long)}, if the replication fails
+     * {@link SchemaRegistry#replicationFailed(long)}.
+     *
+     * @param schema the schema to replicate
+     */
+    void replicate(Schema schema);
+
+    /**
+     * Looks up a schema in the cluster that is not known locally.
+     *
+     * @param schemaId the id of the schema
+     * @return the schema or {@code null} if the cluster doesn't know it
+     * @throws com.hazelcast.spi.exception.RetryableHazelcastException if the schema is being fetched asynchronously,
+     *                                                                  since the calling thread must not block
+     */
+    Schema fetch(long schemaId);
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.Member;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.tcp.nonblocking.NonBlockingIOThread;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.ManagedService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.PostJoinAwareService;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationThread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replicates the schemas of compact serialized objects among the members. A schema is sent to all members
+ * asynchronously, joining members receive all known schemas with the post join operation and a schema that is still
+ * unknown is fetched from the other members.
+ * <p/>
+ * Schemas are replicated and fetched from the serialization path, which may run on partition or IO threads, so the
+ * service never waits for a remote call on these threads. A fetch on them runs asynchronously and fails with a
+ * {@link RetryableHazelcastException}, so the operation is retried once the schema has arrived.
+ */
+public class SchemaService implements ManagedService, PostJoinAwareService, SchemaReplicator {
+
+    public static final String SERVICE_NAME = "hz:core:schemaService";
+
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+    private final Set<Long> fetching = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    private SchemaRegistry registry;
+
+    public SchemaService(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.logger = nodeEngine.getLogger(SchemaService.class);
+    }
+
+    @Override
+    public void init(NodeEngine nodeEngine, Properties properties) {
+        registry = ((InternalSerializationService) nodeEngine.getSerializationService()).getSchemaRegistry();
+        registry.setReplicator(this);
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public void shutdown(boolean terminate) {
+        registry.setReplicator(null);
+    }
+
+    @Override
+    public void replicate(Schema schema) {
+        replicate(schema, null);
+    }
+
+    private void replicate(Schema schema, ExecutionCallback<Object> callback) {
+        Collection<Member> members = remoteMembers();
+        Replication replication = new Replication(schema, members.size(), callback);
+        if (members.isEmpty()) {
+            replication.complete();
+            return;
+        }
+        for (Member member : members) {
+            Operation operation = new PutSchemasOperation(Collections.singletonList(schema));
+            nodeEngine.getOperationService().invokeOnTarget(SERVICE_NAME, operation, member.getAddress())
+                    .andThen(new MemberCallback(replication, member.getAddress()));
+        }
+    }
+
+    @Override
+    public Schema fetch(long schemaId) {
+        Collection<Member> members = remoteMembers();
+        if (members.isEmpty()) {
+            return null;
+        }
+        if (!isBlockingAllowed()) {
+            if (fetching.add(schemaId)) {
+                new SchemaFetch(schemaId, members.iterator(), new FetchedCallback(schemaId)).next();
+            }
+            throw new RetryableHazelcastException("Schema " + schemaId + " is being fetched from the cluster");
+        }
+        OperationService operationService = nodeEngine.getOperationService();
+        for (Member member : members) {
+            Operation operation = new FetchSchemaOperation(schemaId);
+            try {
+                InternalCompletableFuture<Schema> future = operationService.invokeOnTarget(SERVICE_NAME, operation,
+                        member.getAddress());
+                Schema schema = future.join();
+                if (schema != null) {
+                    return schema;
+                }
+            } catch (Exception e) {
+                logger.finest("Could not fetch schema " + schemaId + " from " + member, e);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlockingAllowed() {
+        Thread thread = Thread.currentThread();
+        return !(thread instanceof OperationThread || thread instanceof NonBlockingIOThread);
+    }
+
+    private Collection<Member> remoteMembers() {
+        Collection<Member> members = new ArrayList<Member>(nodeEngine.getClusterService().getMembers());
+        members.remove(nodeEngine.getLocalMember());
+        return members;
+    }
+
+    void putSchemas(Collection<Schema> schemas) {
+        for (Schema schema : schemas) {
+            registry.put(schema);
+        }
+    }
+
+    Schema getLocalSchema(long schemaId) {
+        return registry.getLocal(schemaId);
+    }
+
+    /**
+     * Looks up the schema with the given id for a client, fetching it from the other members if it is not known
+     * locally. The callback receives {@code null} if the schema is not known to the cluster.
+     *
+     * @param schemaId the id of the schema
+     * @param callback the callback to notify
+     */
+    public void getSchemaAsync(long schemaId, ExecutionCallback<Schema> callback) {
+        Schema schema = registry.getLocal(schemaId);
+        if (schema != null) {
+            callback.onResponse(schema);
+            return;
+        }
+        new SchemaFetch(schemaId, remoteMembers().iterator(), callback).next();
+    }
+
+    /**
+     * Registers a schema sent by a client. The callback is notified once the schema is known to all members.
+     *
+     * @param schema   the schema to register
+     * @param callback the callback to notify
+     */
+    public void registerSchema(Schema schema, ExecutionCallback<Object> callback) {
+        registry.put(schema);
+        replicate(schema, callback);
+    }
+
+    @Override
+    public Operation getPostJoinOperation() {
+        Collection<Schema> schemas = registry.getSchemas();
+        return schemas.isEmpty() ? null : new PutSchemasOperation(new ArrayList<Schema>(schemas));
+    }
+
+    private class Replication {
+
+        private final Schema schema;
+        private final AtomicInteger remaining;
+        private final ExecutionCallback<Object> callback;
+        private volatile Throwable failure;
+
+        Replication(Schema schema, int memberCount, ExecutionCallback<Object> callback) {
+            this.schema = schema;
+            this.remaining = new AtomicInteger(memberCount);
+            this.callback = callback;
+        }
+
+        void memberDone(Address address, Throwable t) {
+            // a member that left doesn't need the schema anymore, a joining member gets it with the post join operation
+            if (t != null && nodeEngine.getClusterService().getMember(address) != null) {
+                logger.finest("Could not replicate " + schema + " to " + address, t);
+                failure = t;
+            }
+            if (remaining.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        void complete() {
+            Throwable failure = this.failure;
+            if (failure == null) {
+                registry.replicated(schema.getSchemaId());
+                if (callback != null) {
+                    callback.onResponse(null);
+                }
+            } else {
+                registry.replicationFailed(schema.getSchemaId());
+                if (callback != null) {
+                    callback.onFailure(failure);
+                }
+            }
+        }
+    }
+
+    private static class MemberCallback implements ExecutionCallback<Object> {
+
+        private final Replication replication;
+        private final Address address;
+
+        MemberCallback(Replication replication, Address address) {
+            this.replication = replication;
+            this.address = address;
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            replication.memberDone(address, null);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            replication.memberDone(address, t);
+        }
+    }
+
+    /**
+     * Asks the members one after the other for a schema until one of them knows it.
+     */
+    private class SchemaFetch implements ExecutionCallback<Schema> {
+
+        private final long schemaId;
+        private final Iterator<Member> members;
+        private final ExecutionCallback<Schema> callback;
+        private Member member;
+
+        SchemaFetch(long schemaId, Iterator<Member> members, ExecutionCallback<Schema> callback) {
+            this.schemaId = schemaId;
+            this.members = members;
+            this.callback = callback;
+        }
+
+        void next() {
+            if (!members.hasNext()) {
+                callback.onResponse(null);
+                return;
+            }
+            member = members.next();
+            Operation operation = new FetchSchemaOperation(schemaId);
+            nodeEngine.getOperationService().<Schema>invokeOnTarget(SERVICE_NAME, operation, member.getAddress())
+                    .andThen(this);
+        }
+
+        @Override
+        public void onResponse(Schema schema) {
+            if (schema == null) {
+                next();
+                return;
+            }
+            registry.put(schema);
+            callback.onResponse(schema);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            logger.finest("Could not fetch schema " + schemaId + " from " + member, t);
+            next();
+        }
+    }
+
+    private class FetchedCallback implements ExecutionCallback<Schema> {
+
+        private final long schemaId;
+
+        FetchedCallback(long schemaId) {
+            this.schemaId = schemaId;
+        }
+
+        @Override
+        public void onResponse(Schema schema) {
+            fetching.remove(schemaId);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            fetching.remove(schemaId);
+        }
+    }
+}
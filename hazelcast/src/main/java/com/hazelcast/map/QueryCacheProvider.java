@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.annotation.Beta;
+
+/**
+ * Gives access to the member-local {@link QueryCache QueryCaches} of an {@link com.hazelcast.core.IMap IMap}. The maps of
+ * a member implement it, the maps of a client don't:
+ * <pre>
+ * <code>
+ *
+ *     IMap map = hzInstance.getMap("mapName");
+ *     QueryCache cache = ((QueryCacheProvider) map).getQueryCache(cacheName, predicate, includeValue);
+ *
+ * </code>
+ * </pre>
+ * Of the {@link com.hazelcast.config.QueryCacheConfig QueryCacheConfig}, the predicate, include value, populate and index
+ * settings are supported. The batching, buffering, coalescing, eviction and entry listener settings are rejected when
+ * they differ from their defaults; the query cache is never evicted.
+ * <p/>
+ * This is a temporary, member-only API: it is expected to be replaced by {@code getQueryCache} methods on
+ * {@link com.hazelcast.core.IMap IMap} itself, implemented by clients as well, and may change or be removed in a
+ * minor release.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+@Beta
+public interface QueryCacheProvider<K, V> {
+
+    /**
+     * Returns the {@link QueryCache} with the given name created on this member. If there is none, it is created from
+     * the {@link com.hazelcast.config.QueryCacheConfig QueryCacheConfig} with that name of this map.
+     *
+     * @param name the name of the {@code QueryCache}
+     * @return the {@code QueryCache}, or {@code null} if it doesn't exist and there is no configuration for it
+     * @throws IllegalArgumentException if the configuration uses an unsupported setting
+     * @see QueryCache
+     */
+    QueryCache<K, V> getQueryCache(String name);
+
+    /**
+     * Returns the {@link QueryCache} with the given name created on this member, or creates it with the given predicate
+     * and the other settings of the {@link com.hazelcast.config.QueryCacheConfig QueryCacheConfig} with that name of this
+     * map, if any. An existing {@code QueryCache} is returned as it is, whatever its predicate is.
+     *
+     * @param name         the name of the {@code QueryCache}
+     * @param predicate    the predicate of the entries kept in the {@code QueryCache}
+     * @param includeValue {@code true} to keep the values of the entries, {@code false} to only keep their keys
+     * @return the {@code QueryCache}
+     * @throws IllegalArgumentException if the configuration uses an unsupported setting
+     * @see QueryCache
+     */
+    QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue);
+}
@@ -72,6 +72,17 @@ public class LazyMapEntry extends CachedQueryEntry implements Serializable {
         return modified;
     }
 
+    /**
+     * Returns {@code true} if the given object is the value set with {@link #setValue(Object)}. The serialized form of
+     * such a value is cached by {@link #getValueData()}, so it can be shared instead of serializing the value again.
+     *
+     * @param object the object to check
+     * @return {@code true} if the object is the value set on this entry
+     */
+    public boolean isSetValue(Object object) {
+        return modified && object != null && object == valueObject;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof Map.Entry)) {
@@ -129,6 +129,8 @@ public class LocalMapStatsProvider {
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getHeapCost());
         onDemandStats.incrementHeapCost(recordStore.getHeapCost());
         onDemandStats.incrementOwnedEntryCount(recordStore.size());
+        onDemandStats.incrementCompressedValueBytes(recordStore.getStorage().getCompressedValueBytes());
+        onDemandStats.incrementUncompressedValueBytes(recordStore.getStorage().getUncompressedValueBytes());
 
         stats.setLastAccessTime(recordStore.getLastAccessTime());
         stats.setLastUpdateTime(recordStore.getLastUpdateTime());
@@ -261,6 +263,8 @@ public class LocalMapStatsProvider {
         protected long heapCost;
         protected long lockedEntryCount;
         protected long dirtyEntryCount;
+        protected long compressedValueBytes;
+        protected long uncompressedValueBytes;
         protected int backupCount;
 
         public void setBackupCount(int backupCount) {
@@ -299,6 +303,14 @@ public class LocalMapStatsProvider {
             this.heapCost += heapCost;
         }
 
+        public void incrementCompressedValueBytes(long compressedValueBytes) {
+            this.compressedValueBytes += compressedValueBytes;
+        }
+
+        public void incrementUncompressedValueBytes(long uncompressedValueBytes) {
+            this.uncompressedValueBytes += uncompressedValueBytes;
+        }
+
         public void copyValuesTo(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
@@ -309,6 +321,8 @@ public class LocalMapStatsProvider {
             stats.setHeapCost(heapCost);
             stats.setLockedEntryCount(lockedEntryCount);
             stats.setDirtyEntryCount(dirtyEntryCount);
+            stats.setCompressedValueBytes(compressedValueBytes);
+            stats.setUncompressedValueBytes(uncompressedValueBytes);
         }
 
     }
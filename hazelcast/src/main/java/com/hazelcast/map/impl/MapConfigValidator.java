@@ -21,6 +21,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.MapConfig.DEFAULT_EVICTION_PERCENTAGE;
 import static com.hazelcast.config.MapConfig.DEFAULT_MIN_EVICTION_CHECK_MILLIS;
@@ -47,6 +48,19 @@ public final class MapConfigValidator {
         }
     }
 
+    /**
+     * Throws {@link IllegalArgumentException} if value compression is enabled for an in-memory format other than
+     * {@link InMemoryFormat#BINARY}, since only binary values are stored compressed.
+     *
+     * @param mapConfig the mapConfig
+     */
+    public static void checkValueCompression(MapConfig mapConfig) {
+        if (mapConfig.isValueCompressionEnabled() && mapConfig.getInMemoryFormat() != BINARY) {
+            throw new IllegalArgumentException("Value compression of map " + mapConfig.getName() + " is only supported "
+                    + "with the BINARY in-memory format, not with " + mapConfig.getInMemoryFormat());
+        }
+    }
+
     /**
      * Checks preconditions to create a map proxy.
      *
@@ -54,6 +68,7 @@ public final class MapConfigValidator {
      */
     public static void checkMapConfig(MapConfig mapConfig) {
         checkNotNative(mapConfig.getInMemoryFormat());
+        checkValueCompression(mapConfig);
 
         logIgnoredConfig(mapConfig);
     }
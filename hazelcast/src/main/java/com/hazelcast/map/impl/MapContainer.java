@@ -23,6 +23,7 @@ import com.hazelcast.core.IFunction;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.eviction.MapEvictionPolicy;
+import com.hazelcast.map.impl.event.QueryEventFilterIndex;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.eviction.EvictorImpl;
@@ -84,6 +85,11 @@ public class MapContainer {
      * Holds number of registered {@link com.hazelcast.map.impl.nearcache.InvalidationListener} from clients.
      */
     protected final AtomicInteger invalidationListenerCount = new AtomicInteger();
+    /**
+     * Incremented whenever a listener registration of this map is added or removed.
+     */
+    protected final AtomicInteger listenerRegistrationVersion = new AtomicInteger();
+    protected volatile QueryEventFilterIndex queryEventFilterIndex;
 
     protected WanReplicationPublisher wanReplicationPublisher;
     protected MapMergePolicy wanMergePolicy;
@@ -295,6 +301,22 @@ public class MapContainer {
         invalidationListenerCount.decrementAndGet();
     }
 
+    public void onListenerRegistrationChange() {
+        listenerRegistrationVersion.incrementAndGet();
+    }
+
+    public int getListenerRegistrationVersion() {
+        return listenerRegistrationVersion.get();
+    }
+
+    public QueryEventFilterIndex getQueryEventFilterIndex() {
+        return queryEventFilterIndex;
+    }
+
+    public void setQueryEventFilterIndex(QueryEventFilterIndex queryEventFilterIndex) {
+        this.queryEventFilterIndex = queryEventFilterIndex;
+    }
+
     public boolean isInvalidationEnabled() {
         return isMemberNearCacheInvalidationEnabled() || hasInvalidationListener();
     }
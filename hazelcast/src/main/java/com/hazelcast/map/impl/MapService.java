@@ -18,6 +18,7 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.spi.ClientAwareService;
 import com.hazelcast.spi.EventFilter;
@@ -191,6 +192,7 @@ public class MapService implements ManagedService, MigrationAwareService,
 
     @Override
     public void onRegister(Object service, String serviceName, String topic, EventRegistration registration) {
+        onListenerRegistrationChange(topic);
         EventFilter filter = registration.getFilter();
         if (!(filter instanceof EventListenerFilter) || !filter.eval(INVALIDATION.getType())) {
             return;
@@ -202,7 +204,12 @@ public class MapService implements ManagedService, MigrationAwareService,
 
     @Override
     public void onDeregister(Object service, String serviceName, String topic, EventRegistration registration) {
+        onListenerRegistrationChange(topic);
         EventFilter filter = registration.getFilter();
+        if (filter instanceof QueryCacheEventFilter) {
+            mapServiceContext.getQueryCacheContext().removeSequences(((QueryCacheEventFilter) filter).getCacheId());
+            return;
+        }
         if (!(filter instanceof EventListenerFilter) || !filter.eval(INVALIDATION.getType())) {
             return;
         }
@@ -211,6 +218,14 @@ public class MapService implements ManagedService, MigrationAwareService,
         mapContainer.decreaseInvalidationListenerCount();
     }
 
+    private void onListenerRegistrationChange(String mapName) {
+        // don't create the map container here; a new container starts without an event filter index anyway
+        MapContainer mapContainer = mapServiceContext.getMapContainers().get(mapName);
+        if (mapContainer != null) {
+            mapContainer.onListenerRegistrationChange();
+        }
+    }
+
     public int getOwnerMigrationsInFlight() {
         return migrationAwareService.getOwnerMigrationsInFlight();
     }
@@ -27,6 +27,7 @@ import com.hazelcast.map.impl.event.MapEventPublisherImpl;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.nearcache.NearCacheProvider;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.operation.BasePutOperation;
 import com.hazelcast.map.impl.operation.BaseRemoveOperation;
 import com.hazelcast.map.impl.operation.GetOperation;
@@ -37,6 +38,7 @@ import com.hazelcast.map.impl.query.MapQueryEngine;
 import com.hazelcast.map.impl.query.MapQueryEngineImpl;
 import com.hazelcast.map.impl.recordstore.DefaultRecordStore;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.listener.CoalescingMapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.map.merge.MergePolicyProvider;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
@@ -48,6 +50,7 @@ import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.eventservice.InternalEventService;
 import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.partition.IPartitionService;
@@ -100,6 +103,7 @@ class MapServiceContextImpl implements MapServiceContext {
     protected final AtomicInteger writeBehindQueueItemCounter = new AtomicInteger(0);
     protected final ExpirationManager expirationManager;
     protected final NearCacheProvider nearCacheProvider;
+    protected final QueryCacheContext queryCacheContext;
     protected final LocalMapStatsProvider localMapStatsProvider;
     protected final MergePolicyProvider mergePolicyProvider;
     protected final MapQueryEngine mapQueryEngine;
@@ -118,6 +122,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.ownedPartitions = new AtomicReference<Collection<Integer>>();
         this.expirationManager = new ExpirationManager(this);
         this.nearCacheProvider = createNearCacheProvider();
+        this.queryCacheContext = new QueryCacheContext(this);
         this.localMapStatsProvider = createLocalMapStatsProvider();
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
         this.mapEventPublisher = createMapEventPublisherSupport();
@@ -262,6 +267,7 @@ class MapServiceContextImpl implements MapServiceContext {
         }
         mapContainer.getMapStoreContext().stop();
         nearCacheProvider.destroyNearCache(mapName);
+        queryCacheContext.destroyQueryCaches(mapName);
         nodeEngine.getEventService().deregisterAllListeners(SERVICE_NAME, mapName);
         localMapStatsProvider.destroyLocalMapStatsImpl(mapContainer.getName());
 
@@ -301,6 +307,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return nearCacheProvider;
     }
 
+    @Override
+    public QueryCacheContext getQueryCacheContext() {
+        return queryCacheContext;
+    }
+
     @Override
     public RecordStore getRecordStore(int partitionId, String mapName) {
         return getPartitionContainer(partitionId).getRecordStore(mapName);
@@ -547,7 +558,10 @@ class MapServiceContextImpl implements MapServiceContext {
             filter = new EventListenerFilter(enabledListeners, filter);
         }
 
-        if (local) {
+        if (listener instanceof CoalescingMapListener) {
+            InternalEventService internalEventService = (InternalEventService) eventService;
+            return internalEventService.registerCoalescingListener(SERVICE_NAME, mapName, filter, listenerAdaptor, local);
+        } else if (local) {
             return eventService.registerLocalListener(SERVICE_NAME, mapName, filter, listenerAdaptor);
         } else {
             return eventService.registerListener(SERVICE_NAME, mapName, filter, listenerAdaptor);
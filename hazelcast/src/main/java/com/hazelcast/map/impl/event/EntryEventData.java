@@ -16,17 +16,19 @@
 
 package com.hazelcast.map.impl.event;
 
+import com.hazelcast.core.EntryEventType;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
 
 import java.io.IOException;
 
 /**
  * An entry's event data.
  */
-public class EntryEventData extends AbstractEventData {
+public class EntryEventData extends AbstractEventData implements CoalescableEvent {
 
     protected Data dataKey;
     protected Data dataNewValue;
@@ -69,6 +71,25 @@ public class EntryEventData extends AbstractEventData {
         return dataMergingValue;
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return dataKey;
+    }
+
+    /**
+     * Merges two updates of the same entry into a single update from the old value of the pending update to the new value
+     * of this one. Any other event isn't merged, so the listener receives every added, removed or evicted event.
+     */
+    @Override
+    public Object coalesce(Object pending) {
+        int updated = EntryEventType.UPDATED.getType();
+        if (eventType != updated || !(pending instanceof EntryEventData) || ((EntryEventData) pending).eventType != updated) {
+            return null;
+        }
+        Data firstOldValue = ((EntryEventData) pending).dataOldValue;
+        return new EntryEventData(source, mapName, caller, dataKey, dataNewValue, firstOldValue, dataMergingValue, eventType);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -18,16 +18,22 @@ package com.hazelcast.map.impl.event;
 
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.impl.EntryEventFilter;
 import com.hazelcast.map.impl.EventListenerFilter;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapPartitionLostEventFilter;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.query.QueryEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.event.DefaultQueryCacheEventData;
 import com.hazelcast.map.impl.wan.MapReplicationRemove;
 import com.hazelcast.map.impl.wan.MapReplicationUpdate;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.EventFilter;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
@@ -42,6 +48,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.EVICTED;
+import static com.hazelcast.core.EntryEventType.EXPIRED;
+import static com.hazelcast.core.EntryEventType.REMOVED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.event.AbstractFilteringStrategy.FILTER_DOES_NOT_MATCH;
 import static com.hazelcast.util.CollectionUtil.isEmpty;
@@ -64,6 +75,11 @@ public class MapEventPublisherImpl implements MapEventPublisher {
     protected final SerializationService serializationService;
     protected final EventService eventService;
     protected final FilteringStrategy filteringStrategy;
+    /**
+     * The {@link QueryEventFilterIndex} is only used with the default filtering strategy: with natural event types an update
+     * can match a listener whose predicate doesn't match the new value.
+     */
+    protected final boolean queryEventFilterIndexEnabled;
 
     public MapEventPublisherImpl(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
@@ -73,8 +89,10 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         if (this.nodeEngine.getProperties().
                 getBoolean(LISTENER_WITH_PREDICATE_PRODUCES_NATURAL_EVENT_TYPES)) {
             this.filteringStrategy = new QueryCacheNaturalFilteringStrategy(serializationService, mapServiceContext);
+            this.queryEventFilterIndexEnabled = false;
         } else {
             this.filteringStrategy = new DefaultEntryEventFilteringStrategy(serializationService, mapServiceContext);
+            this.queryEventFilterIndexEnabled = true;
         }
     }
 
@@ -120,7 +138,8 @@ public class MapEventPublisherImpl implements MapEventPublisher {
                 }
             }
 
-            if (!(filter instanceof MapPartitionLostEventFilter)) {
+            // query caches are cleared per partition by hintMapEvent
+            if (!(filter instanceof MapPartitionLostEventFilter) && !(filter instanceof QueryCacheEventFilter)) {
                 if (registrations == null) {
                     registrations = new ArrayList<EventRegistration>();
                 }
@@ -163,8 +182,23 @@ public class MapEventPublisherImpl implements MapEventPublisher {
 
         int orderKey = pickOrderKey(dataKey);
 
-        for (EventRegistration registration : registrations) {
+        Collection<EventRegistration> registrationsToFilter = registrations;
+        QueryEventFilterIndex index = getQueryEventFilterIndex(mapName);
+        if (index != null && dataKey != null) {
+            registrationsToFilter = publishIndexedEvents(index, eventDataCache, caller, mapName, eventType, dataKey,
+                    oldValue, value, mergingValue, orderKey);
+        }
+
+        QueryCacheEventEntries queryCacheEntries = null;
+        for (EventRegistration registration : registrationsToFilter) {
             EventFilter filter = registration.getFilter();
+            if (filter instanceof QueryCacheEventFilter) {
+                if (queryCacheEntries == null) {
+                    queryCacheEntries = new QueryCacheEventEntries(mapName, dataKey, oldValue, value);
+                }
+                publishQueryCacheEvent(registration, (QueryCacheEventFilter) filter, eventType, queryCacheEntries);
+                continue;
+            }
             // a filtering strategy determines whether the event must be published on the specific
             // event registration and may alter the type of event to be published
             int eventTypeForPublishing = filteringStrategy.doFilter(filter, dataKey, oldValue, value, eventType, mapName);
@@ -172,9 +206,8 @@ public class MapEventPublisherImpl implements MapEventPublisher {
                 continue;
             }
 
-            EntryEventData eventDataToBePublished = eventDataCache.getOrCreateEventData(mapName, caller, dataKey,
-                    value, oldValue, mergingValue, eventTypeForPublishing, isIncludeValue(filter));
-            eventService.publishEvent(SERVICE_NAME, registration, eventDataToBePublished, orderKey);
+            publishEvent(registration, eventDataCache, caller, mapName, eventTypeForPublishing, dataKey,
+                    oldValue, value, mergingValue, orderKey);
         }
 
         // if events were generated, execute the post-publish hook on each one
@@ -183,6 +216,124 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         }
     }
 
+    /**
+     * Publishes the event on the indexed registrations that match it, and returns the registrations that still need to be
+     * filtered by the filtering strategy.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private Collection<EventRegistration> publishIndexedEvents(QueryEventFilterIndex index, EntryEventDataCache eventDataCache,
+                                                               Address caller, String mapName, EntryEventType eventType,
+                                                               Data dataKey, Object oldValue, Object value,
+                                                               Object mergingValue, int orderKey) {
+        Object testValue = eventType == REMOVED || eventType == EVICTED || eventType == EXPIRED ? oldValue : value;
+        if (testValue == null) {
+            return getRegistrations(mapName);
+        }
+
+        // the test value is deserialized at most once for all indexed registrations
+        QueryableEntry entry = new CachedQueryEntry((InternalSerializationService) serializationService,
+                dataKey, testValue, mapServiceContext.getExtractors(mapName));
+        Collection<EventRegistration> matched = new ArrayList<EventRegistration>();
+        Collection<EventRegistration> registrationsToFilter = new ArrayList<EventRegistration>(index.getUnindexedRegistrations());
+        index.match(entry, dataKey, eventType.getType(), matched, registrationsToFilter);
+        for (EventRegistration registration : matched) {
+            publishEvent(registration, eventDataCache, caller, mapName, eventType.getType(), dataKey,
+                    oldValue, value, mergingValue, orderKey);
+        }
+        return registrationsToFilter;
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void publishEvent(EventRegistration registration, EntryEventDataCache eventDataCache, Address caller,
+                              String mapName, int eventTypeForPublishing, Data dataKey, Object oldValue, Object value,
+                              Object mergingValue, int orderKey) {
+        EntryEventData eventDataToBePublished = eventDataCache.getOrCreateEventData(mapName, caller, dataKey,
+                value, oldValue, mergingValue, eventTypeForPublishing, isIncludeValue(registration.getFilter()));
+        eventService.publishEvent(SERVICE_NAME, registration, eventDataToBePublished, orderKey);
+    }
+
+    /**
+     * Publishes the event to a query cache with the type it has from the point of view of the query cache: an update
+     * which moves the entry into the predicate is an {@link EntryEventType#ADDED}, an update which moves it out of the
+     * predicate is an {@link EntryEventType#REMOVED}. The events are numbered per partition, so the query cache can detect
+     * the events it missed. The entries the predicates are evaluated on are shared by all query caches of the map.
+     */
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private void publishQueryCacheEvent(EventRegistration registration, QueryCacheEventFilter filter,
+                                        EntryEventType eventType, QueryCacheEventEntries entries) {
+        QueryableEntry newEntry = entries.newEntry();
+        QueryableEntry oldEntry = entries.oldEntry();
+        EntryEventType eventTypeForPublishing;
+        switch (eventType) {
+            case ADDED:
+            case UPDATED:
+            case MERGED:
+                boolean newValueMatches = newEntry != null && filter.eval(newEntry);
+                boolean oldValueMatches = oldEntry != null && filter.eval(oldEntry);
+                if (newValueMatches) {
+                    eventTypeForPublishing = oldValueMatches ? UPDATED : ADDED;
+                } else if (oldValueMatches) {
+                    eventTypeForPublishing = REMOVED;
+                } else {
+                    return;
+                }
+                break;
+            case REMOVED:
+            case EVICTED:
+            case EXPIRED:
+                // an evicted entry may have no old value; the query cache ignores the keys it doesn't hold
+                if (oldEntry != null && !filter.eval(oldEntry)) {
+                    return;
+                }
+                eventTypeForPublishing = eventType;
+                break;
+            default:
+                return;
+        }
+
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(entries.dataKey);
+        DefaultQueryCacheEventData eventData = newQueryCacheEventData(filter, eventTypeForPublishing, partitionId);
+        eventData.setDataKey(entries.dataKey);
+        if (filter.isIncludeValue() && eventTypeForPublishing != REMOVED && eventTypeForPublishing != EVICTED
+                && eventTypeForPublishing != EXPIRED) {
+            eventData.setDataNewValue(newEntry.getValueData());
+        }
+        eventService.publishEvent(SERVICE_NAME, registration, eventData, partitionId);
+    }
+
+    private DefaultQueryCacheEventData newQueryCacheEventData(QueryCacheEventFilter filter, EntryEventType eventType,
+                                                              int partitionId) {
+        QueryCacheContext queryCacheContext = mapServiceContext.getQueryCacheContext();
+        DefaultQueryCacheEventData eventData = new DefaultQueryCacheEventData();
+        eventData.setEventType(eventType.getType());
+        eventData.setPartitionId(partitionId);
+        eventData.setSequence(queryCacheContext.nextSequence(filter.getCacheId(), partitionId));
+        return eventData;
+    }
+
+    /**
+     * Returns the {@link QueryEventFilterIndex} of the map, rebuilt when the listener registrations of the map changed since
+     * it was built, or {@code null} when there are no registrations it can index.
+     */
+    private QueryEventFilterIndex getQueryEventFilterIndex(String mapName) {
+        if (!queryEventFilterIndexEnabled) {
+            return null;
+        }
+        MapContainer mapContainer = mapServiceContext.getMapContainers().get(mapName);
+        if (mapContainer == null) {
+            return null;
+        }
+
+        // the version is read before the registrations, so a registration change while building forces another rebuild
+        int version = mapContainer.getListenerRegistrationVersion();
+        QueryEventFilterIndex index = mapContainer.getQueryEventFilterIndex();
+        if (index == null || index.getVersion() != version) {
+            index = QueryEventFilterIndex.build(version, getRegistrations(mapName));
+            mapContainer.setQueryEventFilterIndex(index);
+        }
+        return index.hasIndexedRegistrations() ? index : null;
+    }
+
     /**
      * Hook for actions to perform after any of {@code publishEvent} methods is executed.
      * This method will be invoked once per unique EntryEventData generated by {@code publishEvent},
@@ -235,7 +386,17 @@ public class MapEventPublisherImpl implements MapEventPublisher {
     @Override
     public void hintMapEvent(Address caller, String mapName, EntryEventType eventType,
                              int numberOfEntriesAffected, int partitionId) {
-        // NOP
+        if (numberOfEntriesAffected == 0) {
+            return;
+        }
+        for (EventRegistration registration : getRegistrations(mapName)) {
+            EventFilter filter = registration.getFilter();
+            if (filter instanceof QueryCacheEventFilter) {
+                DefaultQueryCacheEventData eventData
+                        = newQueryCacheEventData((QueryCacheEventFilter) filter, eventType, partitionId);
+                eventService.publishEvent(SERVICE_NAME, registration, eventData, partitionId);
+            }
+        }
     }
 
     @Override
@@ -265,4 +426,44 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         WanReplicationPublisher wanReplicationPublisher = mapContainer.getWanReplicationPublisher();
         wanReplicationPublisher.publishReplicationEvent(SERVICE_NAME, event);
     }
+
+    /**
+     * The entries with the old and the new value of an event, created at most once per event for all query caches, so
+     * the values are deserialized and serialized at most once.
+     */
+    private final class QueryCacheEventEntries {
+
+        private final String mapName;
+        private final Data dataKey;
+        private final Object oldValue;
+        private final Object value;
+        private QueryableEntry oldEntry;
+        private QueryableEntry newEntry;
+
+        QueryCacheEventEntries(String mapName, Data dataKey, Object oldValue, Object value) {
+            this.mapName = mapName;
+            this.dataKey = dataKey;
+            this.oldValue = oldValue;
+            this.value = value;
+        }
+
+        QueryableEntry oldEntry() {
+            if (oldEntry == null && oldValue != null) {
+                oldEntry = newQueryableEntry(oldValue);
+            }
+            return oldEntry;
+        }
+
+        QueryableEntry newEntry() {
+            if (newEntry == null && value != null) {
+                newEntry = newQueryableEntry(value);
+            }
+            return newEntry;
+        }
+
+        private QueryableEntry newQueryableEntry(Object entryValue) {
+            return new CachedQueryEntry((InternalSerializationService) serializationService, dataKey, entryValue,
+                    mapServiceContext.getExtractors(mapName));
+        }
+    }
 }
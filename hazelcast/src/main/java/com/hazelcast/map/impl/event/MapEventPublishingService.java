@@ -27,6 +27,7 @@ import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.nearcache.Invalidation;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventData;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.NodeEngine;
 
@@ -67,6 +68,11 @@ public class MapEventPublishingService implements EventPublishingService<Object,
             return;
         }
 
+        if (eventData instanceof QueryCacheEventData) {
+            listener.onEvent(eventData);
+            return;
+        }
+
         throw new IllegalArgumentException("Unknown event data [" + eventData + ']');
     }
 
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.event;
+
+import com.hazelcast.map.impl.EventListenerFilter;
+import com.hazelcast.map.impl.query.QueryEventFilter;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.AttributeType;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.spi.EventFilter;
+import com.hazelcast.spi.EventRegistration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Groups the entry listener registrations of a map whose {@link QueryEventFilter} has an {@link EqualPredicate} by attribute
+ * name and predicate value. The registrations that match an event are then found with one attribute extraction and one hash
+ * lookup per attribute, instead of evaluating the predicate of every registration.
+ * <p/>
+ * All other registrations are returned by {@link #getUnindexedRegistrations()} and are filtered by the
+ * {@link FilteringStrategy} as before. The index is immutable, apart from the lazily created lookup tables, and is rebuilt
+ * when the registrations of the map change.
+ */
+public final class QueryEventFilterIndex {
+
+    private final int version;
+    private final Collection<EventRegistration> unindexedRegistrations;
+    private final Collection<AttributeGroup> groups;
+
+    private QueryEventFilterIndex(int version, Collection<EventRegistration> unindexedRegistrations,
+                                  Collection<AttributeGroup> groups) {
+        this.version = version;
+        this.unindexedRegistrations = unindexedRegistrations;
+        this.groups = groups;
+    }
+
+    static QueryEventFilterIndex build(int version, Collection<EventRegistration> registrations) {
+        Collection<EventRegistration> unindexed = new ArrayList<EventRegistration>();
+        Map<String, AttributeGroup> groups = new HashMap<String, AttributeGroup>();
+        for (EventRegistration registration : registrations) {
+            IndexedRegistration indexed = IndexedRegistration.of(registration);
+            if (indexed == null) {
+                unindexed.add(registration);
+                continue;
+            }
+
+            AttributeGroup group = groups.get(indexed.predicate.getAttributeName());
+            if (group == null) {
+                group = new AttributeGroup(indexed.predicate.getAttributeName());
+                groups.put(group.attributeName, group);
+            }
+            group.registrations.add(indexed);
+        }
+        return new QueryEventFilterIndex(version, unindexed, groups.values());
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    boolean hasIndexedRegistrations() {
+        return !groups.isEmpty();
+    }
+
+    Collection<EventRegistration> getUnindexedRegistrations() {
+        return unindexedRegistrations;
+    }
+
+    /**
+     * Collects the indexed registrations that match an event.
+     *
+     * @param entry      the entry the predicates are evaluated against, shared by all registrations
+     * @param dataKey    the key of the event
+     * @param eventType  the type of the event
+     * @param matched    the registrations that match the event
+     * @param unresolved the registrations the index can't decide on for this event, e.g. because the attribute has multiple
+     *                   values; these still need to be filtered by the {@link FilteringStrategy}
+     */
+    void match(QueryableEntry entry, Data dataKey, int eventType,
+               Collection<EventRegistration> matched, Collection<EventRegistration> unresolved) {
+        for (AttributeGroup group : groups) {
+            group.match(entry, dataKey, eventType, matched, unresolved);
+        }
+    }
+
+    private static final class AttributeGroup {
+
+        private final String attributeName;
+        private final List<IndexedRegistration> registrations = new ArrayList<IndexedRegistration>();
+        // the predicate values are converted to the class of the attribute value, so there is a lookup per class
+        private final ConcurrentMap<Class, Lookup> lookups = new ConcurrentHashMap<Class, Lookup>();
+        private volatile AttributeType attributeType;
+
+        AttributeGroup(String attributeName) {
+            this.attributeName = attributeName;
+        }
+
+        void match(QueryableEntry entry, Data dataKey, int eventType,
+                   Collection<EventRegistration> matched, Collection<EventRegistration> unresolved) {
+            Object attributeValue;
+            AttributeType type;
+            try {
+                attributeValue = entry.getAttributeValue(attributeName);
+                type = getAttributeType(entry, attributeValue);
+            } catch (RuntimeException e) {
+                // the predicates will fail in the same way when they are evaluated one by one
+                addAll(unresolved);
+                return;
+            }
+
+            if (attributeValue != null && attributeValue.getClass().isEnum()) {
+                attributeValue = attributeValue.toString();
+            }
+            if (attributeValue == null || type == null || attributeValue instanceof MultiResult
+                    || attributeValue instanceof Collection || attributeValue instanceof Object[]) {
+                addAll(unresolved);
+                return;
+            }
+
+            Lookup lookup = getLookup(type, attributeValue.getClass());
+            unresolved.addAll(lookup.unconvertible);
+            List<IndexedRegistration> candidates = lookup.byValue.get(attributeValue);
+            if (candidates == null) {
+                return;
+            }
+            for (IndexedRegistration candidate : candidates) {
+                if (candidate.matches(dataKey, eventType)) {
+                    matched.add(candidate.registration);
+                }
+            }
+        }
+
+        private AttributeType getAttributeType(QueryableEntry entry, Object attributeValue) {
+            AttributeType type = attributeType;
+            if (type == null && attributeValue != null) {
+                type = entry.getAttributeType(attributeName);
+                attributeType = type;
+            }
+            return type;
+        }
+
+        private Lookup getLookup(AttributeType type, Class attributeClass) {
+            Lookup lookup = lookups.get(attributeClass);
+            if (lookup == null) {
+                lookup = new Lookup(type, attributeClass, registrations);
+                Lookup found = lookups.putIfAbsent(attributeClass, lookup);
+                lookup = found == null ? lookup : found;
+            }
+            return lookup;
+        }
+
+        private void addAll(Collection<EventRegistration> result) {
+            for (IndexedRegistration indexed : registrations) {
+                result.add(indexed.registration);
+            }
+        }
+    }
+
+    /**
+     * The registrations of an attribute group by predicate value, converted the same way
+     * {@link com.hazelcast.query.impl.predicates.AbstractPredicate} converts it before comparing.
+     */
+    private static final class Lookup {
+
+        private final Map<Comparable, List<IndexedRegistration>> byValue = new HashMap<Comparable, List<IndexedRegistration>>();
+        private final List<EventRegistration> unconvertible = new LinkedList<EventRegistration>();
+
+        Lookup(AttributeType type, Class attributeClass, List<IndexedRegistration> registrations) {
+            for (IndexedRegistration indexed : registrations) {
+                Comparable value;
+                try {
+                    value = convert(type, attributeClass, indexed.predicate.getValue());
+                } catch (RuntimeException e) {
+                    unconvertible.add(indexed.registration);
+                    continue;
+                }
+
+                List<IndexedRegistration> list = byValue.get(value);
+                if (list == null) {
+                    list = new ArrayList<IndexedRegistration>(1);
+                    byValue.put(value, list);
+                }
+                list.add(indexed);
+            }
+        }
+
+        private static Comparable convert(AttributeType type, Class attributeClass, Comparable value) {
+            if (type != AttributeType.ENUM && attributeClass.isAssignableFrom(value.getClass())) {
+                return value;
+            }
+            return type.getConverter().convert(value);
+        }
+    }
+
+    private static final class IndexedRegistration {
+
+        private final EventRegistration registration;
+        private final EventListenerFilter eventTypeFilter;
+        private final Data key;
+        private final EqualPredicate predicate;
+
+        private IndexedRegistration(EventRegistration registration, EventListenerFilter eventTypeFilter,
+                                    Data key, EqualPredicate predicate) {
+            this.registration = registration;
+            this.eventTypeFilter = eventTypeFilter;
+            this.key = key;
+            this.predicate = predicate;
+        }
+
+        static IndexedRegistration of(EventRegistration registration) {
+            EventFilter filter = registration.getFilter();
+            EventListenerFilter eventTypeFilter = null;
+            if (filter instanceof EventListenerFilter) {
+                eventTypeFilter = (EventListenerFilter) filter;
+                filter = eventTypeFilter.getEventFilter();
+            }
+            if (!(filter instanceof QueryEventFilter)) {
+                return null;
+            }
+
+            QueryEventFilter queryEventFilter = (QueryEventFilter) filter;
+            Object predicate = queryEventFilter.getPredicate();
+            if (predicate == null || predicate.getClass() != EqualPredicate.class) {
+                return null;
+            }
+            EqualPredicate equalPredicate = (EqualPredicate) predicate;
+            if (!(equalPredicate.getValue() instanceof Comparable) || equalPredicate.getValue() instanceof IndexImpl.NullObject) {
+                return null;
+            }
+            return new IndexedRegistration(registration, eventTypeFilter, queryEventFilter.getKey(), equalPredicate);
+        }
+
+        boolean matches(Data dataKey, int eventType) {
+            if (eventTypeFilter != null && !eventTypeFilter.eval(eventType)) {
+                return false;
+            }
+            return key == null || key.equals(dataKey);
+        }
+    }
+}
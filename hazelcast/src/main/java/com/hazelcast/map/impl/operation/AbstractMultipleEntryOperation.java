@@ -41,6 +41,7 @@ import java.util.Map;
 
 import static com.hazelcast.map.impl.EntryViews.createSimpleEntryView;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.map.impl.operation.EntryOperationUtil.toStoredValue;
 import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
 
 abstract class AbstractMultipleEntryOperation extends MapOperation implements MutatingOperation {
@@ -149,7 +150,7 @@ abstract class AbstractMultipleEntryOperation extends MapOperation implements Mu
     protected boolean entryAddedOrUpdated(Map.Entry entry, Data key, Object oldValue, long now) {
         final Object value = entry.getValue();
         if (value != null) {
-            put(key, value);
+            put(key, toStoredValue(entry, mapContainer.getMapConfig().getInMemoryFormat()));
             getLocalMapStats().incrementPuts(getLatencyFrom(now));
             doPostOps(key, oldValue, entry);
             return true;
@@ -242,6 +243,10 @@ abstract class AbstractMultipleEntryOperation extends MapOperation implements Mu
 
     protected Data process(Map.Entry entry) {
         final Object result = entryProcessor.process(entry);
+        final LazyMapEntry lazyEntry = (LazyMapEntry) entry;
+        if (lazyEntry.isSetValue(result)) {
+            return lazyEntry.getValueData();
+        }
         return toData(result);
     }
 
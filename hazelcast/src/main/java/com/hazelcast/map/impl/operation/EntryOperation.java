@@ -48,6 +48,7 @@ import static com.hazelcast.core.EntryEventType.REMOVED;
 import static com.hazelcast.core.EntryEventType.UPDATED;
 import static com.hazelcast.map.impl.EntryViews.createSimpleEntryView;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.map.impl.operation.EntryOperationUtil.toStoredValue;
 import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
 
 /**
@@ -183,7 +184,7 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
      * Only difference between add and update is event type to be published.
      */
     private void entryAddedOrUpdated(Map.Entry entry, long now) {
-        dataValue = entry.getValue();
+        dataValue = toStoredValue(entry, mapContainer.getMapConfig().getInMemoryFormat());
         recordStore.set(dataKey, dataValue, DEFAULT_TTL);
 
         getLocalMapStats().incrementPuts(getLatencyFrom(now));
@@ -193,6 +194,10 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
 
     private Data process(Map.Entry entry) {
         final Object result = entryProcessor.process(entry);
+        final LazyMapEntry lazyEntry = (LazyMapEntry) entry;
+        if (lazyEntry.isSetValue(result)) {
+            return lazyEntry.getValueData();
+        }
         return toData(result);
     }
 
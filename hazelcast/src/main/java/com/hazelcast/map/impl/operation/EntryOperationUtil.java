@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.map.impl.LazyMapEntry;
+
+import java.util.Map;
+
+/**
+ * Helpers shared by the operations which run entry processors.
+ */
+final class EntryOperationUtil {
+
+    private EntryOperationUtil() {
+    }
+
+    /**
+     * Returns the new value of an entry processed by an entry processor in the form the record store keeps it. The value
+     * returned by the entry processor shares this serialized form, so a value which is both set and returned is serialized
+     * only once.
+     *
+     * @param entry          the processed {@link LazyMapEntry}
+     * @param inMemoryFormat the in-memory format of the map
+     * @return the value object for {@link InMemoryFormat#OBJECT}, its serialized form otherwise
+     */
+    static Object toStoredValue(Map.Entry entry, InMemoryFormat inMemoryFormat) {
+        if (inMemoryFormat == InMemoryFormat.OBJECT) {
+            return entry.getValue();
+        }
+        return ((LazyMapEntry) entry).getValueData();
+    }
+}
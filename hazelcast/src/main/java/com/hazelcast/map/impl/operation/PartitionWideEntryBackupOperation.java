@@ -22,7 +22,6 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
-import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.BackupOperation;
 
 import java.io.IOException;
@@ -48,11 +47,11 @@ public class PartitionWideEntryBackupOperation extends AbstractMultipleEntryBack
             Data dataKey = record.getKey();
             Object oldValue = record.getValue();
 
-            if (!applyPredicate(dataKey, oldValue)) {
+            Map.Entry entry = createMapEntry(dataKey, oldValue);
+            if (!applyPredicate(entry)) {
                 continue;
             }
 
-            Map.Entry entry = createMapEntry(dataKey, oldValue);
             processBackup(entry);
 
             if (noOp(entry, oldValue)) {
@@ -78,12 +77,12 @@ public class PartitionWideEntryBackupOperation extends AbstractMultipleEntryBack
         return true;
     }
 
-    private boolean applyPredicate(Data key, Object value) {
-        if (getPredicate() == null) {
+    private boolean applyPredicate(Map.Entry entry) {
+        Predicate predicate = getPredicate();
+        if (predicate == null) {
             return true;
         }
-        QueryableEntry queryEntry = mapContainer.newQueryEntry(key, value);
-        return getPredicate().apply(queryEntry);
+        return predicate.apply(entry);
     }
 
     @Override
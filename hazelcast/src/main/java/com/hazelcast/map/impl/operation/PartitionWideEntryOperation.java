@@ -27,7 +27,6 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
 import com.hazelcast.query.impl.FalsePredicate;
-import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.BackupAwareOperation;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.serialization.SerializationService;
@@ -68,11 +67,12 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
             Data dataKey = record.getKey();
             Object oldValue = record.getValue();
 
-            if (!applyPredicate(dataKey, oldValue)) {
+            // the predicate and the entry processor share the entry, so the value is deserialized at most once
+            Map.Entry entry = createMapEntry(dataKey, oldValue);
+            if (!applyPredicate(entry)) {
                 continue;
             }
 
-            Map.Entry entry = createMapEntry(dataKey, oldValue);
             Data response = process(entry);
             if (response != null) {
                 responses.add(dataKey, response);
@@ -122,7 +122,7 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
         return backupOperation;
     }
 
-    private boolean applyPredicate(Data key, Object value) {
+    private boolean applyPredicate(Map.Entry entry) {
         Predicate predicate = getPredicate();
 
         if (predicate == null || TruePredicate.INSTANCE == predicate) {
@@ -133,8 +133,7 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
             return false;
         }
 
-        QueryableEntry queryEntry = mapContainer.newQueryEntry(key, value);
-        return getPredicate().apply(queryEntry);
+        return predicate.apply(entry);
     }
 
     protected Predicate getPredicate() {
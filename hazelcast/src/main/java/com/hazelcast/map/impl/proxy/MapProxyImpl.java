@@ -16,7 +16,11 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.core.ExecutionCallback;
@@ -26,12 +30,15 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.QueryCacheProvider;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
 import com.hazelcast.map.impl.query.MapQueryEngine;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultCollection;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -45,9 +52,11 @@ import com.hazelcast.mapreduce.ReducerFactory;
 import com.hazelcast.mapreduce.ReducingSubmittableJob;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
 import com.hazelcast.query.TruePredicate;
 import com.hazelcast.spi.InitializingObject;
 import com.hazelcast.spi.NodeEngine;
@@ -59,6 +68,7 @@ import com.hazelcast.util.executor.DelegatingFuture;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -68,6 +78,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkNotInstanceOf;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkPositive;
 import static com.hazelcast.util.Preconditions.checkTrue;
@@ -81,7 +93,7 @@ import static java.util.Collections.emptyMap;
  * @param <V> the value type of map.
  */
 @SuppressWarnings("checkstyle:classfanoutcomplexity")
-public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, InitializingObject {
+public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, QueryCacheProvider<K, V>, InitializingObject {
 
     public MapProxyImpl(String name, MapService mapService, NodeEngine nodeEngine, MapConfig mapConfig) {
         super(name, mapService, nodeEngine, mapConfig);
@@ -320,6 +332,22 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return new DelegatingFuture<V>(removeAsyncInternal(dataKey), getNodeEngine().getSerializationService());
     }
 
+    /**
+     * Asynchronously removes the mapping for a key without returning the old value, like {@link #delete(Object)}.
+     * <p/>
+     * Only available on members; it is not part of {@link IMap}.
+     *
+     * @param key the key of the mapping to remove
+     * @return a future completing with {@code true} if the key was mapped, {@code false} otherwise
+     * @throws NullPointerException if the specified key is null
+     */
+    public ICompletableFuture<Boolean> deleteAsync(K key) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+
+        Data dataKey = toData(key, partitionStrategy);
+        return deleteAsyncInternal(dataKey);
+    }
+
     @Override
     public Map<K, V> getAll(Set<K> keys) {
         if (CollectionUtil.isEmpty(keys)) {
@@ -781,6 +809,94 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         }
     }
 
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        checkNotNull(name, "name cannot be null");
+        QueryCache<K, V> queryCache = getQueryCacheContext().getQueryCache(getName(), name);
+        if (queryCache != null) {
+            return queryCache;
+        }
+        QueryCacheConfig queryCacheConfig = getQueryCacheConfig(name);
+        if (queryCacheConfig == null) {
+            return null;
+        }
+        return getQueryCacheInternal(name, getPredicate(queryCacheConfig.getPredicateConfig()),
+                queryCacheConfig.isIncludeValue(), queryCacheConfig);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(name, "name cannot be null");
+        checkNotNull(predicate, "predicate cannot be null");
+        checkNotInstanceOf(PagingPredicate.class, predicate, "predicate cannot be an instance of PagingPredicate");
+        return getQueryCacheInternal(name, predicate, includeValue, getQueryCacheConfig(name));
+    }
+
+    private QueryCache<K, V> getQueryCacheInternal(String name, Predicate predicate, boolean includeValue,
+                                                   QueryCacheConfig queryCacheConfig) {
+        if (queryCacheConfig != null) {
+            checkSupported(queryCacheConfig);
+        }
+        boolean populate = queryCacheConfig == null || queryCacheConfig.isPopulate();
+        List<MapIndexConfig> indexConfigs = queryCacheConfig == null
+                ? Collections.<MapIndexConfig>emptyList() : queryCacheConfig.getIndexConfigs();
+        return getQueryCacheContext().getOrCreateQueryCache(getName(), name, predicate, includeValue, populate, indexConfigs);
+    }
+
+    /**
+     * Rejects the settings the query cache doesn't apply: its events are neither batched, buffered nor coalesced by the
+     * publishers, it is not evicted and it has no listeners of its own.
+     */
+    private static void checkSupported(QueryCacheConfig config) {
+        String name = config.getName();
+        checkTrue(config.getBatchSize() == QueryCacheConfig.DEFAULT_BATCH_SIZE,
+                "Query cache " + name + ": batch size is not supported");
+        checkTrue(config.getBufferSize() == QueryCacheConfig.DEFAULT_BUFFER_SIZE,
+                "Query cache " + name + ": buffer size is not supported");
+        checkTrue(config.getDelaySeconds() == QueryCacheConfig.DEFAULT_DELAY_SECONDS,
+                "Query cache " + name + ": delay seconds is not supported");
+        checkTrue(config.isCoalesce() == QueryCacheConfig.DEFAULT_COALESCE,
+                "Query cache " + name + ": coalescing is not supported");
+        checkTrue(config.getEntryListenerConfigs().isEmpty(),
+                "Query cache " + name + ": entry listener configs are not supported, add the listeners to the query cache");
+        EvictionConfig evictionConfig = config.getEvictionConfig();
+        checkTrue(evictionConfig.getSize() == EvictionConfig.DEFAULT_MAX_ENTRY_COUNT
+                        && evictionConfig.getMaximumSizePolicy() == EvictionConfig.DEFAULT_MAX_SIZE_POLICY
+                        && evictionConfig.getEvictionPolicy() == EvictionConfig.DEFAULT_EVICTION_POLICY
+                        && evictionConfig.getComparatorClassName() == null && evictionConfig.getComparator() == null,
+                "Query cache " + name + ": eviction is not supported");
+    }
+
+    private QueryCacheContext getQueryCacheContext() {
+        return mapServiceContext.getQueryCacheContext();
+    }
+
+    private QueryCacheConfig getQueryCacheConfig(String name) {
+        for (QueryCacheConfig queryCacheConfig : getMapConfig().getQueryCacheConfigs()) {
+            if (name.equals(queryCacheConfig.getName())) {
+                return queryCacheConfig;
+            }
+        }
+        return null;
+    }
+
+    private Predicate getPredicate(PredicateConfig predicateConfig) {
+        if (predicateConfig.getImplementation() != null) {
+            return predicateConfig.getImplementation();
+        }
+        if (predicateConfig.getSql() != null) {
+            return new SqlPredicate(predicateConfig.getSql());
+        }
+        if (predicateConfig.getClassName() != null) {
+            try {
+                return ClassLoaderUtil.newInstance(getNodeEngine().getConfigClassLoader(), predicateConfig.getClassName());
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+        }
+        return TruePredicate.INSTANCE;
+    }
+
     protected Object invoke(Operation operation, int partitionId) throws Throwable {
         NodeEngine nodeEngine = getNodeEngine();
         Future f = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
@@ -531,6 +531,24 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         invokeOperation(key, operation);
     }
 
+    protected ICompletableFuture<Boolean> deleteAsyncInternal(Data key) {
+        int partitionId = getNodeEngine().getPartitionService().getPartitionId(key);
+        MapOperation operation = operationProvider.createDeleteOperation(name, key);
+        operation.setThreadId(ThreadUtil.getThreadId());
+        try {
+            long startTime = System.currentTimeMillis();
+            InternalCompletableFuture<Boolean> future = operationService.invokeOnPartition(SERVICE_NAME, operation, partitionId);
+
+            if (statisticsEnabled) {
+                future.andThen(new IncrementStatsExecutionCallback<Boolean>(operation, startTime));
+            }
+
+            return future;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
     protected boolean removeInternal(Data key, Data value) {
         MapOperation operation = operationProvider.createRemoveIfSameOperation(name, key, value);
         return (Boolean) invokeOperation(key, operation);
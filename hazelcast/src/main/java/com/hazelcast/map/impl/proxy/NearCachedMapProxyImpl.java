@@ -272,6 +272,12 @@ public class NearCachedMapProxyImpl<K, V> extends MapProxyImpl<K, V> {
         return super.removeAsyncInternal(key);
     }
 
+    @Override
+    protected ICompletableFuture<Boolean> deleteAsyncInternal(Data key) {
+        invalidateCache(key);
+        return super.deleteAsyncInternal(key);
+    }
+
     @Override
     protected boolean containsKeyInternal(Data keyData) {
         Object cached = nearCache.get(keyData);
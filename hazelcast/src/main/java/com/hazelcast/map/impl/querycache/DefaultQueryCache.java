@@ -0,0 +1,610 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.core.Member;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.query.QueryResultRow;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventData;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.util.UuidUtil;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A query cache of a member, kept up to date by the events its publishers send for the entries which enter, change in or
+ * leave its predicate.
+ *
+ * The events of each partition are numbered by the publisher. While a partition is populated, its events are buffered and
+ * only the events after the sequence of the partition scan are applied. When an event of a partition is missing, e.g.
+ * because it was dropped by a full event queue or because the partition migrated to another member, the partition is
+ * marked as lost and is populated again in the background; {@link #tryRecover()} does the same synchronously.
+ *
+ * Entries are stored as {@link CachedQueryEntry CachedQueryEntries}, so keys and values are deserialized at most once, and
+ * can be indexed with {@link #addIndex(String, boolean)} when values are cached.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+@SuppressWarnings({"checkstyle:methodcount", "checkstyle:classfanoutcomplexity", "checkstyle:classdataabstractioncoupling"})
+public class DefaultQueryCache<K, V> implements QueryCache<K, V>, ListenerAdapter<QueryCacheEventData> {
+
+    private final QueryCacheContext context;
+    private final String mapName;
+    private final String cacheName;
+    private final String cacheId;
+    private final Predicate predicate;
+    private final boolean includeValue;
+    private final InternalSerializationService serializationService;
+    private final Extractors extractors;
+    private final IFunction<Object, Data> toData;
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+    private final Indexes indexes;
+    private final PartitionState[] partitions;
+    private final ConcurrentMap<Data, QueryableEntry> entries = new ConcurrentHashMap<Data, QueryableEntry>();
+    private final ConcurrentMap<String, CacheListener> listeners = new ConcurrentHashMap<String, CacheListener>();
+    private final AtomicBoolean recoveryScheduled = new AtomicBoolean();
+    private volatile String registrationId;
+
+    DefaultQueryCache(QueryCacheContext context, MapServiceContext mapServiceContext, String mapName, String cacheName,
+                      String cacheId, Predicate predicate, boolean includeValue) {
+        this.context = context;
+        this.mapName = mapName;
+        this.cacheName = cacheName;
+        this.cacheId = cacheId;
+        this.predicate = checkNotNull(predicate, "predicate cannot be null");
+        this.includeValue = includeValue;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+        this.serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
+        this.extractors = mapServiceContext.getExtractors(mapName);
+        this.toData = mapServiceContext.getMapContainer(mapName).toData();
+        IPartitionService partitionService = nodeEngine.getPartitionService();
+        this.logger = nodeEngine.getLogger(getClass());
+        this.indexes = new Indexes(serializationService, extractors);
+        this.partitions = new PartitionState[partitionService.getPartitionCount()];
+        for (int partitionId = 0; partitionId < partitions.length; partitionId++) {
+            partitions[partitionId] = new PartitionState();
+        }
+    }
+
+    /**
+     * Registers the listener of this query cache on all members and populates it. The listener is registered first, so no
+     * event is missed; the events received during the population are buffered.
+     */
+    void start(boolean populate) {
+        if (populate) {
+            for (PartitionState state : partitions) {
+                state.startPopulating();
+            }
+        }
+        QueryCacheEventFilter filter = new QueryCacheEventFilter(cacheId, predicate, includeValue);
+        EventRegistration registration = nodeEngine.getEventService().registerListener(SERVICE_NAME, mapName, filter, this);
+        registrationId = registration.getId();
+        if (populate) {
+            populate(allPartitionIds());
+        }
+    }
+
+    @Override
+    public void onEvent(QueryCacheEventData event) {
+        PartitionState state = partitions[event.getPartitionId()];
+        boolean inSequence;
+        synchronized (state) {
+            if (state.buffer != null) {
+                state.buffer.add(event);
+                return;
+            }
+            inSequence = state.advance(event.getSequence());
+            apply(state, event);
+        }
+        if (!inSequence) {
+            logger.warning("Missed events of partition " + event.getPartitionId() + " of query cache " + cacheName
+                    + "; the partition will be populated again");
+            scheduleRecovery();
+        }
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private void apply(PartitionState state, QueryCacheEventData event) {
+        EntryEventType eventType = EntryEventType.getByType(event.getEventType());
+        switch (eventType) {
+            case ADDED:
+            case UPDATED:
+            case MERGED:
+                QueryableEntry newEntry = newEntry(event.getDataKey(), event.getDataNewValue());
+                QueryableEntry oldEntry = putEntry(state, newEntry);
+                publish(oldEntry == null ? ADDED : UPDATED, newEntry, oldEntry);
+                break;
+            case REMOVED:
+            case EVICTED:
+            case EXPIRED:
+                QueryableEntry removed = removeEntry(state, event.getDataKey());
+                if (removed != null) {
+                    publish(eventType, null, removed);
+                }
+                break;
+            case CLEAR_ALL:
+            case EVICT_ALL:
+                int removedCount = removeEntries(state);
+                if (removedCount > 0) {
+                    publish(new MapEvent(cacheName, getLocalMember(), eventType.getType(), removedCount));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected query cache event " + event);
+        }
+    }
+
+    private QueryableEntry newEntry(Data key, Data value) {
+        return new CachedQueryEntry(serializationService, key, includeValue ? value : null, extractors);
+    }
+
+    private QueryableEntry putEntry(PartitionState state, QueryableEntry entry) {
+        state.keys.add(entry.getKeyData());
+        QueryableEntry oldEntry = entries.put(entry.getKeyData(), entry);
+        if (includeValue) {
+            indexes.saveEntryIndex(entry, oldEntry == null ? null : oldEntry.getValue());
+        }
+        return oldEntry;
+    }
+
+    private QueryableEntry removeEntry(PartitionState state, Data key) {
+        state.keys.remove(key);
+        QueryableEntry removed = entries.remove(key);
+        if (removed != null && includeValue) {
+            indexes.removeEntryIndex(key, removed.getValue());
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the entries of a partition; only the keys of that partition are visited, so clearing the map, which removes
+     * the entries of every partition, doesn't scan the whole cache once per partition.
+     */
+    private int removeEntries(PartitionState state) {
+        int removedCount = 0;
+        for (Data key : state.keys) {
+            QueryableEntry removed = entries.remove(key);
+            if (removed != null) {
+                if (includeValue) {
+                    indexes.removeEntryIndex(key, removed.getValue());
+                }
+                removedCount++;
+            }
+        }
+        state.keys.clear();
+        return removedCount;
+    }
+
+    /**
+     * Populates the partitions with the matching entries of the map.
+     *
+     * @return {@code true} if all partitions are populated
+     */
+    private boolean populate(Collection<Integer> partitionIds) {
+        OperationService operationService = nodeEngine.getOperationService();
+        Map<Integer, Future<QueryCacheSnapshot>> futures = new LinkedHashMap<Integer, Future<QueryCacheSnapshot>>();
+        for (Integer partitionId : partitionIds) {
+            partitions[partitionId].startPopulating();
+            QueryCachePopulateOperation operation = new QueryCachePopulateOperation(mapName, cacheId, predicate, includeValue);
+            futures.put(partitionId, operationService.<QueryCacheSnapshot>invokeOnPartition(SERVICE_NAME, operation,
+                    partitionId));
+        }
+
+        boolean populated = true;
+        for (Map.Entry<Integer, Future<QueryCacheSnapshot>> entry : futures.entrySet()) {
+            QueryCacheSnapshot snapshot = null;
+            try {
+                snapshot = entry.getValue().get();
+            } catch (Exception e) {
+                logger.warning("Could not populate partition " + entry.getKey() + " of query cache " + cacheName, e);
+            }
+            populated &= applySnapshot(entry.getKey(), snapshot);
+        }
+        return populated;
+    }
+
+    private boolean applySnapshot(int partitionId, QueryCacheSnapshot snapshot) {
+        PartitionState state = partitions[partitionId];
+        synchronized (state) {
+            // the buffer is already applied if another population of the partition completed first
+            List<QueryCacheEventData> buffer = state.buffer != null
+                    ? state.buffer : Collections.<QueryCacheEventData>emptyList();
+            state.buffer = null;
+            if (snapshot == null) {
+                // the partition stays lost; the buffered events are applied as they are until it is populated
+                state.lost = true;
+                state.sequence = -1;
+                for (QueryCacheEventData event : buffer) {
+                    state.advance(event.getSequence());
+                    apply(state, event);
+                }
+                return false;
+            }
+
+            removeEntries(state);
+            for (QueryResultRow row : snapshot.getResult()) {
+                putEntry(state, newEntry(row.getKey(), row.getValue()));
+            }
+            state.lost = false;
+            state.sequence = snapshot.getSequence();
+            // the events up to the sequence of the snapshot are already reflected in it
+            for (QueryCacheEventData event : buffer) {
+                if (event.getSequence() > state.sequence) {
+                    state.advance(event.getSequence());
+                    apply(state, event);
+                }
+            }
+            return true;
+        }
+    }
+
+    private void scheduleRecovery() {
+        if (!recoveryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        nodeEngine.getExecutionService().execute(ExecutionService.ASYNC_EXECUTOR, new Runnable() {
+            @Override
+            public void run() {
+                recoveryScheduled.set(false);
+                if (registrationId != null) {
+                    tryRecover();
+                }
+            }
+        });
+    }
+
+    /**
+     * Populates the partitions which missed events again. Unlike the query caches with a publisher side event buffer, this
+     * doesn't replay events: the entries of those partitions are replaced by a new scan of the map, so the listeners of this
+     * query cache aren't notified of the changes they missed.
+     */
+    @Override
+    public boolean tryRecover() {
+        List<Integer> lostPartitionIds = new ArrayList<Integer>();
+        for (int partitionId = 0; partitionId < partitions.length; partitionId++) {
+            PartitionState state = partitions[partitionId];
+            synchronized (state) {
+                if (state.lost) {
+                    lostPartitionIds.add(partitionId);
+                }
+            }
+        }
+        return lostPartitionIds.isEmpty() || populate(lostPartitionIds);
+    }
+
+    @Override
+    public V get(Object key) {
+        checkNotNull(key, "key cannot be null");
+        QueryableEntry entry = entries.get(toData.apply(key));
+        return entry == null ? null : (V) entry.getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        checkNotNull(key, "key cannot be null");
+        return entries.containsKey(toData.apply(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        checkNotNull(value, "value cannot be null");
+        for (QueryableEntry entry : entries.values()) {
+            if (value.equals(entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void addIndex(String attribute, boolean ordered) {
+        checkNotNull(attribute, "attribute cannot be null");
+        if (!includeValue) {
+            throw new IllegalStateException("Indexes can only be added to a query cache which includes values");
+        }
+        indexes.addOrGetIndex(attribute, ordered).clear();
+        for (QueryableEntry entry : entries.values()) {
+            indexes.getIndex(attribute).saveEntryIndex(entry, null);
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        checkNotNull(keys, "keys cannot be null");
+        Map<K, V> result = new HashMap<K, V>();
+        for (K key : keys) {
+            QueryableEntry entry = entries.get(toData.apply(key));
+            if (entry != null) {
+                result.put(key, (V) entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> keySet = new HashSet<K>();
+        for (QueryableEntry entry : entries.values()) {
+            keySet.add((K) entry.getKey());
+        }
+        return keySet;
+    }
+
+    @Override
+    public Set<K> keySet(Predicate predicate) {
+        Set<K> keySet = new HashSet<K>();
+        for (QueryableEntry entry : query(predicate)) {
+            keySet.add((K) entry.getKey());
+        }
+        return keySet;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return toEntrySet(entries.values());
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet(Predicate predicate) {
+        return toEntrySet(query(predicate));
+    }
+
+    @Override
+    public Collection<V> values() {
+        List<V> values = new ArrayList<V>(entries.size());
+        for (QueryableEntry entry : entries.values()) {
+            values.add((V) entry.getValue());
+        }
+        return values;
+    }
+
+    @Override
+    public Collection<V> values(Predicate predicate) {
+        List<V> values = new ArrayList<V>();
+        for (QueryableEntry entry : query(predicate)) {
+            values.add((V) entry.getValue());
+        }
+        return values;
+    }
+
+    private Set<Map.Entry<K, V>> toEntrySet(Collection<QueryableEntry> queryableEntries) {
+        Set<Map.Entry<K, V>> entrySet = new HashSet<Map.Entry<K, V>>();
+        for (QueryableEntry entry : queryableEntries) {
+            entrySet.add(new AbstractMap.SimpleImmutableEntry<K, V>((K) entry.getKey(), (V) entry.getValue()));
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns the cached entries which match the predicate, using the indexes of this query cache when possible.
+     */
+    private Collection<QueryableEntry> query(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+        if (includeValue && indexes.hasIndex()) {
+            Set<QueryableEntry> indexed = indexes.query(predicate);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        for (QueryableEntry entry : entries.values()) {
+            if (predicate.apply(entry)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, boolean includeValue) {
+        return addEntryListenerInternal(listener, null, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, K key, boolean includeValue) {
+        checkNotNull(key, "key cannot be null");
+        return addEntryListenerInternal(listener, null, toData.apply(key), includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(predicate, "predicate cannot be null");
+        return addEntryListenerInternal(listener, predicate, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, K key, boolean includeValue) {
+        checkNotNull(predicate, "predicate cannot be null");
+        checkNotNull(key, "key cannot be null");
+        return addEntryListenerInternal(listener, predicate, toData.apply(key), includeValue);
+    }
+
+    private String addEntryListenerInternal(MapListener listener, Predicate predicate, Data key, boolean includeValue) {
+        checkNotNull(listener, "listener cannot be null");
+        String id = UuidUtil.newUnsecureUuidString();
+        listeners.put(id, new CacheListener(createListenerAdapter(listener), predicate, key, includeValue));
+        return id;
+    }
+
+    @Override
+    public boolean removeEntryListener(String id) {
+        checkNotNull(id, "listener id cannot be null");
+        return listeners.remove(id) != null;
+    }
+
+    private void publish(EntryEventType eventType, QueryableEntry newEntry, QueryableEntry oldEntry) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Data key = newEntry != null ? newEntry.getKeyData() : oldEntry.getKeyData();
+        QueryableEntry testEntry = newEntry != null ? newEntry : oldEntry;
+        for (CacheListener listener : listeners.values()) {
+            if (listener.key != null && !listener.key.equals(key)) {
+                continue;
+            }
+            if (listener.predicate != null && !listener.predicate.apply(testEntry)) {
+                continue;
+            }
+            Data newValue = listener.includeValue && newEntry != null ? newEntry.getValueData() : null;
+            Data oldValue = listener.includeValue && oldEntry != null ? oldEntry.getValueData() : null;
+            listener.adapter.onEvent(new DataAwareEntryEvent(getLocalMember(), eventType.getType(), cacheName, key,
+                    newValue, oldValue, null, serializationService));
+        }
+    }
+
+    private void publish(MapEvent event) {
+        for (CacheListener listener : listeners.values()) {
+            listener.adapter.onEvent(event);
+        }
+    }
+
+    private Member getLocalMember() {
+        return nodeEngine.getLocalMember();
+    }
+
+    @Override
+    public String getName() {
+        return cacheName;
+    }
+
+    @Override
+    public void destroy() {
+        String id = registrationId;
+        if (id == null) {
+            return;
+        }
+        registrationId = null;
+        EventService eventService = nodeEngine.getEventService();
+        eventService.deregisterListener(SERVICE_NAME, mapName, id);
+        context.removeQueryCache(mapName, cacheName, this);
+        listeners.clear();
+        entries.clear();
+        indexes.clearIndexes();
+    }
+
+    private Collection<Integer> allPartitionIds() {
+        List<Integer> partitionIds = new ArrayList<Integer>(partitions.length);
+        for (int partitionId = 0; partitionId < partitions.length; partitionId++) {
+            partitionIds.add(partitionId);
+        }
+        return partitionIds;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultQueryCache{mapName='" + mapName + "', cacheName='" + cacheName + "', predicate=" + predicate
+                + ", includeValue=" + includeValue + '}';
+    }
+
+    /**
+     * The state of a partition of this query cache; guarded by itself.
+     */
+    private static final class PartitionState {
+        // the sequence of the last applied event, or -1 if it is unknown
+        private long sequence = -1;
+        // the events received while the partition is populated
+        private List<QueryCacheEventData> buffer;
+        // true if the partition missed events and needs to be populated again
+        private boolean lost;
+        // the keys of the cached entries of the partition
+        private final Set<Data> keys = new HashSet<Data>();
+
+        synchronized void startPopulating() {
+            if (buffer == null) {
+                buffer = new ArrayList<QueryCacheEventData>();
+            }
+        }
+
+        /**
+         * Moves to the sequence of a received event, and returns {@code false} if an event was missed.
+         */
+        boolean advance(long eventSequence) {
+            long previous = sequence;
+            sequence = eventSequence;
+            if (previous >= 0 && eventSequence != previous + 1) {
+                lost = true;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class CacheListener {
+        private final ListenerAdapter adapter;
+        private final Predicate predicate;
+        private final Data key;
+        private final boolean includeValue;
+
+        private CacheListener(ListenerAdapter adapter, Predicate predicate, Data key, boolean includeValue) {
+            this.adapter = adapter;
+            this.predicate = predicate;
+            this.key = key;
+            this.includeValue = includeValue;
+        }
+    }
+}
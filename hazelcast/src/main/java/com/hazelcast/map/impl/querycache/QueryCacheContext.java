@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.util.ConstructorFunction;
+import com.hazelcast.util.UuidUtil;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+
+/**
+ * Holds the query cache state of a member.
+ *
+ * On the publisher side these are the sequences of the events published to each query cache, per partition. On the
+ * subscriber side these are the query caches created on this member.
+ */
+public class QueryCacheContext {
+
+    private final MapServiceContext mapServiceContext;
+    private final int partitionCount;
+    private final ConcurrentMap<String, AtomicLongArray> sequences = new ConcurrentHashMap<String, AtomicLongArray>();
+    private final ConcurrentMap<String, ConcurrentMap<String, DefaultQueryCache>> queryCaches
+            = new ConcurrentHashMap<String, ConcurrentMap<String, DefaultQueryCache>>();
+
+    private final ConstructorFunction<String, AtomicLongArray> sequencesConstructor
+            = new ConstructorFunction<String, AtomicLongArray>() {
+        @Override
+        public AtomicLongArray createNew(String cacheId) {
+            return new AtomicLongArray(partitionCount);
+        }
+    };
+
+    private final ConstructorFunction<String, ConcurrentMap<String, DefaultQueryCache>> queryCachesConstructor
+            = new ConstructorFunction<String, ConcurrentMap<String, DefaultQueryCache>>() {
+        @Override
+        public ConcurrentMap<String, DefaultQueryCache> createNew(String mapName) {
+            return new ConcurrentHashMap<String, DefaultQueryCache>();
+        }
+    };
+
+    public QueryCacheContext(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.partitionCount = mapServiceContext.getNodeEngine().getPartitionService().getPartitionCount();
+    }
+
+    /**
+     * Returns the sequence of the next event of the partition published to the query cache. Called on the partition thread.
+     */
+    public long nextSequence(String cacheId, int partitionId) {
+        return getOrPutIfAbsent(sequences, cacheId, sequencesConstructor).incrementAndGet(partitionId);
+    }
+
+    /**
+     * Returns the sequence of the last event of the partition published to the query cache, or 0 if there is none.
+     */
+    public long getSequence(String cacheId, int partitionId) {
+        AtomicLongArray partitionSequences = sequences.get(cacheId);
+        return partitionSequences == null ? 0 : partitionSequences.get(partitionId);
+    }
+
+    /**
+     * Drops the sequences of a query cache whose listener registration is removed.
+     */
+    public void removeSequences(String cacheId) {
+        sequences.remove(cacheId);
+    }
+
+    /**
+     * Returns the query cache with the given name created on this member, or {@code null} if there is none.
+     */
+    public QueryCache getQueryCache(String mapName, String cacheName) {
+        ConcurrentMap<String, DefaultQueryCache> caches = queryCaches.get(mapName);
+        return caches == null ? null : caches.get(cacheName);
+    }
+
+    /**
+     * Returns the query cache with the given name created on this member, or creates and populates it.
+     *
+     * @param populate     {@code true} to populate the new query cache with the matching entries of the map
+     * @param indexConfigs the indexes to add to the new query cache
+     */
+    public QueryCache getOrCreateQueryCache(String mapName, String cacheName, Predicate predicate, boolean includeValue,
+                                           boolean populate, Collection<MapIndexConfig> indexConfigs) {
+        ConcurrentMap<String, DefaultQueryCache> caches = getOrPutIfAbsent(queryCaches, mapName, queryCachesConstructor);
+        DefaultQueryCache queryCache = caches.get(cacheName);
+        if (queryCache != null) {
+            return queryCache;
+        }
+
+        synchronized (caches) {
+            queryCache = caches.get(cacheName);
+            if (queryCache != null) {
+                return queryCache;
+            }
+            String cacheId = UuidUtil.newUnsecureUuidString();
+            queryCache = new DefaultQueryCache(this, mapServiceContext, mapName, cacheName, cacheId, predicate, includeValue);
+            for (MapIndexConfig indexConfig : indexConfigs) {
+                queryCache.addIndex(indexConfig.getAttribute(), indexConfig.isOrdered());
+            }
+            queryCache.start(populate);
+            caches.put(cacheName, queryCache);
+            return queryCache;
+        }
+    }
+
+    void removeQueryCache(String mapName, String cacheName, DefaultQueryCache queryCache) {
+        ConcurrentMap<String, DefaultQueryCache> caches = queryCaches.get(mapName);
+        if (caches != null) {
+            caches.remove(cacheName, queryCache);
+        }
+    }
+
+    /**
+     * Forgets the query caches of a destroyed map; their listener registrations are removed with the map.
+     */
+    public void destroyQueryCaches(String mapName) {
+        queryCaches.remove(mapName);
+    }
+}
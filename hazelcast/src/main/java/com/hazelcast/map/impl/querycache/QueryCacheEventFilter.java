@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.EventFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The filter of the listener registration of a query cache.
+ *
+ * Unlike a {@link com.hazelcast.map.impl.query.QueryEventFilter}, it isn't evaluated by a
+ * {@link com.hazelcast.map.impl.event.FilteringStrategy}: the publisher evaluates the predicate on both the old and the new
+ * value, publishes the entries that enter or leave the predicate as additions and removals, and numbers the events of each
+ * partition with the sequences of the query cache.
+ */
+public class QueryCacheEventFilter implements EventFilter, DataSerializable {
+
+    private String cacheId;
+    private Predicate predicate;
+    private boolean includeValue;
+
+    public QueryCacheEventFilter() {
+    }
+
+    public QueryCacheEventFilter(String cacheId, Predicate predicate, boolean includeValue) {
+        this.cacheId = cacheId;
+        this.predicate = predicate;
+        this.includeValue = includeValue;
+    }
+
+    /**
+     * Returns the cluster wide unique id of the query cache, which identifies its sequences on the publishers.
+     */
+    public String getCacheId() {
+        return cacheId;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public boolean isIncludeValue() {
+        return includeValue;
+    }
+
+    @Override
+    public boolean eval(Object arg) {
+        return predicate.apply((Map.Entry) arg);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(cacheId);
+        out.writeObject(predicate);
+        out.writeBoolean(includeValue);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        cacheId = in.readUTF();
+        predicate = in.readObject();
+        includeValue = in.readBoolean();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QueryCacheEventFilter that = (QueryCacheEventFilter) o;
+        return cacheId.equals(that.cacheId);
+    }
+
+    @Override
+    public int hashCode() {
+        return cacheId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventFilter{cacheId='" + cacheId + "', predicate=" + predicate + ", includeValue=" + includeValue
+                + '}';
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.query.MapQueryEngine;
+import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.IterationType.ENTRY;
+import static com.hazelcast.util.IterationType.KEY;
+
+/**
+ * Scans a partition for the entries of a query cache.
+ *
+ * The events of a partition are published to the query cache on the partition thread, so the sequence read by this operation
+ * is the sequence of the last event which is already reflected in the scanned entries.
+ */
+public class QueryCachePopulateOperation extends MapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private String cacheId;
+    private Predicate predicate;
+    private boolean includeValue;
+    private QueryCacheSnapshot snapshot;
+
+    public QueryCachePopulateOperation() {
+    }
+
+    public QueryCachePopulateOperation(String mapName, String cacheId, Predicate predicate, boolean includeValue) {
+        super(mapName);
+        this.cacheId = cacheId;
+        this.predicate = predicate;
+        this.includeValue = includeValue;
+    }
+
+    @Override
+    public void run() {
+        long sequence = mapServiceContext.getQueryCacheContext().getSequence(cacheId, getPartitionId());
+        MapQueryEngine queryEngine = mapServiceContext.getMapQueryEngine(name);
+        QueryResult result = queryEngine.queryLocalPartition(name, predicate, getPartitionId(), includeValue ? ENTRY : KEY);
+        snapshot = new QueryCacheSnapshot(sequence, result);
+    }
+
+    @Override
+    public Object getResponse() {
+        return snapshot;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeUTF(cacheId);
+        out.writeObject(predicate);
+        out.writeBoolean(includeValue);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        cacheId = in.readUTF();
+        predicate = in.readObject();
+        includeValue = in.readBoolean();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+
+/**
+ * The entries of a partition which match the predicate of a query cache, together with the sequence of the last event the
+ * partition published to the query cache before the entries were read.
+ *
+ * @see QueryCachePopulateOperation
+ */
+public class QueryCacheSnapshot implements DataSerializable {
+
+    private long sequence;
+    private QueryResult result;
+
+    public QueryCacheSnapshot() {
+    }
+
+    public QueryCacheSnapshot(long sequence, QueryResult result) {
+        this.sequence = sequence;
+        this.result = result;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public QueryResult getResult() {
+        return result;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(sequence);
+        out.writeObject(result);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        sequence = in.readLong();
+        result = in.readObject();
+    }
+}
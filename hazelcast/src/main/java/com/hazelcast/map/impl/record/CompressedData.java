@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.util.HashUtil;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A {@link Data} that keeps its payload deflated. Used to store the values of maps with
+ * {@link com.hazelcast.config.MapConfig#setValueCompressionEnabled(boolean) value compression} enabled.
+ *
+ * The type, partition hash and hash code are kept uncompressed, so a CompressedData can be hashed, routed and type
+ * checked without inflating it. The payload is only inflated when its bytes are requested, e.g. when the value is
+ * deserialized or written to the network, and the inflated bytes are not retained.
+ */
+public final class CompressedData implements Data {
+
+    /**
+     * Values smaller than this are not worth compressing.
+     */
+    static final int MIN_COMPRESSION_SIZE = 64;
+
+    // array header (12: array header, 4: length), object header and the fields
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+    private static final int OBJECT_HEADER_SIZE_IN_BYTES = 12;
+    private static final int FIELDS_SIZE_IN_BYTES = 20;
+    private static final int OVERHEAD_IN_BYTES = ARRAY_HEADER_SIZE_IN_BYTES + OBJECT_HEADER_SIZE_IN_BYTES
+            + FIELDS_SIZE_IN_BYTES + REFERENCE_COST_IN_BYTES;
+
+    private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(Deflater.BEST_SPEED);
+        }
+    };
+
+    private static final ThreadLocal<Inflater> INFLATER = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    private final byte[] compressed;
+    private final int totalSize;
+    private final int type;
+    private final int partitionHash;
+    private final boolean hasPartitionHash;
+    private final int hashCode;
+
+    private CompressedData(byte[] compressed, Data data) {
+        this.compressed = compressed;
+        this.totalSize = data.totalSize();
+        this.type = data.getType();
+        this.partitionHash = data.getPartitionHash();
+        this.hasPartitionHash = data.hasPartitionHash();
+        this.hashCode = data.hashCode();
+    }
+
+    /**
+     * Compresses the given data.
+     *
+     * @param data the data to compress
+     * @return the compressed data, or the given data if it is already compressed or doesn't get smaller by compression
+     */
+    public static Data compress(Data data) {
+        if (data == null || data instanceof CompressedData || data.totalSize() < MIN_COMPRESSION_SIZE) {
+            return data;
+        }
+
+        byte[] payload = data.toByteArray();
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(payload);
+        deflater.finish();
+        byte[] buffer = new byte[payload.length];
+        int length = 0;
+        while (!deflater.finished() && length < buffer.length) {
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        if (!deflater.finished()) {
+            return data;
+        }
+        return new CompressedData(Arrays.copyOf(buffer, length), data);
+    }
+
+    /**
+     * Returns the number of bytes of the compressed payload.
+     *
+     * @return the compressed size
+     */
+    public int compressedSize() {
+        return compressed.length;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed);
+        byte[] payload = new byte[totalSize];
+        int length = 0;
+        try {
+            while (length < totalSize) {
+                int inflated = inflater.inflate(payload, length, totalSize - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new HazelcastSerializationException(e);
+        }
+        if (length != totalSize) {
+            throw new HazelcastSerializationException("Compressed data is corrupt, inflated " + length + " of "
+                    + totalSize + " bytes");
+        }
+        return payload;
+    }
+
+    @Override
+    public int getType() {
+        return type;
+    }
+
+    @Override
+    public int totalSize() {
+        return totalSize;
+    }
+
+    @Override
+    public int dataSize() {
+        return Math.max(totalSize - HEAP_DATA_OVERHEAD, 0);
+    }
+
+    @Override
+    public int getHeapCost() {
+        return OVERHEAD_IN_BYTES + compressed.length;
+    }
+
+    @Override
+    public int getPartitionHash() {
+        return partitionHash;
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return hasPartitionHash;
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64(toByteArray(), DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+        Data data = (Data) o;
+        if (type != data.getType() || totalSize != data.totalSize() || hashCode != data.hashCode()) {
+            return false;
+        }
+        return new HeapData(toByteArray()).equals(data);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedData{"
+                + "type=" + type
+                + ", hashCode=" + hashCode
+                + ", partitionHash=" + partitionHash
+                + ", totalSize=" + totalSize
+                + ", compressedSize=" + compressed.length
+                + ", heapCost=" + getHeapCost()
+                + '}';
+    }
+}
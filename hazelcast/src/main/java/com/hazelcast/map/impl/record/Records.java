@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.record;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer.isCompact;
 import static com.hazelcast.map.impl.record.Record.NOT_CACHED;
 
 /**
@@ -166,7 +167,7 @@ public final class Records {
     }
 
     static boolean shouldCache(Object value) {
-        return value instanceof Data && !((Data) value).isPortable();
+        return value instanceof Data && !((Data) value).isPortable() && !isCompact((Data) value);
     }
 
 
@@ -64,6 +64,22 @@ public interface Storage<K, R> {
 
     void setSizeEstimator(SizeEstimator sizeEstimator);
 
+    /**
+     * Returns the number of bytes taken by the values of this storage that are stored compressed.
+     *
+     * @return the compressed size of the compressed values
+     * @see com.hazelcast.config.MapConfig#setValueCompressionEnabled(boolean)
+     */
+    long getCompressedValueBytes();
+
+    /**
+     * Returns the number of bytes the values of this storage that are stored compressed would take uncompressed.
+     *
+     * @return the uncompressed size of the compressed values
+     * @see com.hazelcast.config.MapConfig#setValueCompressionEnabled(boolean)
+     */
+    long getUncompressedValueBytes();
+
     void disposeDeferredBlocks();
 
     /**
@@ -21,6 +21,7 @@ import com.hazelcast.map.impl.SizeEstimator;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.record.AbstractRecord;
+import com.hazelcast.map.impl.record.CompressedData;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.nio.serialization.Data;
@@ -47,6 +48,10 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     // not final for testing purposes.
     private SizeEstimator sizeEstimator;
 
+    // sizes of the values stored as CompressedData, only written by the partition thread
+    private volatile long compressedValueBytes;
+    private volatile long uncompressedValueBytes;
+
     StorageImpl(RecordFactory<R> recordFactory, InMemoryFormat inMemoryFormat, SerializationService serializationService) {
         this.recordFactory = recordFactory;
         this.sizeEstimator = createMapSizeEstimator(inMemoryFormat);
@@ -58,6 +63,8 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
         records.clear();
 
         sizeEstimator.reset();
+        compressedValueBytes = 0;
+        uncompressedValueBytes = 0;
     }
 
     @Override
@@ -78,15 +85,19 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
 
         updateSizeEstimator(-calculateHeapCost(previousRecord));
         updateSizeEstimator(calculateHeapCost(record));
+        updateCompressedValueBytes(previousRecord, -1);
+        updateCompressedValueBytes(record, 1);
     }
 
     @Override
     public void updateRecordValue(Data key, R record, Object value) {
         updateSizeEstimator(-calculateHeapCost(record));
+        updateCompressedValueBytes(record, -1);
 
         recordFactory.setValue(record, value);
 
         updateSizeEstimator(calculateHeapCost(record));
+        updateCompressedValueBytes(record, 1);
     }
 
     @Override
@@ -135,12 +146,32 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
 
         updateSizeEstimator(-calculateHeapCost(record));
         updateSizeEstimator(-calculateHeapCost(key));
+        updateCompressedValueBytes(record, -1);
     }
 
     protected void updateSizeEstimator(long recordSize) {
         sizeEstimator.add(recordSize);
     }
 
+    private void updateCompressedValueBytes(R record, int sign) {
+        Object value = record == null ? null : record.getValue();
+        if (value instanceof CompressedData) {
+            CompressedData data = (CompressedData) value;
+            compressedValueBytes += sign * data.compressedSize();
+            uncompressedValueBytes += sign * data.totalSize();
+        }
+    }
+
+    @Override
+    public long getCompressedValueBytes() {
+        return compressedValueBytes;
+    }
+
+    @Override
+    public long getUncompressedValueBytes() {
+        return uncompressedValueBytes;
+    }
+
     protected long calculateHeapCost(Object obj) {
         return sizeEstimator.calculateSize(obj);
     }
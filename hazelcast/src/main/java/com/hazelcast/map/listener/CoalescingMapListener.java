@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.listener;
+
+/**
+ * A marker interface which makes a map listener skip the intermediate updates of a key it can't keep up with.
+ * <p/>
+ * The pending events of a listener which implements this interface are coalesced by key before they are dispatched: when an
+ * entry is updated while an earlier update of the same entry is still waiting to be dispatched, both updates are merged into
+ * a single {@link com.hazelcast.core.EntryEventType#UPDATED} event with the old value of the earlier update and the new
+ * value of the later one. A listener on rapidly updated keys, e.g. prices or positions, therefore receives the latest value
+ * of each key without the updates in between, and its backlog is bounded by the number of changed keys instead of the
+ * number of updates.
+ * <p/>
+ * Only updates are coalesced: every added, removed, evicted or merged event is received, and an update is never merged with
+ * an update which happened before such an event of the same key. Events of the same key are still received in order, but
+ * a merged update takes the place of the earlier update, so events of different keys may be received in a different order
+ * than they happened. Map-wide events like {@link com.hazelcast.core.EntryEventType#CLEAR_ALL} are never coalesced, and no
+ * entry event is moved before them.
+ * <p/>
+ * The events are coalesced on the member the listener is registered on. Listeners registered by a client, e.g. with
+ * {@code HazelcastClient}, aren't covered: they receive every event, even if they implement this interface.
+ *
+ * @see com.hazelcast.spi.properties.GroupProperty#EVENT_LISTENER_QUEUE_CAPACITY
+ * @since 3.8
+ */
+public interface CoalescingMapListener extends MapListener {
+}
@@ -198,6 +198,24 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getHeapCost();
 
+    /**
+     * Returns the number of bytes the compressed values of the locally owned entries take, see
+     * {@link com.hazelcast.config.MapConfig#setValueCompressionEnabled(boolean)}.
+     *
+     * @return compressed size of the locally owned values
+     * @since 3.8
+     */
+    long getCompressedValueBytes();
+
+    /**
+     * Returns the number of bytes the compressed values of the locally owned entries would take uncompressed.
+     * Together with {@link #getCompressedValueBytes()} this gives the compression ratio of the map.
+     *
+     * @return uncompressed size of the locally owned values that are stored compressed
+     * @since 3.8
+     */
+    long getUncompressedValueBytes();
+
     /**
      * Returns statistics related to the Near Cache.
      *
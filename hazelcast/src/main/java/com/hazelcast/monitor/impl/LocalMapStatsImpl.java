@@ -86,6 +86,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
      * Holds total heap cost of map & near-cache & backups.
      */
     private volatile long heapCost;
+    private volatile long compressedValueBytes;
+    private volatile long uncompressedValueBytes;
     private volatile long lockedEntryCount;
     private volatile long dirtyEntryCount;
     private volatile int backupCount;
@@ -290,6 +292,24 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.heapCost = heapCost;
     }
 
+    @Override
+    public long getCompressedValueBytes() {
+        return compressedValueBytes;
+    }
+
+    public void setCompressedValueBytes(long compressedValueBytes) {
+        this.compressedValueBytes = compressedValueBytes;
+    }
+
+    @Override
+    public long getUncompressedValueBytes() {
+        return uncompressedValueBytes;
+    }
+
+    public void setUncompressedValueBytes(long uncompressedValueBytes) {
+        this.uncompressedValueBytes = uncompressedValueBytes;
+    }
+
     @Override
     public NearCacheStats getNearCacheStats() {
         return nearCacheStats;
@@ -325,6 +345,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
         root.add("maxPutLatency", maxPutLatency);
         root.add("maxRemoveLatency", maxRemoveLatency);
         root.add("heapCost", heapCost);
+        root.add("compressedValueBytes", compressedValueBytes);
+        root.add("uncompressedValueBytes", uncompressedValueBytes);
         if (nearCacheStats != null) {
             root.add("nearCacheStats", nearCacheStats.toJson());
         }
@@ -356,6 +378,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
         lockedEntryCount = getLong(json, "lockedEntryCount", -1L);
         dirtyEntryCount = getLong(json, "dirtyEntryCount", -1L);
         heapCost = getLong(json, "heapCost", -1L);
+        compressedValueBytes = getLong(json, "compressedValueBytes", -1L);
+        uncompressedValueBytes = getLong(json, "uncompressedValueBytes", -1L);
         JsonValue jsonNearCacheStats = json.get("nearCacheStats");
         if (jsonNearCacheStats != null) {
             nearCacheStats = new NearCacheStatsImpl();
@@ -386,6 +410,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", lockedEntryCount=" + lockedEntryCount
                 + ", dirtyEntryCount=" + dirtyEntryCount
                 + ", heapCost=" + heapCost
+                + ", compressedValueBytes=" + compressedValueBytes
+                + ", uncompressedValueBytes=" + uncompressedValueBytes
                 + '}';
     }
 }
@@ -278,6 +278,17 @@ public class LocalReplicatedMapStatsImpl implements LocalReplicatedMapStats {
     public void setHeapCost(long heapCost) {
     }
 
+    // replicated maps never compress their values
+    @Override
+    public long getCompressedValueBytes() {
+        return 0;
+    }
+
+    @Override
+    public long getUncompressedValueBytes() {
+        return 0;
+    }
+
     @Override
     public long getReplicationEventCount() {
         return 0;
@@ -55,6 +55,10 @@ public class LocalTopicStatsImpl implements LocalTopicStats {
         TOTAL_PUBLISHES.incrementAndGet(this);
     }
 
+    public void incrementPublishes(int delta) {
+        TOTAL_PUBLISHES.addAndGet(this, delta);
+    }
+
     @Override
     public long getReceiveOperationCount() {
         return totalReceivedMessages;
@@ -30,9 +30,12 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
@@ -287,6 +290,46 @@ public final class IOUtil {
         }
     }
 
+    /**
+     * Unmaps a memory-mapped buffer right away instead of when the buffer is garbage collected, so the mapped memory
+     * is released and the file can be deleted. The buffer must not be accessed afterwards. If the JVM doesn't allow
+     * the buffer to be unmapped, it is left to the garbage collector.
+     *
+     * @param buffer the buffer to unmap. If {@code null}, no action is taken.
+     */
+    public static void unmap(MappedByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            // Java 6-8: ((sun.nio.ch.DirectBuffer) buffer).cleaner().clean()
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                Method cleanMethod = cleaner.getClass().getMethod("clean");
+                cleanMethod.setAccessible(true);
+                cleanMethod.invoke(cleaner);
+            }
+        } catch (Exception e) {
+            unmapWithUnsafe(buffer);
+        }
+    }
+
+    private static void unmapWithUnsafe(MappedByteBuffer buffer) {
+        try {
+            // Java 9+: sun.misc.Unsafe.invokeCleaner(buffer), the supported replacement of the cleaner of a buffer.
+            // Unsafe is looked up reflectively, since UnsafeHelper is deprecated and the method doesn't exist before 9.
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (Exception e) {
+            Logger.getLogger(IOUtil.class).finest("unmap failed, the buffer is unmapped when it is garbage collected", e);
+        }
+    }
+
     /**
      * Ensures that the file described by the supplied parameter does not exist
      * after the method returns. If the file didn't exist, returns silently.
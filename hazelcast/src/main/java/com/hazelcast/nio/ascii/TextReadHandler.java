@@ -23,6 +23,7 @@ import com.hazelcast.internal.ascii.memcache.DeleteCommandParser;
 import com.hazelcast.internal.ascii.memcache.ErrorCommand;
 import com.hazelcast.internal.ascii.memcache.GetCommandParser;
 import com.hazelcast.internal.ascii.memcache.IncrementCommandParser;
+import com.hazelcast.internal.ascii.memcache.MemcacheBinaryCommandParser;
 import com.hazelcast.internal.ascii.memcache.SetCommandParser;
 import com.hazelcast.internal.ascii.memcache.SimpleCommandParser;
 import com.hazelcast.internal.ascii.memcache.TouchCommandParser;
@@ -56,6 +57,7 @@ import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.TOUCH;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.UNKNOWN;
 import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.VERSION;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.MAGIC_REQUEST;
 
 @PrivateApi
 public class TextReadHandler implements ReadHandler {
@@ -63,6 +65,8 @@ public class TextReadHandler implements ReadHandler {
     private static final Map<String, CommandParser> MAP_COMMAND_PARSERS = new HashMap<String, CommandParser>();
 
     private static final int CAPACITY = 500;
+    // long enough for a bulk REST get of many keys
+    private static final int MAX_COMMAND_LINE_LENGTH = 64 * 1024;
 
     static {
         MAP_COMMAND_PARSERS.put("get", new GetCommandParser());
@@ -95,6 +99,9 @@ public class TextReadHandler implements ReadHandler {
     private final boolean memcacheEnabled;
     private boolean connectionTypeSet;
     private long requestIdGen;
+    private boolean protocolDetected;
+    private MemcacheBinaryCommandParser binaryParser;
+    private boolean closing;
     private final ILogger logger;
 
     public TextReadHandler(TcpIpConnection connection) {
@@ -113,7 +120,23 @@ public class TextReadHandler implements ReadHandler {
 
     @Override
     public void onRead(ByteBuffer src) {
+        if (!protocolDetected && src.hasRemaining()) {
+            // a text command never starts with the binary request magic, so the first byte decides the protocol
+            protocolDetected = true;
+            if (src.get(src.position()) == MAGIC_REQUEST) {
+                binaryParser = new MemcacheBinaryCommandParser(this);
+            }
+        }
+        if (binaryParser != null) {
+            binaryParser.read(src);
+            return;
+        }
         while (src.hasRemaining()) {
+            if (closing) {
+                // requests pipelined after one closing the connection are not processed
+                src.position(src.limit());
+                return;
+            }
             doRead(src);
         }
     }
@@ -125,25 +148,53 @@ public class TextReadHandler implements ReadHandler {
             if (c == '\n') {
                 commandLineRead = true;
             } else if (c != '\r') {
-                commandLine.put(b);
+                appendToCommandLine(b);
             }
         }
         if (commandLineRead) {
             if (command == null) {
-                processCmd(toStringAndClear(commandLine));
-            }
-            if (command != null) {
-                boolean complete = command.readFrom(bb);
-                if (complete) {
-                    publishRequest(command);
+                String cmd = toStringAndClear(commandLine);
+                if (cmd.length() == 0 && connection.getType() == ConnectionType.REST_CLIENT) {
+                    // an HTTP server ignores empty lines between pipelined requests
                     reset();
+                    return;
                 }
+                processCmd(cmd);
+            }
+            if (command != null) {
+                readCommand(bb);
             } else {
                 reset();
             }
         }
     }
 
+    private void readCommand(ByteBuffer bb) {
+        boolean complete = command.readFrom(bb);
+        if (complete) {
+            publishRequest(command);
+            if (command instanceof HttpCommand && !((HttpCommand) command).isKeepAlive()) {
+                closing = true;
+            }
+            reset();
+        }
+    }
+
+    private void appendToCommandLine(byte b) {
+        if (!commandLine.hasRemaining()) {
+            if (commandLine.capacity() >= MAX_COMMAND_LINE_LENGTH) {
+                closing = true;
+                connection.close("Command line longer than " + MAX_COMMAND_LINE_LENGTH + " bytes", null);
+                return;
+            }
+            ByteBuffer grown = ByteBuffer.allocate(commandLine.capacity() * 2);
+            commandLine.flip();
+            grown.put(commandLine);
+            commandLine = grown;
+        }
+        commandLine.put(b);
+    }
+
     void reset() {
         command = null;
         commandLine.clear();
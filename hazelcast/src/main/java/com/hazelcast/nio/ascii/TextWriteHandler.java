@@ -16,7 +16,9 @@
 
 package com.hazelcast.nio.ascii;
 
+import com.hazelcast.internal.ascii.AbstractTextCommand;
 import com.hazelcast.internal.ascii.TextCommand;
+import com.hazelcast.internal.ascii.rest.HttpCommand;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 import com.hazelcast.nio.tcp.WriteHandler;
 import com.hazelcast.spi.annotation.PrivateApi;
@@ -25,6 +27,8 @@ import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static com.hazelcast.internal.ascii.TextCommandConstants.TextCommandType.NO_OP;
+
 @PrivateApi
 public class TextWriteHandler implements WriteHandler<TextCommand> {
     private final TcpIpConnection connection;
@@ -38,10 +42,10 @@ public class TextWriteHandler implements WriteHandler<TextCommand> {
     public void enqueue(TextCommand response) {
         long requestId = response.getRequestId();
         if (requestId == -1) {
-            connection.write(response);
+            write(response);
         } else {
             if (currentRequestId == requestId) {
-                connection.write(response);
+                write(response);
                 currentRequestId++;
                 processWaitingResponses();
             } else {
@@ -53,14 +57,61 @@ public class TextWriteHandler implements WriteHandler<TextCommand> {
     private void processWaitingResponses() {
         TextCommand response = responses.remove(currentRequestId);
         while (response != null) {
-            connection.write(response);
+            write(response);
             currentRequestId++;
             response = responses.remove(currentRequestId);
         }
     }
 
+    private void write(TextCommand response) {
+        connection.write(response);
+        if (response instanceof HttpCommand && !((HttpCommand) response).isKeepAlive()) {
+            // no requests are read after one closing the connection, so this is the last response
+            connection.write(new CloseConnectionCommand());
+        }
+    }
+
     @Override
     public boolean onWrite(TextCommand textCommand, ByteBuffer dst) throws Exception {
+        if (textCommand instanceof CloseConnectionCommand) {
+            if (dst.position() > 0) {
+                // the preceding response hasn't been written to the socket yet; we are called again once it has been
+                return false;
+            }
+            closeConnection();
+            return true;
+        }
         return textCommand.writeTo(dst);
     }
+
+    private void closeConnection() {
+        // closing the connection waits for the IO threads, so it can't be done on the IO thread calling onWrite
+        connection.getConnectionManager().getIoService().executeAsync(new Runnable() {
+            @Override
+            public void run() {
+                connection.close(null, null);
+            }
+        });
+    }
+
+    /**
+     * Written after the response to a request asking to close the connection, closes the connection once that
+     * response has been written to the socket.
+     */
+    private static final class CloseConnectionCommand extends AbstractTextCommand {
+
+        CloseConnectionCommand() {
+            super(NO_OP);
+        }
+
+        @Override
+        public boolean readFrom(ByteBuffer src) {
+            return true;
+        }
+
+        @Override
+        public boolean writeTo(ByteBuffer dst) {
+            return true;
+        }
+    }
 }
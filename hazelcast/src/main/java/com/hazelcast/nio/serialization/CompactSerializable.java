@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.serialization;
+
+/**
+ * CompactSerializable marks plain classes that are serialized in the compact format. Unlike
+ * {@link com.hazelcast.nio.serialization.Portable} it requires no factories, class ids or read/write methods; the
+ * non-static, non-transient fields of the class and its super classes are serialized using reflection.
+ *
+ * <p>
+ *
+ * The fields of a class are described by a schema that is registered once for the whole cluster. A serialized object
+ * only carries the id of its schema; primitive fields are stored at fixed offsets and variable sized fields are
+ * reached through an offset table, so a single field can be read without deserializing the whole object. This makes
+ * compact objects cheap to query and index.
+ *
+ * <p>
+ *
+ * A compact class needs a no-arg constructor, which may be private. Fields of primitive types, {@link String} and
+ * arrays of these are serialized natively; fields of other types are serialized as nested objects using the
+ * serializer registered for them.
+ *
+ * @see com.hazelcast.nio.serialization.Portable
+ * @see com.hazelcast.nio.serialization.DataSerializable
+ * @since 3.8
+ */
+public interface CompactSerializable {
+}
@@ -22,6 +22,9 @@ import java.nio.ByteBuffer;
 
 /**
  * A {@link WriteHandler} for the new-client. It writes ClientMessages to the ByteBuffer.
+ * <p/>
+ * Messages are written only once, so a message that has been written completely is
+ * {@link ClientMessage#release() released} to give its buffer back to the pool it was taken from.
  *
  * @see ClientReadHandler
  */
@@ -29,6 +32,10 @@ public class ClientWriteHandler implements WriteHandler<ClientMessage> {
 
     @Override
     public boolean onWrite(ClientMessage message, ByteBuffer dst) throws Exception {
-        return message.writeTo(dst);
+        if (message.writeTo(dst)) {
+            message.release();
+            return true;
+        }
+        return false;
     }
 }
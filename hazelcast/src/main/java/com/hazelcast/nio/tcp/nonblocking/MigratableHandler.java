@@ -51,4 +51,20 @@ public interface MigratableHandler extends SelectionHandler {
      * @return total number of events recorded by this handler
      */
     long getEventCount();
+
+    /**
+     * Get number of bytes read or written by the current handler. Together with
+     * {@link #getProcessingTimeNanos()} it gives a better picture of the load a handler puts on its
+     * {@link NonBlockingIOThread} than the event count, since a single event can transfer any number of bytes.
+     *
+     * @return total number of bytes processed by this handler
+     */
+    long getBytesProcessed();
+
+    /**
+     * Get the total time spent by the owning {@link NonBlockingIOThread} in {@link #handle()} of this handler.
+     *
+     * @return total processing time in nanoseconds
+     */
+    long getProcessingTimeNanos();
 }
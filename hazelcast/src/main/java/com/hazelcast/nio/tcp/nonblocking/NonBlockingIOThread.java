@@ -16,6 +16,8 @@
 
 package com.hazelcast.nio.tcp.nonblocking;
 
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBufferPool;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeLevel;
@@ -74,6 +76,8 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
 
     private final ILogger logger;
 
+    private final ClientMessageBufferPool clientMessageBufferPool = ClientMessage.newBufferPool();
+
     private Selector selector;
 
     private final NonBlockingIOThreadOutOfMemoryHandler oomeHandler;
@@ -135,6 +139,15 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
         return selector;
     }
 
+    /**
+     * Gets the pool of the buffers of the client messages written by this thread.
+     *
+     * @return the buffer pool or {@code null} if client message buffers are not pooled
+     */
+    public final ClientMessageBufferPool getClientMessageBufferPool() {
+        return clientMessageBufferPool;
+    }
+
     /**
      * Returns the total number of selection-key events that have been processed by this thread.
      *
@@ -161,6 +161,10 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
             outputThreads[i] = thread;
             metricsRegistry.scanAndRegister(thread, "tcp.outputThread[" + thread.getName() + "]");
+            if (thread.getClientMessageBufferPool() != null) {
+                metricsRegistry.scanAndRegister(thread.getClientMessageBufferPool(),
+                        "tcp.outputThread[" + thread.getName() + "].clientMessageBufferPool");
+            }
             thread.start();
         }
         startIOBalancer();
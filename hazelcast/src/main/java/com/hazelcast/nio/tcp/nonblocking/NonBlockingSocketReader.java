@@ -42,6 +42,7 @@ import static com.hazelcast.nio.Protocols.CLIENT_BINARY_NEW;
 import static com.hazelcast.nio.Protocols.CLUSTER;
 import static com.hazelcast.util.StringUtil.bytesToString;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 
 /**
  * A {@link SocketReader} tailored for non blocking IO.
@@ -56,6 +57,8 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
     private final SwCounter eventCount = newSwCounter();
     @Probe(name = "bytesRead")
     private final SwCounter bytesRead = newSwCounter();
+    @Probe(name = "processingTimeNanos")
+    private final SwCounter processingTimeNanos = newSwCounter();
     @Probe(name = "normalFramesRead")
     private final SwCounter normalFramesRead = newSwCounter();
     @Probe(name = "priorityFramesRead")
@@ -101,6 +104,16 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
         return eventCount.get();
     }
 
+    @Override
+    public long getBytesProcessed() {
+        return bytesRead.get();
+    }
+
+    @Override
+    public long getProcessingTimeNanos() {
+        return processingTimeNanos.get();
+    }
+
     @Override
     public void init() {
         ioThread.addTaskAndWakeup(new Runnable() {
@@ -137,6 +150,15 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
         // the connection is going to be closed anyway.
         lastReadTime = currentTimeMillis();
 
+        long startNanos = nanoTime();
+        try {
+            handleRead();
+        } finally {
+            processingTimeNanos.inc(nanoTime() - startNanos);
+        }
+    }
+
+    private void handleRead() throws Exception {
         if (readHandler == null) {
             initReadHandler();
             if (readHandler == null) {
@@ -48,6 +48,7 @@ import static com.hazelcast.util.EmptyStatement.ignore;
 import static com.hazelcast.util.StringUtil.stringToBytes;
 import static java.lang.Math.max;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 
 /**
  * The writing side of the {@link TcpIpConnection}.
@@ -68,6 +69,8 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
     private ByteBuffer outputBuffer;
     @Probe(name = "bytesWritten")
     private final SwCounter bytesWritten = newSwCounter();
+    @Probe(name = "processingTimeNanos")
+    private final SwCounter processingTimeNanos = newSwCounter();
     @Probe(name = "normalFramesWritten")
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = "priorityFramesWritten")
@@ -306,11 +309,30 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
     }
 
     @Override
-    @SuppressWarnings("unchecked")
+    public long getBytesProcessed() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public long getProcessingTimeNanos() {
+        return processingTimeNanos.get();
+    }
+
+    @Override
     public void handle() throws Exception {
         eventCount.inc();
         lastWriteTime = currentTimeMillis();
 
+        long startNanos = nanoTime();
+        try {
+            handleWrite();
+        } finally {
+            processingTimeNanos.inc(nanoTime() - startNanos);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleWrite() throws Exception {
         if (writeHandler == null) {
             logger.log(Level.WARNING, "SocketWriter is not set, creating SocketWriter with CLUSTER protocol!");
             createWriterHandler(CLUSTER);
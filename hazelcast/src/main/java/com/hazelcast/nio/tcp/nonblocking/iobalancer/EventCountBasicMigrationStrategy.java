@@ -57,8 +57,8 @@ class EventCountBasicMigrationStrategy implements MigrationStrategy {
      */
     @Override
     public boolean imbalanceDetected(LoadImbalance imbalance) {
-        long min = imbalance.minimumEvents;
-        long max = imbalance.maximumEvents;
+        long min = imbalance.minimumLoad;
+        long max = imbalance.maximumLoad;
 
         if (min == Long.MIN_VALUE || max == Long.MAX_VALUE) {
             return false;
@@ -76,12 +76,12 @@ class EventCountBasicMigrationStrategy implements MigrationStrategy {
     @Override
     public MigratableHandler findHandlerToMigrate(LoadImbalance imbalance) {
         Set<? extends MigratableHandler> candidates = imbalance.getHandlersOwnerBy(imbalance.sourceSelector);
-        long migrationThreshold = (long) ((imbalance.maximumEvents - imbalance.minimumEvents)
+        long migrationThreshold = (long) ((imbalance.maximumLoad - imbalance.minimumLoad)
                 * MAXIMUM_NO_OF_EVENTS_AFTER_MIGRATION_COEFFICIENT);
         MigratableHandler candidate = null;
         long eventCountInSelectedHandler = 0;
         for (MigratableHandler handler : candidates) {
-            long eventCount = imbalance.getEventCount(handler);
+            long eventCount = imbalance.getLoad(handler);
             if (eventCount > eventCountInSelectedHandler) {
                 if (eventCount < migrationThreshold) {
                     eventCountInSelectedHandler = eventCount;
@@ -44,9 +44,11 @@ import static com.hazelcast.spi.properties.GroupProperty.IO_THREAD_COUNT;
  * them by moving {@link NonBlockingSocketReader} and {@link NonBlockingSocketWriter} between
  * threads.
  *
- * It measures number of events serviced by each handler in a given interval and if imbalance is detected then it
- * schedules handler migration to fix the situation. The exact migration strategy can be customized via
- * {@link com.hazelcast.nio.tcp.nonblocking.iobalancer.MigrationStrategy}.
+ * It measures the load of each handler in a given interval and if imbalance is detected then it
+ * schedules handler migration to fix the situation. By default the load is the number of events serviced by a
+ * handler; the system property {@value LoadMeasure#PROP_LOAD_MEASURE} can be set to {@code bytes} or
+ * {@code processingTime} to measure the bytes transferred or the time spent processing instead. The exact migration
+ * strategy can be customized via {@link com.hazelcast.nio.tcp.nonblocking.iobalancer.MigrationStrategy}.
  *
  * Measuring interval can be customized via {@link GroupProperty#IO_BALANCER_INTERVAL_SECONDS}
  *
@@ -60,6 +62,7 @@ public class IOBalancer {
     private final ILogger logger;
 
     private final int balancerIntervalSeconds;
+    private final LoadMeasure loadMeasure;
     private final MigrationStrategy strategy;
 
     private final LoadTracker inLoadTracker;
@@ -84,11 +87,12 @@ public class IOBalancer {
         this.logger = loggingService.getLogger(IOBalancer.class);
         this.balancerIntervalSeconds = balancerIntervalSeconds;
 
+        this.loadMeasure = LoadMeasure.getConfiguredValue(logger);
         this.strategy = createMigrationStrategy();
         this.threadGroup = threadGroup;
 
-        this.inLoadTracker = new LoadTracker(inputThreads, logger);
-        this.outLoadTracker = new LoadTracker(outputThreads, logger);
+        this.inLoadTracker = new LoadTracker(inputThreads, logger, loadMeasure);
+        this.outLoadTracker = new LoadTracker(outputThreads, logger, loadMeasure);
 
         this.enabled = isEnabled(inputThreads, outputThreads);
     }
@@ -145,9 +149,10 @@ public class IOBalancer {
             tryMigrate(loadImbalance);
         } else {
             if (logger.isFinestEnabled()) {
-                long min = loadImbalance.minimumEvents;
-                long max = loadImbalance.maximumEvents;
-                logger.finest("No imbalance has been detected. Max. events: " + max + " Min events: " + min + ".");
+                long min = loadImbalance.minimumLoad;
+                long max = loadImbalance.maximumLoad;
+                logger.finest("No imbalance has been detected. Max. " + loadMeasure + ": " + max
+                        + " Min " + loadMeasure + ": " + min + ".");
             }
         }
     }
@@ -157,9 +162,12 @@ public class IOBalancer {
             logger.warning("Using Monkey IO Balancer Strategy. This is for stress tests only. Do not user in production! "
                     + "Disable by not setting the property '" + PROP_MONKEY_BALANCER + "' to true.");
             return new MonkeyMigrationStrategy();
-        } else {
+        } else if (loadMeasure == LoadMeasure.EVENTS) {
             logger.finest("Using normal IO Balancer Strategy.");
             return new EventCountBasicMigrationStrategy();
+        } else {
+            logger.finest("Using load based IO Balancer Strategy measuring " + loadMeasure + ".");
+            return new LoadBasedMigrationStrategy();
         }
     }
 
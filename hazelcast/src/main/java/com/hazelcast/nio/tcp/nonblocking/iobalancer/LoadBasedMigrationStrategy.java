@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking.iobalancer;
+
+import com.hazelcast.nio.tcp.nonblocking.MigratableHandler;
+
+import java.util.Set;
+
+/**
+ * {@link MigrationStrategy} which picks the {@link MigratableHandler handler} whose migration minimizes the load of
+ * the busiest NonBlockingIOThread.
+ *
+ * It is meant to be used together with the {@link LoadMeasure#BYTES} or {@link LoadMeasure#PROCESSING_TIME} measures.
+ * Unlike the {@link EventCountBasicMigrationStrategy} it doesn't need the migrated handler to stay below a fixed
+ * fraction of the imbalance: moving a handler with load {@code h} from the busiest thread (load {@code max}) to the
+ * least busy thread (load {@code min}) results in a new maximum of {@code max(max - h, min + h)}, and the handler
+ * for which this value is the lowest is selected. No handler is selected if no migration lowers the maximum, e.g.
+ * when a single handler is responsible for most of the load.
+ */
+class LoadBasedMigrationStrategy implements MigrationStrategy {
+
+    /**
+     * Try to schedule a migration if the least busy NonBlockingIOThread has less load than
+     * (MIN_MAX_RATIO_MIGRATION_THRESHOLD * load of the busiest NonBlockingIOThread)
+     */
+    private static final double MIN_MAX_RATIO_MIGRATION_THRESHOLD = 0.8;
+
+    @Override
+    public boolean imbalanceDetected(LoadImbalance imbalance) {
+        long min = imbalance.minimumLoad;
+        long max = imbalance.maximumLoad;
+
+        if (min == Long.MIN_VALUE || max == Long.MAX_VALUE) {
+            return false;
+        }
+        long lowerBound = (long) (MIN_MAX_RATIO_MIGRATION_THRESHOLD * max);
+        return min < lowerBound;
+    }
+
+    @Override
+    public MigratableHandler findHandlerToMigrate(LoadImbalance imbalance) {
+        Set<? extends MigratableHandler> candidates = imbalance.getHandlersOwnerBy(imbalance.sourceSelector);
+        long sourceLoad = imbalance.maximumLoad;
+        long destinationLoad = imbalance.minimumLoad;
+
+        MigratableHandler candidate = null;
+        long lowestMaximumLoad = sourceLoad;
+        for (MigratableHandler handler : candidates) {
+            long handlerLoad = imbalance.getLoad(handler);
+            if (handlerLoad <= 0) {
+                continue;
+            }
+            long maximumLoadAfterMigration = Math.max(sourceLoad - handlerLoad, destinationLoad + handlerLoad);
+            if (maximumLoadAfterMigration < lowestMaximumLoad) {
+                lowestMaximumLoad = maximumLoadAfterMigration;
+                candidate = handler;
+            }
+        }
+        return candidate;
+    }
+}
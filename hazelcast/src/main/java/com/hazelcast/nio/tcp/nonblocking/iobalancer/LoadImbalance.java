@@ -31,22 +31,22 @@ import java.util.Set;
  * {@link SelectionHandler} should be migrated.
  */
 class LoadImbalance {
-    //number of events recorded by the busiest NonBlockingIOThread
-    long maximumEvents;
-    //number of events recorded by the least busy NonBlockingIOThread
-    long minimumEvents;
+    //load recorded by the busiest NonBlockingIOThread
+    long maximumLoad;
+    //load recorded by the least busy NonBlockingIOThread
+    long minimumLoad;
     //busiest NonBlockingIOThread
     NonBlockingIOThread sourceSelector;
     //least busy NonBlockingIOThread
     NonBlockingIOThread destinationSelector;
 
     private final Map<NonBlockingIOThread, Set<MigratableHandler>> selectorToHandlers;
-    private final ItemCounter<MigratableHandler> handlerEventsCounter;
+    private final ItemCounter<MigratableHandler> handlerLoadCounter;
 
     LoadImbalance(Map<NonBlockingIOThread, Set<MigratableHandler>> selectorToHandlers,
-                  ItemCounter<MigratableHandler> handlerEventsCounter) {
+                  ItemCounter<MigratableHandler> handlerLoadCounter) {
         this.selectorToHandlers = selectorToHandlers;
-        this.handlerEventsCounter = handlerEventsCounter;
+        this.handlerLoadCounter = handlerLoadCounter;
     }
 
     /**
@@ -59,9 +59,9 @@ class LoadImbalance {
 
     /**
      * @param handler
-     * @return number of events recorded by the handler
+     * @return load recorded by the handler, expressed in units of the {@link LoadMeasure} used by the tracker
      */
-    long getEventCount(MigratableHandler handler) {
-        return handlerEventsCounter.get(handler);
+    long getLoad(MigratableHandler handler) {
+        return handlerLoadCounter.get(handler);
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking.iobalancer;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.tcp.nonblocking.MigratableHandler;
+import com.hazelcast.util.StringUtil;
+
+/**
+ * Controls how the load of a {@link MigratableHandler} is measured by the {@link LoadTracker}.
+ *
+ * The event count is cheap and stable, but a connection transferring a lot of data in a few large events looks
+ * light. The {@link #BYTES} and {@link #PROCESSING_TIME} measures don't have this problem; the latter is the closest
+ * approximation of the CPU time a handler costs its NonBlockingIOThread.
+ */
+enum LoadMeasure {
+
+    EVENTS {
+        @Override
+        long get(MigratableHandler handler) {
+            return handler.getEventCount();
+        }
+    },
+
+    BYTES {
+        @Override
+        long get(MigratableHandler handler) {
+            return handler.getBytesProcessed();
+        }
+    },
+
+    PROCESSING_TIME {
+        @Override
+        long get(MigratableHandler handler) {
+            return handler.getProcessingTimeNanos();
+        }
+    };
+
+    static final String PROP_LOAD_MEASURE = "hazelcast.io.balancer.load.measure";
+
+    /**
+     * Returns the total load recorded by the handler since it was created.
+     *
+     * @param handler the handler to measure
+     * @return the total load recorded by the handler
+     */
+    abstract long get(MigratableHandler handler);
+
+    static LoadMeasure getConfiguredValue(ILogger logger) {
+        return fromString(System.getProperty(PROP_LOAD_MEASURE), logger);
+    }
+
+    static LoadMeasure fromString(String value, ILogger logger) {
+        String valueToCheck = StringUtil.isNullOrEmptyAfterTrim(value) ? null : value.trim().toLowerCase();
+        if (valueToCheck == null || valueToCheck.equals("events")) {
+            return EVENTS;
+        } else if (valueToCheck.equals("bytes")) {
+            return BYTES;
+        } else if (valueToCheck.equals("processingtime")) {
+            return PROCESSING_TIME;
+        } else {
+            logger.warning("Unknown value '" + value + "' of the '" + PROP_LOAD_MEASURE + "' property, expected one of "
+                    + "'events', 'bytes' or 'processingtime'. The I/O Balancer measures the load in events.");
+            return EVENTS;
+        }
+    }
+}
@@ -47,6 +47,14 @@ public class EqualPredicate extends AbstractIndexAwarePredicate implements Negat
         this.value = value;
     }
 
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    public Comparable getValue() {
+        return value;
+    }
+
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = getIndex(queryContext);
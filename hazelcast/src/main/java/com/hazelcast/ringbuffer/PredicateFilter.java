@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer;
+
+import com.hazelcast.core.IFunction;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.Predicate;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferDataSerializerHook.F_ID;
+import static com.hazelcast.ringbuffer.impl.RingbufferDataSerializerHook.PREDICATE_FILTER;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A filter for {@link Ringbuffer#readManyAsync(long, int, int, IFunction)} that selects items using a
+ * {@link Predicate}.
+ *
+ * Unlike an arbitrary filter function, which requires every item to be deserialized before it can be tested, the
+ * predicate is evaluated on the member against the item as it is stored in the ringbuffer. For items stored in
+ * {@link com.hazelcast.config.InMemoryFormat#BINARY} format that are {@link com.hazelcast.nio.serialization.Portable},
+ * the attributes are read directly from the serialized form, so items that don't match are never deserialized.
+ *
+ * The item is the value of the evaluated entry, so attributes are referred to by name, e.g.
+ * {@code new PredicateFilter<Order>(Predicates.equal("state", "NEW"))}. Ringbuffer items have no key.
+ *
+ * @param <E> the type of the items in the ringbuffer
+ * @since 3.8
+ */
+public class PredicateFilter<E> implements IFunction<E, Boolean>, IdentifiedDataSerializable {
+
+    private Predicate predicate;
+
+    public PredicateFilter() {
+    }
+
+    public PredicateFilter(Predicate predicate) {
+        this.predicate = checkNotNull(predicate, "predicate can't be null");
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Evaluates the predicate against an already deserialized item, passed as the value of a plain {@link java.util.Map.Entry}
+     * without a key.
+     *
+     * When used as a ringbuffer filter, the predicate is evaluated on the stored item instead, so this method is
+     * only called when the filter is used directly. The built-in attribute predicates of
+     * {@link com.hazelcast.query.Predicates} can only be evaluated by the ringbuffer.
+     */
+    @Override
+    public Boolean apply(E item) {
+        return predicate.apply(new AbstractMap.SimpleImmutableEntry<Object, E>(null, item));
+    }
+
+    @Override
+    public int getFactoryId() {
+        return F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return PREDICATE_FILTER;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(predicate);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        predicate = in.readObject();
+    }
+
+    @Override
+    public String toString() {
+        return "PredicateFilter{predicate=" + predicate + '}';
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
+
+/**
+ * A {@link Ringbuffer} that can project the items it reads on the member. The {@link Ringbuffer} proxies of members and
+ * clients implement this interface, so a ringbuffer obtained from a {@link com.hazelcast.core.HazelcastInstance} can be
+ * cast to it.
+ *
+ * @param <E> the type of the items in the ringbuffer
+ * @since 3.8
+ */
+public interface ProjectingRingbuffer<E> extends Ringbuffer<E> {
+
+    /**
+     * Reads a batch of items from the Ringbuffer and returns a projection of every item read, instead of the item itself.
+     *
+     * This behaves exactly like {@link #readManyAsync(long, int, int, IFunction)}, but the projection is applied on the
+     * member to every item that passes the filter, so only the projected values are returned to the caller. This can
+     * reduce the amount of IO considerably if only a part of every item is of interest.
+     *
+     * The filter is applied before the projection. A {@link PredicateFilter} can be used to select items without
+     * deserializing the items that don't match.
+     *
+     * @param startSequence the startSequence of the first item to read.
+     * @param minCount      the minimum number of items to read.
+     * @param maxCount      the maximum number of items to read.
+     * @param filter        the filter. Filter is allowed to be null, indicating there is no filter.
+     * @param projection    the projection applied to every item that passes the filter.
+     * @param <T>           the type of the projected values
+     * @return a future containing the projected values of the items read.
+     * @throws java.lang.NullPointerException     if projection is null
+     * @throws java.lang.IllegalArgumentException for the same reasons as {@link #readManyAsync(long, int, int, IFunction)}
+     */
+    <T> ICompletableFuture<ReadResultSet<T>> readManyAsync(long startSequence, int minCount, int maxCount,
+                                                           IFunction<E, Boolean> filter, IFunction<E, T> projection);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.core.IFunction;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferDataSerializerHook.F_ID;
+import static com.hazelcast.ringbuffer.impl.RingbufferDataSerializerHook.PROJECTION_FILTER;
+
+/**
+ * Carries an optional filter together with a projection to the member executing a
+ * {@link com.hazelcast.ringbuffer.impl.operations.ReadManyOperation}.
+ *
+ * The pair travels in the place of the filter, so the read many operation and the client protocol don't need an
+ * additional parameter. The {@link ReadResultSetImpl} unwraps it, applies the filter and stores the projected value
+ * of every matching item.
+ */
+public class ProjectionFilter implements IFunction<Object, Boolean>, IdentifiedDataSerializable {
+
+    private IFunction<Object, Boolean> filter;
+    private IFunction<Object, Object> projection;
+
+    public ProjectionFilter() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public ProjectionFilter(IFunction<?, Boolean> filter, IFunction<?, ?> projection) {
+        this.filter = (IFunction<Object, Boolean>) filter;
+        this.projection = (IFunction<Object, Object>) projection;
+    }
+
+    public IFunction<Object, Boolean> getFilter() {
+        return filter;
+    }
+
+    public IFunction<Object, Object> getProjection() {
+        return projection;
+    }
+
+    @Override
+    public Boolean apply(Object input) {
+        return filter == null || filter.apply(input);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return PROJECTION_FILTER;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(filter);
+        out.writeObject(projection);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        filter = in.readObject();
+        projection = in.readObject();
+    }
+}
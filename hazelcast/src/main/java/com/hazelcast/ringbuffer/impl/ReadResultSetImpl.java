@@ -20,12 +20,15 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.core.IFunction;
 import com.hazelcast.instance.HazelcastInstanceImpl;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.ringbuffer.PredicateFilter;
 import com.hazelcast.ringbuffer.ReadResultSet;
-import com.hazelcast.spi.serialization.SerializationService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
@@ -51,6 +54,9 @@ public class ReadResultSetImpl<E> extends AbstractList<E>
     private transient int minSize;
     private transient int maxSize;
     private transient IFunction<Object, Boolean> filter;
+    private transient IFunction<Object, Object> projection;
+    private transient Predicate predicate;
+    private transient RingbufferItemEntry predicateEntry;
     private transient HazelcastInstance hz;
 
     private Data[] items;
@@ -60,12 +66,22 @@ public class ReadResultSetImpl<E> extends AbstractList<E>
     public ReadResultSetImpl() {
     }
 
-    public ReadResultSetImpl(int minSize, int maxSize, HazelcastInstance hz, IFunction<Object, Boolean> filter) {
+    @SuppressWarnings("unchecked")
+    public ReadResultSetImpl(int minSize, int maxSize, HazelcastInstance hz, IFunction<?, Boolean> filter) {
         this.minSize = minSize;
         this.maxSize = maxSize;
         this.items = new Data[maxSize];
         this.hz = hz;
-        this.filter = filter;
+        if (filter instanceof ProjectionFilter) {
+            ProjectionFilter projectionFilter = (ProjectionFilter) filter;
+            this.filter = projectionFilter.getFilter();
+            this.projection = projectionFilter.getProjection();
+        } else {
+            this.filter = (IFunction<Object, Boolean>) filter;
+        }
+        if (this.filter instanceof PredicateFilter) {
+            this.predicate = ((PredicateFilter) this.filter).getPredicate();
+        }
     }
 
     public boolean isMaxSizeReached() {
@@ -96,37 +112,60 @@ public class ReadResultSetImpl<E> extends AbstractList<E>
         checkNotNegative(index, "index should not be negative");
         checkTrue(index < size, "index should not be equal or larger than size");
 
-        SerializationService serializationService = getSerializationService();
+        InternalSerializationService serializationService = getSerializationService();
 
         Data item = items[index];
         return serializationService.toObject(item);
     }
 
-    private SerializationService getSerializationService() {
+    private InternalSerializationService getSerializationService() {
         HazelcastInstanceImpl impl = (HazelcastInstanceImpl) hz;
         return impl.getSerializationService();
     }
 
+    /**
+     * Adds an item read from the ringbuffer. The item is counted as read, but it only takes a place in the result if it
+     * passes the filter, so the result is filled with matching items until the max size is reached.
+     *
+     * @param item the item in the format it is stored in the ringbuffer (Data or object)
+     */
     public void addItem(Object item) {
         assert size < maxSize;
 
         readCount++;
 
-        if (!acceptable(item)) {
-            return;
+        Object object = item;
+        if (predicate != null) {
+            RingbufferItemEntry entry = getPredicateEntry();
+            entry.init(item);
+            if (!predicate.apply(entry)) {
+                return;
+            }
+            // reuse the item if the predicate had to deserialize it
+            Object deserialized = entry.getDeserializedValue();
+            if (deserialized != null) {
+                object = deserialized;
+            }
+        } else if (filter != null) {
+            object = getSerializationService().toObject(item);
+            if (!filter.apply(object)) {
+                return;
+            }
         }
 
-        items[size] = getSerializationService().toData(item);
+        if (projection != null) {
+            object = projection.apply(getSerializationService().toObject(object));
+        }
+
+        items[size] = getSerializationService().toData(object);
         size++;
     }
 
-    private boolean acceptable(Object item) {
-        if (filter == null) {
-            return true;
+    private RingbufferItemEntry getPredicateEntry() {
+        if (predicateEntry == null) {
+            predicateEntry = new RingbufferItemEntry(getSerializationService(), Extractors.empty());
         }
-
-        Object object = getSerializationService().toObject(item);
-        return filter.apply(object);
+        return predicateEntry;
     }
 
     @Override
@@ -27,6 +27,7 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.serialization.SerializationService;
 
 import java.io.IOException;
+import java.util.List;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
@@ -49,6 +50,10 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * each other.
  * The reason why 2 array are created instead of just wrapping the item in a new object containing the expiration is that
  * we don't want to generate more waste than needed.
+ * <p/>
+ * If persistence is enabled, every item is also appended to a {@link RingbufferSegmentStore}. The ring then only caches
+ * the most recent items and older items are read from the store. The headSequence is no longer pushed forward by the
+ * capacity, but by the retention of the store; the time to live isn't used.
  */
 public class RingbufferContainer implements DataSerializable {
 
@@ -70,6 +75,10 @@ public class RingbufferContainer implements DataSerializable {
     // a cached version of the wait notify key needed to wait for a change if the ringbuffer is empty
     private final RingbufferWaitNotifyKey emptyRingWaitNotifyKey;
     private SerializationService serializationService;
+    // only set if persistence is enabled
+    private RingbufferSegmentStore store;
+    // the segments of the store of the replicated ringbuffer, until they are restored into the store of this member
+    private List<RingbufferSegmentStore.ReplicatedSegment> replicatedSegments;
 
     public RingbufferContainer(String name) {
         this.name = name;
@@ -107,6 +116,74 @@ public class RingbufferContainer implements DataSerializable {
         return config;
     }
 
+    /**
+     * Attaches the store of a persistent ringbuffer and recovers the items already in it: the head and tail follow the
+     * store and the most recent items are loaded into the ring.
+     */
+    void recoverFrom(RingbufferSegmentStore store) {
+        this.store = store;
+        this.ttlMs = TTL_DISABLED;
+        this.ringExpirationMs = null;
+        if (store.isEmpty()) {
+            return;
+        }
+
+        headSequence = store.headSequence();
+        tailSequence = store.tailSequence();
+        for (long seq = ringHeadSequence(); seq <= tailSequence; seq++) {
+            Data item = store.read(seq);
+            ringItems[toIndex(seq)] = inMemoryFormat == OBJECT ? serializationService.toObject(item) : item;
+        }
+    }
+
+    /**
+     * Attaches the store of a persistent ringbuffer which content was replicated from another member. The previous
+     * content of the store is replaced by the segments of the other member, so the head follows the replicated history.
+     * If the other member didn't persist the ringbuffer, the store is filled with the replicated ring.
+     */
+    void persistTo(RingbufferSegmentStore store) {
+        this.store = store;
+        this.ttlMs = TTL_DISABLED;
+        this.ringExpirationMs = null;
+        if (replicatedSegments != null) {
+            store.restore(replicatedSegments);
+            replicatedSegments = null;
+            if (!store.isEmpty()) {
+                headSequence = store.headSequence();
+            }
+            return;
+        }
+        store.clear();
+
+        long now = currentTimeMillis();
+        for (long seq = headSequence; seq <= tailSequence; seq++) {
+            store.append(seq, serializationService.toData(ringItems[toIndex(seq)]), now);
+        }
+    }
+
+    // just for testing
+    RingbufferSegmentStore getStore() {
+        return store;
+    }
+
+    /**
+     * Releases the store of a persistent ringbuffer, keeping its files.
+     */
+    public void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * Deletes the content of the store of a persistent ringbuffer.
+     */
+    public void destroy() {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
     public long tailSequence() {
         return tailSequence;
     }
@@ -154,6 +231,14 @@ public class RingbufferContainer implements DataSerializable {
         return (int) (sequence % ringItems.length);
     }
 
+    /**
+     * Returns the sequence of the oldest item in the ring. It only differs from the headSequence if persistence is
+     * enabled, since then older items are read from the store.
+     */
+    long ringHeadSequence() {
+        return Math.max(headSequence, tailSequence - ringItems.length + 1);
+    }
+
     void checkReadSequence(long sequence) {
         if (sequence > tailSequence) {
             throw new IllegalArgumentException("sequence:" + sequence
@@ -187,7 +272,11 @@ public class RingbufferContainer implements DataSerializable {
     private long addInternal(Data dataItem) {
         tailSequence++;
 
-        if (tailSequence - capacity == headSequence) {
+        if (store != null) {
+            store.append(tailSequence, dataItem, currentTimeMillis());
+            // appending may have deleted the oldest segment because the store grew too large
+            headSequence = store.headSequence();
+        } else if (tailSequence - capacity == headSequence) {
             headSequence++;
         }
 
@@ -220,6 +309,10 @@ public class RingbufferContainer implements DataSerializable {
     public Data read(long sequence) {
         checkReadSequence(sequence);
 
+        if (sequence < ringHeadSequence()) {
+            return store.read(sequence);
+        }
+
         int index = toIndex(sequence);
         Object item = ringItems[index];
         return serializationService.toData(item);
@@ -234,6 +327,15 @@ public class RingbufferContainer implements DataSerializable {
         checkReadSequence(beginSequence);
 
         long seq = beginSequence;
+        long ringHeadSequence = ringHeadSequence();
+        if (seq < ringHeadSequence) {
+            // the items which are no longer in the ring are copied straight from the store
+            seq = store.readMany(seq, ringHeadSequence, result);
+            if (result.isMaxSizeReached()) {
+                return seq;
+            }
+        }
+
         while (seq <= tailSequence) {
             int index = toIndex(seq);
             Object item = ringItems[index];
@@ -255,6 +357,13 @@ public class RingbufferContainer implements DataSerializable {
      * Cleans up the ringbuffer by deleting all expired items.
      */
     public void cleanup() {
+        if (store != null) {
+            if (store.applyRetention(currentTimeMillis())) {
+                headSequence = store.headSequence();
+            }
+            return;
+        }
+
         if (!isTTLEnabled() || headSequence > tailSequence) {
             return;
         }
@@ -281,8 +390,10 @@ public class RingbufferContainer implements DataSerializable {
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
+        // the ring is written first; the store of a persistent ringbuffer follows it
+        long ringHeadSequence = ringHeadSequence();
         out.writeLong(tailSequence);
-        out.writeLong(headSequence);
+        out.writeLong(ringHeadSequence);
         out.writeInt(capacity);
         out.writeLong(ttlMs);
         out.writeInt(inMemoryFormat.ordinal());
@@ -292,7 +403,7 @@ public class RingbufferContainer implements DataSerializable {
         long now = System.currentTimeMillis();
 
         // we only write the actual content of the ringbuffer. So we don't write empty slots.
-        for (long seq = headSequence; seq <= tailSequence; seq++) {
+        for (long seq = ringHeadSequence; seq <= tailSequence; seq++) {
             int index = toIndex(seq);
 
             if (inMemoryFormat == BINARY) {
@@ -311,6 +422,11 @@ public class RingbufferContainer implements DataSerializable {
                 out.writeLong(deltaMs);
             }
         }
+
+        out.writeBoolean(store != null);
+        if (store != null) {
+            store.writeSegments(out, now);
+        }
     }
 
     @Override
@@ -343,6 +459,10 @@ public class RingbufferContainer implements DataSerializable {
                 ringExpirationMs[index] = delta + now;
             }
         }
+
+        if (in.readBoolean()) {
+            replicatedSegments = RingbufferSegmentStore.readSegments(in, now);
+        }
     }
 }
 
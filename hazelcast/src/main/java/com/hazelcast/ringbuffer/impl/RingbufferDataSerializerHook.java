@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.ringbuffer.PredicateFilter;
 import com.hazelcast.ringbuffer.impl.operations.AddAllBackupOperation;
 import com.hazelcast.ringbuffer.impl.operations.AddAllOperation;
 import com.hazelcast.ringbuffer.impl.operations.AddBackupOperation;
@@ -48,6 +49,8 @@ public class RingbufferDataSerializerHook implements DataSerializerHook {
     public static final int ADD_ALL_OPERATION = 7;
     public static final int ADD_ALL_BACKUP_OPERATION = 8;
     public static final int READ_RESULT_SET = 9;
+    public static final int PREDICATE_FILTER = 10;
+    public static final int PROJECTION_FILTER = 11;
 
     @Override
     public int getFactoryId() {
@@ -78,6 +81,10 @@ public class RingbufferDataSerializerHook implements DataSerializerHook {
                         return new AddAllBackupOperation();
                     case READ_RESULT_SET:
                         return new ReadResultSetImpl();
+                    case PREDICATE_FILTER:
+                        return new PredicateFilter();
+                    case PROJECTION_FILTER:
+                        return new ProjectionFilter();
                     default:
                         return null;
                 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+
+/**
+ * A {@link QueryableEntry} over a single ringbuffer item, used to evaluate a
+ * {@link com.hazelcast.ringbuffer.PredicateFilter} on the member.
+ *
+ * The item is passed in the format it is stored in the ringbuffer; if it is Portable {@link Data}, the attributes are
+ * read directly from the serialized form and the item is never deserialized. A ringbuffer item has no key, so the key
+ * related methods return null.
+ *
+ * The same instance is reused for every item of a read, see {@link #init(Object)}. The serialization service is only
+ * touched for items in {@link Data} form, so an entry created without one can evaluate plain objects.
+ */
+public final class RingbufferItemEntry extends QueryableEntry<Object, Object> {
+
+    private Object item;
+    private Object deserialized;
+
+    public RingbufferItemEntry(InternalSerializationService serializationService, Extractors extractors) {
+        this.serializationService = serializationService;
+        this.extractors = extractors;
+    }
+
+    public void init(Object item) {
+        this.item = item;
+        this.deserialized = null;
+    }
+
+    /**
+     * Returns the deserialized item if it already has been deserialized while evaluating the predicate, so it can
+     * be reused instead of deserializing it a second time.
+     */
+    Object getDeserializedValue() {
+        return deserialized;
+    }
+
+    @Override
+    public Object getValue() {
+        if (!(item instanceof Data)) {
+            return item;
+        }
+        if (deserialized == null) {
+            deserialized = serializationService.toObject(item);
+        }
+        return deserialized;
+    }
+
+    @Override
+    public Object getKey() {
+        return null;
+    }
+
+    @Override
+    public Data getKeyData() {
+        return null;
+    }
+
+    @Override
+    public Data getValueData() {
+        return serializationService.toData(item);
+    }
+
+    @Override
+    protected Object getTargetObject(boolean key) {
+        return key ? null : item;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+        throw new UnsupportedOperationException();
+    }
+}
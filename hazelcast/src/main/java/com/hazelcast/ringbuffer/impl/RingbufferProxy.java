@@ -21,6 +21,7 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IFunction;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.ProjectingRingbuffer;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.impl.operations.AddAllOperation;
@@ -54,7 +55,7 @@ import static java.lang.String.format;
  *
  * @param <E> the type of the elements in the ringbuffer.
  */
-public class RingbufferProxy<E> extends AbstractDistributedObject<RingbufferService> implements Ringbuffer<E> {
+public class RingbufferProxy<E> extends AbstractDistributedObject<RingbufferService> implements ProjectingRingbuffer<E> {
 
      /**
      * The maximum number of items that can be retrieved in 1 go using the {@link #readManyAsync(long, int, int, IFunction)}
@@ -189,6 +190,20 @@ public class RingbufferProxy<E> extends AbstractDistributedObject<RingbufferServ
     @Override
     public ICompletableFuture<ReadResultSet<E>> readManyAsync(long startSequence, int minCount, int maxCount,
                                                               IFunction<E, Boolean> filter) {
+        return invokeReadMany(startSequence, minCount, maxCount, filter);
+    }
+
+    @Override
+    public <T> ICompletableFuture<ReadResultSet<T>> readManyAsync(long startSequence, int minCount, int maxCount,
+                                                                  IFunction<E, Boolean> filter,
+                                                                  IFunction<E, T> projection) {
+        checkNotNull(projection, "projection can't be null");
+
+        return invokeReadMany(startSequence, minCount, maxCount, new ProjectionFilter(filter, projection));
+    }
+
+    private <T> ICompletableFuture<ReadResultSet<T>> invokeReadMany(long startSequence, int minCount, int maxCount,
+                                                                    IFunction<?, Boolean> filter) {
         checkSequence(startSequence);
         checkNotNegative(minCount, "minCount can't be smaller than 0");
         checkTrue(maxCount >= minCount, "maxCount should be equal or larger than minCount");
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.unmap;
+
+/**
+ * A memory-mapped, append-only file containing a consecutive range of ringbuffer items.
+ * <p/>
+ * The file starts with a header containing a magic number and the sequence of the first item. The items follow as
+ * records of a length and the serialized bytes of the item. A length of 0 marks the end of the written records, so a
+ * segment can be reopened by scanning its records.
+ * <p/>
+ * To find the record of a sequence without keeping an offset per item in heap, only the offset of every
+ * {@link #INDEX_STRIDE}th record is kept and the records in between are skipped.
+ */
+final class RingbufferSegment {
+
+    static final int HEADER_SIZE = INT_SIZE_IN_BYTES + LONG_SIZE_IN_BYTES;
+    static final int RECORD_OVERHEAD = INT_SIZE_IN_BYTES;
+    static final int INDEX_STRIDE = 64;
+
+    private static final int MAGIC = 0x52425347;
+    private static final int INITIAL_INDEX_CAPACITY = 16;
+
+    private final File file;
+    private final long firstSequence;
+    private MappedByteBuffer buffer;
+    private int[] index = new int[INITIAL_INDEX_CAPACITY];
+    private int count;
+    private int writeOffset = HEADER_SIZE;
+    private long lastAppendMs;
+
+    private RingbufferSegment(File file, long firstSequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+    }
+
+    static RingbufferSegment create(File file, long firstSequence, int size) throws IOException {
+        MappedByteBuffer buffer = map(file, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(INT_SIZE_IN_BYTES, firstSequence);
+        buffer.putInt(HEADER_SIZE, 0);
+        return new RingbufferSegment(file, firstSequence, buffer);
+    }
+
+    static RingbufferSegment open(File file) throws IOException {
+        MappedByteBuffer buffer = map(file, (int) file.length());
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a ringbuffer segment: " + file);
+        }
+        RingbufferSegment segment = new RingbufferSegment(file, buffer.getLong(INT_SIZE_IN_BYTES), buffer);
+        segment.scan();
+        segment.lastAppendMs = file.lastModified();
+        return segment;
+    }
+
+    /**
+     * Creates a segment containing the records written by {@link #writeRecords(ObjectDataOutput)} of a segment of another
+     * member.
+     */
+    static RingbufferSegment restore(File file, long firstSequence, int size, byte[] records, long lastAppendMs)
+            throws IOException {
+        RingbufferSegment segment = create(file, firstSequence, Math.max(size, HEADER_SIZE + records.length));
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.position(HEADER_SIZE);
+        buffer.put(records);
+        int end = HEADER_SIZE + records.length;
+        if (end + RECORD_OVERHEAD <= buffer.capacity()) {
+            buffer.putInt(end, 0);
+        }
+        segment.scan();
+        segment.force();
+        // the modification time is the append time of a reopened segment
+        if (!file.setLastModified(lastAppendMs)) {
+            throw new IOException("Could not set the modification time of " + file);
+        }
+        segment.lastAppendMs = lastAppendMs;
+        return segment;
+    }
+
+    private static MappedByteBuffer map(File file, int size) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            // the mapping remains valid after the channel is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } finally {
+            closeResource(raf);
+        }
+    }
+
+    private void scan() {
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_OVERHEAD <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_OVERHEAD + length > buffer.capacity()) {
+                break;
+            }
+            addToIndex(offset);
+            count++;
+            offset += RECORD_OVERHEAD + length;
+        }
+        writeOffset = offset;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long lastSequence() {
+        return firstSequence + count - 1;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    boolean contains(long sequence) {
+        return sequence >= firstSequence && sequence < firstSequence + count;
+    }
+
+    boolean hasRoom(int length) {
+        return writeOffset + RECORD_OVERHEAD + length <= buffer.capacity();
+    }
+
+    long lastAppendMs() {
+        return lastAppendMs;
+    }
+
+    int size() {
+        return buffer.capacity();
+    }
+
+    void append(byte[] bytes, long nowMs) {
+        addToIndex(writeOffset);
+        buffer.position(writeOffset + RECORD_OVERHEAD);
+        buffer.put(bytes);
+        int end = writeOffset + RECORD_OVERHEAD + bytes.length;
+        if (end + RECORD_OVERHEAD <= buffer.capacity()) {
+            buffer.putInt(end, 0);
+        }
+        // the length is written last, so a partially written record is not seen as a record when the segment is reopened
+        buffer.putInt(writeOffset, bytes.length);
+        writeOffset = end;
+        count++;
+        lastAppendMs = nowMs;
+    }
+
+    private void addToIndex(int offset) {
+        if (count % INDEX_STRIDE != 0) {
+            return;
+        }
+        int slot = count / INDEX_STRIDE;
+        if (slot == index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[slot] = offset;
+    }
+
+    /**
+     * Returns the offset of the record of the given sequence, which must be in this segment.
+     */
+    int offsetOf(long sequence) {
+        int position = (int) (sequence - firstSequence);
+        int offset = index[position / INDEX_STRIDE];
+        for (int k = position % INDEX_STRIDE; k > 0; k--) {
+            offset = nextOffset(offset);
+        }
+        return offset;
+    }
+
+    int nextOffset(int offset) {
+        return offset + RECORD_OVERHEAD + buffer.getInt(offset);
+    }
+
+    /**
+     * Copies the item of the record at the given offset out of the mapped file.
+     */
+    Data readAt(int offset) {
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.position(offset + RECORD_OVERHEAD);
+        buffer.get(bytes);
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Writes the written records of this segment, so it can be recreated on another member by
+     * {@link #restore(File, long, int, byte[], long)}.
+     */
+    void writeRecords(ObjectDataOutput out) throws IOException {
+        byte[] records = new byte[writeOffset - HEADER_SIZE];
+        buffer.position(HEADER_SIZE);
+        buffer.get(records);
+        out.writeByteArray(records);
+    }
+
+    /**
+     * Writes the changes of this segment to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Unmaps the file. The segment can't be accessed afterwards.
+     */
+    void close() {
+        if (buffer != null) {
+            unmap(buffer);
+            buffer = null;
+        }
+    }
+
+    void delete() {
+        close();
+        IOUtil.delete(file);
+    }
+
+    @Override
+    public String toString() {
+        return "RingbufferSegment{file=" + file + ", firstSequence=" + firstSequence + ", count=" + count + '}';
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.RingbufferPersistenceConfig;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Stores the items of a persistent ringbuffer in {@link RingbufferSegment}s in a directory.
+ * <p/>
+ * Items are appended to the last segment; when it is full a new segment is created. The retention deletes whole segments,
+ * oldest first, and never the segment being written. Segments are named after the sequence of their first item, so when
+ * the store is opened again the existing segments are reopened in order.
+ * <p/>
+ * When the ringbuffer is replicated to another member, e.g. by a migration, its segments are shipped along, see
+ * {@link #writeSegments(ObjectDataOutput, long)} and {@link #restore(List)}, so the history isn't lost.
+ * <p/>
+ * Like the {@link RingbufferContainer}, the store is only accessed by the partition thread and is not thread-safe.
+ */
+class RingbufferSegmentStore {
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final long RETENTION_CHECK_INTERVAL_MS = 1000;
+
+    private final File dir;
+    private final int segmentSize;
+    private final long retentionMs;
+    private final long maxSizeBytes;
+    private final List<RingbufferSegment> segments = new ArrayList<RingbufferSegment>();
+    private long sizeBytes;
+    private long nextRetentionCheckMs;
+
+    RingbufferSegmentStore(File dir, RingbufferPersistenceConfig config) {
+        this.dir = dir;
+        this.segmentSize = config.getSegmentSize();
+        this.retentionMs = SECONDS.toMillis(config.getRetentionSeconds());
+        this.maxSizeBytes = MEGABYTES.toBytes(config.getMaxSizeMb());
+    }
+
+    /**
+     * Opens the store, reopening the segments already in its directory.
+     */
+    void open() {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new HazelcastException("Could not create ringbuffer store directory " + dir);
+        }
+        File[] files = dir.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+        if (files == null) {
+            throw new HazelcastException("Could not list ringbuffer store directory " + dir);
+        }
+        // the names are zero padded sequences, so they sort in sequence order
+        Arrays.sort(files);
+        try {
+            for (File file : files) {
+                RingbufferSegment segment = RingbufferSegment.open(file);
+                if (segment.isEmpty()) {
+                    segment.delete();
+                    continue;
+                }
+                if (!segments.isEmpty() && segment.firstSequence() != tailSequence() + 1) {
+                    // the history before a gap can't be read as a consecutive range of sequences
+                    deleteSegments();
+                }
+                segments.add(segment);
+                sizeBytes += segment.size();
+            }
+        } catch (IOException e) {
+            throw new HazelcastException("Could not open ringbuffer store " + dir, e);
+        }
+    }
+
+    boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * @return the sequence of the oldest stored item, or -1 if the store is empty.
+     */
+    long headSequence() {
+        return segments.isEmpty() ? -1 : segments.get(0).firstSequence();
+    }
+
+    /**
+     * @return the sequence of the newest stored item, or -1 if the store is empty.
+     */
+    long tailSequence() {
+        return segments.isEmpty() ? -1 : segments.get(segments.size() - 1).lastSequence();
+    }
+
+    long sizeBytes() {
+        return sizeBytes;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Appends an item. The sequence must be one larger than the sequence of the last stored item, unless the store is
+     * empty.
+     */
+    void append(long sequence, Data item, long nowMs) {
+        byte[] bytes = item.toByteArray();
+        RingbufferSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last == null || !last.hasRoom(bytes.length)) {
+            if (last != null) {
+                last.force();
+            }
+            last = newSegment(sequence, bytes.length);
+            enforceMaxSize();
+        }
+        last.append(bytes, nowMs);
+    }
+
+    private RingbufferSegment newSegment(long firstSequence, int itemLength) {
+        int size = Math.max(segmentSize, RingbufferSegment.HEADER_SIZE + RingbufferSegment.RECORD_OVERHEAD + itemLength);
+        File file = segmentFile(firstSequence);
+        try {
+            RingbufferSegment segment = RingbufferSegment.create(file, firstSequence, size);
+            segments.add(segment);
+            sizeBytes += segment.size();
+            return segment;
+        } catch (IOException e) {
+            throw new HazelcastException("Could not create ringbuffer segment " + file, e);
+        }
+    }
+
+    private File segmentFile(long firstSequence) {
+        return new File(dir, String.format("%020d", firstSequence) + SEGMENT_SUFFIX);
+    }
+
+    Data read(long sequence) {
+        RingbufferSegment segment = segmentOf(sequence);
+        return segment.readAt(segment.offsetOf(sequence));
+    }
+
+    /**
+     * Reads the stored items starting at the given sequence into the result, up to (but not including) the end sequence.
+     *
+     * @return the sequence of the next item to read.
+     */
+    long readMany(long beginSequence, long endSequence, ReadResultSetImpl result) {
+        long sequence = beginSequence;
+        while (sequence < endSequence && !result.isMaxSizeReached()) {
+            RingbufferSegment segment = segmentOf(sequence);
+            int offset = segment.offsetOf(sequence);
+            while (sequence < endSequence && segment.contains(sequence)) {
+                result.addItem(segment.readAt(offset));
+                sequence++;
+                if (result.isMaxSizeReached()) {
+                    break;
+                }
+                offset = segment.nextOffset(offset);
+            }
+        }
+        return sequence;
+    }
+
+    private RingbufferSegment segmentOf(long sequence) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            RingbufferSegment segment = segments.get(mid);
+            if (sequence < segment.firstSequence()) {
+                high = mid - 1;
+            } else if (sequence > segment.lastSequence()) {
+                low = mid + 1;
+            } else {
+                return segment;
+            }
+        }
+        throw new IllegalArgumentException("sequence:" + sequence + " is not stored in " + dir);
+    }
+
+    /**
+     * Deletes the segments which are older than the retention. The check is done at most once per second.
+     *
+     * @return true if a segment was deleted.
+     */
+    boolean applyRetention(long nowMs) {
+        if (retentionMs == 0 || nowMs < nextRetentionCheckMs) {
+            return false;
+        }
+        nextRetentionCheckMs = nowMs + RETENTION_CHECK_INTERVAL_MS;
+        boolean deleted = false;
+        while (segments.size() > 1 && segments.get(0).lastAppendMs() + retentionMs <= nowMs) {
+            deleteFirstSegment();
+            deleted = true;
+        }
+        return deleted;
+    }
+
+    private void enforceMaxSize() {
+        while (maxSizeBytes > 0 && sizeBytes > maxSizeBytes && segments.size() > 1) {
+            deleteFirstSegment();
+        }
+    }
+
+    private void deleteFirstSegment() {
+        RingbufferSegment segment = segments.remove(0);
+        sizeBytes -= segment.size();
+        segment.delete();
+    }
+
+    private void deleteSegments() {
+        for (RingbufferSegment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+        sizeBytes = 0;
+    }
+
+    /**
+     * Writes the segments of the store, so the store can be recreated on another member.
+     *
+     * @param nowMs the current time; the age of the segments is written instead of their append time, since the clocks
+     *              of the members may differ
+     */
+    void writeSegments(ObjectDataOutput out, long nowMs) throws IOException {
+        out.writeInt(segments.size());
+        for (RingbufferSegment segment : segments) {
+            out.writeLong(segment.firstSequence());
+            out.writeInt(segment.size());
+            out.writeLong(nowMs - segment.lastAppendMs());
+            segment.writeRecords(out);
+        }
+    }
+
+    /**
+     * Reads the segments written by {@link #writeSegments(ObjectDataOutput, long)}.
+     */
+    static List<ReplicatedSegment> readSegments(ObjectDataInput in, long nowMs) throws IOException {
+        int segmentCount = in.readInt();
+        List<ReplicatedSegment> replicatedSegments = new ArrayList<ReplicatedSegment>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            long firstSequence = in.readLong();
+            int size = in.readInt();
+            long lastAppendMs = nowMs - in.readLong();
+            replicatedSegments.add(new ReplicatedSegment(firstSequence, size, lastAppendMs, in.readByteArray()));
+        }
+        return replicatedSegments;
+    }
+
+    /**
+     * Replaces the stored items by the segments replicated from another member.
+     */
+    void restore(List<ReplicatedSegment> replicatedSegments) {
+        deleteSegments();
+        try {
+            for (ReplicatedSegment replicated : replicatedSegments) {
+                RingbufferSegment segment = RingbufferSegment.restore(segmentFile(replicated.firstSequence),
+                        replicated.firstSequence, replicated.size, replicated.records, replicated.lastAppendMs);
+                segments.add(segment);
+                sizeBytes += segment.size();
+            }
+        } catch (IOException e) {
+            throw new HazelcastException("Could not restore ringbuffer store " + dir, e);
+        }
+    }
+
+    /**
+     * Deletes all stored items, keeping the store usable.
+     */
+    void clear() {
+        deleteSegments();
+    }
+
+    /**
+     * Releases the segments, keeping their files.
+     */
+    void close() {
+        for (RingbufferSegment segment : segments) {
+            segment.force();
+            segment.close();
+        }
+        segments.clear();
+        sizeBytes = 0;
+    }
+
+    /**
+     * Deletes all stored items and the directory of the store.
+     */
+    void destroy() {
+        deleteSegments();
+        IOUtil.delete(dir);
+    }
+
+    /**
+     * A segment of another member, received by replication.
+     */
+    static final class ReplicatedSegment {
+
+        private final long firstSequence;
+        private final int size;
+        private final long lastAppendMs;
+        private final byte[] records;
+
+        private ReplicatedSegment(long firstSequence, int size, long lastAppendMs, byte[] records) {
+            this.firstSequence = firstSequence;
+            this.size = size;
+            this.lastAppendMs = lastAppendMs;
+            this.records = records;
+        }
+    }
+}
@@ -18,7 +18,9 @@ package com.hazelcast.ringbuffer.impl;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.config.RingbufferPersistenceConfig;
 import com.hazelcast.core.DistributedObject;
+import com.hazelcast.nio.Address;
 import com.hazelcast.ringbuffer.impl.operations.ReplicationOperation;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.MigrationAwareService;
@@ -30,6 +32,9 @@ import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.partition.IPartitionService;
 
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -75,7 +80,10 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
 
     @Override
     public void destroyDistributedObject(String name) {
-        containers.remove(name);
+        RingbufferContainer container = containers.remove(name);
+        if (container != null) {
+            container.destroy();
+        }
         nodeEngine.getEventService().deregisterAllListeners(SERVICE_NAME, name);
     }
 
@@ -86,12 +94,19 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
 
     @Override
     public void reset() {
+        for (RingbufferContainer container : containers.values()) {
+            container.destroy();
+        }
         containers.clear();
     }
 
     @Override
     public void shutdown(boolean terminate) {
-        reset();
+        // the stores of persistent ringbuffers are kept, so their history is recovered when the member is restarted
+        for (RingbufferContainer container : containers.values()) {
+            container.close();
+        }
+        containers.clear();
     }
 
     @Override
@@ -147,6 +162,7 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
             RingbufferContainer container = entry.getValue();
             if (thresholdReplicaIndex < 0 || thresholdReplicaIndex > container.getConfig().getTotalBackupCount()) {
                 iterator.remove();
+                container.destroy();
             }
         }
     }
@@ -159,10 +175,31 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
 
         RingbufferConfig ringbufferConfig = getRingbufferConfig(name);
         ringbuffer = new RingbufferContainer(name, ringbufferConfig, nodeEngine.getSerializationService());
+        RingbufferPersistenceConfig persistenceConfig = ringbufferConfig.getPersistenceConfig();
+        if (persistenceConfig.isEnabled()) {
+            RingbufferSegmentStore store = new RingbufferSegmentStore(getStoreDir(name, persistenceConfig), persistenceConfig);
+            store.open();
+            ringbuffer.recoverFrom(store);
+        }
         containers.put(name, ringbuffer);
         return ringbuffer;
     }
 
+    /**
+     * Returns the directory of the segment files of a ringbuffer. It is unique per member and partition, so multiple
+     * members can share the base directory.
+     */
+    private File getStoreDir(String name, RingbufferPersistenceConfig persistenceConfig) {
+        Address address = nodeEngine.getThisAddress();
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(getPartitionKey(name));
+        File memberDir = new File(persistenceConfig.getBaseDir(), address.getHost() + "-" + address.getPort());
+        try {
+            return new File(new File(memberDir, String.valueOf(partitionId)), URLEncoder.encode(name, "UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private RingbufferConfig getRingbufferConfig(String name) {
         Config config = nodeEngine.getConfig();
         return config.getRingbufferConfig(getConfigName(name));
@@ -173,6 +210,17 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
         checkNotNull(ringbuffer, "ringbuffer can't be null");
 
         ringbuffer.init(nodeEngine);
+        RingbufferPersistenceConfig persistenceConfig = ringbuffer.getConfig().getPersistenceConfig();
+        if (persistenceConfig.isEnabled()) {
+            // the replaced container uses the same directory
+            RingbufferContainer previous = containers.get(name);
+            if (previous != null) {
+                previous.close();
+            }
+            RingbufferSegmentStore store = new RingbufferSegmentStore(getStoreDir(name, persistenceConfig), persistenceConfig);
+            store.open();
+            ringbuffer.persistTo(store);
+        }
         containers.put(name, ringbuffer);
     }
 
@@ -17,6 +17,7 @@
 package com.hazelcast.spi;
 
 import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
 
 /**
  * A {@link com.hazelcast.core.ICompletableFuture} with more functionality like getting
@@ -37,4 +38,43 @@ public interface InternalCompletableFuture<E> extends ICompletableFuture<E> {
      * @deprecated since 3.7. Use {@link #join()} instead.
      */
     E getSafely();
+
+    /**
+     * Returns a new future that is completed with the result of the given function applied to the value of this
+     * future. If this future or the function fails, the returned future fails with the same cause.
+     * <p/>
+     * The function runs like a callback registered with {@link #andThen(com.hazelcast.core.ExecutionCallback)}.
+     * If it implements {@link com.hazelcast.core.NonBlocking}, it runs directly on the thread that completes this future.
+     * <p/>
+     * To chain a function to any {@link ICompletableFuture}, use
+     * {@link com.hazelcast.util.executor.ChainedFuture#thenApply(ICompletableFuture, IFunction)}.
+     * <p/>
+     * Internal API only: it isn't exposed on {@link ICompletableFuture} and may change without notice.
+     *
+     * @param function the function to apply to the value of this future
+     * @param <R>      the type of the value of the returned future
+     * @return the new future
+     * @since 3.8
+     */
+    <R> InternalCompletableFuture<R> thenApply(IFunction<? super E, ? extends R> function);
+
+    /**
+     * Returns a new future that is completed with the result of the future returned by the given function, which is
+     * applied to the value of this future. This allows to chain asynchronous operations without blocking. If this
+     * future, the function or the future returned by the function fails, the returned future fails with the same cause.
+     * <p/>
+     * The function runs like a callback registered with {@link #andThen(com.hazelcast.core.ExecutionCallback)}.
+     * If it implements {@link com.hazelcast.core.NonBlocking}, it runs directly on the thread that completes this future.
+     * <p/>
+     * To chain a function to any {@link ICompletableFuture}, use
+     * {@link com.hazelcast.util.executor.ChainedFuture#thenCompose(ICompletableFuture, IFunction)}.
+     * <p/>
+     * Internal API only: it isn't exposed on {@link ICompletableFuture} and may change without notice.
+     *
+     * @param function the function that returns the next future for the value of this future
+     * @param <R>      the type of the value of the returned future
+     * @return the new future
+     * @since 3.8
+     */
+    <R> InternalCompletableFuture<R> thenCompose(IFunction<? super E, ? extends ICompletableFuture<R>> function);
 }
@@ -33,6 +33,7 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static com.hazelcast.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.util.Preconditions.isNotNull;
+import static com.hazelcast.util.executor.ChainedFuture.executorFor;
 import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
 
 /**
@@ -73,7 +74,7 @@ public abstract class AbstractCompletableFuture<V> implements ICompletableFuture
 
     @Override
     public void andThen(ExecutionCallback<V> callback) {
-        andThen(callback, defaultExecutor);
+        andThen(callback, executorFor(callback, defaultExecutor));
     }
 
     @Override
@@ -17,8 +17,11 @@
 package com.hazelcast.spi.impl;
 
 import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.util.executor.ChainedFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.concurrent.ExecutionException;
@@ -31,6 +34,7 @@ import java.util.concurrent.locks.LockSupport;
 
 import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.Preconditions.isNotNull;
+import static com.hazelcast.util.executor.ChainedFuture.executorFor;
 import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
 import static java.util.concurrent.locks.LockSupport.park;
 import static java.util.concurrent.locks.LockSupport.parkNanos;
@@ -205,7 +209,17 @@ public abstract class AbstractInvocationFuture<V> implements InternalCompletable
 
     @Override
     public final void andThen(ExecutionCallback<V> callback) {
-        andThen(callback, defaultExecutor);
+        andThen(callback, executorFor(callback, defaultExecutor));
+    }
+
+    @Override
+    public final <R> InternalCompletableFuture<R> thenApply(IFunction<? super V, ? extends R> function) {
+        return ChainedFuture.thenApply(this, function, defaultExecutor);
+    }
+
+    @Override
+    public final <R> InternalCompletableFuture<R> thenCompose(IFunction<? super V, ? extends ICompletableFuture<R>> function) {
+        return ChainedFuture.thenCompose(this, function, defaultExecutor);
     }
 
     @Override
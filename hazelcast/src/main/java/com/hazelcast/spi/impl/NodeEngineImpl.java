@@ -188,6 +188,7 @@ public class NodeEngineImpl implements NodeEngine {
         metricsRegistry.collectMetrics(operationService);
         metricsRegistry.collectMetrics(proxyService);
         metricsRegistry.collectMetrics(eventService);
+        metricsRegistry.collectMetrics(serializationService);
 
         serviceManager.start();
         proxyService.init();
@@ -423,6 +424,13 @@ public class NodeEngineImpl implements NodeEngine {
         operationService.reset();
     }
 
+    /**
+     * Sends the remote events that are still batched, so they aren't lost when the connections are closed on shutdown.
+     */
+    public void flushPendingEvents() {
+        eventService.flushPendingEvents();
+    }
+
     public void shutdown(final boolean terminate) {
         logger.finest("Shutting down services...");
         waitNotifyService.shutdown();
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice;
+
+/**
+ * An event which can be merged with a pending event with the same coalescing key in the queue of a coalescing listener.
+ *
+ * @see InternalEventService#registerCoalescingListener(String, String, com.hazelcast.spi.EventFilter, Object, boolean)
+ */
+public interface CoalescableEvent {
+
+    /**
+     * Returns the key to coalesce this event by, e.g. the key of a map entry, or {@code null} if this event must not be
+     * coalesced.
+     */
+    Object getCoalescingKey();
+
+    /**
+     * Merges this event with the latest pending event with the same coalescing key, which was offered before this one.
+     *
+     * @param pending the pending event
+     * @return the event which takes the place of the pending event in the queue, or {@code null} if both events must be
+     * dispatched; this event is then queued after the pending one
+     */
+    Object coalesce(Object pending);
+}
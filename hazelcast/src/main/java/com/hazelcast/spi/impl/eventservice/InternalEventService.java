@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.eventservice;
 
+import com.hazelcast.spi.EventFilter;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.impl.PacketHandler;
@@ -34,4 +35,20 @@ public interface InternalEventService extends EventService, PacketHandler {
      * @param eventRegistration the EventRegistration to close.
      */
     void close(EventRegistration eventRegistration);
+
+    /**
+     * Registers a listener whose pending events are coalesced by key before they are dispatched.
+     *
+     * The events of the registration are queued on this member; a {@link CoalescableEvent} is merged with the pending event
+     * with the same coalescing key, so the listener skips the intermediate events of each key it couldn't keep up with.
+     *
+     * @param serviceName service name
+     * @param topic       topic name
+     * @param filter      event filter
+     * @param listener    listener instance
+     * @param localOnly   {@code true} to only receive the events published on this member
+     * @return event registration
+     */
+    EventRegistration registerCoalescingListener(String serviceName, String topic, EventFilter filter, Object listener,
+                                                 boolean localOnly);
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.ExecutionService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Buffers remote events per target member and event stripe, and sends them as an {@link EventEnvelopeBatch}.
+ *
+ * A batch is sent as soon as it is full; otherwise it is sent by the periodic {@link #run()}. A batch is transmitted while
+ * holding the lock of its buffer, so the batches of a target and stripe are put on the connection in order. The stripe is
+ * used as the key of the packet, so the receiving member processes these batches on a single event thread. This keeps the
+ * ordering of events that share an order key.
+ */
+final class EventBatcher implements Runnable {
+
+    private final EventServiceImpl eventService;
+    private final int maxBatchSize;
+    private final int stripeCount;
+    private final ConcurrentMap<Address, StripeBuffer[]> buffers = new ConcurrentHashMap<Address, StripeBuffer[]>();
+    private volatile ScheduledFuture<?> flushFuture;
+
+    EventBatcher(EventServiceImpl eventService, int maxBatchSize, int stripeCount) {
+        this.eventService = eventService;
+        this.maxBatchSize = maxBatchSize;
+        this.stripeCount = stripeCount;
+    }
+
+    void start(ExecutionService executionService, long delayMs) {
+        long periodMs = max(1, delayMs);
+        flushFuture = executionService.scheduleWithRepetition(this, periodMs, periodMs, MILLISECONDS);
+    }
+
+    void shutdown() {
+        ScheduledFuture<?> future = flushFuture;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    void add(Address target, EventEnvelope envelope, int orderKey) {
+        StripeBuffer buffer = getStripes(target)[hashToIndex(orderKey, stripeCount)];
+        synchronized (buffer) {
+            buffer.envelopes.add(envelope);
+            if (buffer.envelopes.size() >= maxBatchSize) {
+                flush(target, buffer);
+            }
+        }
+    }
+
+    /**
+     * Sends the pending events of the stripe of the given order key. This is done before an event is sent with an
+     * operation, so it isn't overtaken by the operation.
+     */
+    void flush(Address target, int orderKey) {
+        StripeBuffer[] stripes = buffers.get(target);
+        if (stripes == null) {
+            return;
+        }
+        StripeBuffer buffer = stripes[hashToIndex(orderKey, stripeCount)];
+        synchronized (buffer) {
+            flush(target, buffer);
+        }
+    }
+
+    @Override
+    public void run() {
+        for (Map.Entry<Address, StripeBuffer[]> entry : buffers.entrySet()) {
+            Address target = entry.getKey();
+            for (StripeBuffer buffer : entry.getValue()) {
+                synchronized (buffer) {
+                    flush(target, buffer);
+                }
+            }
+        }
+    }
+
+    void onMemberLeft(Address address) {
+        buffers.remove(address);
+    }
+
+    private void flush(Address target, StripeBuffer buffer) {
+        List<EventEnvelope> envelopes = buffer.envelopes;
+        if (envelopes.isEmpty()) {
+            return;
+        }
+        buffer.envelopes = new ArrayList<EventEnvelope>();
+        eventService.transmitBatch(target, new EventEnvelopeBatch(envelopes), buffer.stripe);
+    }
+
+    private StripeBuffer[] getStripes(Address target) {
+        StripeBuffer[] stripes = buffers.get(target);
+        if (stripes != null) {
+            return stripes;
+        }
+
+        stripes = new StripeBuffer[stripeCount];
+        for (int k = 0; k < stripeCount; k++) {
+            stripes[k] = new StripeBuffer(k);
+        }
+        StripeBuffer[] found = buffers.putIfAbsent(target, stripes);
+        return found == null ? stripes : found;
+    }
+
+    private static final class StripeBuffer {
+        private final int stripe;
+        private List<EventEnvelope> envelopes = new ArrayList<EventEnvelope>();
+
+        private StripeBuffer(int stripe) {
+            this.stripe = stripe;
+        }
+    }
+}
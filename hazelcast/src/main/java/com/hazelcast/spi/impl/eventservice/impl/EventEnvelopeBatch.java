@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A composite of {@link EventEnvelope}s that are sent to the same member in a single packet.
+ *
+ * All envelopes in a batch map to the same event stripe, so the batch is processed in order by a single event thread.
+ */
+public final class EventEnvelopeBatch implements IdentifiedDataSerializable {
+
+    private List<EventEnvelope> envelopes;
+
+    public EventEnvelopeBatch() {
+    }
+
+    EventEnvelopeBatch(List<EventEnvelope> envelopes) {
+        this.envelopes = envelopes;
+    }
+
+    public List<EventEnvelope> getEnvelopes() {
+        return envelopes;
+    }
+
+    public int size() {
+        return envelopes.size();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return SpiDataSerializerHook.EVENT_ENVELOPE_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(envelopes.size());
+        for (EventEnvelope envelope : envelopes) {
+            envelope.writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        envelopes = new ArrayList<EventEnvelope>(size);
+        for (int k = 0; k < size; k++) {
+            EventEnvelope envelope = new EventEnvelope();
+            envelope.readData(in);
+            envelopes.add(envelope);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EventEnvelopeBatch{size=" + envelopes.size() + '}';
+    }
+}
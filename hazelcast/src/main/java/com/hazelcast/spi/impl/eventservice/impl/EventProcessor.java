@@ -45,6 +45,12 @@ public class EventProcessor implements StripedRunnable {
         if (registration == null) {
             return;
         }
+        ListenerEventQueue eventQueue = registration.getEventQueue();
+        if (eventQueue != null) {
+            // this is a shared event thread, so it is never blocked by the listener queue
+            eventQueue.offer(event, false);
+            return;
+        }
         service.dispatchEvent(event, registration.getListener());
     }
 
@@ -41,9 +41,8 @@ import com.hazelcast.spi.impl.eventservice.impl.operations.RegistrationOperation
 import com.hazelcast.spi.impl.eventservice.impl.operations.SendEventOperation;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
-import com.hazelcast.util.EmptyStatement;
 import com.hazelcast.util.UuidUtil;
-import com.hazelcast.util.executor.StripedExecutor;
+import com.hazelcast.util.executor.WorkStealingStripedExecutor;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -82,7 +81,7 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
     private final ExceptionHandler registrationExceptionHandler;
     private final ExceptionHandler deregistrationExceptionHandler;
     private final ConcurrentMap<String, EventServiceSegment> segments;
-    private final StripedExecutor eventExecutor;
+    private final WorkStealingStripedExecutor eventExecutor;
     private final long eventQueueTimeoutMs;
 
     @Probe(name = "threadCount")
@@ -93,8 +92,15 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
     private final MwCounter totalFailures = newMwCounter();
     @Probe(name = "rejectedCount")
     private final MwCounter rejectedCount = newMwCounter();
+    @Probe(name = "batchCount")
+    private final MwCounter batchCount = newMwCounter();
+    @Probe(name = "batchedEventCount")
+    private final MwCounter batchedEventCount = newMwCounter();
     private final InternalSerializationService serializationService;
     private final int eventSyncFrequency;
+    private final EventBatcher batcher;
+    private final int listenerQueueCapacity;
+    private final ThreadGroup internalThreadGroup;
 
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -104,19 +110,12 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         this.eventThreadCount = hazelcastProperties.getInteger(GroupProperty.EVENT_THREAD_COUNT);
         this.eventQueueCapacity = hazelcastProperties.getInteger(GroupProperty.EVENT_QUEUE_CAPACITY);
         this.eventQueueTimeoutMs = hazelcastProperties.getMillis(GroupProperty.EVENT_QUEUE_TIMEOUT_MILLIS);
-        int eventSyncFrequency;
-        try {
-            eventSyncFrequency = Integer.parseInt(System.getProperty(EVENT_SYNC_FREQUENCY_PROP));
-            if (eventSyncFrequency <= 0) {
-                eventSyncFrequency = EVENT_SYNC_FREQUENCY;
-            }
-        } catch (Exception e) {
-            eventSyncFrequency = EVENT_SYNC_FREQUENCY;
-        }
-        this.eventSyncFrequency = eventSyncFrequency;
+        this.eventSyncFrequency = getEventSyncFrequency();
+        this.listenerQueueCapacity = hazelcastProperties.getInteger(GroupProperty.EVENT_LISTENER_QUEUE_CAPACITY);
 
         HazelcastThreadGroup threadGroup = nodeEngine.getNode().getHazelcastThreadGroup();
-        this.eventExecutor = new StripedExecutor(
+        this.internalThreadGroup = threadGroup.getInternalThreadGroup();
+        this.eventExecutor = new WorkStealingStripedExecutor(
                 nodeEngine.getNode().getLogger(EventServiceImpl.class),
                 threadGroup.getThreadNamePrefix("event"),
                 threadGroup.getInternalThreadGroup(),
@@ -127,11 +126,28 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         this.deregistrationExceptionHandler
                 = new FutureUtilExceptionHandler(logger, "Member left while de-registering listener...");
         this.segments = new ConcurrentHashMap<String, EventServiceSegment>();
+
+        int eventBatchSize = hazelcastProperties.getInteger(GroupProperty.EVENT_BATCH_SIZE);
+        this.batcher = eventBatchSize > 1 ? new EventBatcher(this, eventBatchSize, eventThreadCount) : null;
+        if (batcher != null) {
+            batcher.start(nodeEngine.getExecutionService(),
+                    hazelcastProperties.getMillis(GroupProperty.EVENT_BATCH_DELAY_MILLIS));
+        }
+    }
+
+    private static int getEventSyncFrequency() {
+        try {
+            int eventSyncFrequency = Integer.parseInt(System.getProperty(EVENT_SYNC_FREQUENCY_PROP));
+            return eventSyncFrequency > 0 ? eventSyncFrequency : EVENT_SYNC_FREQUENCY;
+        } catch (Exception e) {
+            return EVENT_SYNC_FREQUENCY;
+        }
     }
 
     @Override
     public void provideMetrics(MetricsRegistry metricsRegistry) {
         metricsRegistry.scanAndRegister(this, "event");
+        eventExecutor.provideMetrics(metricsRegistry, "event");
     }
 
     @Override
@@ -146,7 +162,7 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         try {
             ((Closeable) listener).close();
         } catch (IOException e) {
-            EmptyStatement.ignore(e);
+            ignore(e);
         }
     }
 
@@ -168,26 +184,32 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
 
     @Override
     public EventRegistration registerLocalListener(String serviceName, String topic, Object listener) {
-        return registerListenerInternal(serviceName, topic, TrueEventFilter.INSTANCE, listener, true);
+        return registerListenerInternal(serviceName, topic, TrueEventFilter.INSTANCE, listener, true, false);
     }
 
     @Override
     public EventRegistration registerLocalListener(String serviceName, String topic, EventFilter filter, Object listener) {
-        return registerListenerInternal(serviceName, topic, filter, listener, true);
+        return registerListenerInternal(serviceName, topic, filter, listener, true, false);
     }
 
     @Override
     public EventRegistration registerListener(String serviceName, String topic, Object listener) {
-        return registerListenerInternal(serviceName, topic, TrueEventFilter.INSTANCE, listener, false);
+        return registerListenerInternal(serviceName, topic, TrueEventFilter.INSTANCE, listener, false, false);
     }
 
     @Override
     public EventRegistration registerListener(String serviceName, String topic, EventFilter filter, Object listener) {
-        return registerListenerInternal(serviceName, topic, filter, listener, false);
+        return registerListenerInternal(serviceName, topic, filter, listener, false, false);
+    }
+
+    @Override
+    public EventRegistration registerCoalescingListener(String serviceName, String topic, EventFilter filter, Object listener,
+                                                        boolean localOnly) {
+        return registerListenerInternal(serviceName, topic, filter, listener, localOnly, true);
     }
 
     private EventRegistration registerListenerInternal(String serviceName, String topic, EventFilter filter, Object listener,
-                                                       boolean localOnly) {
+                                                       boolean localOnly, boolean coalescing) {
         if (listener == null) {
             throw new IllegalArgumentException("Listener required!");
         }
@@ -197,7 +219,14 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         EventServiceSegment segment = getSegment(serviceName, true);
         String id = UuidUtil.newUnsecureUuidString();
         Registration reg = new Registration(id, serviceName, topic, filter, nodeEngine.getThisAddress(), listener, localOnly);
+        if (coalescing) {
+            // the backlog of a coalescing listener is bounded by its number of keys, so it may use the whole event queue
+            ListenerEventQueue.attach(this, reg, listenerQueueCapacity > 0 ? listenerQueueCapacity : eventQueueCapacity, true);
+        } else if (listenerQueueCapacity > 0) {
+            ListenerEventQueue.attach(this, reg, listenerQueueCapacity, false);
+        }
         if (!segment.addRegistration(topic, reg)) {
+            closeEventQueue(reg);
             return null;
         }
 
@@ -220,6 +249,9 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         final EventServiceSegment segment = getSegment(serviceName, false);
         if (segment != null) {
             final Registration reg = segment.removeRegistration(topic, String.valueOf(id));
+            if (reg != null) {
+                closeEventQueue(reg);
+            }
             if (reg != null && !reg.isLocalOnly()) {
                 invokeDeregistrationOnOtherNodes(serviceName, topic, String.valueOf(id));
             }
@@ -232,7 +264,20 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
     public void deregisterAllListeners(String serviceName, String topic) {
         final EventServiceSegment segment = getSegment(serviceName, false);
         if (segment != null) {
-            segment.removeRegistrations(topic);
+            Collection<Registration> registrations = segment.removeRegistrations(topic);
+            if (registrations != null) {
+                closeEventQueues(registrations);
+            }
+        }
+    }
+
+    private void closeEventQueue(Registration registration) {
+        ListenerEventQueue.detach(this, registration);
+    }
+
+    private void closeEventQueues(Collection<Registration> registrations) {
+        for (Registration registration : registrations) {
+            closeEventQueue(registration);
         }
     }
 
@@ -364,6 +409,11 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
     private void executeLocal(String serviceName, Object event, EventRegistration registration, int orderKey) {
         if (nodeEngine.isRunning()) {
             Registration reg = (Registration) registration;
+            if (reg.getEventQueue() != null) {
+                // only a caller thread may be blocked by the queue, that is the backpressure of the BLOCK policy
+                reg.getEventQueue().offer(event, isCallerThread());
+                return;
+            }
             try {
                 if (reg.getListener() != null) {
                     eventExecutor.execute(new LocalEventDispatcher(this, serviceName, event, reg.getListener()
@@ -388,6 +438,9 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         boolean sync = segment.incrementPublish() % eventSyncFrequency == 0;
 
         if (sync) {
+            if (batcher != null) {
+                batcher.flush(subscriber, orderKey);
+            }
             SendEventOperation op = new SendEventOperation(eventEnvelope, orderKey);
             Future f = nodeEngine.getOperationService()
                     .createInvocationBuilder(serviceName, op, subscriber)
@@ -397,14 +450,26 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
             } catch (Exception ignored) {
                 ignore(ignored);
             }
+        } else if (batcher != null) {
+            batcher.add(subscriber, eventEnvelope, orderKey);
         } else {
-            Packet packet = new Packet(serializationService.toBytes(eventEnvelope), orderKey);
-            packet.setFlag(Packet.FLAG_EVENT);
+            transmit(subscriber, eventEnvelope, orderKey);
+        }
+    }
 
-            if (!nodeEngine.getNode().getConnectionManager().transmit(packet, subscriber)) {
-                if (nodeEngine.isRunning()) {
-                    logFailure("Failed to send event packet to: %s , connection might not alive.", subscriber);
-                }
+    void transmitBatch(Address subscriber, EventEnvelopeBatch batch, int stripe) {
+        batchCount.inc();
+        batchedEventCount.inc(batch.size());
+        transmit(subscriber, batch, stripe);
+    }
+
+    private void transmit(Address subscriber, Object payload, int orderKey) {
+        Packet packet = new Packet(serializationService.toBytes(payload), orderKey);
+        packet.setFlag(Packet.FLAG_EVENT);
+
+        if (!nodeEngine.getNode().getConnectionManager().transmit(packet, subscriber)) {
+            if (nodeEngine.isRunning()) {
+                logFailure("Failed to send event packet to: %s , connection might not alive.", subscriber);
             }
         }
     }
@@ -444,11 +509,34 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         }
     }
 
+    /**
+     * Returns {@code true} if the current thread is not a thread of this member, e.g. a user thread. Partition, IO and
+     * event threads must never be blocked by a listener queue.
+     */
+    private boolean isCallerThread() {
+        return Thread.currentThread().getThreadGroup() != internalThreadGroup;
+    }
+
+    /**
+     * Schedules the drain task of a listener queue on its event stripe.
+     *
+     * @throws RejectedExecutionException if the event queue of the stripe is full
+     */
+    void executeListenerQueue(Runnable eventQueue) {
+        try {
+            eventExecutor.execute(eventQueue);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.inc();
+            throw e;
+        }
+    }
+
     @Override
     public void handle(Packet packet) {
         try {
             eventExecutor.execute(new RemoteEventProcessor(this, packet));
         } catch (RejectedExecutionException e) {
+            // a batch of events counts once, the packet isn't deserialized on the IO thread to count its events
             rejectedCount.inc();
 
             if (eventExecutor.isLive()) {
@@ -472,11 +560,23 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         return registrations.isEmpty() ? null : new PostJoinRegistrationOperation(registrations);
     }
 
+    /**
+     * Sends the remote events that are still batched.
+     */
+    public void flushPendingEvents() {
+        if (batcher != null) {
+            batcher.run();
+        }
+    }
+
     public void shutdown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
         logger.finest("Stopping event executor...");
         eventExecutor.shutdown();
         for (EventServiceSegment segment : segments.values()) {
-            segment.clear();
+            closeEventQueues(segment.clear());
         }
         segments.clear();
     }
@@ -484,7 +584,10 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
     public void onMemberLeft(MemberImpl member) {
         final Address address = member.getAddress();
         for (EventServiceSegment segment : segments.values()) {
-            segment.onMemberLeft(address);
+            closeEventQueues(segment.onMemberLeft(address));
+        }
+        if (batcher != null) {
+            batcher.onMemberLeft(address);
         }
     }
 
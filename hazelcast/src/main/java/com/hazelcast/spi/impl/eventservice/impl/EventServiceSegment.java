@@ -24,6 +24,7 @@ import com.hazelcast.spi.NotifiableEventListener;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -116,7 +117,7 @@ public class EventServiceSegment<S> {
         return registration;
     }
 
-    void removeRegistrations(String topic) {
+    Collection<Registration> removeRegistrations(String topic) {
         final Collection<Registration> all = registrations.remove(topic);
         if (all != null) {
             for (Registration reg : all) {
@@ -124,9 +125,11 @@ public class EventServiceSegment<S> {
                 pingNotifiableEventListener(topic, reg, false);
             }
         }
+        return all;
     }
 
-    void clear() {
+    Collection<Registration> clear() {
+        Collection<Registration> removed = new ArrayList<Registration>();
         for (Collection<Registration> all : registrations.values()) {
             Iterator<Registration> iter = all.iterator();
             while (iter.hasNext()) {
@@ -134,11 +137,14 @@ public class EventServiceSegment<S> {
                 iter.remove();
                 registrationIdMap.remove(reg.getId());
                 pingNotifiableEventListener(reg.getTopic(), reg, false);
+                removed.add(reg);
             }
         }
+        return removed;
     }
 
-    void onMemberLeft(Address address) {
+    Collection<Registration> onMemberLeft(Address address) {
+        Collection<Registration> removed = new ArrayList<Registration>();
         for (Collection<Registration> all : registrations.values()) {
             Iterator<Registration> iter = all.iterator();
             while (iter.hasNext()) {
@@ -147,9 +153,11 @@ public class EventServiceSegment<S> {
                     iter.remove();
                     registrationIdMap.remove(reg.getId());
                     pingNotifiableEventListener(reg.getTopic(), reg, false);
+                    removed.add(reg);
                 }
             }
         }
+        return removed;
     }
 
     long incrementPublish() {
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.EventPublishingService;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.util.executor.StripedRunnable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.impl.eventservice.impl.ListenerQueueOverflowPolicy.BLOCK;
+import static com.hazelcast.spi.impl.eventservice.impl.ListenerQueueOverflowPolicy.COALESCE;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_LISTENER_QUEUE_OVERFLOW_POLICY;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_QUEUE_TIMEOUT_MILLIS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A bounded queue with the pending events of a single local listener registration.
+ *
+ * Events are offered to the queue instead of being dispatched directly on the shared event threads. The queue is drained by
+ * a single task at a time, which runs on the event stripe of the registration and dispatches at most
+ * {@link #DRAIN_BATCH_SIZE} events before it gives the event thread back to other work. A slow listener therefore only
+ * fills its own queue, and its {@link ListenerQueueOverflowPolicy} decides which of its own events are lost; the events of
+ * other listeners aren't dropped because of it.
+ *
+ * Events are dispatched in the order they are offered, so the ordering of events with the same order key is kept.
+ *
+ * A queue of a coalescing registration always coalesces: a {@link CoalescableEvent} is merged with the latest pending event
+ * with the same coalescing key, and the merged event takes its place in the queue. The
+ * {@link ListenerQueueOverflowPolicy#COALESCE} policy does the same, but only once the queue is full; a full queue drops its
+ * oldest event if the offered event has no coalescing key or can't be merged with a pending event. Any event without a
+ * coalescing key is a barrier; no later event is merged with an event offered before it.
+ */
+public final class ListenerEventQueue implements StripedRunnable {
+
+    static final int DRAIN_BATCH_SIZE = 64;
+
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private final EventServiceImpl eventService;
+    private final Registration registration;
+    private final ListenerQueueOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final int stripeKey;
+    private final boolean keyCoalescing;
+    private final ArrayDeque<PendingEvent> events = new ArrayDeque<PendingEvent>();
+    // the latest pending event per coalescing key after the last barrier, only maintained by coalescing queues and the
+    // COALESCE policy
+    private final Map<Object, PendingEvent> latestByKey;
+
+    @Probe(name = "capacity")
+    private final int capacity;
+    @Probe(name = "droppedCount")
+    private final MwCounter droppedCount = newMwCounter();
+    @Probe(name = "coalescedCount")
+    private final MwCounter coalescedCount = newMwCounter();
+    @Probe(name = "dispatchedCount")
+    private volatile long dispatchedCount;
+    @Probe(name = "totalLatencyMicros")
+    private volatile long totalLatencyMicros;
+    @Probe(name = "maxLatencyMicros")
+    private volatile long maxLatencyMicros;
+
+    private boolean scheduled;
+    private boolean closed;
+
+    ListenerEventQueue(EventServiceImpl eventService, Registration registration, int capacity, boolean keyCoalescing) {
+        HazelcastProperties properties = eventService.nodeEngine.getProperties();
+        this.eventService = eventService;
+        this.registration = registration;
+        this.capacity = capacity;
+        this.overflowPolicy = properties.getEnum(EVENT_LISTENER_QUEUE_OVERFLOW_POLICY, ListenerQueueOverflowPolicy.class);
+        this.blockTimeoutNanos = NANOSECONDS.convert(properties.getMillis(EVENT_QUEUE_TIMEOUT_MILLIS), MILLISECONDS);
+        this.stripeKey = registration.getId().hashCode();
+        this.keyCoalescing = keyCoalescing;
+        this.latestByKey = keyCoalescing || overflowPolicy == COALESCE ? new HashMap<Object, PendingEvent>() : null;
+    }
+
+    /**
+     * Creates a queue for the registration and registers its metrics under
+     * {@code event.[serviceName].listener.[registrationId]}.
+     */
+    static void attach(EventServiceImpl eventService, Registration registration, int capacity, boolean keyCoalescing) {
+        ListenerEventQueue eventQueue = new ListenerEventQueue(eventService, registration, capacity, keyCoalescing);
+        registration.setEventQueue(eventQueue);
+        eventService.nodeEngine.getMetricsRegistry().scanAndRegister(eventQueue,
+                "event.[" + registration.getServiceName() + "].listener.[" + registration.getId() + "]");
+    }
+
+    /**
+     * Closes the queue of the registration, if it has one, and deregisters its metrics.
+     */
+    static void detach(EventServiceImpl eventService, Registration registration) {
+        ListenerEventQueue eventQueue = registration.getEventQueue();
+        if (eventQueue != null) {
+            eventQueue.close();
+            eventService.nodeEngine.getMetricsRegistry().deregister(eventQueue);
+        }
+    }
+
+    @Probe(name = "backlog")
+    public int backlog() {
+        synchronized (events) {
+            return events.size();
+        }
+    }
+
+    /**
+     * Offers an event to the queue, applying the overflow policy if the queue is full.
+     *
+     * @param event    the event
+     * @param mayBlock {@code true} if the calling thread may be blocked by the {@link ListenerQueueOverflowPolicy#BLOCK}
+     *                 policy; partition, IO and event threads are never blocked, the policy drops the oldest event for them
+     * @return {@code false} if the event was dropped
+     */
+    boolean offer(Object event, boolean mayBlock) {
+        synchronized (events) {
+            if (closed) {
+                return false;
+            }
+            Object coalescingKey = coalescingKey(event);
+            if ((keyCoalescing || events.size() >= capacity) && coalesce(event, coalescingKey)) {
+                coalescedCount.inc();
+                return true;
+            }
+            if (events.size() >= capacity && !makeRoom(mayBlock)) {
+                droppedCount.inc();
+                return false;
+            }
+
+            PendingEvent pending = new PendingEvent(event, coalescingKey, System.nanoTime());
+            events.add(pending);
+            if (coalescingKey != null) {
+                latestByKey.put(coalescingKey, pending);
+            } else if (latestByKey != null) {
+                // no later event may be moved before this one
+                latestByKey.clear();
+            }
+            if (scheduled) {
+                return true;
+            }
+            scheduled = true;
+        }
+        schedule();
+        return true;
+    }
+
+    private Object coalescingKey(Object event) {
+        if (latestByKey == null || !(event instanceof CoalescableEvent)) {
+            return null;
+        }
+        return ((CoalescableEvent) event).getCoalescingKey();
+    }
+
+    private boolean coalesce(Object event, Object coalescingKey) {
+        if (coalescingKey == null) {
+            return false;
+        }
+        PendingEvent pending = latestByKey.get(coalescingKey);
+        if (pending == null) {
+            return false;
+        }
+        Object coalesced = ((CoalescableEvent) event).coalesce(pending.event);
+        if (coalesced == null) {
+            return false;
+        }
+        pending.event = coalesced;
+        return true;
+    }
+
+    private boolean makeRoom(boolean mayBlock) {
+        if (overflowPolicy == BLOCK && mayBlock) {
+            return awaitRoom();
+        }
+        dropOldest();
+        return true;
+    }
+
+    private void dropOldest() {
+        forget(events.poll());
+        droppedCount.inc();
+    }
+
+    private void forget(PendingEvent pending) {
+        if (pending.coalescingKey != null && latestByKey.get(pending.coalescingKey) == pending) {
+            latestByKey.remove(pending.coalescingKey);
+        }
+    }
+
+    private boolean awaitRoom() {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        try {
+            while (events.size() >= capacity && !closed) {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                NANOSECONDS.timedWait(events, remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !closed;
+    }
+
+    @Override
+    public void run() {
+        EventPublishingService<Object, Object> service = eventService.nodeEngine.getService(registration.getServiceName());
+        for (int k = 0; k < DRAIN_BATCH_SIZE; k++) {
+            Object event;
+            long offerNanos;
+            synchronized (events) {
+                PendingEvent pending = events.poll();
+                if (pending == null) {
+                    scheduled = false;
+                    return;
+                }
+                forget(pending);
+                if (overflowPolicy == BLOCK) {
+                    events.notifyAll();
+                }
+                event = pending.event;
+                offerNanos = pending.offerNanos;
+            }
+            dispatch(service, event, offerNanos);
+        }
+        // there are more events; give the event thread to the other tasks of this stripe first
+        schedule();
+    }
+
+    private void dispatch(EventPublishingService<Object, Object> service, Object event, long offerNanos) {
+        try {
+            service.dispatchEvent(event, registration.getListener());
+        } catch (Exception e) {
+            eventService.logger.warning("Error while dispatching event " + event + " to " + registration, e);
+        }
+
+        // only the draining task writes these fields
+        long latencyMicros = (System.nanoTime() - offerNanos) / NANOS_PER_MICRO;
+        dispatchedCount++;
+        totalLatencyMicros += latencyMicros;
+        if (latencyMicros > maxLatencyMicros) {
+            maxLatencyMicros = latencyMicros;
+        }
+    }
+
+    private void schedule() {
+        try {
+            eventService.executeListenerQueue(this);
+        } catch (RejectedExecutionException e) {
+            synchronized (events) {
+                // the next offered event schedules the queue again
+                scheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Drops the pending events and wakes up blocked publishers. Called when the registration is removed.
+     */
+    void close() {
+        synchronized (events) {
+            closed = true;
+            events.clear();
+            if (latestByKey != null) {
+                latestByKey.clear();
+            }
+            events.notifyAll();
+        }
+    }
+
+    @Override
+    public int getKey() {
+        return stripeKey;
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerEventQueue{registration=" + registration.getId() + ", capacity=" + capacity
+                + ", overflowPolicy=" + overflowPolicy + ", keyCoalescing=" + keyCoalescing + '}';
+    }
+
+    private static final class PendingEvent {
+        private final Object coalescingKey;
+        private final long offerNanos;
+        private Object event;
+
+        private PendingEvent(Object event, Object coalescingKey, long offerNanos) {
+            this.event = event;
+            this.coalescingKey = coalescingKey;
+            this.offerNanos = offerNanos;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+/**
+ * What a {@link ListenerEventQueue} does with a new event when it is full.
+ */
+public enum ListenerQueueOverflowPolicy {
+
+    /**
+     * Drops the oldest pending event of the listener to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Merges the new event with the pending event with the same
+     * {@link com.hazelcast.spi.impl.eventservice.CoalescableEvent coalescing key}, e.g. two updates of the same map key. If
+     * the new event has no coalescing key or can't be merged with a pending event, the oldest pending event is dropped.
+     */
+    COALESCE,
+
+    /**
+     * Blocks a publishing caller thread, e.g. a user thread, until there is room, for at most
+     * {@code hazelcast.event.queue.timeout.millis}; the new event is dropped when it times out. Partition, IO and event
+     * threads are never blocked, so events published on them or received from other members fall back to
+     * {@link #DROP_OLDEST}.
+     */
+    BLOCK
+}
@@ -33,6 +33,7 @@ public class Registration implements EventRegistration {
     private Address subscriber;
     private transient boolean localOnly;
     private transient Object listener;
+    private transient ListenerEventQueue eventQueue;
 
     public Registration() {
     }
@@ -80,6 +81,18 @@ public class Registration implements EventRegistration {
         return listener;
     }
 
+    /**
+     * Returns the queue with the pending events of this local registration, or {@code null} if its events are dispatched
+     * directly on the event threads.
+     */
+    public ListenerEventQueue getEventQueue() {
+        return eventQueue;
+    }
+
+    void setEventQueue(ListenerEventQueue eventQueue) {
+        this.eventQueue = eventQueue;
+    }
+
     //CHECKSTYLE:OFF
     @Override
     public boolean equals(Object o) {
@@ -32,10 +32,24 @@ public class RemoteEventProcessor extends EventProcessor implements StripedRunna
     @Override
     public void run() {
         try {
-            EventEnvelope eventEnvelope = (EventEnvelope) eventService.nodeEngine.toObject(packet);
-            process(eventEnvelope);
+            Object payload = eventService.nodeEngine.toObject(packet);
+            if (payload instanceof EventEnvelopeBatch) {
+                processBatch((EventEnvelopeBatch) payload);
+            } else {
+                process((EventEnvelope) payload);
+            }
         } catch (Exception e) {
             eventService.logger.warning("Error while logging processing event", e);
         }
     }
+
+    private void processBatch(EventEnvelopeBatch batch) {
+        for (EventEnvelope eventEnvelope : batch.getEnvelopes()) {
+            try {
+                process(eventEnvelope);
+            } catch (Exception e) {
+                eventService.logger.warning("Error while processing event " + eventEnvelope, e);
+            }
+        }
+    }
 }
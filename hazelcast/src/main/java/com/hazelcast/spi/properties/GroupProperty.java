@@ -105,6 +105,33 @@ public final class GroupProperty {
             = new HazelcastProperty("hazelcast.event.queue.capacity", 1000000);
     public static final HazelcastProperty EVENT_QUEUE_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.event.queue.timeout.millis", 250, MILLISECONDS);
+    /**
+     * The maximum number of events that are sent to a remote member in a single packet. Events are batched per
+     * target member and event stripe. Batching is off by default; the default of 1, or any value less than 2, sends
+     * every event in its own packet.
+     */
+    public static final HazelcastProperty EVENT_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.event.batch.size", 1);
+    /**
+     * The maximum time an event is kept in a batch before the batch is sent, even if it isn't full.
+     */
+    public static final HazelcastProperty EVENT_BATCH_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.event.batch.delay.millis", 1, MILLISECONDS);
+    /**
+     * The capacity of the queue of pending events of each local listener registration. When set, the events of a listener
+     * are queued per registration, so a slow listener can't fill the shared event queue and cause events of other
+     * listeners to be dropped. The default of 0 dispatches events directly on the shared event threads. Coalescing map
+     * listeners, see {@link com.hazelcast.map.listener.CoalescingMapListener}, always have a queue; with the default its
+     * capacity is {@code hazelcast.event.queue.capacity}.
+     */
+    public static final HazelcastProperty EVENT_LISTENER_QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.event.listener.queue.capacity", 0);
+    /**
+     * What a listener queue does with a new event when it is full; one of DROP_OLDEST, COALESCE or BLOCK. See
+     * {@link com.hazelcast.spi.impl.eventservice.impl.ListenerQueueOverflowPolicy}.
+     */
+    public static final HazelcastProperty EVENT_LISTENER_QUEUE_OVERFLOW_POLICY
+            = new HazelcastProperty("hazelcast.event.listener.queue.overflow.policy", "DROP_OLDEST");
 
     public static final HazelcastProperty HEALTH_MONITORING_LEVEL
             = new HazelcastProperty("hazelcast.health.monitoring.level", HealthMonitorLevel.SILENT.toString());
@@ -16,13 +16,33 @@
 
 package com.hazelcast.topic.impl;
 
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.MessageListener;
 import com.hazelcast.monitor.LocalTopicStats;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.executor.CompletableFutureTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.spi.ExecutionService.ASYNC_EXECUTOR;
 
 public class TopicProxy<E> extends TopicProxySupport implements ITopic<E> {
 
+    private final Queue<CompletableFutureTask<Void>> asyncPublishes = new ConcurrentLinkedQueue<CompletableFutureTask<Void>>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drainAsyncPublishes();
+        }
+    };
+
     public TopicProxy(String name, NodeEngine nodeEngine, TopicService service) {
         super(name, nodeEngine, service);
     }
@@ -32,6 +52,47 @@ public class TopicProxy<E> extends TopicProxySupport implements ITopic<E> {
         publishInternal(message);
     }
 
+    /**
+     * Publishes the message on the async executor, so the caller doesn't pay for dispatching the message to the
+     * listeners. The message is serialized by the caller. The messages published asynchronously through this proxy are
+     * published one after the other, so their order is preserved.
+     */
+    @Override
+    public ICompletableFuture<Void> publishAsync(E message) {
+        final Data data = getNodeEngine().toData(message);
+        ExecutorService executor = getNodeEngine().getExecutionService().getExecutor(ASYNC_EXECUTOR);
+        CompletableFutureTask<Void> task = new CompletableFutureTask<Void>(new Runnable() {
+            @Override
+            public void run() {
+                publishInternal(data);
+            }
+        }, null, executor);
+        asyncPublishes.offer(task);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                throw e;
+            }
+        }
+        return task;
+    }
+
+    private void drainAsyncPublishes() {
+        for (; ; ) {
+            CompletableFutureTask<Void> task;
+            while ((task = asyncPublishes.poll()) != null) {
+                task.run();
+            }
+            draining.set(false);
+            // a publish queued after the queue was found empty may have seen the drain still running
+            if (asyncPublishes.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
     @Override
     public String addMessageListener(MessageListener<E> listener) {
         if (listener == null) {
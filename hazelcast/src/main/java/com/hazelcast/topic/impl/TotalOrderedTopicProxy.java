@@ -31,9 +31,13 @@ public class TotalOrderedTopicProxy extends TopicProxy {
 
     @Override
     public void publish(Object message) {
+        publishAsync(message).join();
+    }
+
+    @Override
+    public InternalCompletableFuture<Void> publishAsync(Object message) {
         Operation operation = new PublishOperation(getName(), toData(message))
                 .setPartitionId(partitionId);
-        InternalCompletableFuture f = invokeOnPartition(operation);
-        f.join();
+        return invokeOnPartition(operation);
     }
 }
@@ -18,12 +18,10 @@ package com.hazelcast.topic.impl.reliable;
 
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
-import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.Message;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.spi.NodeEngine;
@@ -31,15 +29,18 @@ import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.topic.ReliableMessageListener;
 
+import java.util.List;
+
 
 /**
  * An {@link com.hazelcast.core.ExecutionCallback} that will try to read an item from the ringbuffer or blocks
  * if no item is available. All data that are read is pushed into the {@link com.hazelcast.core.MessageListener}. It is
  * a self-perpetuating stream of async calls.
  * <p/>
- * The ReliableTopicRunner keeps track of the sequence.
+ * The ReliableTopicRunner keeps track of the sequence. The reads are done through the {@link ReliableTopicReader}
+ * of the topic, which shares them with the other listeners of the topic.
  */
-class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+class ReliableMessageListenerRunner<E> implements ExecutionCallback<List<ReliableTopicMessage>> {
 
     final ReliableMessageListener<E> listener;
     private final Ringbuffer<ReliableTopicMessage> ringbuffer;
@@ -52,7 +53,6 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
 
     private long sequence;
     private volatile boolean cancelled;
-    private final int batchSze;
 
     public ReliableMessageListenerRunner(String id,
                                          ReliableMessageListener<E> listener,
@@ -66,7 +66,6 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         this.serializationService = nodeEngine.getSerializationService();
         this.clusterService = nodeEngine.getClusterService();
         this.logger = nodeEngine.getLogger(ReliableMessageListenerRunner.class);
-        this.batchSze = proxy.topicConfig.getReadBatchSize();
 
         // we are going to listen to next publication. We don't care about what already has been published.
         long initialSequence = listener.retrieveInitialSequence();
@@ -81,18 +80,15 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
             return;
         }
 
-        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = ringbuffer.readManyAsync(sequence, 1, batchSze, null);
-        f.andThen(this, proxy.executor);
+        proxy.reader.read(sequence, this);
     }
 
     // This method is called from the provided executor.
     @Override
-    public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+    public void onResponse(List<ReliableTopicMessage> result) {
         // we process all messages in batch. So we don't release the thread and reschedule ourselves;
         // but we'll process whatever was received in 1 go.
-        for (Object item : result) {
-            ReliableTopicMessage message = (ReliableTopicMessage) item;
-
+        for (ReliableTopicMessage message : result) {
             if (cancelled) {
                 return;
             }
@@ -20,6 +20,7 @@ import com.hazelcast.config.ListenerConfig;
 import com.hazelcast.config.ReliableTopicConfig;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.MessageListener;
 import com.hazelcast.monitor.LocalTopicStats;
@@ -27,12 +28,10 @@ import com.hazelcast.monitor.impl.LocalTopicStatsImpl;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.Data;
-import com.hazelcast.ringbuffer.OverflowPolicy;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.spi.AbstractDistributedObject;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.topic.ReliableMessageListener;
-import com.hazelcast.topic.TopicOverloadException;
 import com.hazelcast.topic.TopicOverloadPolicy;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.UuidUtil;
@@ -64,6 +63,8 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     final LocalTopicStatsImpl localTopicStats = new LocalTopicStatsImpl();
     final ReliableTopicConfig topicConfig;
     final TopicOverloadPolicy overloadPolicy;
+    final ReliableTopicPublisher publisher;
+    final ReliableTopicReader reader;
 
     private final NodeEngine nodeEngine;
     private final Address thisAddress;
@@ -80,6 +81,20 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         this.executor = initExecutor(nodeEngine, topicConfig);
         this.thisAddress = nodeEngine.getThisAddress();
         this.overloadPolicy = topicConfig.getTopicOverloadPolicy();
+        this.publisher = new ReliableTopicPublisher(name, ringbuffer, overloadPolicy,
+                nodeEngine.getExecutionService().getExecutor(ASYNC_EXECUTOR), nodeEngine.getLogger(getClass())) {
+            @Override
+            protected void schedule(Runnable task, long delayMs) {
+                ReliableTopicProxy.this.nodeEngine.getExecutionService().schedule(task, delayMs, MILLISECONDS);
+            }
+
+            @Override
+            protected void onPublished(int messageCount) {
+                localTopicStats.incrementPublishes(messageCount);
+            }
+        };
+
+        this.reader = new ReliableTopicReader(ringbuffer, executor, topicConfig.getReadBatchSize());
 
         for (ListenerConfig listenerConfig : topicConfig.getMessageListenerConfigs()) {
             addMessageListener(listenerConfig);
@@ -146,26 +161,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     @Override
     public void publish(E payload) {
         try {
-            Data data = nodeEngine.toData(payload);
-            ReliableTopicMessage message = new ReliableTopicMessage(data, thisAddress);
-            switch (overloadPolicy) {
-                case ERROR:
-                    addOrFail(message);
-                    break;
-                case DISCARD_OLDEST:
-                    addOrOverwrite(message);
-                    break;
-                case DISCARD_NEWEST:
-                    ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-                    break;
-                case BLOCK:
-                    addWithBackoff(message);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
-            }
-
-            localTopicStats.incrementPublishes();
+            publishAsync(payload).get();
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -173,31 +169,11 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         }
     }
 
-    private Long addOrOverwrite(ReliableTopicMessage message) throws Exception {
-        return ringbuffer.addAsync(message, OverflowPolicy.OVERWRITE).get();
-    }
-
-    private void addOrFail(ReliableTopicMessage message) throws Exception {
-        long sequenceId = ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-        if (sequenceId == -1) {
-            throw new TopicOverloadException("Failed to publish message: " + message + " on topic:" + getName());
-        }
-    }
-
-    private void addWithBackoff(ReliableTopicMessage message) throws Exception {
-        long timeoutMs = INITIAL_BACKOFF_MS;
-        for (; ; ) {
-            long result = ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-            if (result != -1) {
-                break;
-            }
-
-            MILLISECONDS.sleep(timeoutMs);
-            timeoutMs *= 2;
-            if (timeoutMs > MAX_BACKOFF) {
-                timeoutMs = MAX_BACKOFF;
-            }
-        }
+    @Override
+    public ICompletableFuture<Void> publishAsync(E payload) {
+        Data data = nodeEngine.toData(payload);
+        ReliableTopicMessage message = new ReliableTopicMessage(data, thisAddress);
+        return publisher.publish(message);
     }
 
     @Override
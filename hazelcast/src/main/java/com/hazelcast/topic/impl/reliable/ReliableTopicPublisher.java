@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.topic.TopicOverloadException;
+import com.hazelcast.topic.TopicOverloadPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.topic.impl.reliable.ReliableTopicProxy.INITIAL_BACKOFF_MS;
+import static com.hazelcast.topic.impl.reliable.ReliableTopicProxy.MAX_BACKOFF;
+import static java.lang.Math.min;
+
+/**
+ * Publishes the messages of a reliable topic in batches.
+ *
+ * Messages are queued and written to the ringbuffer using {@link Ringbuffer#addAllAsync}. Only a single batch is in
+ * flight at any given moment; the messages published while a batch is being written are coalesced into the next batch.
+ * So under a low load every message is written immediately and under a high load the batches grow, up to
+ * {@link #MAX_BATCH_SIZE} messages, and the number of operations (and backups) per message drops. Because there is
+ * only a single batch in flight, the publishing order is preserved.
+ *
+ * The {@link TopicOverloadPolicy} is applied to a batch as a whole:
+ * <ol>
+ * <li>{@link TopicOverloadPolicy#DISCARD_OLDEST}: the batch overwrites the oldest messages</li>
+ * <li>{@link TopicOverloadPolicy#DISCARD_NEWEST}: the batch is discarded if there is no space for it</li>
+ * <li>{@link TopicOverloadPolicy#ERROR}: the futures of the batch fail with a {@link TopicOverloadException}
+ * if there is no space for it</li>
+ * <li>{@link TopicOverloadPolicy#BLOCK}: the batch is retried with an exponential backoff until there is space</li>
+ * </ol>
+ *
+ * The messages waiting for the next batch are bounded by the capacity of the ringbuffer, so publishing faster than the
+ * ringbuffer accepts messages can't exhaust the memory. When that many messages are waiting, the policy is applied to
+ * the published message right away: {@link TopicOverloadPolicy#DISCARD_OLDEST} discards the oldest waiting message,
+ * {@link TopicOverloadPolicy#DISCARD_NEWEST} discards the published message, and {@link TopicOverloadPolicy#ERROR} and
+ * {@link TopicOverloadPolicy#BLOCK} fail its future with a {@link TopicOverloadException}.
+ *
+ * It is used by the member and the client side reliable topic proxies; the way a retry is scheduled is up to the proxy.
+ */
+public abstract class ReliableTopicPublisher {
+
+    /**
+     * The maximum number of messages that are written to the ringbuffer in a single batch.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final String topicName;
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final TopicOverloadPolicy overloadPolicy;
+    private final Executor executor;
+    private final ILogger logger;
+    private final Queue<PublishFuture> pending = new ConcurrentLinkedQueue<PublishFuture>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private volatile int capacity;
+
+    protected ReliableTopicPublisher(String topicName, Ringbuffer<ReliableTopicMessage> ringbuffer,
+                                     TopicOverloadPolicy overloadPolicy, Executor executor, ILogger logger) {
+        this.topicName = topicName;
+        this.ringbuffer = ringbuffer;
+        this.overloadPolicy = overloadPolicy;
+        this.executor = executor;
+        this.logger = logger;
+    }
+
+    /**
+     * Queues the message for publication.
+     *
+     * @param message the message to publish
+     * @return the future that completes when the message has been written to the ringbuffer (or discarded
+     * by the {@link TopicOverloadPolicy#DISCARD_NEWEST} or {@link TopicOverloadPolicy#DISCARD_OLDEST} policy).
+     */
+    public ICompletableFuture<Void> publish(ReliableTopicMessage message) {
+        PublishFuture future = new PublishFuture(message, executor, logger);
+        if (offer(future)) {
+            tryFlush();
+        }
+        return future;
+    }
+
+    /**
+     * Queues the future unless the capacity of the ringbuffer worth of messages is already waiting; in that case the
+     * overload policy decides what is discarded.
+     *
+     * @return {@code true} if the future has been queued
+     */
+    private boolean offer(PublishFuture future) {
+        if (pendingCount.incrementAndGet() > getCapacity()) {
+            if (overloadPolicy == TopicOverloadPolicy.DISCARD_OLDEST) {
+                PublishFuture oldest = pending.poll();
+                if (oldest != null) {
+                    pendingCount.decrementAndGet();
+                    oldest.complete(null);
+                }
+            } else {
+                pendingCount.decrementAndGet();
+                future.complete(overloadPolicy == TopicOverloadPolicy.DISCARD_NEWEST ? null : new TopicOverloadException(
+                        "Failed to publish message on topic:" + topicName + ", too many messages are waiting"));
+                return false;
+            }
+        }
+        pending.offer(future);
+        return true;
+    }
+
+    /**
+     * Schedules the task to be run after the given delay. Used to retry a batch with the
+     * {@link TopicOverloadPolicy#BLOCK} policy.
+     */
+    protected abstract void schedule(Runnable task, long delayMs);
+
+    /**
+     * Called when the given number of messages have been published. Can be used to update statistics.
+     */
+    protected void onPublished(int messageCount) {
+    }
+
+    private void tryFlush() {
+        while (!pending.isEmpty() && flushing.compareAndSet(false, true)) {
+            List<PublishFuture> batch = nextBatch();
+            if (!batch.isEmpty()) {
+                write(batch, INITIAL_BACKOFF_MS);
+                return;
+            }
+            // the pending messages have been taken by a batch that completed concurrently; check again
+            flushing.set(false);
+        }
+    }
+
+    private List<PublishFuture> nextBatch() {
+        int batchSize = getMaxBatchSize();
+        List<PublishFuture> batch = new ArrayList<PublishFuture>(min(batchSize, pending.size()));
+        for (int k = 0; k < batchSize; k++) {
+            PublishFuture future = pending.poll();
+            if (future == null) {
+                break;
+            }
+            pendingCount.decrementAndGet();
+            batch.add(future);
+        }
+        return batch;
+    }
+
+    private int getMaxBatchSize() {
+        // a batch that doesn't fit in the ringbuffer can never be written without overwriting
+        return min(MAX_BATCH_SIZE, getCapacity());
+    }
+
+    private int getCapacity() {
+        int c = capacity;
+        if (c == 0) {
+            c = (int) min(Integer.MAX_VALUE, ringbuffer.capacity());
+            capacity = c;
+        }
+        return c;
+    }
+
+    private void write(final List<PublishFuture> batch, final long backoffMs) {
+        List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>(batch.size());
+        for (PublishFuture future : batch) {
+            messages.add(future.message);
+        }
+
+        OverflowPolicy overflowPolicy = overloadPolicy == TopicOverloadPolicy.DISCARD_OLDEST
+                ? OverflowPolicy.OVERWRITE
+                : OverflowPolicy.FAIL;
+
+        ICompletableFuture<Long> f;
+        try {
+            f = ringbuffer.addAllAsync(messages, overflowPolicy);
+        } catch (RuntimeException e) {
+            completeBatch(batch, e);
+            return;
+        }
+
+        f.andThen(new ExecutionCallback<Long>() {
+            @Override
+            public void onResponse(Long sequence) {
+                if (sequence != -1) {
+                    onPublished(batch.size());
+                    completeBatch(batch, null);
+                    return;
+                }
+
+                switch (overloadPolicy) {
+                    case DISCARD_NEWEST:
+                        completeBatch(batch, null);
+                        break;
+                    case BLOCK:
+                        retry(batch, backoffMs);
+                        break;
+                    default:
+                        completeBatch(batch, new TopicOverloadException(
+                                "Failed to publish " + batch.size() + " messages on topic:" + topicName));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                completeBatch(batch, t);
+            }
+        });
+    }
+
+    private void retry(final List<PublishFuture> batch, long backoffMs) {
+        final long nextBackoffMs = min(backoffMs * 2, MAX_BACKOFF);
+        try {
+            schedule(new Runnable() {
+                @Override
+                public void run() {
+                    write(batch, nextBackoffMs);
+                }
+            }, backoffMs);
+        } catch (RuntimeException e) {
+            completeBatch(batch, e);
+        }
+    }
+
+    private void completeBatch(List<PublishFuture> batch, Throwable error) {
+        for (PublishFuture future : batch) {
+            future.complete(error);
+        }
+        flushing.set(false);
+        tryFlush();
+    }
+
+    private static final class PublishFuture extends AbstractCompletableFuture<Void> {
+
+        private final ReliableTopicMessage message;
+
+        private PublishFuture(ReliableTopicMessage message, Executor executor, ILogger logger) {
+            super(executor, logger);
+            this.message = message;
+        }
+
+        private void complete(Throwable error) {
+            setResult(error);
+        }
+
+        @Override
+        protected boolean shouldCancel(boolean mayInterruptIfRunning) {
+            // a message can't be taken back once it has been queued
+            return false;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads the ringbuffer of a reliable topic on behalf of all the listeners of the topic in this member or client.
+ *
+ * Every listener keeps track of its own sequence and asks the reader for the messages from that sequence on. Instead
+ * of every listener doing its own remote read, the reader shares the reads between the listeners:
+ * <ol>
+ * <li>if a read from the same sequence is already in flight, the listener joins it</li>
+ * <li>if the sequence falls in the batch that was read last, the listener is served from that batch</li>
+ * <li>otherwise a new read is issued</li>
+ * </ol>
+ * Listeners that keep up with the topic ask for the same sequences, so a batch is read once and fanned out to all of
+ * them; the number of reads on the ringbuffer owner no longer grows with the number of listeners. A listener that falls
+ * behind, or starts from a different sequence, gets its own reads until it catches up.
+ *
+ * The messages are handed to every listener in a separate task on the executor, so listeners are called in parallel
+ * while the messages of a single listener are processed in order, since a listener only asks for the next messages
+ * after it processed the previous ones.
+ */
+public final class ReliableTopicReader {
+
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final Executor executor;
+    private final int batchSize;
+
+    private final Object mutex = new Object();
+    // guarded by mutex
+    private final Map<Long, SharedRead> reads = new HashMap<Long, SharedRead>();
+    // guarded by mutex
+    private Batch lastBatch;
+
+    public ReliableTopicReader(Ringbuffer<ReliableTopicMessage> ringbuffer, Executor executor, int batchSize) {
+        this.ringbuffer = ringbuffer;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the messages from the given sequence on; blocks until at least 1 message is available. The callback is
+     * called on the executor with the messages starting at the given sequence, or with the failure of the read.
+     *
+     * @param sequence the sequence of the first message to read
+     * @param callback the callback
+     */
+    public void read(long sequence, ExecutionCallback<List<ReliableTopicMessage>> callback) {
+        List<ReliableTopicMessage> cached = null;
+        SharedRead newRead = null;
+        synchronized (mutex) {
+            if (lastBatch != null && lastBatch.contains(sequence)) {
+                cached = lastBatch.from(sequence);
+            } else {
+                SharedRead read = reads.get(sequence);
+                if (read == null) {
+                    read = new SharedRead(sequence);
+                    reads.put(sequence, read);
+                    newRead = read;
+                }
+                read.callbacks.add(callback);
+            }
+        }
+
+        if (cached != null) {
+            deliver(callback, cached);
+        } else if (newRead != null) {
+            issue(newRead);
+        }
+    }
+
+    /**
+     * Returns the number of reads currently in flight. Used for testing.
+     */
+    int pendingReads() {
+        synchronized (mutex) {
+            return reads.size();
+        }
+    }
+
+    private void issue(SharedRead read) {
+        try {
+            ringbuffer.readManyAsync(read.sequence, 1, batchSize, null).andThen(read);
+        } catch (RuntimeException e) {
+            read.onFailure(e);
+        }
+    }
+
+    private void deliver(final ExecutionCallback<List<ReliableTopicMessage>> callback,
+                         final List<ReliableTopicMessage> messages) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                callback.onResponse(messages);
+            }
+        });
+    }
+
+    private void fail(final ExecutionCallback<List<ReliableTopicMessage>> callback, final Throwable t) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                callback.onFailure(t);
+            }
+        });
+    }
+
+    /**
+     * A read that is in flight, together with the callbacks of all the listeners waiting for it.
+     */
+    private final class SharedRead implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+
+        private final long sequence;
+        private final List<ExecutionCallback<List<ReliableTopicMessage>>> callbacks
+                = new ArrayList<ExecutionCallback<List<ReliableTopicMessage>>>();
+
+        private SharedRead(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+            // every message is deserialized once and shared between the listeners
+            List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>(result.readCount());
+            for (ReliableTopicMessage message : result) {
+                messages.add(message);
+            }
+            messages = Collections.unmodifiableList(messages);
+
+            List<ExecutionCallback<List<ReliableTopicMessage>>> waiting;
+            synchronized (mutex) {
+                reads.remove(sequence);
+                if (lastBatch == null || lastBatch.sequence < sequence) {
+                    lastBatch = new Batch(sequence, messages);
+                }
+                waiting = callbacks;
+            }
+
+            for (ExecutionCallback<List<ReliableTopicMessage>> callback : waiting) {
+                deliver(callback, messages);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            List<ExecutionCallback<List<ReliableTopicMessage>>> waiting;
+            synchronized (mutex) {
+                reads.remove(sequence);
+                waiting = callbacks;
+            }
+
+            for (ExecutionCallback<List<ReliableTopicMessage>> callback : waiting) {
+                fail(callback, t);
+            }
+        }
+    }
+
+    /**
+     * A batch of consecutive messages that has been read.
+     */
+    private static final class Batch {
+
+        private final long sequence;
+        private final List<ReliableTopicMessage> messages;
+
+        private Batch(long sequence, List<ReliableTopicMessage> messages) {
+            this.sequence = sequence;
+            this.messages = messages;
+        }
+
+        private boolean contains(long sequence) {
+            return sequence >= this.sequence && sequence < this.sequence + messages.size();
+        }
+
+        private List<ReliableTopicMessage> from(long sequence) {
+            return messages.subList((int) (sequence - this.sequence), messages.size());
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.executor;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.core.NonBlocking;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.annotation.PrivateApi;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.isNotNull;
+
+/**
+ * The future returned by {@link InternalCompletableFuture#thenApply(IFunction)} and
+ * {@link InternalCompletableFuture#thenCompose(IFunction)}. The static {@link #thenApply(ICompletableFuture, IFunction)}
+ * and {@link #thenCompose(ICompletableFuture, IFunction)} chain a function to any {@link ICompletableFuture}.
+ * <p/>
+ * The function is registered as a callback on the source future. Unless it is {@link NonBlocking}, it is run by the
+ * default executor of the source future, which is also the default executor of the chained future. A failure of the
+ * source future or of the function completes the chained future with an {@link ExecutionException}.
+ * <p/>
+ * This is an internal API. Chaining isn't part of the public {@link ICompletableFuture} contract: user code only sees
+ * {@link ICompletableFuture#andThen(ExecutionCallback)}, and this class and the chaining methods of
+ * {@link InternalCompletableFuture} may change or be removed in any release.
+ *
+ * @param <V> the type of the value of this future
+ */
+@PrivateApi
+public final class ChainedFuture<V> extends AbstractCompletableFuture<V> implements InternalCompletableFuture<V> {
+
+    private static final ILogger LOGGER = Logger.getLogger(ChainedFuture.class);
+
+    private final Executor defaultExecutor;
+
+    private ChainedFuture(Executor defaultExecutor) {
+        super(defaultExecutor, LOGGER);
+        this.defaultExecutor = defaultExecutor;
+    }
+
+    /**
+     * Returns the executor to run the given callback or function with.
+     *
+     * @param callback        the callback or function
+     * @param defaultExecutor the default executor of the future
+     * @return the calling thread executor if the callback is {@link NonBlocking}, the default executor otherwise
+     */
+    public static Executor executorFor(Object callback, Executor defaultExecutor) {
+        return callback instanceof NonBlocking ? CallingThreadExecutor.INSTANCE : defaultExecutor;
+    }
+
+    /**
+     * Chains the function to the source future, which can be any {@link ICompletableFuture}.
+     *
+     * @param source   the future to chain the function to
+     * @param function the function to apply to the value of the source future
+     * @param <T>      the type of the value of the source future
+     * @param <R>      the type of the value of the returned future
+     * @return the future completed with the result of the function
+     * @see InternalCompletableFuture#thenApply(IFunction)
+     */
+    public static <T, R> InternalCompletableFuture<R> thenApply(ICompletableFuture<T> source,
+                                                                IFunction<? super T, ? extends R> function) {
+        if (source instanceof InternalCompletableFuture) {
+            return ((InternalCompletableFuture<T>) source).thenApply(function);
+        }
+        return thenApply(source, function, new DefaultExecutor(source));
+    }
+
+    /**
+     * Chains the function to the source future, which can be any {@link ICompletableFuture}.
+     *
+     * @param source   the future to chain the function to
+     * @param function the function that creates the next future from the value of the source future
+     * @param <T>      the type of the value of the source future
+     * @param <R>      the type of the value of the returned future
+     * @return the future completed with the result of the future created by the function
+     * @see InternalCompletableFuture#thenCompose(IFunction)
+     */
+    public static <T, R> InternalCompletableFuture<R> thenCompose(
+            ICompletableFuture<T> source, IFunction<? super T, ? extends ICompletableFuture<R>> function) {
+        if (source instanceof InternalCompletableFuture) {
+            return ((InternalCompletableFuture<T>) source).thenCompose(function);
+        }
+        return thenCompose(source, function, new DefaultExecutor(source));
+    }
+
+    /**
+     * Chains the function to the source future.
+     *
+     * @param source          the future to chain the function to
+     * @param function        the function to apply to the value of the source future
+     * @param defaultExecutor the default executor of the source future
+     * @param <T>             the type of the value of the source future
+     * @param <R>             the type of the value of the returned future
+     * @return the future completed with the result of the function
+     * @see InternalCompletableFuture#thenApply(IFunction)
+     */
+    public static <T, R> InternalCompletableFuture<R> thenApply(ICompletableFuture<T> source,
+                                                                final IFunction<? super T, ? extends R> function,
+                                                                Executor defaultExecutor) {
+        isNotNull(function, "function");
+
+        final ChainedFuture<R> result = new ChainedFuture<R>(defaultExecutor);
+        source.andThen(new ExecutionCallback<T>() {
+            @Override
+            public void onResponse(T response) {
+                Object value;
+                try {
+                    value = function.apply(response);
+                } catch (Throwable t) {
+                    value = t;
+                }
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                result.complete(t);
+            }
+        }, executorFor(function, defaultExecutor));
+        return result;
+    }
+
+    /**
+     * Chains the function to the source future.
+     *
+     * @param source          the future to chain the function to
+     * @param function        the function that creates the next future from the value of the source future
+     * @param defaultExecutor the default executor of the source future
+     * @param <T>             the type of the value of the source future
+     * @param <R>             the type of the value of the returned future
+     * @return the future completed with the result of the future created by the function
+     * @see InternalCompletableFuture#thenCompose(IFunction)
+     */
+    public static <T, R> InternalCompletableFuture<R> thenCompose(
+            ICompletableFuture<T> source, final IFunction<? super T, ? extends ICompletableFuture<R>> function,
+            Executor defaultExecutor) {
+        isNotNull(function, "function");
+
+        final ChainedFuture<R> result = new ChainedFuture<R>(defaultExecutor);
+        final ExecutionCallback<R> completion = new ExecutionCallback<R>() {
+            @Override
+            public void onResponse(R response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                result.complete(t);
+            }
+        };
+        source.andThen(new ExecutionCallback<T>() {
+            @Override
+            public void onResponse(T response) {
+                ICompletableFuture<R> next;
+                try {
+                    next = function.apply(response);
+                } catch (Throwable t) {
+                    result.complete(t);
+                    return;
+                }
+                if (next == null) {
+                    result.complete(new NullPointerException("Function returned a null future: " + function));
+                    return;
+                }
+                // completing the chained future never blocks
+                next.andThen(completion, CallingThreadExecutor.INSTANCE);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                result.complete(t);
+            }
+        }, executorFor(function, defaultExecutor));
+        return result;
+    }
+
+    @Override
+    public V join() {
+        try {
+            return get();
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    @Override
+    public V getSafely() {
+        return join();
+    }
+
+    @Override
+    public <R> InternalCompletableFuture<R> thenApply(IFunction<? super V, ? extends R> function) {
+        return thenApply(this, function, defaultExecutor);
+    }
+
+    @Override
+    public <R> InternalCompletableFuture<R> thenCompose(IFunction<? super V, ? extends ICompletableFuture<R>> function) {
+        return thenCompose(this, function, defaultExecutor);
+    }
+
+    private void complete(Object value) {
+        if (value instanceof Throwable && !(value instanceof ExecutionException)) {
+            value = new ExecutionException((Throwable) value);
+        }
+        setResult(value);
+    }
+
+    /**
+     * Runs tasks on the default executor of a completed future that offers no access to its executor, by registering
+     * them as callbacks on it.
+     */
+    private static final class DefaultExecutor implements Executor {
+
+        private final ICompletableFuture future;
+
+        DefaultExecutor(ICompletableFuture future) {
+            this.future = future;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void execute(final Runnable command) {
+            future.andThen(new ExecutionCallback() {
+                @Override
+                public void onResponse(Object response) {
+                    command.run();
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    command.run();
+                }
+            });
+        }
+    }
+}
@@ -79,7 +79,7 @@ public final class CompletedFuture<V> implements ICompletableFuture<V> {
 
     @Override
     public void andThen(ExecutionCallback<V> callback) {
-        andThen(callback, asyncExecutor);
+        andThen(callback, ChainedFuture.executorFor(callback, asyncExecutor));
     }
 
     @Override
@@ -18,6 +18,7 @@ package com.hazelcast.util.executor;
 
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.NonBlocking;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
@@ -144,7 +145,11 @@ public class DelegatingFuture<V> implements ICompletableFuture<V> {
 
     @Override
     public void andThen(final ExecutionCallback<V> callback) {
-        future.andThen(new DelegatingExecutionCallback<V>(callback));
+        if (callback instanceof NonBlocking) {
+            future.andThen(new DelegatingExecutionCallback<V>(callback), CallingThreadExecutor.INSTANCE);
+        } else {
+            future.andThen(new DelegatingExecutionCallback<V>(callback));
+        }
     }
 
     @Override
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.executor;
+
+import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.logging.ILogger;
+
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+
+/**
+ * A {@link StripedExecutor} variant which doesn't let a hot key starve the other keys of its stripe while other workers
+ * idle.
+ * <p/>
+ * The tasks are put in key-queues: the tasks of a {@link StripedRunnable} go to the key-queue of its key, the other tasks
+ * to a random key-queue. Each worker owns a fixed set of key-queues, and a key-queue with pending tasks is in the ready
+ * queue of its worker. When a worker has nothing to do, it steals a whole key-queue from the worker with the most ready
+ * key-queues. A key-queue is run by one worker at a time and a worker runs a bounded batch of its tasks before handing it
+ * back to its owner, so the tasks of a key still run one after the other, in order.
+ * <p/>
+ * Like the {@link StripedExecutor}, each worker accepts at most {@code maximumQueueSize} pending tasks. If a worker is full
+ * and the runnable implements {@link TimeoutRunnable}, then a configurable amount of blocking is done. If the runnable
+ * doesn't implement TimeoutRunnable or when the blocking times out, then the task is rejected and a
+ * RejectedExecutionException is thrown.
+ * <p/>
+ * The queue depth, the latency and the stolen work of each worker are exposed as probes by
+ * {@link #provideMetrics(MetricsRegistry, String)}. The started and completed tasks and their latency are counted by the
+ * worker owning their key-queue, also when another worker stole it; the {@code maxLatencyMicros} probe is the highest
+ * latency since the executor started, so reading it has no side effect.
+ */
+public final class WorkStealingStripedExecutor implements Executor {
+
+    private static final int KEY_QUEUES_PER_WORKER = 16;
+    private static final int KEY_QUEUE_BATCH_SIZE = 16;
+
+    private final Worker[] workers;
+    private final KeyQueue[] keyQueues;
+    private final Random rand = new Random();
+    private final int maximumQueueSize;
+    private final ILogger logger;
+    private volatile boolean live = true;
+
+    public WorkStealingStripedExecutor(ILogger logger, String threadNamePrefix, ThreadGroup threadGroup,
+                                       int threadCount, int maximumQueueSize) {
+        this.logger = logger;
+        this.maximumQueueSize = maximumQueueSize;
+        this.workers = new Worker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            workers[i] = new Worker(threadGroup, threadNamePrefix);
+        }
+        this.keyQueues = new KeyQueue[threadCount * KEY_QUEUES_PER_WORKER];
+        for (int i = 0; i < keyQueues.length; i++) {
+            keyQueues[i] = new KeyQueue(workers[i % threadCount]);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Registers the probes of each worker under {@code prefix.thread[name]}.
+     *
+     * @param metricsRegistry the registry to register the probes with
+     * @param prefix          the prefix of the probe names
+     */
+    public void provideMetrics(MetricsRegistry metricsRegistry, String prefix) {
+        for (Worker worker : workers) {
+            metricsRegistry.scanAndRegister(worker, prefix + ".thread[" + worker.getName() + "]");
+        }
+    }
+
+    /**
+     * Returns the total number of tasks pending to be executed.
+     *
+     * @return total work queue size.
+     */
+    public int getWorkQueueSize() {
+        int size = 0;
+        for (Worker worker : workers) {
+            size += worker.queueSize();
+        }
+        return size;
+    }
+
+    /**
+     * Shuts down this WorkStealingStripedExecutor.
+     * <p/>
+     * No checking is done to see if the executor already is shut down, so it should be called only once.
+     * <p/>
+     * If there is any pending work, it will be thrown away.
+     */
+    public void shutdown() {
+        live = false;
+
+        for (KeyQueue keyQueue : keyQueues) {
+            keyQueue.tasks.clear();
+        }
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Checks if this WorkStealingStripedExecutor is alive (so not shut down).
+     *
+     * @return live (true)
+     */
+    public boolean isLive() {
+        return live;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command can't be null");
+        }
+
+        if (!live) {
+            throw new RejectedExecutionException("Executor is terminated!");
+        }
+
+        KeyQueue keyQueue = getKeyQueue(command);
+        keyQueue.owner.acquire(command);
+        keyQueue.add(command);
+    }
+
+    private KeyQueue getKeyQueue(Runnable command) {
+        final int key;
+        if (command instanceof StripedRunnable) {
+            key = ((StripedRunnable) command).getKey();
+        } else {
+            key = rand.nextInt();
+        }
+
+        int index = hashToIndex(key, keyQueues.length);
+        return keyQueues[index];
+    }
+
+    /**
+     * Wakes up an idle worker, if any, to steal a ready key-queue of a busy worker.
+     */
+    private void wakeUpIdleWorker() {
+        int offset = rand.nextInt(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            Worker worker = workers[(offset + i) % workers.length];
+            if (worker.idle) {
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    /**
+     * The tasks of a group of keys. The owner of a key-queue accounts for its pending tasks and gets it back when it is
+     * scheduled again; any worker can run it.
+     */
+    private final class KeyQueue {
+
+        private final Worker owner;
+        private final Queue<PendingTask> tasks = new ConcurrentLinkedQueue<PendingTask>();
+        // true while the key-queue is ready or running, so it is run by one worker at a time
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private KeyQueue(Worker owner) {
+            this.owner = owner;
+        }
+
+        private void add(Runnable command) {
+            tasks.offer(new PendingTask(command, System.nanoTime()));
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                owner.ready(this);
+            }
+        }
+
+        private void run(Worker worker) {
+            for (int i = 0; i < KEY_QUEUE_BATCH_SIZE; i++) {
+                PendingTask task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                owner.release(task);
+                worker.process(task.command);
+                // counted by the owner like the started tasks, whichever worker ran the task
+                owner.completedCount.inc();
+            }
+
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private static final class PendingTask {
+
+        private final Runnable command;
+        private final long scheduledNanos;
+
+        private PendingTask(Runnable command, long scheduledNanos) {
+            this.command = command;
+            this.scheduledNanos = scheduledNanos;
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        private final Semaphore capacity = new Semaphore(maximumQueueSize);
+        private final Queue<KeyQueue> readyQueue = new ConcurrentLinkedQueue<KeyQueue>();
+        @Probe(name = "readyKeyQueueCount")
+        private final AtomicInteger readyCount = new AtomicInteger();
+        @Probe(name = "completedCount")
+        private final Counter completedCount = newMwCounter();
+        @Probe(name = "stolenKeyQueueCount")
+        private final Counter stolenCount = newSwCounter();
+        @Probe(name = "startedCount")
+        private final Counter startedCount = newMwCounter();
+        @Probe(name = "totalLatencyMicros")
+        private final Counter totalLatencyMicros = newMwCounter();
+        @Probe(name = "maxLatencyMicros")
+        private final AtomicLong maxLatencyMicros = new AtomicLong();
+        private volatile boolean idle;
+
+        private Worker(ThreadGroup threadGroup, String threadNamePrefix) {
+            super(threadGroup, threadNamePrefix
+                    + "-"
+                    + StripedExecutor.THREAD_ID_GENERATOR.incrementAndGet());
+        }
+
+        /**
+         * Returns the number of pending tasks of the key-queues of this worker.
+         */
+        @Probe(name = "queueSize")
+        private int queueSize() {
+            return maximumQueueSize - capacity.availablePermits();
+        }
+
+        private void acquire(Runnable command) {
+            long timeout = 0;
+            TimeUnit timeUnit = TimeUnit.SECONDS;
+            if (command instanceof TimeoutRunnable) {
+                TimeoutRunnable timeoutRunnable = ((TimeoutRunnable) command);
+                timeout = timeoutRunnable.getTimeout();
+                timeUnit = timeoutRunnable.getTimeUnit();
+            }
+
+            boolean acquired;
+            try {
+                if (timeout == 0) {
+                    acquired = capacity.tryAcquire();
+                } else {
+                    acquired = capacity.tryAcquire(timeout, timeUnit);
+                }
+            } catch (InterruptedException e) {
+                throw new RejectedExecutionException("Thread is interrupted while offering work");
+            }
+
+            if (!acquired) {
+                throw new RejectedExecutionException("Task: " + command + " is rejected, the worker queue is full!");
+            }
+        }
+
+        private void release(PendingTask task) {
+            capacity.release();
+            startedCount.inc();
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - task.scheduledNanos);
+            totalLatencyMicros.inc(latencyMicros);
+            for (;;) {
+                long max = maxLatencyMicros.get();
+                if (latencyMicros <= max || maxLatencyMicros.compareAndSet(max, latencyMicros)) {
+                    break;
+                }
+            }
+        }
+
+        private void ready(KeyQueue keyQueue) {
+            readyQueue.offer(keyQueue);
+            readyCount.incrementAndGet();
+            if (idle) {
+                LockSupport.unpark(this);
+            } else {
+                wakeUpIdleWorker();
+            }
+        }
+
+        private KeyQueue pollReady() {
+            KeyQueue keyQueue = readyQueue.poll();
+            if (keyQueue != null) {
+                readyCount.decrementAndGet();
+            }
+            return keyQueue;
+        }
+
+        /**
+         * Steals a ready key-queue of the worker with the most ready key-queues.
+         */
+        private KeyQueue steal() {
+            Worker victim = null;
+            int victimReadyCount = 0;
+            for (Worker worker : workers) {
+                int count = worker.readyCount.get();
+                if (worker != this && count > victimReadyCount) {
+                    victim = worker;
+                    victimReadyCount = count;
+                }
+            }
+            if (victim == null) {
+                return null;
+            }
+
+            KeyQueue keyQueue = victim.pollReady();
+            if (keyQueue != null) {
+                stolenCount.inc();
+            }
+            return keyQueue;
+        }
+
+        private KeyQueue nextKeyQueue() {
+            KeyQueue keyQueue = pollReady();
+            return keyQueue != null ? keyQueue : steal();
+        }
+
+        @Override
+        public void run() {
+            while (live) {
+                try {
+                    KeyQueue keyQueue = nextKeyQueue();
+                    if (keyQueue == null) {
+                        idle = true;
+                        // checked again after publishing the idle flag, so a key-queue made ready meanwhile isn't missed
+                        keyQueue = nextKeyQueue();
+                        if (keyQueue == null) {
+                            LockSupport.park(this);
+                            // a task may have left the interrupt flag set; it would keep park from blocking
+                            Thread.interrupted();
+                        }
+                        idle = false;
+                    }
+                    if (keyQueue != null) {
+                        keyQueue.run(this);
+                    }
+                } catch (Throwable t) {
+                    //This should not happen because the process method is protected against failure.
+                    //So if this happens, something very seriously is going wrong.
+                    logger.severe(getName() + " caught an exception", t);
+                }
+            }
+        }
+
+        private void process(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                OutOfMemoryErrorDispatcher.inspectOutOfMemoryError(e);
+                logger.severe(getName() + " caught an exception while processing task:" + task, e);
+            }
+        }
+    }
+}
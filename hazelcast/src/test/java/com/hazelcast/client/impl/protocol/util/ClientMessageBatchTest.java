@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapSizeCodec;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMessageBatchTest extends HazelcastTestSupport {
+
+    private final List<ClientMessage> received = new ArrayList<ClientMessage>();
+
+    private final ClientMessageBuilder.MessageHandler handler = new ClientMessageBuilder.MessageHandler() {
+        @Override
+        public void handleMessage(ClientMessage message) {
+            received.add(message);
+        }
+    };
+
+    @Test
+    public void testConstructor() {
+        assertUtilityConstructor(ClientMessageBatch.class);
+    }
+
+    @Test
+    public void testEncode() {
+        List<ClientMessage> messages = createMessages(3);
+
+        ClientMessage batch = ClientMessageBatch.encode(messages);
+
+        assertTrue(batch.isFlagSet(ClientMessage.BATCH_FLAG));
+        assertTrue(batch.isFlagSet(ClientMessage.BEGIN_AND_END_FLAGS));
+        int expectedFrameLength = ClientMessage.HEADER_SIZE;
+        for (ClientMessage message : messages) {
+            expectedFrameLength += message.getFrameLength();
+        }
+        assertEquals(expectedFrameLength, batch.getFrameLength());
+    }
+
+    @Test
+    public void testDecode() {
+        ClientMessage batch = ClientMessageBatch.encode(createMessages(3));
+
+        int count = ClientMessageBatch.decode(batch, handler);
+
+        assertEquals(3, count);
+        assertReceived(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecode_whenFrameLengthExceedsBatch_thenThrowIllegalArgumentException() {
+        ClientMessage batch = ClientMessageBatch.encode(createMessages(2));
+        batch.setFrameLength(batch.getFrameLength() - 1);
+
+        ClientMessageBatch.decode(batch, handler);
+    }
+
+    @Test
+    public void testClientMessageBuilder_unpacksBatch() {
+        ClientMessage single = createMessage(0);
+        ClientMessage batch = ClientMessageBatch.encode(createMessages(3));
+
+        ByteBuffer buffer = ByteBuffer.allocate(single.getFrameLength() + batch.getFrameLength());
+        single.writeTo(buffer);
+        batch.writeTo(buffer);
+        buffer.flip();
+
+        ClientMessageBuilder builder = new ClientMessageBuilder(handler);
+        int messagesCreated = builder.onData(buffer);
+
+        assertEquals(4, messagesCreated);
+        assertEquals(4, received.size());
+        for (ClientMessage message : received) {
+            assertFalse(message.isFlagSet(ClientMessage.BATCH_FLAG));
+        }
+        assertEquals("map-0", MapSizeCodec.decodeRequest(received.get(0)).name);
+        assertEquals("map-0", MapSizeCodec.decodeRequest(received.get(1)).name);
+        assertEquals("map-2", MapSizeCodec.decodeRequest(received.get(3)).name);
+    }
+
+    private void assertReceived(int count) {
+        assertEquals(count, received.size());
+        for (int i = 0; i < count; i++) {
+            ClientMessage message = received.get(i);
+            message.index(message.getDataOffset());
+            assertEquals(i, message.getCorrelationId());
+            assertEquals(i, message.getPartitionId());
+            assertEquals("map-" + i, MapSizeCodec.decodeRequest(message).name);
+        }
+    }
+
+    private static List<ClientMessage> createMessages(int count) {
+        List<ClientMessage> messages = new ArrayList<ClientMessage>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(createMessage(i));
+        }
+        return messages;
+    }
+
+    private static ClientMessage createMessage(int id) {
+        ClientMessage message = MapSizeCodec.encodeRequest("map-" + id);
+        message.setCorrelationId(id);
+        message.setPartitionId(id);
+        message.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
+        return message;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapSizeCodec;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.client.impl.protocol.util.ClientMessageBufferPool.MAX_BUFFER_SIZE;
+import static com.hazelcast.client.impl.protocol.util.ClientMessageBufferPool.MIN_BUFFER_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMessageBufferPoolTest extends HazelcastTestSupport {
+
+    private ClientMessageBufferPool pool = new ClientMessageBufferPool(4);
+
+    @Test
+    public void bufferSizeFor() {
+        assertEquals(MIN_BUFFER_SIZE, ClientMessageBufferPool.bufferSizeFor(0));
+        assertEquals(MIN_BUFFER_SIZE, ClientMessageBufferPool.bufferSizeFor(MIN_BUFFER_SIZE));
+        assertEquals(2 * MIN_BUFFER_SIZE, ClientMessageBufferPool.bufferSizeFor(MIN_BUFFER_SIZE + 1));
+        assertEquals(MAX_BUFFER_SIZE, ClientMessageBufferPool.bufferSizeFor(MAX_BUFFER_SIZE));
+        assertEquals(MAX_BUFFER_SIZE + 1, ClientMessageBufferPool.bufferSizeFor(MAX_BUFFER_SIZE + 1));
+    }
+
+    @Test
+    public void take_whenEmpty_thenAllocatesSizeClass() {
+        byte[] buffer = pool.take(100);
+
+        assertEquals(128, buffer.length);
+    }
+
+    @Test
+    public void take_whenReturned_thenReused() {
+        byte[] buffer = pool.take(100);
+        pool.giveBack(buffer);
+
+        assertSame(buffer, pool.take(128));
+    }
+
+    @Test
+    public void take_whenReturnedToOtherSizeClass_thenNotReused() {
+        byte[] buffer = pool.take(100);
+        pool.giveBack(buffer);
+
+        byte[] other = pool.take(200);
+
+        assertNotSame(buffer, other);
+        assertEquals(256, other.length);
+    }
+
+    @Test
+    public void take_whenLargerThanMaxBufferSize() {
+        byte[] buffer = pool.take(MAX_BUFFER_SIZE + 1);
+
+        assertEquals(MAX_BUFFER_SIZE + 1, buffer.length);
+    }
+
+    @Test
+    public void giveBack_whenNotPoolable_thenDropped() {
+        byte[] buffer = new byte[MAX_BUFFER_SIZE + 1];
+        pool.giveBack(buffer);
+        pool.giveBack(new byte[100]);
+
+        assertNotSame(buffer, pool.take(MAX_BUFFER_SIZE + 1));
+    }
+
+    @Test
+    public void giveBack_whenSizeClassFull_thenDropped() {
+        ClientMessageBufferPool pool = new ClientMessageBufferPool(1);
+        byte[] first = new byte[MIN_BUFFER_SIZE];
+        byte[] second = new byte[MIN_BUFFER_SIZE];
+        pool.giveBack(first);
+        pool.giveBack(second);
+
+        assertSame(first, pool.take(MIN_BUFFER_SIZE));
+        assertNotSame(second, pool.take(MIN_BUFFER_SIZE));
+    }
+
+    @Test
+    public void createForEncode_whenPooled_thenHeaderCleared() {
+        byte[] buffer = pool.take(MIN_BUFFER_SIZE);
+        ClientMessage previous = ClientMessage.createForEncode(new SafeBuffer(buffer), 0);
+        previous.addFlag(ClientMessage.BATCH_FLAG);
+        previous.setCorrelationId(42);
+        previous.setMessageType(7);
+        pool.giveBack(buffer);
+
+        ClientMessage message = ClientMessage.createForEncode(MIN_BUFFER_SIZE, pool);
+
+        assertSame(buffer, message.buffer().byteArray());
+        assertEquals(0, message.getFlags());
+        assertEquals(0, message.getCorrelationId());
+        assertEquals(0, message.getMessageType());
+        assertEquals(-1, message.getPartitionId());
+    }
+
+    @Test
+    public void release_whenPooled_thenBufferReused() {
+        ClientMessage message = ClientMessage.createForEncode(MIN_BUFFER_SIZE, pool);
+        byte[] buffer = message.buffer().byteArray();
+
+        message.release();
+        // a second release is ignored
+        message.release();
+
+        assertSame(buffer, pool.take(MIN_BUFFER_SIZE));
+        assertNotSame(buffer, pool.take(MIN_BUFFER_SIZE));
+    }
+
+    @Test
+    public void toString_whenReleased() {
+        ClientMessage message = ClientMessage.createForEncode(MIN_BUFFER_SIZE, pool);
+
+        message.release();
+
+        assertEquals("ClientMessage{released}", message.toString());
+        assertEquals(0, message.hashCode());
+        assertFalse(message.equals(ClientMessage.createForEncode(MIN_BUFFER_SIZE, pool)));
+    }
+
+    @Test
+    public void release_whenNotPooled_thenIgnored() {
+        ClientMessage message = MapSizeCodec.encodeRequest("map");
+
+        message.release();
+
+        assertEquals(MapSizeCodec.REQUEST_TYPE.id(), message.getMessageType());
+    }
+
+    @Test
+    public void batch_whenPooled_thenBufferReusedAfterRelease() {
+        List<ClientMessage> messages = new ArrayList<ClientMessage>();
+        messages.add(MapSizeCodec.encodeRequest("map1"));
+        messages.add(MapSizeCodec.encodeRequest("map2"));
+
+        ClientMessage batch = ClientMessageBatch.encode(messages, pool);
+        byte[] buffer = batch.buffer().byteArray();
+        batch.release();
+
+        assertSame(buffer, pool.take(buffer.length));
+    }
+
+    @Test
+    public void writeTo_whenPooled() {
+        ClientMessage message = MapSizeCodec.encodeRequest("map");
+        ClientMessage pooled = ClientMessage.createForEncode(message.getFrameLength(), pool);
+        pooled.buffer().putBytes(0, message.buffer().byteArray(), 0, message.getFrameLength());
+
+        ByteBuffer dst = ByteBuffer.allocate(1024);
+        pooled.writeTo(dst);
+        dst.flip();
+
+        ClientMessage decoded = ClientMessage.createForDecode(new SafeBuffer(new byte[dst.limit()]), 0);
+        dst.get(decoded.buffer().byteArray());
+        assertEquals(message, decoded);
+    }
+}
@@ -36,6 +36,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CountDownLatch;
@@ -605,6 +606,40 @@ public class QueueAdvancedTest extends HazelcastTestSupport {
         assertIterableEquals(queue2, "item2", "item3");
     }
 
+    @Test
+    public void testAddAllAndDrainTo_inBatches() {
+        HazelcastInstance[] instances = createHazelcastInstances();
+        HazelcastInstance instance1 = instances[0];
+        HazelcastInstance instance2 = instances[1];
+        String name = generateKeyOwnedBy(instance1);
+
+        IQueue<Integer> queue1 = instance1.getQueue(name);
+        IQueue<Integer> queue2 = instance2.getQueue(name);
+
+        List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(i);
+        }
+        assertTrue(queue1.addAll(items));
+
+        List<Integer> drained = new ArrayList<Integer>();
+        while (drained.size() < items.size()) {
+            assertEquals(1000, queue1.drainTo(drained, 1000));
+        }
+        assertEquals(items, drained);
+        assertEquals(0, queue1.size());
+
+        // the drained queue keeps working after its item storage was trimmed
+        queue1.offer(1);
+        queue1.offer(2);
+        queue1.removeAll(Collections.singletonList(1));
+        assertSizeEventually(1, queue2);
+
+        instance1.shutdown();
+
+        assertEquals(Integer.valueOf(2), queue2.poll());
+    }
+
     @Test
     public void testTakeInterruption() {
         Config config = new Config()
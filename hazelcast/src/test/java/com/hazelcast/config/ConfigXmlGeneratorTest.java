@@ -23,8 +23,10 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category(QuickTest.class)
@@ -109,5 +111,38 @@ public class ConfigXmlGeneratorTest {
         assertEquals(attrConfig.getExtractor(), xmlAttrConfig.getExtractor());
     }
 
+    @Test
+    public void testMapValueCompressionEnabled() {
+        Config config = new Config();
+        config.addMapConfig(new MapConfig("compressedMap").setValueCompressionEnabled(true));
+
+        String xml = new ConfigXmlGenerator().generate(config);
+        Config xmlConfig = new XmlConfigBuilder(new ByteArrayInputStream(xml.getBytes())).build();
+
+        assertTrue(xmlConfig.getMapConfig("compressedMap").isValueCompressionEnabled());
+    }
+
+    @Test
+    public void testRingbufferPersistence() {
+        Config config = new Config();
+        RingbufferPersistenceConfig persistenceConfig = new RingbufferPersistenceConfig()
+                .setEnabled(true)
+                .setBaseDir(new File("rb-dir").getAbsoluteFile())
+                .setSegmentSize(1024)
+                .setRetentionSeconds(60)
+                .setMaxSizeMb(10);
+        config.addRingBufferConfig(new RingbufferConfig("rb").setPersistenceConfig(persistenceConfig));
+
+        String xml = new ConfigXmlGenerator().generate(config);
+        Config xmlConfig = new XmlConfigBuilder(new ByteArrayInputStream(xml.getBytes())).build();
+
+        RingbufferPersistenceConfig xmlPersistenceConfig = xmlConfig.getRingbufferConfig("rb").getPersistenceConfig();
+        assertTrue(xmlPersistenceConfig.isEnabled());
+        assertEquals(persistenceConfig.getBaseDir(), xmlPersistenceConfig.getBaseDir());
+        assertEquals(1024, xmlPersistenceConfig.getSegmentSize());
+        assertEquals(60, xmlPersistenceConfig.getRetentionSeconds());
+        assertEquals(10, xmlPersistenceConfig.getMaxSizeMb());
+    }
+
 
 }
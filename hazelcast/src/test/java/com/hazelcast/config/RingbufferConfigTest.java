@@ -194,7 +194,8 @@ public class RingbufferConfigTest {
         String s = config.toString();
 
         assertEquals("RingbufferConfig{name='someringbuffer', capacity=10000, backupCount=1, " +
-                "asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY}", s);
+                "asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY, persistenceConfig=RingbufferPersistenceConfig{" +
+                "enabled=false, baseDir=ringbuffer-store, segmentSize=1048576, retentionSeconds=0, maxSizeMb=0}}", s);
     }
 
     // =================== getAsReadOnly ============================
@@ -275,6 +275,27 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(InMemoryFormat.OBJECT, ringbufferConfig.getInMemoryFormat());
     }
 
+    @Test
+    public void readRingbufferPersistence() {
+        String xml = HAZELCAST_START_TAG
+                + "    <ringbuffer name=\"custom\">\n"
+                + "        <persistence enabled=\"true\">\n"
+                + "            <base-dir>rb-dir</base-dir>\n"
+                + "            <segment-size>1024</segment-size>\n"
+                + "            <retention-seconds>60</retention-seconds>\n"
+                + "            <max-size-mb>10</max-size-mb>\n"
+                + "        </persistence>\n"
+                + "    </ringbuffer>"
+                + HAZELCAST_END_TAG;
+        Config config = buildConfig(xml);
+        RingbufferPersistenceConfig persistenceConfig = config.getRingbufferConfig("custom").getPersistenceConfig();
+        assertTrue(persistenceConfig.isEnabled());
+        assertEquals(new File("rb-dir").getAbsoluteFile(), persistenceConfig.getBaseDir());
+        assertEquals(1024, persistenceConfig.getSegmentSize());
+        assertEquals(60, persistenceConfig.getRetentionSeconds());
+        assertEquals(10, persistenceConfig.getMaxSizeMb());
+    }
+
     @Test
     public void testConfig2Xml2DefaultConfig() {
         testConfig2Xml2Config("hazelcast-default.xml");
@@ -466,6 +487,20 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(CacheDeserializedValues.INDEX_ONLY, mapConfig2.getCacheDeserializedValues());
     }
 
+    @Test
+    public void testMapConfig_valueCompressionEnabled() {
+        String xml = HAZELCAST_START_TAG
+                + "<map name=\"mymap\">"
+                + "<value-compression-enabled>true</value-compression-enabled>"
+                + "</map>"
+                + HAZELCAST_END_TAG;
+
+        Config config = buildConfig(xml);
+
+        assertTrue(config.getMapConfig("mymap").isValueCompressionEnabled());
+        assertFalse(config.getMapConfig("default").isValueCompressionEnabled());
+    }
+
     @Test
     public void testMapConfig_cacheValueConfig_defaultValue() {
         String xml = HAZELCAST_START_TAG
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.ascii;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.XmlConfigBuilder;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.ascii.memcache.MemcacheEntry;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.SlowTest;
+import net.spy.memcached.ConnectionFactory;
+import net.spy.memcached.ConnectionFactoryBuilder;
+import net.spy.memcached.FailureMode;
+import net.spy.memcached.MemcachedClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.MAGIC_REQUEST;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.MAGIC_RESPONSE;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_GETKQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_NOOP;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_SETQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_NO_ERROR;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.STATUS_UNKNOWN_COMMAND;
+import static com.hazelcast.util.StringUtil.bytesToString;
+import static com.hazelcast.util.StringUtil.stringToBytes;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(SlowTest.class)
+public class MemcacheBinaryTest extends HazelcastTestSupport {
+
+    private static final Config config = new XmlConfigBuilder().build();
+
+    private HazelcastInstance instance;
+    private MemcachedClient client;
+
+    @BeforeClass
+    public static void setupConfig() {
+        config.setProperty(GroupProperty.MEMCACHE_ENABLED.getName(), "true");
+    }
+
+    @Before
+    public void setup() throws IOException {
+        instance = Hazelcast.newHazelcastInstance(config);
+        client = newClient(ConnectionFactoryBuilder.Protocol.BINARY);
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+        Hazelcast.shutdownAll();
+    }
+
+    private MemcachedClient newClient(ConnectionFactoryBuilder.Protocol protocol) throws IOException {
+        List<InetSocketAddress> addresses = Collections.singletonList(getAddress());
+        ConnectionFactory factory = new ConnectionFactoryBuilder()
+                .setProtocol(protocol)
+                .setOpTimeout(60 * 60 * 60)
+                .setDaemon(true)
+                .setFailureMode(FailureMode.Retry)
+                .build();
+        return new MemcachedClient(factory, addresses);
+    }
+
+    private InetSocketAddress getAddress() {
+        return instance.getCluster().getLocalMember().getSocketAddress();
+    }
+
+    @Test
+    public void testSetGetAddReplaceDelete() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(client.set(String.valueOf(i), 0, i).get());
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, client.get(String.valueOf(i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertFalse(client.add(String.valueOf(i), 0, i * 100).get());
+        }
+        for (int i = 100; i < 200; i++) {
+            assertTrue(client.add(String.valueOf(i), 0, i).get());
+        }
+        for (int i = 0; i < 200; i++) {
+            assertTrue(client.replace(String.valueOf(i), 0, i * 10).get());
+        }
+        for (int i = 200; i < 300; i++) {
+            assertFalse(client.replace(String.valueOf(i), 0, i).get());
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i * 10, client.get(String.valueOf(i)));
+        }
+        for (int i = 100; i < 200; i++) {
+            assertTrue(client.delete(String.valueOf(i)).get());
+        }
+        for (int i = 100; i < 200; i++) {
+            assertNull(client.get(String.valueOf(i)));
+            assertFalse(client.delete(String.valueOf(i)).get());
+        }
+    }
+
+    @Test
+    public void testGetBulk() throws Exception {
+        List<String> keys = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            client.set(String.valueOf(i), 0, i).get();
+            keys.add(String.valueOf(i));
+        }
+        keys.add("missing");
+
+        Map<String, Object> bulk = client.getBulk(keys);
+
+        assertEquals(1000, bulk.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, bulk.get(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void testSharesEntriesWithTextProtocolAndIMap() throws Exception {
+        MemcachedClient textClient = newClient(ConnectionFactoryBuilder.Protocol.TEXT);
+        try {
+            IMap<String, Object> map = instance.getMap("hz_memcache_shared");
+            map.put("fromMap", "mapValue");
+            client.set("shared:fromBinary", 0, "binaryValue").get();
+            textClient.set("shared:fromText", 0, "textValue").get();
+
+            assertEquals("mapValue", client.get("shared:fromMap"));
+            assertEquals("textValue", client.get("shared:fromText"));
+            assertEquals("binaryValue", textClient.get("shared:fromBinary"));
+            MemcacheEntry entry = (MemcacheEntry) map.get("fromBinary");
+            assertArrayEquals(stringToBytes("binaryValue"), entry.getValue());
+        } finally {
+            textClient.shutdown();
+        }
+    }
+
+    @Test
+    public void testIncrementAndDecrement() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            client.set(String.valueOf(i), 0, String.valueOf(i)).get();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 2, client.incr(String.valueOf(i), i));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, client.decr(String.valueOf(i), i));
+        }
+        assertEquals(0, client.decr("0", 5));
+        assertEquals(-1, client.incr("missing", 1));
+        assertEquals(42, client.incr("created", 1, 42));
+        assertEquals(43, client.incr("created", 1, 42));
+        assertEquals("43", client.get("created"));
+    }
+
+    @Test
+    public void testAppendPrepend() throws Exception {
+        client.set("key", 0, "value").get();
+
+        assertTrue(client.append(0, "key", "-append").get());
+        assertTrue(client.prepend(0, "key", "prepend-").get());
+        assertFalse(client.append(0, "missing", "-append").get());
+
+        assertEquals("prepend-value-append", client.get("key"));
+    }
+
+    @Test
+    public void testTouch() throws Exception {
+        client.set("key", 0, "value").get();
+
+        assertTrue(client.touch("key", 1).get());
+        assertFalse(client.touch("missing", 1).get());
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNull(client.get("key"));
+            }
+        });
+    }
+
+    @Test
+    public void testVersion() {
+        Map<SocketAddress, String> versions = client.getVersions();
+        assertEquals("Hazelcast", versions.values().iterator().next());
+    }
+
+    @Test
+    public void testQuietCommandsArePipelined() throws Exception {
+        Socket socket = new Socket(getAddress().getAddress(), getAddress().getPort());
+        try {
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            ByteBuffer request = ByteBuffer.allocate(4096);
+            for (int i = 0; i < 3; i++) {
+                writeRequest(request, OPCODE_SETQ, i, "key" + i, new byte[8], stringToBytes("value" + i));
+            }
+            writeRequest(request, OPCODE_NOOP, 3, "", null, null);
+            out.write(request.array(), 0, request.position());
+            out.flush();
+            // successful quiet sets send nothing, so the noop is the first response
+            assertEquals(3, readResponse(in).opaque);
+
+            request.clear();
+            for (int i = 0; i < 4; i++) {
+                writeRequest(request, OPCODE_GETKQ, 10 + i, "key" + i, null, null);
+            }
+            writeRequest(request, OPCODE_NOOP, 20, "", null, null);
+            writeRequest(request, (byte) 0x7f, 21, "", null, null);
+            out.write(request.array(), 0, request.position());
+            out.flush();
+            // the quiet miss of key3 sends nothing
+            for (int i = 0; i < 3; i++) {
+                Response response = readResponse(in);
+                assertEquals(OPCODE_GETKQ, response.opcode);
+                assertEquals(STATUS_NO_ERROR, response.status);
+                assertEquals(10 + i, response.opaque);
+                assertEquals("key" + i, response.key);
+                assertEquals("value" + i, response.value);
+            }
+            Response noop = readResponse(in);
+            assertEquals(OPCODE_NOOP, noop.opcode);
+            assertEquals(20, noop.opaque);
+            Response unknown = readResponse(in);
+            assertEquals(STATUS_UNKNOWN_COMMAND, unknown.status);
+            assertEquals(21, unknown.opaque);
+        } finally {
+            socket.close();
+        }
+    }
+
+    private static void writeRequest(ByteBuffer request, byte opcode, int opaque, String key, byte[] extras,
+                                     byte[] value) {
+        byte[] keyBytes = stringToBytes(key);
+        int extrasLength = extras == null ? 0 : extras.length;
+        int valueLength = value == null ? 0 : value.length;
+        request.put(MAGIC_REQUEST);
+        request.put(opcode);
+        request.putShort((short) keyBytes.length);
+        request.put((byte) extrasLength);
+        request.put((byte) 0);
+        request.putShort((short) 0);
+        request.putInt(extrasLength + keyBytes.length + valueLength);
+        request.putInt(opaque);
+        request.putLong(0);
+        if (extras != null) {
+            request.put(extras);
+        }
+        request.put(keyBytes);
+        if (value != null) {
+            request.put(value);
+        }
+    }
+
+    private static Response readResponse(DataInputStream in) throws IOException {
+        assertEquals(MAGIC_RESPONSE, in.readByte());
+        Response response = new Response();
+        response.opcode = in.readByte();
+        int keyLength = in.readShort();
+        int extrasLength = in.readByte();
+        in.readByte();
+        response.status = in.readShort();
+        int bodyLength = in.readInt();
+        response.opaque = in.readInt();
+        in.readLong();
+        byte[] body = new byte[bodyLength];
+        in.readFully(body);
+        response.key = bytesToString(body, extrasLength, keyLength);
+        int valueOffset = extrasLength + keyLength;
+        response.value = bytesToString(body, valueOffset, bodyLength - valueOffset);
+        return response;
+    }
+
+    private static class Response {
+        byte opcode;
+        short status;
+        int opaque;
+        String key;
+        String value;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.ascii;
+
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.XmlConfigBuilder;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.SlowTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.util.StringUtil.bytesToString;
+import static com.hazelcast.util.StringUtil.stringToBytes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(SlowTest.class)
+public class RestKeepAliveTest extends HazelcastTestSupport {
+
+    private static final String MAPS = "/hazelcast/rest/maps/";
+    private static final Config config = new XmlConfigBuilder().build();
+
+    private HazelcastInstance instance;
+    private Socket socket;
+    private DataInputStream in;
+
+    @BeforeClass
+    public static void setupConfig() {
+        config.setProperty(GroupProperty.REST_ENABLED.getName(), "true");
+    }
+
+    @Before
+    public void setup() throws IOException {
+        instance = Hazelcast.newHazelcastInstance(config);
+        InetSocketAddress address = instance.getCluster().getLocalMember().getSocketAddress();
+        socket = new Socket(address.getAddress(), address.getPort());
+        socket.setSoTimeout(60000);
+        in = new DataInputStream(socket.getInputStream());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        socket.close();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testPipelinedRequests_onSingleConnection() throws IOException {
+        IMap<String, String> map = instance.getMap("map");
+        map.put("a", "1");
+        map.put("b", "2");
+
+        send("GET " + MAPS + "map/a HTTP/1.1\r\n\r\n"
+                + "GET " + MAPS + "map/b HTTP/1.1\r\n\r\n"
+                + "GET " + MAPS + "map/c HTTP/1.1\r\n\r\n");
+
+        Response first = readResponse();
+        assertEquals(200, first.status);
+        assertEquals("1", first.body);
+        assertNull(first.headers.get("connection"));
+        assertEquals("2", readResponse().body);
+        assertEquals(204, readResponse().status);
+    }
+
+    @Test
+    public void testConnectionClose() throws IOException {
+        instance.getMap("map").put("a", "1");
+
+        send("GET " + MAPS + "map/a HTTP/1.1\r\nConnection: close\r\n\r\n"
+                + "GET " + MAPS + "map/a HTTP/1.1\r\n\r\n");
+
+        Response response = readResponse();
+        assertEquals("1", response.body);
+        assertEquals("close", response.headers.get("connection"));
+        assertEquals(-1, readAfterClose());
+    }
+
+    @Test
+    public void testHttp10_closesByDefault() throws IOException {
+        instance.getMap("map").put("a", "1");
+
+        send("GET " + MAPS + "map/a HTTP/1.0\r\n\r\n");
+
+        Response response = readResponse();
+        assertEquals("1", response.body);
+        assertEquals("close", response.headers.get("connection"));
+        assertEquals(-1, readAfterClose());
+    }
+
+    @Test
+    public void testHttp10_withKeepAlive() throws IOException {
+        instance.getMap("map").put("a", "1");
+
+        send("GET " + MAPS + "map/a HTTP/1.0\r\nConnection: Keep-Alive\r\n\r\n"
+                + "GET " + MAPS + "map/a HTTP/1.0\r\nConnection: Keep-Alive\r\n\r\n");
+
+        for (int i = 0; i < 2; i++) {
+            Response response = readResponse();
+            assertEquals("1", response.body);
+            assertEquals("keep-alive", response.headers.get("connection"));
+        }
+    }
+
+    @Test
+    public void testChunkedPost_followedByPipelinedGet() throws IOException {
+        instance.getMap("map").put("b", "2");
+
+        // pipelined requests are executed concurrently, so the pipelined get reads another key
+        send("POST " + MAPS + "map/a HTTP/1.1\r\nContent-Type: text/plain\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "5;ext=1\r\nhello\r\n6\r\n world\r\n0\r\nX-Trailer: 1\r\n\r\n"
+                + "GET " + MAPS + "map/b HTTP/1.1\r\n\r\n");
+
+        assertEquals(200, readResponse().status);
+        assertEquals("2", readResponse().body);
+
+        send("GET " + MAPS + "map/a HTTP/1.1\r\n\r\n");
+        assertEquals("hello world", readResponse().body);
+    }
+
+    @Test
+    public void testPostWithoutBody_followedByPipelinedGet() throws IOException {
+        instance.getMap("map").put("b", "2");
+
+        send("POST " + MAPS + "map/a HTTP/1.1\r\n\r\n"
+                + "GET " + MAPS + "map/b HTTP/1.1\r\n\r\n");
+
+        assertEquals(200, readResponse().status);
+        assertEquals("2", readResponse().body);
+
+        send("GET " + MAPS + "map/a HTTP/1.1\r\n\r\n");
+        Response response = readResponse();
+        assertEquals(200, response.status);
+        assertEquals("", response.body);
+    }
+
+    @Test
+    public void testBulkGet() throws IOException {
+        IMap<String, String> map = instance.getMap("map");
+        map.put("a", "1");
+        map.put("b c", "2");
+
+        send("GET " + MAPS + "map?key=a&key=b%20c&key=missing HTTP/1.1\r\n\r\n");
+
+        Response response = readResponse();
+        assertEquals(200, response.status);
+        JsonObject result = JsonObject.readFrom(response.body);
+        assertEquals(2, result.size());
+        assertEquals("1", result.get("a").asString());
+        assertEquals("2", result.get("b c").asString());
+    }
+
+    @Test
+    public void testBulkGet_withoutKeys() throws IOException {
+        send("GET " + MAPS + "map HTTP/1.1\r\n\r\n"
+                + "GET " + MAPS + "map?foo=bar HTTP/1.1\r\n\r\n");
+
+        assertEquals(400, readResponse().status);
+        assertEquals(400, readResponse().status);
+    }
+
+    @Test
+    public void testLongRequestLine() throws IOException {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            key.append('k');
+        }
+        instance.getMap("map").put(key.toString(), "1");
+
+        send("GET " + MAPS + "map/" + key + " HTTP/1.1\r\n\r\n");
+
+        assertEquals("1", readResponse().body);
+    }
+
+    private void send(String request) throws IOException {
+        socket.getOutputStream().write(stringToBytes(request));
+        socket.getOutputStream().flush();
+    }
+
+    private int readAfterClose() throws IOException {
+        // the client keeps its side open, so the end of the stream is only seen if the server closes the connection
+        return in.read();
+    }
+
+    private Response readResponse() throws IOException {
+        Response response = new Response();
+        String statusLine = readLine(in);
+        response.status = Integer.parseInt(statusLine.split(" ")[1]);
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            int colon = line.indexOf(':');
+            response.headers.put(line.substring(0, colon).toLowerCase(), line.substring(colon + 1).trim());
+        }
+        String contentLength = response.headers.get("content-length");
+        byte[] body = new byte[contentLength == null ? 0 : Integer.parseInt(contentLength)];
+        in.readFully(body);
+        response.body = bytesToString(body);
+        assertFalse(response.status == 100);
+        return response;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new IOException("Connection closed");
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return bytesToString(line.toByteArray());
+    }
+
+    private static class Response {
+        int status;
+        Map<String, String> headers = new HashMap<String, String>();
+        String body;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii;
+
+import com.hazelcast.instance.Node;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.ExpectedRuntimeException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class TextCommandCallbackTest {
+
+    private TextCommandService textCommandService;
+    private TextCommand command;
+    private RecordingCallback callback;
+
+    @Before
+    public void setup() {
+        Node node = mock(Node.class);
+        when(node.getLogger(any(Class.class))).thenReturn(Logger.getLogger(getClass()));
+        textCommandService = mock(TextCommandService.class);
+        when(textCommandService.getNode()).thenReturn(node);
+        command = mock(TextCommand.class);
+        when(command.shouldReply()).thenReturn(true);
+        callback = new RecordingCallback(textCommandService, command, false);
+    }
+
+    @Test
+    public void onResponse_setsResponseAndSendsCommand() {
+        callback.onResponse("value");
+
+        assertEquals("value", callback.response);
+        assertNull(callback.failure);
+        verify(textCommandService).sendResponse(command);
+    }
+
+    @Test
+    public void onFailure_setsFailureAndSendsCommand() {
+        ExpectedRuntimeException error = new ExpectedRuntimeException();
+
+        callback.onFailure(error);
+
+        assertSame(error, callback.failure);
+        verify(textCommandService).sendResponse(command);
+    }
+
+    @Test
+    public void onResponse_whenHandlerFails_sendsFailureResponse() {
+        callback = new RecordingCallback(textCommandService, command, true);
+
+        callback.onResponse("value");
+
+        assertSame(ExpectedRuntimeException.class, callback.failure.getClass());
+        verify(textCommandService).sendResponse(command);
+    }
+
+    @Test
+    public void onResponse_whenNoReply_doesNotSendCommand() {
+        when(command.shouldReply()).thenReturn(false);
+
+        callback.onResponse("value");
+
+        verify(textCommandService, never()).sendResponse(command);
+    }
+
+    private static class RecordingCallback extends TextCommandCallback<Object> {
+
+        private final boolean failOnResponse;
+        private Object response;
+        private Throwable failure;
+
+        RecordingCallback(TextCommandService textCommandService, TextCommand command, boolean failOnResponse) {
+            super(textCommandService, command);
+            this.failOnResponse = failOnResponse;
+        }
+
+        @Override
+        protected void handleResponse(Object response) {
+            if (failOnResponse) {
+                throw new ExpectedRuntimeException();
+            }
+            this.response = response;
+        }
+
+        @Override
+        protected void handleFailure(Throwable t) {
+            this.failure = t;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.ascii.memcache;
+
+import com.hazelcast.internal.ascii.TextCommand;
+import com.hazelcast.nio.ascii.TextReadHandler;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.MAGIC_REQUEST;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_GET;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_GETKQ;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_NOOP;
+import static com.hazelcast.internal.ascii.memcache.MemcacheBinaryConstants.OPCODE_SET;
+import static com.hazelcast.util.StringUtil.bytesToString;
+import static com.hazelcast.util.StringUtil.stringToBytes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MemcacheBinaryCommandParserTest {
+
+    private TextReadHandler readHandler;
+    private MemcacheBinaryCommandParser parser;
+
+    @Before
+    public void setup() {
+        readHandler = mock(TextReadHandler.class);
+        parser = new MemcacheBinaryCommandParser(readHandler);
+    }
+
+    @Test
+    public void testRead_requestSplitOverReads() {
+        ByteBuffer request = request(OPCODE_SET, 7, "prefix:key", new byte[]{0, 0, 0, 5, 0, 0, 0, 0}, "value");
+
+        while (request.hasRemaining()) {
+            parser.read(ByteBuffer.wrap(new byte[]{request.get()}));
+        }
+
+        MemcacheBinaryCommand command = (MemcacheBinaryCommand) captureRequests(1).get(0);
+        assertEquals(OPCODE_SET, command.getOpcode());
+        assertEquals("prefix:key", command.getKey());
+        assertEquals("hz_memcache_prefix", command.getMapName());
+        assertEquals("key", command.getMapKey());
+        assertEquals(5, command.getExtraInt(0));
+        assertEquals("value", bytesToString(command.getValue()));
+    }
+
+    @Test
+    public void testRead_quietGetsAreBatched() {
+        ByteBuffer requests = ByteBuffer.allocate(1024);
+        requests.put(request(OPCODE_GETKQ, 1, "a", null, null));
+        requests.put(request(OPCODE_GETKQ, 2, "b", null, null));
+        requests.put(request(OPCODE_GET, 3, "c", null, null));
+        requests.put(request(OPCODE_NOOP, 4, "", null, null));
+        requests.flip();
+
+        parser.read(requests);
+
+        List<TextCommand> published = captureRequests(2);
+        MemcacheBinaryMultiGetCommand multiGet = (MemcacheBinaryMultiGetCommand) published.get(0);
+        assertEquals(3, multiGet.size());
+        assertEquals("c", multiGet.getGets().get(2).getKey());
+        assertEquals(OPCODE_NOOP, ((MemcacheBinaryCommand) published.get(1)).getOpcode());
+    }
+
+    @Test
+    public void testRead_pendingBatchIsPublishedWhenBufferIsDrained() {
+        parser.read(request(OPCODE_GETKQ, 1, "a", null, null));
+
+        MemcacheBinaryMultiGetCommand multiGet = (MemcacheBinaryMultiGetCommand) captureRequests(1).get(0);
+        assertEquals(1, multiGet.size());
+    }
+
+    @Test
+    public void testRead_invalidMagicClosesConnection() {
+        ByteBuffer request = request(OPCODE_NOOP, 1, "", null, null);
+        request.put(0, (byte) 0x81);
+
+        parser.read(request);
+        parser.read(request(OPCODE_NOOP, 2, "", null, null));
+
+        verify(readHandler).closeConnection();
+        verify(readHandler, never()).publishRequest(any(TextCommand.class));
+    }
+
+    @Test
+    public void testWriteTo_quietCommandWritesNothing() {
+        MemcacheBinaryCommand command = new MemcacheBinaryCommand(OPCODE_GETKQ, 0, 0, 0, 1, 0);
+        command.setNoResponse();
+        ByteBuffer dst = ByteBuffer.allocate(64);
+
+        assertTrue(command.writeTo(dst));
+        assertEquals(0, dst.position());
+    }
+
+    private List<TextCommand> captureRequests(int count) {
+        ArgumentCaptor<TextCommand> captor = ArgumentCaptor.forClass(TextCommand.class);
+        verify(readHandler, times(count)).publishRequest(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static ByteBuffer request(byte opcode, int opaque, String key, byte[] extras, String value) {
+        byte[] keyBytes = stringToBytes(key);
+        byte[] valueBytes = value == null ? new byte[0] : stringToBytes(value);
+        int extrasLength = extras == null ? 0 : extras.length;
+        ByteBuffer buffer = ByteBuffer.allocate(MemcacheBinaryConstants.HEADER_LENGTH + extrasLength
+                + keyBytes.length + valueBytes.length);
+        buffer.put(MAGIC_REQUEST);
+        buffer.put(opcode);
+        buffer.putShort((short) keyBytes.length);
+        buffer.put((byte) extrasLength);
+        buffer.put((byte) 0);
+        buffer.putShort((short) 0);
+        buffer.putInt(extrasLength + keyBytes.length + valueBytes.length);
+        buffer.putInt(opaque);
+        buffer.putLong(0);
+        if (extras != null) {
+            buffer.put(extras);
+        }
+        buffer.put(keyBytes);
+        buffer.put(valueBytes);
+        buffer.flip();
+        return buffer;
+    }
+}
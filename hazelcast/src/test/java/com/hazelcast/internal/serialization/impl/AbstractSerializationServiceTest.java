@@ -30,6 +30,8 @@ import java.io.Serializable;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -183,6 +185,27 @@ public class AbstractSerializationServiceTest {
         abstractSerializationService.serializerFor(new CustomSerializationTest.Foo());
     }
 
+    @Test
+    public void testSerializerFor_whenLookedUpAgain_sameSerializer() {
+        SerializerAdapter serializer = abstractSerializationService.serializerFor(new SerializableleValue(1));
+
+        assertSame(serializer, abstractSerializationService.serializerFor(new SerializableleValue(2)));
+    }
+
+    @Test
+    public void testSerializerFor_whenGlobalRegisteredAfterFailedLookup() {
+        try {
+            abstractSerializationService.serializerFor(new Object());
+            fail();
+        } catch (HazelcastSerializationException expected) {
+        }
+
+        abstractSerializationService.registerGlobal(new StringBufferSerializer(false));
+
+        SerializerAdapter serializer = abstractSerializationService.serializerFor(new Object());
+        assertEquals(100000, serializer.getTypeId());
+    }
+
     private class StringBufferSerializer implements StreamSerializer<StringBuffer> {
         int typeId = 100000;
         private boolean fail;
@@ -0,0 +1,111 @@
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SerializerLookupCacheTest {
+
+    private SerializerLookupCache cache = new SerializerLookupCache();
+
+    @Test
+    public void get_whenNotCached() {
+        assertNull(cache.get(String.class));
+    }
+
+    @Test
+    public void put() {
+        SerializerAdapter serializer = mock(SerializerAdapter.class);
+
+        cache.put(String.class, serializer, cache.version());
+
+        assertSame(serializer, cache.get(String.class));
+        assertNull(cache.get(Integer.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void put_whenAlreadyCached_keepsFirst() {
+        SerializerAdapter first = mock(SerializerAdapter.class);
+        SerializerAdapter second = mock(SerializerAdapter.class);
+
+        cache.put(String.class, first, cache.version());
+        cache.put(String.class, second, cache.version());
+
+        assertSame(first, cache.get(String.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void put_whenManyTypes_grows() {
+        List<Class> types = newTypes(200);
+        List<SerializerAdapter> serializers = new ArrayList<SerializerAdapter>();
+        for (Class type : types) {
+            SerializerAdapter serializer = mock(SerializerAdapter.class);
+            serializers.add(serializer);
+            cache.put(type, serializer, cache.version());
+        }
+
+        assertEquals(types.size(), cache.size());
+        for (int k = 0; k < types.size(); k++) {
+            assertSame(serializers.get(k), cache.get(types.get(k)));
+        }
+    }
+
+    @Test
+    public void put_whenFull_doesNotCache() {
+        SerializerAdapter serializer = mock(SerializerAdapter.class);
+        List<Class> types = newTypes(SerializerLookupCache.MAX_CACHED_TYPES + 1);
+        for (Class type : types) {
+            cache.put(type, serializer, cache.version());
+        }
+
+        assertEquals(SerializerLookupCache.MAX_CACHED_TYPES, cache.size());
+        assertNull(cache.get(types.get(SerializerLookupCache.MAX_CACHED_TYPES)));
+    }
+
+    @Test
+    public void clear() {
+        cache.put(String.class, mock(SerializerAdapter.class), cache.version());
+
+        cache.clear();
+
+        assertNull(cache.get(String.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void put_whenClearedAfterVersionRead_doesNotCache() {
+        int version = cache.version();
+
+        cache.clear();
+        cache.put(String.class, mock(SerializerAdapter.class), version);
+
+        assertNull(cache.get(String.class));
+        assertEquals(0, cache.size());
+    }
+
+    private static List<Class> newTypes(int count) {
+        List<Class> types = new ArrayList<Class>(count);
+        for (int k = 0; k < count; k++) {
+            ClassLoader classLoader = new ClassLoader(SerializerLookupCacheTest.class.getClassLoader()) {
+            };
+            types.add(Proxy.getProxyClass(classLoader, Runnable.class));
+        }
+        return types;
+    }
+}
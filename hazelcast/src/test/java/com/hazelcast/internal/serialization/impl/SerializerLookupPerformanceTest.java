@@ -0,0 +1,171 @@
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AbstractSerializationService#serializerFor(Object)} for the different kinds of serializers,
+ * including values whose serializer is found through their super class or interface.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializerLookupPerformanceTest {
+
+    private static final int WARMUP_ITERATIONS_COUNT = 10;
+    private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+
+    private AbstractSerializationService ss;
+    private Object[] polymorphicValues;
+    private int index;
+
+    @Setup
+    public void setup() {
+        ss = (AbstractSerializationService) new DefaultSerializationServiceBuilder().build();
+        ss.register(Shape.class, new ShapeSerializer());
+        polymorphicValues = new Object[]{
+                "string", 1, BigInteger.ONE, new DataSerializableValue(), new PortableValue(), new SerializableValue(),
+                new Circle(), new Square(),
+        };
+    }
+
+    @Benchmark
+    public Object constantType() {
+        return ss.serializerFor("string");
+    }
+
+    @Benchmark
+    public Object javaDefaultType() {
+        return ss.serializerFor(BigInteger.ONE);
+    }
+
+    @Benchmark
+    public Object dataSerializable() {
+        return ss.serializerFor(new DataSerializableValue());
+    }
+
+    @Benchmark
+    public Object portable() {
+        return ss.serializerFor(new PortableValue());
+    }
+
+    @Benchmark
+    public Object javaSerializable() {
+        return ss.serializerFor(new SerializableValue());
+    }
+
+    @Benchmark
+    public Object customBySuperType() {
+        return ss.serializerFor(new Circle());
+    }
+
+    @Benchmark
+    public Object polymorphic() {
+        Object value = polymorphicValues[index];
+        index = index == polymorphicValues.length - 1 ? 0 : index + 1;
+        return ss.serializerFor(value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SerializerLookupPerformanceTest.class.getSimpleName())
+                .warmupIterations(WARMUP_ITERATIONS_COUNT)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+                .measurementTime(TimeValue.seconds(1))
+                .verbosity(VerboseMode.NORMAL)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    interface Shape {
+    }
+
+    static class Circle implements Shape, Serializable {
+    }
+
+    static class Square implements Shape, Serializable {
+    }
+
+    static class ShapeSerializer implements StreamSerializer<Shape> {
+
+        @Override
+        public int getTypeId() {
+            return 123456;
+        }
+
+        @Override
+        public void write(ObjectDataOutput out, Shape object) throws IOException {
+            out.writeBoolean(object instanceof Circle);
+        }
+
+        @Override
+        public Shape read(ObjectDataInput in) throws IOException {
+            return in.readBoolean() ? new Circle() : new Square();
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    static class SerializableValue implements Serializable {
+    }
+
+    static class DataSerializableValue implements DataSerializable {
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+        }
+    }
+
+    static class PortableValue implements Portable {
+
+        @Override
+        public int getFactoryId() {
+            return 1;
+        }
+
+        @Override
+        public int getClassId() {
+            return 1;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -88,6 +89,77 @@ public class BufferPoolTest extends HazelcastTestSupport {
         verify(out, times(1)).close();
     }
 
+    @Test
+    public void returnOutputBuffer_whenGrown_keepsBuffer() throws IOException {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        out.write(new byte[BufferPoolImpl.SMALL_CAPACITY * 2]);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(1, bufferPool.mediumOutputQueue.size());
+        assertEquals(0, out.position());
+        assertTrue(((PoolableOutput) out).capacity() >= BufferPoolImpl.SMALL_CAPACITY * 2);
+        assertTrue(bufferPool.outputGrows.get() > 0);
+        assertSame(out, bufferPool.takeOutputBuffer());
+    }
+
+    @Test
+    public void takeOutputBuffer_takesBiggestFirst() throws IOException {
+        BufferObjectDataOutput small = bufferPool.takeOutputBuffer();
+        BufferObjectDataOutput large = bufferPool.takeOutputBuffer();
+        BufferObjectDataOutput medium = bufferPool.takeOutputBuffer();
+        large.write(new byte[BufferPoolImpl.MEDIUM_CAPACITY * 2]);
+        medium.write(new byte[BufferPoolImpl.SMALL_CAPACITY * 2]);
+        bufferPool.returnOutputBuffer(small);
+        bufferPool.returnOutputBuffer(medium);
+        bufferPool.returnOutputBuffer(large);
+
+        assertSame(large, bufferPool.takeOutputBuffer());
+        assertSame(medium, bufferPool.takeOutputBuffer());
+        assertSame(small, bufferPool.takeOutputBuffer());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenOversized_shrinksBuffer() throws IOException {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        out.write(new byte[BufferPoolImpl.LARGE_CAPACITY + 1]);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(1, bufferPool.outputQueue.size());
+        assertTrue(((PoolableOutput) out).capacity() <= BufferPoolImpl.SMALL_CAPACITY);
+        assertEquals(1, bufferPool.outputShrinks.get());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenIdle_shrinksBuffer() throws IOException {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        out.write(new byte[BufferPoolImpl.SMALL_CAPACITY * 2]);
+        bufferPool.returnOutputBuffer(out);
+
+        for (int k = 0; k < BufferPoolImpl.SHRINK_AFTER_IDLE_USES; k++) {
+            assertEquals(0, bufferPool.outputShrinks.get());
+            out = bufferPool.takeOutputBuffer();
+            out.write(1);
+            bufferPool.returnOutputBuffer(out);
+        }
+
+        assertEquals(1, bufferPool.outputShrinks.get());
+        assertEquals(0, bufferPool.mediumOutputQueue.size());
+        assertEquals(1, bufferPool.outputQueue.size());
+        assertTrue(((PoolableOutput) out).capacity() <= BufferPoolImpl.SMALL_CAPACITY);
+    }
+
+    @Test
+    public void takeOutputBuffer_countsHitsAndMisses() {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        bufferPool.returnOutputBuffer(out);
+        bufferPool.takeOutputBuffer();
+
+        assertEquals(1, bufferPool.outputMisses.get());
+        assertEquals(1, bufferPool.outputHits.get());
+    }
+
     // ======================= in ==========================================
 
     @Test
@@ -135,6 +207,17 @@ public class BufferPoolTest extends HazelcastTestSupport {
         verify(in, times(1)).close();
     }
 
+    @Test
+    public void takeInputBuffer_countsHitsAndMisses() {
+        Data data = new HeapData(new byte[]{});
+        BufferObjectDataInput in = bufferPool.takeInputBuffer(data);
+        bufferPool.returnInputBuffer(in);
+        bufferPool.takeInputBuffer(data);
+
+        assertEquals(1, bufferPool.inputMisses.get());
+        assertEquals(1, bufferPool.inputHits.get());
+    }
+
     @Test
     public void returnInputBuffer_whenNull() {
         bufferPool.returnInputBuffer(null);
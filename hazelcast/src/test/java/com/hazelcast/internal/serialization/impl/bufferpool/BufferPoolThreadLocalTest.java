@@ -15,6 +15,7 @@ import org.junit.runner.RunWith;
 import java.lang.ref.WeakReference;
 import java.util.concurrent.Callable;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -54,6 +55,25 @@ public class BufferPoolThreadLocalTest extends HazelcastTestSupport {
         assertNotSame(pool1, pool2);
     }
 
+    @Test
+    public void sum_overAllPools() throws Exception {
+        BufferPoolImpl pool1 = (BufferPoolImpl) bufferPoolThreadLocal.get();
+        BufferPoolImpl pool2 = (BufferPoolImpl) spawn(new Callable<BufferPool>() {
+            @Override
+            public BufferPool call() throws Exception {
+                return bufferPoolThreadLocal.get();
+            }
+        }).get();
+
+        pool1.outputHits.inc(2);
+        pool2.outputHits.inc(3);
+        pool2.inputMisses.inc();
+
+        assertEquals(5, bufferPoolThreadLocal.sum(BufferPoolThreadLocal.OUTPUT_HITS));
+        assertEquals(1, bufferPoolThreadLocal.sum(BufferPoolThreadLocal.INPUT_MISSES));
+        assertEquals(0, bufferPoolThreadLocal.sum(BufferPoolThreadLocal.OUTPUT_GROWS));
+    }
+
     @Test
     public void get_whenCleared() throws Exception {
         // forces the creation of a bufferpool.
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompactDataSerializerHookTest {
+
+    private final DataSerializableFactory factory = new CompactDataSerializerHook().createFactory();
+
+    @Test
+    public void testExistingTypes() {
+        assertType(CompactDataSerializerHook.SCHEMA, Schema.class);
+        assertType(CompactDataSerializerHook.PUT_SCHEMAS, PutSchemasOperation.class);
+        assertType(CompactDataSerializerHook.FETCH_SCHEMA, FetchSchemaOperation.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidType() {
+        factory.create(999);
+    }
+
+    private void assertType(int typeId, Class<?> type) {
+        IdentifiedDataSerializable object = factory.create(typeId);
+
+        assertTrue(type.isInstance(object));
+        assertEquals(CompactDataSerializerHook.F_ID, object.getFactoryId());
+        assertEquals(typeId, object.getId());
+    }
+}
@@ -0,0 +1,78 @@
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializerTest.Address;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializerTest.Person;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompactSerializationClusterTest extends HazelcastTestSupport {
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+
+    @Before
+    public void setup() {
+        factory = createHazelcastInstanceFactory(3);
+        instance1 = factory.newHazelcastInstance();
+        instance2 = factory.newHazelcastInstance();
+    }
+
+    @Test
+    public void testPutAndGet_fromOtherMember() {
+        IMap<String, Person> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, new Person("name" + i, i, new Address("street" + i, i), null));
+        }
+
+        IMap<String, Person> other = instance2.getMap(map.getName());
+        for (int i = 0; i < 100; i++) {
+            Person person = other.get("key" + i);
+            assertEquals("name" + i, person.name);
+            assertEquals("street" + i, person.address.street);
+        }
+    }
+
+    @Test
+    public void testQuery() {
+        IMap<String, Person> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, new Person("name" + i, i, new Address("street" + i, i), null));
+        }
+
+        IMap<String, Person> other = instance2.getMap(map.getName());
+        Collection<Person> result = other.values(new SqlPredicate("age >= 90 and address.number < 95"));
+
+        assertEquals(5, result.size());
+    }
+
+    @Test
+    public void testSchemasAreReplicated_toJoiningMember() {
+        IMap<String, Person> map = instance1.getMap(randomMapName());
+        Person person = new Person("name", 1, new Address("street", 1), null);
+        map.put("key", person);
+
+        HazelcastInstance instance3 = factory.newHazelcastInstance();
+
+        SchemaService schemaService = getNodeEngineImpl(instance3).getService(SchemaService.SERVICE_NAME);
+        assertNotNull(schemaService.getLocalSchema(ClassBinding.forClass(Person.class).schema.getSchemaId()));
+        assertNotNull(schemaService.getLocalSchema(ClassBinding.forClass(Address.class).schema.getSchemaId()));
+    }
+}
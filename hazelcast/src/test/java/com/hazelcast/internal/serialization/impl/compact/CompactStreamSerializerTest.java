@@ -0,0 +1,359 @@
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.nio.serialization.CompactSerializable;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompactStreamSerializerTest {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        AllKinds original = AllKinds.create();
+
+        Data data = serializationService.toData(original);
+        AllKinds found = serializationService.toObject(data);
+
+        assertEquals(SerializationConstants.COMPACT_TYPE, data.getType());
+        assertTrue(CompactStreamSerializer.isCompact(data));
+        original.assertEqualTo(found);
+    }
+
+    @Test
+    public void testRoundTrip_whenNullVariableSizeFields() {
+        AllKinds original = new AllKinds();
+
+        AllKinds found = serializationService.toObject(serializationService.toData(original));
+
+        original.assertEqualTo(found);
+    }
+
+    @Test
+    public void testRoundTrip_whenNestedObjects() {
+        Person person = new Person("joe", 42, new Address("main street", 7), new SerializableTag("vip"));
+
+        Person found = serializationService.toObject(serializationService.toData(person));
+
+        assertEquals("joe", found.name);
+        assertEquals(42, found.age);
+        assertEquals("main street", found.address.street);
+        assertEquals(7, found.address.number);
+        assertEquals("vip", found.tag.value);
+    }
+
+    @Test
+    public void testSchemaIsRegistered() {
+        serializationService.toData(new Address("main street", 7));
+
+        Schema schema = ClassBinding.forClass(Address.class).schema;
+        Schema registered = serializationService.getSchemaRegistry().getLocal(schema.getSchemaId());
+        assertEquals(schema.getClassName(), registered.getClassName());
+    }
+
+    @Test
+    public void testSchemaId_isDeterministic() {
+        Map<String, FieldKind> fields = new HashMap<String, FieldKind>();
+        fields.put("street", FieldKind.UTF);
+        fields.put("number", FieldKind.INT);
+        Schema schema = new Schema(Address.class.getName(), fields);
+
+        assertEquals(ClassBinding.forClass(Address.class).schema.getSchemaId(), schema.getSchemaId());
+        assertEquals(schema, ClassBinding.forClass(Address.class).schema);
+    }
+
+    @Test
+    public void testSchemaId_differsWhenFieldKindDiffers() {
+        Map<String, FieldKind> fields = new HashMap<String, FieldKind>();
+        fields.put("street", FieldKind.UTF);
+        fields.put("number", FieldKind.LONG);
+        Schema schema = new Schema(Address.class.getName(), fields);
+
+        assertFalse(ClassBinding.forClass(Address.class).schema.getSchemaId() == schema.getSchemaId());
+    }
+
+    @Test
+    public void testSchemaLayout_fixedFieldsFirst() {
+        Schema schema = ClassBinding.forClass(AllKinds.class).schema;
+
+        SchemaField[] fields = schema.getFields();
+        assertEquals(FieldKind.DOUBLE, fields[0].getKind());
+        assertEquals(FieldKind.LONG, fields[1].getKind());
+        assertEquals(0, fields[0].getOffset());
+        assertEquals(1 + 1 + 2 + 2 + 4 + 8 + 4 + 8, schema.getFixedSize());
+        assertEquals(11, schema.getVarCount());
+    }
+
+    @Test
+    public void testReadField() throws Exception {
+        Data data = serializationService.toData(AllKinds.create());
+
+        assertEquals(Long.MAX_VALUE, serializationService.readCompactField(data, "l"));
+        assertEquals(true, serializationService.readCompactField(data, "bool"));
+        assertEquals('c', serializationService.readCompactField(data, "c"));
+        assertEquals(1.5d, serializationService.readCompactField(data, "d"));
+        assertEquals("utf", serializationService.readCompactField(data, "utf"));
+        assertArrayEquals(new int[]{1, 2, 3}, (int[]) serializationService.readCompactField(data, "ints"));
+    }
+
+    @Test
+    public void testReadField_whenMissing() throws Exception {
+        Data data = serializationService.toData(AllKinds.create());
+
+        assertNull(serializationService.readCompactField(data, "missing"));
+    }
+
+    @Test
+    public void testReadField_whenNull() throws Exception {
+        Data data = serializationService.toData(new AllKinds());
+
+        assertNull(serializationService.readCompactField(data, "utf"));
+    }
+
+    @Test
+    public void testReadField_nestedPath() throws Exception {
+        Person person = new Person("joe", 42, new Address("main street", 7), new SerializableTag("vip"));
+        Data data = serializationService.toData(person);
+
+        assertEquals("main street", serializationService.readCompactField(data, "address.street"));
+        assertEquals(7, serializationService.readCompactField(data, "address.number"));
+        assertEquals("vip", serializationService.readCompactField(data, "tag.value"));
+        assertNull(serializationService.readCompactField(data, "name.length"));
+    }
+
+    @Test
+    public void testReadField_nestedPath_whenNull() throws Exception {
+        Data data = serializationService.toData(new Person("joe", 42, null, null));
+
+        assertNull(serializationService.readCompactField(data, "address.street"));
+    }
+
+    @Test
+    public void testForSchema_whenSchemaHasExtraAndMissingFields() {
+        Map<String, FieldKind> fields = new HashMap<String, FieldKind>();
+        fields.put("street", FieldKind.UTF);
+        fields.put("zipCode", FieldKind.UTF);
+        Schema schema = new Schema(Address.class.getName(), fields);
+
+        ClassBinding binding = ClassBinding.forSchema(schema, Address.class);
+
+        assertEquals("street", binding.fields[schema.getField("street").getIndex()].getName());
+        assertNull(binding.fields[schema.getField("zipCode").getIndex()]);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testForSchema_whenKindMismatch() {
+        Map<String, FieldKind> fields = new HashMap<String, FieldKind>();
+        fields.put("number", FieldKind.UTF);
+        Schema schema = new Schema(Address.class.getName(), fields);
+
+        ClassBinding.forSchema(schema, Address.class);
+    }
+
+    @Test
+    public void testSchemaReplication_isStartedOnce_andRetriedAfterFailure() {
+        RecordingReplicator replicator = new RecordingReplicator();
+        SchemaRegistry registry = serializationService.getSchemaRegistry();
+        registry.setReplicator(replicator);
+        long schemaId = ClassBinding.forClass(Address.class).schema.getSchemaId();
+
+        serializationService.toData(new Address("main street", 7));
+        serializationService.toData(new Address("main street", 8));
+        assertEquals(1, replicator.replicated.size());
+
+        registry.replicationFailed(schemaId);
+        serializationService.toData(new Address("main street", 9));
+        assertEquals(2, replicator.replicated.size());
+
+        registry.replicated(schemaId);
+        serializationService.toData(new Address("main street", 10));
+        assertEquals(2, replicator.replicated.size());
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testRead_whenSchemaUnknown() {
+        Data data = serializationService.toData(new Address("main street", 7));
+        InternalSerializationService other = new DefaultSerializationServiceBuilder().build();
+
+        other.toObject(data);
+    }
+
+    @Test
+    public void testSchema_serialization() {
+        Schema schema = ClassBinding.forClass(AllKinds.class).schema;
+
+        Schema found = serializationService.toObject(serializationService.toData(schema));
+
+        assertEquals(schema, found);
+        assertEquals(schema.getSchemaId(), found.getSchemaId());
+        assertEquals(schema.getFixedSize(), found.getFixedSize());
+        assertNotNull(found.getField("utf"));
+    }
+
+    static class RecordingReplicator implements SchemaReplicator {
+
+        final List<Schema> replicated = new ArrayList<Schema>();
+
+        @Override
+        public void replicate(Schema schema) {
+            replicated.add(schema);
+        }
+
+        @Override
+        public Schema fetch(long schemaId) {
+            return null;
+        }
+    }
+
+    static class AllKinds implements CompactSerializable {
+        static final int IGNORED = 1;
+
+        boolean bool;
+        byte b;
+        char c;
+        short s;
+        int i;
+        long l;
+        float f;
+        double d;
+        String utf;
+        boolean[] bools;
+        byte[] bytes;
+        char[] chars;
+        short[] shorts;
+        int[] ints;
+        long[] longs;
+        float[] floats;
+        double[] doubles;
+        String[] utfs;
+        Object object;
+        transient int skipped;
+
+        static AllKinds create() {
+            AllKinds value = new AllKinds();
+            value.bool = true;
+            value.b = 1;
+            value.c = 'c';
+            value.s = 2;
+            value.i = 3;
+            value.l = Long.MAX_VALUE;
+            value.f = 0.5f;
+            value.d = 1.5d;
+            value.utf = "utf";
+            value.bools = new boolean[]{true, false};
+            value.bytes = new byte[]{1, 2};
+            value.chars = new char[]{'a', 'b'};
+            value.shorts = new short[]{4, 5};
+            value.ints = new int[]{1, 2, 3};
+            value.longs = new long[]{6, 7};
+            value.floats = new float[]{0.25f};
+            value.doubles = new double[]{0.75d};
+            value.utfs = new String[]{"x", null, "y"};
+            value.object = 123;
+            value.skipped = 42;
+            return value;
+        }
+
+        void assertEqualTo(AllKinds found) {
+            assertEquals(bool, found.bool);
+            assertEquals(b, found.b);
+            assertEquals(c, found.c);
+            assertEquals(s, found.s);
+            assertEquals(i, found.i);
+            assertEquals(l, found.l);
+            assertEquals(f, found.f, 0);
+            assertEquals(d, found.d, 0);
+            assertEquals(utf, found.utf);
+            if (bools == null) {
+                assertNull(found.bools);
+            } else {
+                assertEquals(bools.length, found.bools.length);
+                for (int k = 0; k < bools.length; k++) {
+                    assertEquals(bools[k], found.bools[k]);
+                }
+            }
+            assertArrayEquals(bytes, found.bytes);
+            assertArrayEquals(chars, found.chars);
+            assertArrayEquals(shorts, found.shorts);
+            assertArrayEquals(ints, found.ints);
+            assertArrayEquals(longs, found.longs);
+            if (floats == null) {
+                assertNull(found.floats);
+            } else {
+                assertArrayEquals(floats, found.floats, 0);
+                assertArrayEquals(doubles, found.doubles, 0);
+            }
+            assertArrayEquals(utfs, found.utfs);
+            assertEquals(object, found.object);
+            assertEquals(0, found.skipped);
+        }
+    }
+
+    static class Person implements CompactSerializable {
+        String name;
+        int age;
+        Address address;
+        SerializableTag tag;
+
+        Person() {
+        }
+
+        Person(String name, int age, Address address, SerializableTag tag) {
+            this.name = name;
+            this.age = age;
+            this.address = address;
+            this.tag = tag;
+        }
+    }
+
+    static class Address implements CompactSerializable {
+        String street;
+        int number;
+
+        Address() {
+        }
+
+        Address(String street, int number) {
+            this.street = street;
+            this.number = number;
+        }
+    }
+
+    static class SerializableTag implements Serializable {
+        String value;
+
+        SerializableTag(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Counts the (de)serializations of the values processed by entry processors.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class EntryProcessorSerializationCountTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private static final AtomicInteger WRITE_COUNT = new AtomicInteger();
+    private static final AtomicInteger READ_COUNT = new AtomicInteger();
+
+    private IMap<Integer, CountingValue> map;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.getMapConfig("default").setBackupCount(0);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new CountingValue(i));
+        }
+        WRITE_COUNT.set(0);
+        READ_COUNT.set(0);
+    }
+
+    @Test
+    public void testExecuteOnEntries_withPredicate_deserializesValueOnce() {
+        Predicate predicate = new SqlPredicate("value < 10");
+
+        map.executeOnEntries(new IncrementingProcessor(false), predicate);
+
+        // every value is deserialized for the predicate, the processor reuses the object of the matching ones
+        assertEquals(ENTRY_COUNT, READ_COUNT.get());
+        assertEquals(10, WRITE_COUNT.get());
+    }
+
+    @Test
+    public void testExecuteOnEntries_whenSetValueIsReturned_serializesValueOnce() {
+        map.executeOnEntries(new IncrementingProcessor(true));
+
+        assertEquals(ENTRY_COUNT, WRITE_COUNT.get());
+    }
+
+    @Test
+    public void testExecuteOnKey_whenSetValueIsReturned_serializesValueOnce() {
+        map.executeOnKey(1, new IncrementingProcessor(true));
+
+        assertEquals(1, WRITE_COUNT.get());
+    }
+
+    @Test
+    public void testExecuteOnKeys_whenSetValueIsReturned_serializesValueOnce() {
+        map.executeOnKeys(Collections.singleton(1), new IncrementingProcessor(true));
+
+        assertEquals(1, WRITE_COUNT.get());
+    }
+
+    @Test
+    public void testExecuteOnKey_whenValueIsNotSet_doesNotSerializeValue() {
+        map.executeOnKey(1, new AbstractEntryProcessor<Integer, CountingValue>(false) {
+            @Override
+            public Object process(Map.Entry<Integer, CountingValue> entry) {
+                return entry.getValue().value;
+            }
+        });
+
+        assertEquals(0, WRITE_COUNT.get());
+        assertEquals(1, READ_COUNT.get());
+    }
+
+    private static class IncrementingProcessor extends AbstractEntryProcessor<Integer, CountingValue> {
+
+        private final boolean returnValue;
+
+        IncrementingProcessor(boolean returnValue) {
+            super(false);
+            this.returnValue = returnValue;
+        }
+
+        @Override
+        public Object process(Map.Entry<Integer, CountingValue> entry) {
+            CountingValue value = entry.getValue();
+            value.value++;
+            entry.setValue(value);
+            return returnValue ? value : null;
+        }
+    }
+
+    public static class CountingValue implements DataSerializable {
+
+        public int value;
+
+        public CountingValue() {
+        }
+
+        CountingValue(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            WRITE_COUNT.incrementAndGet();
+            out.writeInt(value);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            READ_COUNT.incrementAndGet();
+            value = in.readInt();
+        }
+    }
+}
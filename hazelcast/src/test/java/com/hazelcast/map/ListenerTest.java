@@ -28,8 +28,13 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapEvent;
+import com.hazelcast.internal.diagnostics.Diagnostics;
+import com.hazelcast.internal.metrics.LongGauge;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeLevel;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.event.MapPartitionEventData;
+import com.hazelcast.map.listener.CoalescingMapListener;
 import com.hazelcast.map.listener.EntryAddedListener;
 import com.hazelcast.map.listener.EntryUpdatedListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
@@ -37,6 +42,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.test.AssertTask;
@@ -331,6 +337,102 @@ public class ListenerTest extends HazelcastTestSupport {
         checkCountWithExpected(0, 0, 0);
     }
 
+    @Test
+    public void testEntryListener_withManyEqualPredicates() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+
+        IMap<Integer, Integer> map = instance1.getMap(randomString());
+        int listenerCount = 50;
+        final AtomicInteger[] counts = new AtomicInteger[listenerCount + 1];
+        for (int i = 0; i < listenerCount; i++) {
+            counts[i] = new AtomicInteger();
+            map.addEntryListener(new CountingAddedListener(counts[i], i), Predicates.equal("this", i), true);
+        }
+        for (int i = 0; i < listenerCount; i++) {
+            instance2.getMap(map.getName()).put(i, i);
+        }
+
+        // a listener added after the first events are published is still found
+        counts[listenerCount] = new AtomicInteger();
+        map.addEntryListener(new CountingAddedListener(counts[listenerCount], listenerCount),
+                Predicates.equal("this", listenerCount), true);
+        map.put(listenerCount, listenerCount);
+        map.put(listenerCount + 1, listenerCount);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (int i = 0; i < counts.length - 1; i++) {
+                    assertEquals(1, counts[i].get());
+                }
+                assertEquals(2, counts[counts.length - 1].get());
+            }
+        });
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (int i = 0; i < counts.length - 1; i++) {
+                    assertEquals(1, counts[i].get());
+                }
+            }
+        }, 3);
+    }
+
+    @Test
+    public void testCoalescingListener_receivesLatestValuePerKey() throws Exception {
+        Config config = getConfig().setProperty(Diagnostics.METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = instance1.getMap(randomString());
+        final CoalescingUpdateListener listener = new CoalescingUpdateListener();
+        String id = map.addEntryListener(listener, true);
+
+        IMap<Integer, Integer> map2 = instance2.getMap(map.getName());
+        final int keyCount = 10;
+        for (int i = 0; i < keyCount; i++) {
+            map2.put(i, 0);
+        }
+        for (int value = 1; value <= 100; value++) {
+            for (int i = 0; i < keyCount; i++) {
+                map2.put(i, value);
+            }
+        }
+
+        // wait until all events arrived; one of them is being dispatched, the others are pending or coalesced
+        MetricsRegistry metricsRegistry = getNode(instance1).nodeEngine.getMetricsRegistry();
+        String prefix = "event.[" + MapService.SERVICE_NAME + "].listener.[" + id + "]";
+        final LongGauge backlog = metricsRegistry.newLongGauge(prefix + ".backlog");
+        final LongGauge coalescedCount = metricsRegistry.newLongGauge(prefix + ".coalescedCount");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(keyCount * 101 - 1, backlog.read() + coalescedCount.read());
+            }
+        });
+        listener.release.countDown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(keyCount, listener.latestValues.size());
+                for (Integer value : listener.latestValues.values()) {
+                    assertEquals(100, (int) value);
+                }
+            }
+        });
+        // every added event is received; the updates of each key are merged into at most one update after it
+        assertEquals(keyCount, listener.addedCount.get());
+        assertTrue("eventCount: " + listener.eventCount.get(), listener.eventCount.get() <= 2 * keyCount);
+        for (Integer oldValue : listener.firstOldValues.values()) {
+            assertEquals(0, (int) oldValue);
+        }
+        assertFalse(listener.outOfOrder);
+    }
+
     @Test
     public void testLocalEntryListener_multipleInstance_with_MatchingPredicate() throws Exception {
         int instanceCount = 3;
@@ -662,6 +764,22 @@ public class ListenerTest extends HazelcastTestSupport {
         };
     }
 
+    private static class CountingAddedListener implements EntryAddedListener<Integer, Integer> {
+        private final AtomicInteger count;
+        private final int expectedValue;
+
+        CountingAddedListener(AtomicInteger count, int expectedValue) {
+            this.count = count;
+            this.expectedValue = expectedValue;
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<Integer, Integer> event) {
+            assertEquals(expectedValue, (int) event.getValue());
+            count.incrementAndGet();
+        }
+    }
+
     private class UpdateListenerRecordingOldValue<K, V> implements EntryUpdatedListener<K, V> {
         private volatile V oldValue;
         private final CountDownLatch latch = new CountDownLatch(1);
@@ -710,6 +828,38 @@ public class ListenerTest extends HazelcastTestSupport {
         assertSizeEventually(1, outputMap);
     }
 
+    private static class CoalescingUpdateListener
+            implements EntryAddedListener<Integer, Integer>, EntryUpdatedListener<Integer, Integer>, CoalescingMapListener {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final ConcurrentMap<Integer, Integer> latestValues = new ConcurrentHashMap<Integer, Integer>();
+        final ConcurrentMap<Integer, Integer> firstOldValues = new ConcurrentHashMap<Integer, Integer>();
+        final AtomicInteger eventCount = new AtomicInteger();
+        final AtomicInteger addedCount = new AtomicInteger();
+        volatile boolean outOfOrder;
+
+        @Override
+        public void entryAdded(EntryEvent<Integer, Integer> event) {
+            addedCount.incrementAndGet();
+            onEvent(event);
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<Integer, Integer> event) {
+            firstOldValues.putIfAbsent(event.getKey(), event.getOldValue());
+            onEvent(event);
+        }
+
+        private void onEvent(EntryEvent<Integer, Integer> event) {
+            assertOpenEventually(release);
+            eventCount.incrementAndGet();
+            Integer previous = latestValues.put(event.getKey(), event.getValue());
+            if (previous != null && previous >= event.getValue()) {
+                outOfOrder = true;
+            }
+        }
+    }
+
     public static class PingPongListener implements EntryListener<Integer, String>, HazelcastInstanceAware {
         private HazelcastInstance instance;
 
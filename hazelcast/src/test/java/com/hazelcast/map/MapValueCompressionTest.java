@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapValueCompressionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+    private IMap<Integer, Document> map;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addMapConfig(new MapConfig("compressed*").setValueCompressionEnabled(true));
+        factory = createHazelcastInstanceFactory(2);
+        instance1 = factory.newHazelcastInstance(config);
+        instance2 = factory.newHazelcastInstance(config);
+        map = instance1.getMap("compressed-" + randomString());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Document(i));
+        }
+    }
+
+    @Test
+    public void get() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(new Document(i), map.get(i));
+        }
+    }
+
+    @Test
+    public void query() {
+        Collection<Document> values = map.values(Predicates.lessThan("id", 10));
+
+        assertEquals(10, values.size());
+    }
+
+    @Test
+    public void entryProcessor() {
+        map.executeOnKey(1, new DoubleBodyEntryProcessor());
+
+        assertEquals(2 * new Document(1).body.length(), map.get(1).body.length());
+    }
+
+    @Test
+    public void replace() {
+        assertTrue(map.replace(1, new Document(1), new Document(2)));
+
+        assertEquals(new Document(2), map.get(1));
+    }
+
+    @Test
+    public void stats() {
+        LocalMapStats stats1 = map.getLocalMapStats();
+        LocalMapStats stats2 = instance2.getMap(map.getName()).getLocalMapStats();
+
+        long compressed = stats1.getCompressedValueBytes() + stats2.getCompressedValueBytes();
+        long uncompressed = stats1.getUncompressedValueBytes() + stats2.getUncompressedValueBytes();
+        assertTrue("compressed " + compressed, compressed > 0);
+        assertTrue("compressed " + compressed + " uncompressed " + uncompressed, compressed * 5 < uncompressed);
+    }
+
+    @Test
+    public void stats_whenRemoved() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.remove(i);
+        }
+
+        assertEquals(0, map.getLocalMapStats().getCompressedValueBytes());
+        assertEquals(0, map.getLocalMapStats().getUncompressedValueBytes());
+    }
+
+    @Test
+    public void backup() {
+        String name = map.getName();
+        instance1.shutdown();
+
+        IMap<Integer, Document> map2 = instance2.getMap(name);
+        assertEquals(ENTRY_COUNT, map2.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(new Document(i), map2.get(i));
+        }
+        assertTrue(map2.getLocalMapStats().getCompressedValueBytes() > 0);
+    }
+
+    static class DoubleBodyEntryProcessor extends AbstractEntryProcessor<Integer, Document> {
+
+        @Override
+        public Object process(Map.Entry<Integer, Document> entry) {
+            Document document = entry.getValue();
+            document.body = document.body + document.body;
+            entry.setValue(document);
+            return null;
+        }
+    }
+
+    static class Document implements Serializable {
+
+        int id;
+        String body;
+
+        Document(int id) {
+            this.id = id;
+            StringBuilder sb = new StringBuilder();
+            for (int k = 0; k < 50; k++) {
+                sb.append("{\"id\":").append(id).append(",\"name\":\"document\",\"tags\":[\"a\",\"b\"]}");
+            }
+            this.body = sb.toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Document)) {
+                return false;
+            }
+            Document that = (Document) o;
+            return id == that.id && body.equals(that.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+}
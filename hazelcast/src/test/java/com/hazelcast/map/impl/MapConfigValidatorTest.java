@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -25,6 +26,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import static com.hazelcast.map.impl.MapConfigValidator.checkNotNative;
+import static com.hazelcast.map.impl.MapConfigValidator.checkValueCompression;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -47,4 +49,19 @@ public class MapConfigValidatorTest {
     public void test_checkNotNative_BINARY() {
         checkNotNative(InMemoryFormat.BINARY);
     }
+
+    @Test
+    public void test_checkValueCompression_BINARY() {
+        checkValueCompression(new MapConfig("map").setInMemoryFormat(InMemoryFormat.BINARY).setValueCompressionEnabled(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_checkValueCompression_OBJECT() {
+        checkValueCompression(new MapConfig("map").setInMemoryFormat(InMemoryFormat.OBJECT).setValueCompressionEnabled(true));
+    }
+
+    @Test
+    public void test_checkValueCompression_OBJECT_whenDisabled() {
+        checkValueCompression(new MapConfig("map").setInMemoryFormat(InMemoryFormat.OBJECT));
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.event;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.EventListenerFilter;
+import com.hazelcast.map.impl.query.QueryEventFilter;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.EventFilter;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class QueryEventFilterIndexTest extends HazelcastTestSupport {
+
+    private InternalSerializationService serializationService;
+    private Data key;
+
+    private List<EventRegistration> matched = new ArrayList<EventRegistration>();
+    private List<EventRegistration> unresolved = new ArrayList<EventRegistration>();
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+    }
+
+    @Test
+    public void build_whenNoEqualPredicates() {
+        EventRegistration all = registration(TrueEventFilter.INSTANCE);
+        EventRegistration greater = registration(queryFilter(Predicates.greaterThan("age", 5), null));
+
+        QueryEventFilterIndex index = QueryEventFilterIndex.build(3, Arrays.asList(all, greater));
+
+        assertEquals(3, index.getVersion());
+        assertFalse(index.hasIndexedRegistrations());
+        assertEquals(Arrays.asList(all, greater), new ArrayList<EventRegistration>(index.getUnindexedRegistrations()));
+    }
+
+    @Test
+    public void match_returnsOnlyRegistrationsWithEqualValue() {
+        EventRegistration age10 = registration(queryFilter(Predicates.equal("age", 10), null));
+        EventRegistration age20 = registration(queryFilter(Predicates.equal("age", 20), null));
+        EventRegistration cityAmsterdam = registration(queryFilter(Predicates.equal("city", "Amsterdam"), null));
+        EventRegistration all = registration(TrueEventFilter.INSTANCE);
+
+        QueryEventFilterIndex index = QueryEventFilterIndex.build(0, Arrays.asList(age10, age20, cityAmsterdam, all));
+        index.match(entry(new Person(20, "Amsterdam", Color.RED)), key, ADDED.getType(), matched, unresolved);
+
+        assertTrue(index.hasIndexedRegistrations());
+        assertEquals(singletonList(all), new ArrayList<EventRegistration>(index.getUnindexedRegistrations()));
+        assertEquals(2, matched.size());
+        assertTrue(matched.contains(age20));
+        assertTrue(matched.contains(cityAmsterdam));
+        assertTrue(unresolved.isEmpty());
+    }
+
+    @Test
+    public void match_convertsPredicateValueToAttributeType() {
+        EventRegistration age = registration(queryFilter(Predicates.equal("age", "20"), null));
+        EventRegistration color = registration(queryFilter(Predicates.equal("color", "RED"), null));
+
+        QueryEventFilterIndex index = QueryEventFilterIndex.build(0, Arrays.asList(age, color));
+        index.match(entry(new Person(20, "Amsterdam", Color.RED)), key, ADDED.getType(), matched, unresolved);
+
+        assertEquals(2, matched.size());
+        assertTrue(unresolved.isEmpty());
+    }
+
+    @Test
+    public void match_checksEventTypeAndKey() {
+        EventListenerFilter addedOnly = new EventListenerFilter(ADDED.getType(),
+                queryFilter(Predicates.equal("age", 20), null));
+        EventRegistration added = registration(addedOnly);
+        EventRegistration otherKey = registration(queryFilter(Predicates.equal("age", 20),
+                serializationService.toData("otherKey")));
+
+        QueryEventFilterIndex index = QueryEventFilterIndex.build(0, Arrays.asList(added, otherKey));
+        QueryableEntry entry = entry(new Person(20, "Amsterdam", Color.RED));
+
+        index.match(entry, key, UPDATED.getType(), matched, unresolved);
+        assertTrue(matched.isEmpty());
+
+        index.match(entry, key, ADDED.getType(), matched, unresolved);
+        assertEquals(singletonList(added), matched);
+        assertTrue(unresolved.isEmpty());
+    }
+
+    @Test
+    public void match_whenAttributeIsNull_thenUnresolved() {
+        EventRegistration city = registration(queryFilter(Predicates.equal("city", "Amsterdam"), null));
+
+        QueryEventFilterIndex index = QueryEventFilterIndex.build(0, singletonList(city));
+        index.match(entry(new Person(20, null, Color.RED)), key, ADDED.getType(), matched, unresolved);
+
+        assertTrue(matched.isEmpty());
+        assertEquals(singletonList(city), unresolved);
+    }
+
+    @Test
+    public void match_whenAttributeDoesNotExist_thenUnresolved() {
+        EventRegistration height = registration(queryFilter(Predicates.equal("height", 180), null));
+
+        QueryEventFilterIndex index = QueryEventFilterIndex.build(0, singletonList(height));
+        index.match(entry(new Person(20, "Amsterdam", Color.RED)), key, ADDED.getType(), matched, unresolved);
+
+        assertTrue(matched.isEmpty());
+        assertEquals(singletonList(height), unresolved);
+    }
+
+    private QueryableEntry entry(Object value) {
+        return new CachedQueryEntry(serializationService, key, serializationService.toData(value), Extractors.empty());
+    }
+
+    private static QueryEventFilter queryFilter(Predicate predicate, Data key) {
+        return new QueryEventFilter(true, key, predicate);
+    }
+
+    private static EventRegistration registration(EventFilter filter) {
+        EventRegistration registration = mock(EventRegistration.class);
+        when(registration.getFilter()).thenReturn(filter);
+        return registration;
+    }
+
+    enum Color {
+        RED, GREEN
+    }
+
+    public static class Person implements Serializable {
+
+        public int age;
+        public String city;
+        public Color color;
+
+        Person(int age, String city, Color color) {
+            this.age = age;
+            this.city = city;
+            this.color = color;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.QueryCacheProvider;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class QueryCacheTest extends HazelcastTestSupport {
+
+    private static final Predicate<Integer, Integer> PREDICATE = Predicates.greaterEqual("this", 50);
+
+    private String mapName;
+    private IMap<Integer, Integer> map;
+    private IMap<Integer, Integer> otherMap;
+    private QueryCacheProvider<Integer, Integer> caches;
+    private QueryCacheProvider<Integer, Integer> otherCaches;
+
+    @Before
+    public void setUp() {
+        mapName = randomMapName();
+        Config config = new Config();
+        PredicateConfig predicateConfig = new PredicateConfig();
+        predicateConfig.setSql("this < 10");
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("configured")
+                .setPredicateConfig(predicateConfig)
+                .addIndexConfig(new MapIndexConfig("this", true));
+        config.getMapConfig(mapName).addQueryCacheConfig(queryCacheConfig);
+        config.getMapConfig(mapName).addQueryCacheConfig(new QueryCacheConfig("batched").setBatchSize(10));
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        HazelcastInstance otherInstance = factory.newHazelcastInstance(config);
+        map = instance.getMap(mapName);
+        otherMap = otherInstance.getMap(mapName);
+        caches = (QueryCacheProvider<Integer, Integer>) map;
+        otherCaches = (QueryCacheProvider<Integer, Integer>) otherMap;
+    }
+
+    @Test
+    public void testPopulate() {
+        putValues(100);
+
+        QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, true);
+
+        assertEquals(50, cache.size());
+        assertEquals(75, (int) cache.get(75));
+        assertNull(cache.get(25));
+    }
+
+    @Test
+    public void testPopulate_withoutValues() {
+        putValues(100);
+
+        QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, false);
+
+        assertEquals(50, cache.size());
+        assertTrue(cache.containsKey(75));
+        assertNull(cache.get(75));
+    }
+
+    @Test
+    public void testUpdates_moveEntriesInAndOutOfPredicate() {
+        final QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, true);
+        putValues(100);
+        assertSizeEventually(50, cache);
+
+        otherMap.put(60, 10);
+        otherMap.put(10, 70);
+        otherMap.put(80, 90);
+        otherMap.remove(90);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(cache.containsKey(60));
+                assertEquals(70, (int) cache.get(10));
+                assertEquals(90, (int) cache.get(80));
+                assertFalse(cache.containsKey(90));
+                assertEquals(49, cache.size());
+            }
+        });
+    }
+
+    @Test
+    public void testClear() {
+        putValues(100);
+        QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, true);
+
+        otherMap.clear();
+
+        assertSizeEventually(0, cache);
+    }
+
+    @Test
+    public void testIndexQuery() {
+        putValues(100);
+        QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, true);
+        cache.addIndex("this", true);
+
+        assertEquals(10, cache.values(Predicates.lessThan("this", 60)).size());
+        assertEquals(5, cache.keySet(Predicates.between("this", 95, 99)).size());
+    }
+
+    @Test
+    public void testListener() {
+        QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, true);
+        final AtomicInteger addedCount = new AtomicInteger();
+        final AtomicInteger removedCount = new AtomicInteger();
+        cache.addEntryListener(new CountingListener(addedCount, removedCount), true);
+
+        putValues(100);
+        otherMap.put(60, 10);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(50, addedCount.get());
+                assertEquals(1, removedCount.get());
+            }
+        });
+    }
+
+    @Test
+    public void testGetQueryCache_fromConfig() {
+        putValues(100);
+
+        QueryCache<Integer, Integer> cache = otherCaches.getQueryCache("configured");
+
+        assertEquals(10, cache.size());
+        assertEquals(5, cache.values(Predicates.lessThan("this", 5)).size());
+        assertSame(cache, otherCaches.getQueryCache("configured"));
+    }
+
+    @Test
+    public void testGetQueryCache_withoutConfig() {
+        assertNull(caches.getQueryCache("unknown"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetQueryCache_whenUnsupportedConfig() {
+        caches.getQueryCache("batched", PREDICATE, true);
+    }
+
+    @Test
+    public void testDestroy() {
+        QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, true);
+
+        cache.destroy();
+
+        assertNull(caches.getQueryCache("cache"));
+        assertNotSame(cache, caches.getQueryCache("cache", PREDICATE, true));
+    }
+
+    @Test
+    public void testTryRecover() {
+        putValues(100);
+        QueryCache<Integer, Integer> cache = caches.getQueryCache("cache", PREDICATE, true);
+
+        assertTrue(cache.tryRecover());
+        assertEquals(50, cache.size());
+    }
+
+    private void putValues(int count) {
+        for (int i = 0; i < count; i++) {
+            otherMap.put(i, i);
+        }
+    }
+
+    private static void assertSizeEventually(final int expectedSize, final QueryCache cache) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expectedSize, cache.size());
+            }
+        });
+    }
+
+    private static class CountingListener implements EntryAddedListener<Integer, Integer>,
+            EntryRemovedListener<Integer, Integer> {
+
+        private final AtomicInteger addedCount;
+        private final AtomicInteger removedCount;
+
+        CountingListener(AtomicInteger addedCount, AtomicInteger removedCount) {
+            this.addedCount = addedCount;
+            this.removedCount = removedCount;
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<Integer, Integer> event) {
+            addedCount.incrementAndGet();
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<Integer, Integer> event) {
+            removedCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompressedDataTest extends HazelcastTestSupport {
+
+    private InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void compress() {
+        Data data = ss.toData(repeated("value", 100));
+
+        Data compressed = CompressedData.compress(data);
+
+        assertInstanceOf(CompressedData.class, compressed);
+        assertTrue(((CompressedData) compressed).compressedSize() < data.totalSize());
+        assertTrue(compressed.getHeapCost() < data.getHeapCost());
+        assertArrayEquals(data.toByteArray(), compressed.toByteArray());
+        assertEquals(data.getType(), compressed.getType());
+        assertEquals(data.totalSize(), compressed.totalSize());
+        assertEquals(data.dataSize(), compressed.dataSize());
+        assertEquals(data.hash64(), compressed.hash64());
+        assertEquals(data.isPortable(), compressed.isPortable());
+        assertEquals((Object) repeated("value", 100), ss.toObject(compressed));
+    }
+
+    @Test
+    public void compress_whenEqualToUncompressed() {
+        Data data = ss.toData(repeated("value", 100));
+
+        Data compressed = CompressedData.compress(data);
+
+        assertEquals(data, compressed);
+        assertEquals(compressed, data);
+        assertEquals(data.hashCode(), compressed.hashCode());
+        assertNotEquals(compressed, CompressedData.compress(ss.toData(repeated("other", 100))));
+    }
+
+    @Test
+    public void compress_keepsPartitionHash() {
+        PartitioningStrategy strategy = new PartitioningStrategy() {
+            @Override
+            public Object getPartitionKey(Object key) {
+                return "partitionKey";
+            }
+        };
+        Data data = ss.toData(repeated("value", 100), strategy);
+
+        Data compressed = CompressedData.compress(data);
+
+        assertTrue(compressed.hasPartitionHash());
+        assertEquals(data.getPartitionHash(), compressed.getPartitionHash());
+    }
+
+    @Test
+    public void compress_whenSmall_notCompressed() {
+        Data data = ss.toData("value");
+
+        assertSame(data, CompressedData.compress(data));
+    }
+
+    @Test
+    public void compress_whenIncompressible_notCompressed() {
+        byte[] bytes = new byte[1024];
+        new Random().nextBytes(bytes);
+        Data data = ss.toData(bytes);
+
+        assertSame(data, CompressedData.compress(data));
+    }
+
+    @Test
+    public void compress_whenAlreadyCompressed() {
+        Data compressed = CompressedData.compress(ss.toData(repeated("value", 100)));
+
+        assertSame(compressed, CompressedData.compress(compressed));
+    }
+
+    private static String repeated(String s, int count) {
+        char[] chars = new char[s.length() * count];
+        for (int k = 0; k < count; k++) {
+            s.getChars(0, s.length(), chars, k * s.length());
+        }
+        return new String(chars);
+    }
+}
@@ -7,6 +7,7 @@ import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -26,6 +27,7 @@ import java.util.concurrent.TimeUnit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -172,6 +174,27 @@ public class NearCacheLocalInvalidationTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testDeleteAsync() throws Exception {
+        MapProxyImpl<String, String> map = (MapProxyImpl<String, String>) hzInstance1.<String, String>getMap(getMapName());
+        for (int k = 0; k < NUM_ITERATIONS; k++) {
+            String key = "deleteasync_" + String.valueOf(k);
+            String value = "merhaba-" + key;
+
+            String value0 = map.put(key, value);
+            // this brings the value into the Near Cache
+            String value1 = map.get(key);
+            boolean deleted = map.deleteAsync(key).get();
+            // here we _might_ still see the value
+            String value2 = map.get(key);
+
+            assertNull(value0);
+            assertEquals(value, value1);
+            assertTrue(deleted);
+            assertNull(value2);
+        }
+    }
+
     // -------------------------------------------------------------------- put
 
     @Test
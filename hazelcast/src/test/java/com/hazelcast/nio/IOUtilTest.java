@@ -42,8 +42,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.createObjectDataInputStream;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.createObjectDataOutputStream;
@@ -338,6 +341,25 @@ public class IOUtilTest extends HazelcastTestSupport {
         IOUtil.closeResource(null);
     }
 
+    @Test
+    public void testUnmap() throws Exception {
+        File file = createFile("mappedFile");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 1024);
+        raf.close();
+        buffer.putInt(0, 42);
+
+        IOUtil.unmap(buffer);
+        IOUtil.delete(file);
+
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testUnmap_withNull() {
+        IOUtil.unmap(null);
+    }
+
     private static class IoUtilTestOperation extends AbstractTestOperation {
 
         public IoUtilTestOperation(int partitionId) {
@@ -117,10 +117,10 @@ public class IOBalancerMemoryLeakTest extends HazelcastTestSupport {
                 LoadTracker outLoadTracker = ioBalancer.getOutLoadTracker();
                 int inHandlerSize = inLoadTracker.getHandlers().size();
                 int outHandlerSize = outLoadTracker.getHandlers().size();
-                int inHandlerEventsCount = inLoadTracker.getHandlerEventsCounter().keySet().size();
-                int outHandlerEventsCount = outLoadTracker.getHandlerEventsCounter().keySet().size();
-                int inLastEventsCount = inLoadTracker.getLastEventCounter().keySet().size();
-                int outLastEventsCount = outLoadTracker.getLastEventCounter().keySet().size();
+                int inHandlerEventsCount = inLoadTracker.getHandlerLoadCounter().keySet().size();
+                int outHandlerEventsCount = outLoadTracker.getHandlerLoadCounter().keySet().size();
+                int inLastEventsCount = inLoadTracker.getLastLoadCounter().keySet().size();
+                int outLastEventsCount = outLoadTracker.getLastLoadCounter().keySet().size();
                 Assert.assertEquals(0, inHandlerSize);
                 Assert.assertEquals(0, outHandlerSize);
                 Assert.assertEquals(0, inHandlerEventsCount);
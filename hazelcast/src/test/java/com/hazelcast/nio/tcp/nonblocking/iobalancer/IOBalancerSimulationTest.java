@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking.iobalancer;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.tcp.nonblocking.MigratableHandler;
+import com.hazelcast.nio.tcp.nonblocking.NonBlockingIOThread;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Simulates the {@link IOBalancer} loop (measure, detect imbalance, migrate) on synthetic, skewed connection loads
+ * without real sockets. Every simulated handler has a fixed number of events, bytes and processing time per interval
+ * and migrations complete immediately.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class IOBalancerSimulationTest {
+
+    private static final int THREAD_COUNT = 4;
+    private static final int ROUNDS = 50;
+
+    // a few bulk connections moving large frames: few events, but most of the bytes and the cpu time
+    private static final int BULK_HANDLER_COUNT = 4;
+    private static final long BULK_EVENTS = 10;
+    private static final long BULK_BYTES = 100 * 1000 * 1000;
+    private static final long BULK_NANOS = 1000 * 1000;
+
+    // many chatty connections: lots of small events
+    private static final int CHATTY_HANDLER_COUNT = 40;
+    private static final long CHATTY_EVENTS = 100;
+    private static final long CHATTY_BYTES = 5 * 1000 * 1000;
+    private static final long CHATTY_NANOS = 50 * 1000;
+
+    private NonBlockingIOThread[] ioThreads;
+    private List<SimulatedHandler> handlers;
+    private ILogger logger;
+
+    @Before
+    public void setUp() {
+        logger = mock(ILogger.class);
+        ioThreads = new NonBlockingIOThread[THREAD_COUNT];
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            ioThreads[i] = mock(NonBlockingIOThread.class);
+        }
+
+        // all bulk connections land on the same thread, the chatty ones are spread evenly
+        handlers = new ArrayList<SimulatedHandler>();
+        for (int i = 0; i < BULK_HANDLER_COUNT; i++) {
+            handlers.add(new SimulatedHandler(ioThreads[0], BULK_EVENTS, BULK_BYTES, BULK_NANOS));
+        }
+        for (int i = 0; i < CHATTY_HANDLER_COUNT; i++) {
+            handlers.add(new SimulatedHandler(ioThreads[i % THREAD_COUNT], CHATTY_EVENTS, CHATTY_BYTES, CHATTY_NANOS));
+        }
+    }
+
+    @Test
+    public void processingTime_convergesToBalancedCpuTime() {
+        long maxThreadNanos = simulate(LoadMeasure.PROCESSING_TIME, new LoadBasedMigrationStrategy());
+
+        // every thread can get exactly one bulk and ten chatty connections
+        long optimum = totalNanos() / THREAD_COUNT;
+        assertEquals(optimum, maxThreadNanos);
+    }
+
+    @Test
+    public void bytes_convergesToBalancedCpuTime() {
+        long maxThreadNanos = simulate(LoadMeasure.BYTES, new LoadBasedMigrationStrategy());
+
+        long optimum = totalNanos() / THREAD_COUNT;
+        assertTrue("max thread time " + maxThreadNanos + " should be close to " + optimum,
+                maxThreadNanos <= optimum * 1.25);
+    }
+
+    @Test
+    public void events_doNotDetectSkewedCpuTime() {
+        long maxThreadNanos = simulate(LoadMeasure.EVENTS, new EventCountBasicMigrationStrategy());
+
+        // the thread owning the bulk connections receives roughly as many events as the others,
+        // so no imbalance is detected even though it burns 3 times the cpu time of the optimum
+        long optimum = totalNanos() / THREAD_COUNT;
+        assertTrue("max thread time " + maxThreadNanos + " should stay far from " + optimum,
+                maxThreadNanos >= optimum * 2);
+    }
+
+    private long simulate(LoadMeasure loadMeasure, MigrationStrategy strategy) {
+        LoadTracker loadTracker = new LoadTracker(ioThreads, logger, loadMeasure);
+        for (SimulatedHandler handler : handlers) {
+            loadTracker.addHandler(handler);
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (SimulatedHandler handler : handlers) {
+                handler.tick();
+            }
+            LoadImbalance imbalance = loadTracker.updateImbalance();
+            if (strategy.imbalanceDetected(imbalance)) {
+                MigratableHandler handler = strategy.findHandlerToMigrate(imbalance);
+                if (handler != null) {
+                    handler.requestMigration(imbalance.destinationSelector);
+                }
+            }
+        }
+        return maxThreadNanos();
+    }
+
+    private long totalNanos() {
+        long total = 0;
+        for (SimulatedHandler handler : handlers) {
+            total += handler.nanosPerTick;
+        }
+        return total;
+    }
+
+    private long maxThreadNanos() {
+        long max = 0;
+        for (NonBlockingIOThread ioThread : ioThreads) {
+            long threadNanos = 0;
+            for (SimulatedHandler handler : handlers) {
+                if (handler.owner == ioThread) {
+                    threadNanos += handler.nanosPerTick;
+                }
+            }
+            max = Math.max(max, threadNanos);
+        }
+        return max;
+    }
+
+    private static class SimulatedHandler implements MigratableHandler {
+
+        private final long eventsPerTick;
+        private final long bytesPerTick;
+        private final long nanosPerTick;
+
+        private NonBlockingIOThread owner;
+        private long eventCount;
+        private long bytesProcessed;
+        private long processingTimeNanos;
+
+        SimulatedHandler(NonBlockingIOThread owner, long eventsPerTick, long bytesPerTick, long nanosPerTick) {
+            this.owner = owner;
+            this.eventsPerTick = eventsPerTick;
+            this.bytesPerTick = bytesPerTick;
+            this.nanosPerTick = nanosPerTick;
+        }
+
+        void tick() {
+            eventCount += eventsPerTick;
+            bytesProcessed += bytesPerTick;
+            processingTimeNanos += nanosPerTick;
+        }
+
+        @Override
+        public void requestMigration(NonBlockingIOThread newOwner) {
+            owner = newOwner;
+        }
+
+        @Override
+        public NonBlockingIOThread getOwner() {
+            return owner;
+        }
+
+        @Override
+        public long getEventCount() {
+            return eventCount;
+        }
+
+        @Override
+        public long getBytesProcessed() {
+            return bytesProcessed;
+        }
+
+        @Override
+        public long getProcessingTimeNanos() {
+            return processingTimeNanos;
+        }
+
+        @Override
+        public void handle() {
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking.iobalancer;
+
+import com.hazelcast.nio.tcp.nonblocking.MigratableHandler;
+import com.hazelcast.nio.tcp.nonblocking.NonBlockingIOThread;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.ItemCounter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.TestCollectionUtils.setOf;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LoadBasedMigrationStrategyTest extends HazelcastTestSupport {
+
+    private Map<NonBlockingIOThread, Set<MigratableHandler>> selectorToHandlers;
+    private ItemCounter<MigratableHandler> handlerLoadCounter;
+    private LoadImbalance imbalance;
+
+    private LoadBasedMigrationStrategy strategy;
+
+    private NonBlockingIOThread sourceSelector;
+    private NonBlockingIOThread destinationSelector;
+
+    @Before
+    public void setUp() {
+        selectorToHandlers = new HashMap<NonBlockingIOThread, Set<MigratableHandler>>();
+        handlerLoadCounter = new ItemCounter<MigratableHandler>();
+        imbalance = new LoadImbalance(selectorToHandlers, handlerLoadCounter);
+        strategy = new LoadBasedMigrationStrategy();
+
+        sourceSelector = mock(NonBlockingIOThread.class);
+        destinationSelector = mock(NonBlockingIOThread.class);
+        imbalance.sourceSelector = sourceSelector;
+        imbalance.destinationSelector = destinationSelector;
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldReturnFalseWhenBalanced() {
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = (long) (1000 * 0.8);
+
+        assertFalse(strategy.imbalanceDetected(imbalance));
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldReturnTrueWhenNotBalanced() {
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = (long) (1000 * 0.8) - 1;
+
+        assertTrue(strategy.imbalanceDetected(imbalance));
+    }
+
+    @Test
+    public void testFindHandlerToMigrate_selectsHandlerMinimizingMaximumLoad() {
+        imbalance.minimumLoad = 100;
+        MigratableHandler handler1 = mock(MigratableHandler.class);
+        handlerLoadCounter.set(handler1, 100L);
+        selectorToHandlers.put(destinationSelector, singleton(handler1));
+
+        // moving handler2 results in a max of 700, moving handler3 in a max of 600 and moving handler4 in 800
+        imbalance.maximumLoad = 1000;
+        MigratableHandler handler2 = mock(MigratableHandler.class);
+        MigratableHandler handler3 = mock(MigratableHandler.class);
+        MigratableHandler handler4 = mock(MigratableHandler.class);
+        handlerLoadCounter.set(handler2, 600L);
+        handlerLoadCounter.set(handler3, 500L);
+        handlerLoadCounter.set(handler4, 200L);
+        selectorToHandlers.put(sourceSelector, setOf(handler2, handler3, handler4));
+
+        MigratableHandler handlerToMigrate = strategy.findHandlerToMigrate(imbalance);
+        assertEquals(handler3, handlerToMigrate);
+    }
+
+    @Test
+    public void testFindHandlerToMigrate_returnsNullWhenNoMigrationLowersMaximumLoad() {
+        imbalance.minimumLoad = 100;
+        MigratableHandler handler1 = mock(MigratableHandler.class);
+        handlerLoadCounter.set(handler1, 100L);
+        selectorToHandlers.put(destinationSelector, singleton(handler1));
+
+        // a single dominant handler; moving it would only overload the destination
+        imbalance.maximumLoad = 1000;
+        MigratableHandler handler2 = mock(MigratableHandler.class);
+        MigratableHandler handler3 = mock(MigratableHandler.class);
+        handlerLoadCounter.set(handler2, 1000L);
+        handlerLoadCounter.set(handler3, 0L);
+        selectorToHandlers.put(sourceSelector, setOf(handler2, handler3));
+
+        assertNull(strategy.findHandlerToMigrate(imbalance));
+    }
+}
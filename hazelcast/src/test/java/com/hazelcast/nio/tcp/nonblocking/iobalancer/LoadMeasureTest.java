@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking.iobalancer;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LoadMeasureTest {
+
+    private final ILogger logger = mock(ILogger.class);
+
+    @Test
+    public void testFromString() {
+        assertEquals(LoadMeasure.EVENTS, LoadMeasure.fromString(null, logger));
+        assertEquals(LoadMeasure.EVENTS, LoadMeasure.fromString("events", logger));
+        assertEquals(LoadMeasure.BYTES, LoadMeasure.fromString(" Bytes ", logger));
+        assertEquals(LoadMeasure.PROCESSING_TIME, LoadMeasure.fromString("processingTime", logger));
+        verify(logger, never()).warning(anyString());
+    }
+
+    @Test
+    public void testFromString_unknownValue() {
+        assertEquals(LoadMeasure.EVENTS, LoadMeasure.fromString("byte", logger));
+        verify(logger).warning(anyString());
+    }
+}
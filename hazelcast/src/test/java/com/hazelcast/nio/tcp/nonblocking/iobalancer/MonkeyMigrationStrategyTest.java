@@ -47,7 +47,7 @@ public class MonkeyMigrationStrategyTest extends HazelcastTestSupport {
     private MigrationStrategy strategy;
 
     private Map<NonBlockingIOThread, Set<MigratableHandler>> selectorToHandlers;
-    private ItemCounter<MigratableHandler> handlerEventsCounter;
+    private ItemCounter<MigratableHandler> handlerLoadCounter;
     private LoadImbalance imbalance;
 
     @Test
@@ -61,8 +61,8 @@ public class MonkeyMigrationStrategyTest extends HazelcastTestSupport {
     @Before
     public void setUp() {
         selectorToHandlers = new HashMap<NonBlockingIOThread, Set<MigratableHandler>>();
-        handlerEventsCounter = new ItemCounter<MigratableHandler>();
-        imbalance = new LoadImbalance(selectorToHandlers, handlerEventsCounter);
+        handlerLoadCounter = new ItemCounter<MigratableHandler>();
+        imbalance = new LoadImbalance(selectorToHandlers, handlerLoadCounter);
         imbalance.sourceSelector = mock(NonBlockingIOThread.class);
 
         this.strategy = new MonkeyMigrationStrategy();
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.ringbuffer.PredicateFilter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReadResultSetImplTest extends HazelcastTestSupport {
+
+    private static final int FACTORY_ID = 1;
+
+    private HazelcastInstance hz;
+    private InternalSerializationService serializationService;
+    private AtomicInteger deserializations;
+
+    @Before
+    public void setup() {
+        deserializations = new AtomicInteger();
+        Config config = new Config();
+        config.getSerializationConfig().addPortableFactory(FACTORY_ID, new PortableFactory() {
+            @Override
+            public Portable create(int classId) {
+                deserializations.incrementAndGet();
+                return new Order();
+            }
+        });
+        hz = getNode(createHazelcastInstance(config)).hazelcastInstance;
+        serializationService = getNode(hz).getSerializationService();
+    }
+
+    @Test
+    public void addItem_withPredicateFilter_onPortableData_doesNotDeserializeSkippedItems() {
+        PredicateFilter<Order> filter = new PredicateFilter<Order>(Predicates.equal("state", "NEW"));
+        ReadResultSetImpl<Order> resultSet = new ReadResultSetImpl<Order>(0, 10, hz, filter);
+
+        resultSet.addItem(toData(new Order(1, "NEW")));
+        resultSet.addItem(toData(new Order(2, "DONE")));
+        resultSet.addItem(toData(new Order(3, "DONE")));
+        resultSet.addItem(toData(new Order(4, "NEW")));
+
+        assertEquals(0, deserializations.get());
+        assertEquals(2, resultSet.size());
+        assertEquals(4, resultSet.readCount());
+        assertEquals(2, resultSet.readCount() - resultSet.size());
+        assertEquals(1, resultSet.get(0).id);
+        assertEquals(4, resultSet.get(1).id);
+    }
+
+    @Test
+    public void addItem_withProjection_storesProjectedValue() {
+        ProjectionFilter filter = new ProjectionFilter(new PredicateFilter<Order>(Predicates.equal("state", "NEW")),
+                new StateFunction());
+        ReadResultSetImpl<String> resultSet = new ReadResultSetImpl<String>(0, 10, hz, filter);
+
+        resultSet.addItem(toData(new Order(1, "NEW")));
+        resultSet.addItem(new Order(2, "DONE"));
+
+        assertEquals(1, resultSet.size());
+        assertEquals(1, resultSet.readCount() - resultSet.size());
+        assertEquals("NEW", resultSet.get(0));
+    }
+
+    @Test
+    public void addItem_skippedItemsDontCountAgainstMaxSize() {
+        PredicateFilter<Order> filter = new PredicateFilter<Order>(Predicates.equal("state", "NEW"));
+        ReadResultSetImpl<Order> resultSet = new ReadResultSetImpl<Order>(0, 2, hz, filter);
+
+        resultSet.addItem(toData(new Order(1, "DONE")));
+        resultSet.addItem(toData(new Order(2, "NEW")));
+        resultSet.addItem(toData(new Order(3, "DONE")));
+        resultSet.addItem(toData(new Order(4, "NEW")));
+
+        assertTrue(resultSet.isMaxSizeReached());
+        assertEquals(4, resultSet.readCount());
+        assertEquals(2, resultSet.readCount() - resultSet.size());
+    }
+
+    @Test
+    public void predicateFilter_apply_onObject() {
+        PredicateFilter<String> filter = new PredicateFilter<String>(Predicates.like("this", "NEW%"));
+
+        assertTrue(filter.apply("NEW-1"));
+        assertFalse(filter.apply("DONE-1"));
+    }
+
+    private Data toData(Object object) {
+        return serializationService.toData(object);
+    }
+
+    static class StateFunction implements IFunction<Order, String> {
+        @Override
+        public String apply(Order input) {
+            return input.state;
+        }
+    }
+
+    static class Order implements Portable {
+
+        int id;
+        String state;
+
+        Order() {
+        }
+
+        Order(int id, String state) {
+            this.id = id;
+            this.state = state;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return 1;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("id", id);
+            writer.writeUTF("state", state);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            id = reader.readInt("id");
+            state = reader.readUTF("state");
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getState() {
+            return state;
+        }
+    }
+}
@@ -6,6 +6,9 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IAtomicLong;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IFunction;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.ringbuffer.PredicateFilter;
+import com.hazelcast.ringbuffer.ProjectingRingbuffer;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
@@ -670,6 +673,89 @@ public abstract class RingbufferAbstractTest extends HazelcastTestSupport {
         assertEquals(6, resultSet.readCount());
     }
 
+    @Test
+    public void readManyAsync_withPredicateFilter() throws ExecutionException, InterruptedException {
+        ringbuffer.add("good1");
+        ringbuffer.add("bad1");
+        ringbuffer.add("good2");
+        ringbuffer.add("bad");
+        ringbuffer.add("good3");
+        ringbuffer.add("bad1");
+
+        ICompletableFuture<ReadResultSet<String>> f = ringbuffer.readManyAsync(0, 2, 10,
+                new PredicateFilter<String>(Predicates.like("this", "good%")));
+
+        assertCompletesEventually(f);
+
+        ReadResultSet<String> resultSet = f.get();
+
+        assertNotNull(resultSet);
+        assertThat(f.get(), contains("good1", "good2", "good3"));
+        assertEquals(6, resultSet.readCount());
+    }
+
+    @Test
+    public void readManyAsync_withFilter_skippedItemsDontCountAgainstMaxCount() throws Exception {
+        ringbuffer.add("good1");
+        ringbuffer.add("bad1");
+        ringbuffer.add("bad2");
+        ringbuffer.add("good2");
+        ringbuffer.add("good3");
+
+        ICompletableFuture<ReadResultSet<String>> f = ringbuffer.readManyAsync(0, 0, 2, new GoodStringFunction());
+
+        ReadResultSet<String> resultSet = f.get();
+
+        assertThat(resultSet, contains("good1", "good2"));
+        assertEquals(4, resultSet.readCount());
+    }
+
+    private ProjectingRingbuffer<String> projecting() {
+        return (ProjectingRingbuffer<String>) ringbuffer;
+    }
+
+    public static class LengthFunction implements IFunction<String, Integer>, Serializable {
+        @Override
+        public Integer apply(String input) {
+            return input.length();
+        }
+    }
+
+    @Test
+    public void readManyAsync_withProjection() throws ExecutionException, InterruptedException {
+        ringbuffer.add("good1");
+        ringbuffer.add("bad");
+        ringbuffer.add("good22");
+
+        ICompletableFuture<ReadResultSet<Integer>> f = projecting().readManyAsync(0, 3, 10, null,
+                new LengthFunction());
+
+        ReadResultSet<Integer> resultSet = f.get();
+
+        assertThat(resultSet, contains(5, 3, 6));
+        assertEquals(3, resultSet.readCount());
+    }
+
+    @Test
+    public void readManyAsync_withFilterAndProjection() throws ExecutionException, InterruptedException {
+        ringbuffer.add("good1");
+        ringbuffer.add("bad");
+        ringbuffer.add("good22");
+
+        ICompletableFuture<ReadResultSet<Integer>> f = projecting().readManyAsync(0, 2, 10,
+                new PredicateFilter<String>(Predicates.like("this", "good%")), new LengthFunction());
+
+        ReadResultSet<Integer> resultSet = f.get();
+
+        assertThat(resultSet, contains(5, 6));
+        assertEquals(3, resultSet.readCount());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void readManyAsync_whenNullProjection() {
+        projecting().readManyAsync(0, 1, 1, null, null);
+    }
+
     @Test
     public void readManyAsync_emptyBatchAndNoItems() throws Exception {
         ICompletableFuture<ReadResultSet<String>> f = ringbuffer.readManyAsync(0, 0, 10, null);
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.config.RingbufferPersistenceConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.nio.Address;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class RingbufferPersistenceTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Config config;
+
+    @Before
+    public void setup() {
+        RingbufferPersistenceConfig persistenceConfig = new RingbufferPersistenceConfig()
+                .setEnabled(true)
+                .setBaseDir(folder.getRoot())
+                .setSegmentSize(4096);
+        config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("rb*")
+                .setCapacity(CAPACITY)
+                .setPersistenceConfig(persistenceConfig));
+    }
+
+    @Test
+    public void readBeyondCapacity() throws Exception {
+        HazelcastInstance hz = createHazelcastInstance(config);
+        Ringbuffer<String> ringbuffer = hz.getRingbuffer("rb");
+
+        for (int k = 0; k < 1000; k++) {
+            ringbuffer.add("item" + k);
+        }
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(999, ringbuffer.tailSequence());
+        assertEquals(1000, ringbuffer.size());
+        assertEquals("item0", ringbuffer.readOne(0));
+        assertEquals("item999", ringbuffer.readOne(999));
+
+        ReadResultSet<String> result = ringbuffer.readManyAsync(0, 0, 100, null).get();
+        assertEquals(100, result.readCount());
+        for (int k = 0; k < 100; k++) {
+            assertEquals("item" + k, result.get(k));
+        }
+
+        // crosses from the segment files into the ring
+        result = ringbuffer.readManyAsync(980, 0, 20, null).get();
+        assertEquals(20, result.readCount());
+        for (int k = 0; k < 20; k++) {
+            assertEquals("item" + (980 + k), result.get(k));
+        }
+    }
+
+    @Test
+    public void historyAvailableOnBackup() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        String name = "rb-" + generateKeyOwnedBy(hz1);
+        Ringbuffer<String> ringbuffer = hz1.getRingbuffer(name);
+
+        for (int k = 0; k < 100; k++) {
+            ringbuffer.add("item" + k);
+        }
+
+        hz1.getLifecycleService().terminate();
+
+        Ringbuffer<String> backup = hz2.getRingbuffer(name);
+        assertEquals(0, backup.headSequence());
+        assertEquals(99, backup.tailSequence());
+        assertEquals("item0", backup.readOne(0));
+        assertEquals("item50", backup.readOne(50));
+    }
+
+    @Test
+    public void historyReplicatedToNewMember() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        String name = "rb-" + randomString();
+        Ringbuffer<String> ringbuffer = hz1.getRingbuffer(name);
+        for (int k = 0; k < 100; k++) {
+            ringbuffer.add("item" + k);
+        }
+
+        // the new member receives its replica by replication, not by the backups of the adds
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(hz1, hz2);
+        hz1.getLifecycleService().terminate();
+
+        Ringbuffer<String> replica = hz2.getRingbuffer(name);
+        assertEquals(0, replica.headSequence());
+        assertEquals(99, replica.tailSequence());
+        assertEquals("item0", replica.readOne(0));
+        assertEquals("item50", replica.readOne(50));
+        assertEquals(100, replica.add("item100"));
+    }
+
+    @Test
+    public void historyRecoveredAfterRestart() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Address address = new Address("127.0.0.1", 5701);
+        HazelcastInstance hz = factory.newHazelcastInstance(address, config);
+        Ringbuffer<String> ringbuffer = hz.getRingbuffer("rb");
+        for (int k = 0; k < 100; k++) {
+            ringbuffer.add("item" + k);
+        }
+
+        hz.shutdown();
+        hz = factory.newHazelcastInstance(address, config);
+        ringbuffer = hz.getRingbuffer("rb");
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(99, ringbuffer.tailSequence());
+        assertEquals("item3", ringbuffer.readOne(3));
+        assertEquals("item99", ringbuffer.readOne(99));
+        assertEquals(100, ringbuffer.add("item100"));
+    }
+
+    @Test
+    public void headSequenceGovernedByMaxSize() throws Exception {
+        config.getRingbufferConfig("rb*").getPersistenceConfig()
+                .setSegmentSize(64 * 1024)
+                .setMaxSizeMb(1);
+        HazelcastInstance hz = createHazelcastInstance(config);
+        Ringbuffer<byte[]> ringbuffer = hz.getRingbuffer("rb");
+
+        for (int k = 0; k < 300; k++) {
+            ringbuffer.add(new byte[10 * 1024]);
+        }
+
+        long head = ringbuffer.headSequence();
+        assertTrue("head should have moved, but was " + head, head > 0);
+        // more than the capacity is retained
+        assertTrue(ringbuffer.size() > CAPACITY);
+        try {
+            ringbuffer.readOne(head - 1);
+            fail();
+        } catch (StaleSequenceException expected) {
+        }
+        ringbuffer.readOne(head);
+    }
+}
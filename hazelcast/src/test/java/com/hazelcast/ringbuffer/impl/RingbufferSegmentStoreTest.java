@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.RingbufferPersistenceConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class RingbufferSegmentStoreTest extends HazelcastTestSupport {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InternalSerializationService serializationService;
+    private File dir;
+    private RingbufferSegmentStore store;
+
+    @Before
+    public void setup() throws IOException {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        dir = new File(folder.getRoot(), "store");
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private RingbufferSegmentStore openStore(RingbufferPersistenceConfig config) {
+        store = new RingbufferSegmentStore(dir, config);
+        store.open();
+        return store;
+    }
+
+    private void append(long firstSequence, int count) {
+        for (long seq = firstSequence; seq < firstSequence + count; seq++) {
+            store.append(seq, serializationService.toData("item" + seq), 0);
+        }
+    }
+
+    private String toObject(Data data) {
+        return serializationService.toObject(data);
+    }
+
+    @Test
+    public void whenEmpty() {
+        openStore(new RingbufferPersistenceConfig());
+
+        assertTrue(store.isEmpty());
+        assertEquals(-1, store.headSequence());
+        assertEquals(-1, store.tailSequence());
+    }
+
+    @Test
+    public void read_acrossSegments() {
+        openStore(new RingbufferPersistenceConfig().setSegmentSize(256));
+        append(0, 1000);
+
+        assertTrue(store.segmentCount() > 1);
+        assertEquals(0, store.headSequence());
+        assertEquals(999, store.tailSequence());
+        for (long seq = 0; seq < 1000; seq++) {
+            assertEquals("item" + seq, toObject(store.read(seq)));
+        }
+    }
+
+    @Test
+    public void readMany_acrossSegments() {
+        openStore(new RingbufferPersistenceConfig().setSegmentSize(256));
+        append(0, 1000);
+
+        ReadResultSetImpl<String> resultSet = newResultSet(500);
+        long next = store.readMany(100, 1000, resultSet);
+
+        assertEquals(600, next);
+        assertEquals(500, resultSet.size());
+        for (int k = 0; k < 500; k++) {
+            assertEquals("item" + (100 + k), toObject(resultSet.getDataItems()[k]));
+        }
+    }
+
+    @Test
+    public void readMany_stopsAtEndSequence() {
+        openStore(new RingbufferPersistenceConfig().setSegmentSize(256));
+        append(0, 100);
+
+        ReadResultSetImpl<String> resultSet = newResultSet(50);
+        long next = store.readMany(10, 20, resultSet);
+
+        assertEquals(20, next);
+        assertEquals(10, resultSet.size());
+    }
+
+    @Test
+    public void append_itemLargerThanSegment() {
+        openStore(new RingbufferPersistenceConfig().setSegmentSize(64));
+        StringBuilder large = new StringBuilder();
+        for (int k = 0; k < 1000; k++) {
+            large.append('x');
+        }
+
+        store.append(0, serializationService.toData(large.toString()), 0);
+        store.append(1, serializationService.toData("small"), 0);
+
+        assertEquals(large.toString(), toObject(store.read(0)));
+        assertEquals("small", toObject(store.read(1)));
+    }
+
+    @Test
+    public void open_recoversSegments() {
+        RingbufferPersistenceConfig config = new RingbufferPersistenceConfig().setSegmentSize(256);
+        openStore(config);
+        append(5, 300);
+        store.close();
+
+        openStore(config);
+
+        assertEquals(5, store.headSequence());
+        assertEquals(304, store.tailSequence());
+        assertEquals("item200", toObject(store.read(200)));
+
+        append(305, 1);
+        assertEquals("item305", toObject(store.read(305)));
+    }
+
+    @Test
+    public void restore_fromReplicatedSegments() throws IOException {
+        RingbufferPersistenceConfig config = new RingbufferPersistenceConfig().setSegmentSize(256);
+        openStore(config);
+        for (long seq = 5; seq < 305; seq++) {
+            store.append(seq, serializationService.toData("item" + seq), 1000);
+        }
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput(1024);
+        store.writeSegments(out, 5000);
+        store.close();
+
+        dir = new File(folder.getRoot(), "replica");
+        openStore(config);
+        List<RingbufferSegmentStore.ReplicatedSegment> segments
+                = RingbufferSegmentStore.readSegments(serializationService.createObjectDataInput(out.toByteArray()), 9000);
+        store.restore(segments);
+
+        assertEquals(5, store.headSequence());
+        assertEquals(304, store.tailSequence());
+        for (long seq = 5; seq < 305; seq++) {
+            assertEquals("item" + seq, toObject(store.read(seq)));
+        }
+        // the segments keep their age, so the retention still applies to them
+        assertEquals(5000, new File(dir, String.format("%020d", 5) + ".segment").lastModified());
+
+        store.close();
+        openStore(config);
+        assertEquals(5, store.headSequence());
+        assertEquals(304, store.tailSequence());
+        append(305, 1);
+        assertEquals("item305", toObject(store.read(305)));
+    }
+
+    @Test
+    public void maxSize_deletesOldestSegments() {
+        openStore(new RingbufferPersistenceConfig().setSegmentSize(512 * 1024).setMaxSizeMb(1));
+        byte[] payload = new byte[100 * 1024];
+        for (long seq = 0; seq < 30; seq++) {
+            store.append(seq, serializationService.toData(payload), 0);
+        }
+
+        assertTrue(store.headSequence() > 0);
+        assertEquals(29, store.tailSequence());
+        assertTrue(store.sizeBytes() <= 1024 * 1024);
+    }
+
+    @Test
+    public void retention_deletesExpiredSegments_butNotTheLastOne() {
+        openStore(new RingbufferPersistenceConfig().setSegmentSize(256).setRetentionSeconds(1));
+        append(0, 100);
+        int segmentCount = store.segmentCount();
+        assertTrue(segmentCount > 1);
+
+        assertTrue(store.applyRetention(10000));
+
+        assertEquals(1, store.segmentCount());
+        assertEquals(99, store.tailSequence());
+        assertFalse(store.isEmpty());
+    }
+
+    @Test
+    public void destroy_deletesDirectory() {
+        openStore(new RingbufferPersistenceConfig().setSegmentSize(256));
+        append(0, 100);
+
+        store.destroy();
+        store = null;
+
+        assertFalse(dir.exists());
+    }
+
+    private ReadResultSetImpl<String> newResultSet(int maxSize) {
+        return new ReadResultSetImpl<String>(0, maxSize, getNode(createHazelcastInstance()).hazelcastInstance, null);
+    }
+}
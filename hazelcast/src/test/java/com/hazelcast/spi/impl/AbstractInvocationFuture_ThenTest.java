@@ -0,0 +1,236 @@
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.core.NonBlocking;
+import com.hazelcast.test.ExpectedRuntimeException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class AbstractInvocationFuture_ThenTest extends AbstractInvocationFuture_AbstractTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thenApply_whenNullFunction() {
+        future.thenApply(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thenCompose_whenNullFunction() {
+        future.thenCompose(null);
+    }
+
+    @Test
+    public void thenApply() throws Exception {
+        ICompletableFuture<String> result = future.thenApply(new AppendFunction("-applied"));
+
+        future.complete(value);
+
+        assertEquals(value + "-applied", result.get());
+    }
+
+    @Test
+    public void thenApply_whenResponseAlreadyAvailable() throws Exception {
+        future.complete(value);
+
+        ICompletableFuture<String> result = future.thenApply(new AppendFunction("-applied"));
+
+        assertEquals(value + "-applied", result.get());
+    }
+
+    @Test
+    public void thenApply_runsOnDefaultExecutor() {
+        Executor defaultExecutor = mock(Executor.class);
+        TestFuture future = new TestFuture(defaultExecutor, logger);
+        ICompletableFuture<String> result = future.thenApply(new AppendFunction("-applied"));
+
+        future.complete(value);
+
+        verify(defaultExecutor).execute(any(Runnable.class));
+        assertFalse(result.isDone());
+    }
+
+    @Test
+    public void thenApply_whenNonBlocking_runsOnCompletingThread() throws Exception {
+        Executor defaultExecutor = mock(Executor.class);
+        TestFuture future = new TestFuture(defaultExecutor, logger);
+        NonBlockingAppendFunction function = new NonBlockingAppendFunction("-applied");
+        ICompletableFuture<String> result = future.thenApply(function);
+
+        future.complete(value);
+
+        assertSame(Thread.currentThread(), function.thread.get());
+        assertEquals(value + "-applied", result.get());
+        verifyZeroInteractions(defaultExecutor);
+    }
+
+    @Test
+    public void thenApply_whenFutureFails() throws Exception {
+        ICompletableFuture<String> result = future.thenApply(new AppendFunction("-applied"));
+
+        ExpectedRuntimeException error = new ExpectedRuntimeException();
+        future.complete(error);
+
+        assertFailedWith(result, error);
+    }
+
+    @Test
+    public void thenApply_whenFunctionFails() throws Exception {
+        final ExpectedRuntimeException error = new ExpectedRuntimeException();
+        ICompletableFuture<String> result = future.thenApply(new IFunction<Object, String>() {
+            @Override
+            public String apply(Object input) {
+                throw error;
+            }
+        });
+
+        future.complete(value);
+
+        assertFailedWith(result, error);
+    }
+
+    @Test
+    public void thenApply_chained() throws Exception {
+        ICompletableFuture<String> result = future
+                .thenApply(new NonBlockingAppendFunction("-first"))
+                .thenApply(new AppendFunction("-second"));
+
+        future.complete(value);
+
+        assertEquals(value + "-first-second", result.get());
+    }
+
+    @Test
+    public void thenCompose() throws Exception {
+        final TestFuture next = new TestFuture();
+        ICompletableFuture<Object> result = future.thenCompose(new IFunction<Object, ICompletableFuture<Object>>() {
+            @Override
+            public ICompletableFuture<Object> apply(Object input) {
+                return next;
+            }
+        });
+
+        future.complete(value);
+        assertFalse(result.isDone());
+        next.complete("next");
+
+        assertEquals("next", result.get());
+    }
+
+    @Test
+    public void thenCompose_whenNextFutureFails() throws Exception {
+        final TestFuture next = new TestFuture();
+        ICompletableFuture<Object> result = future.thenCompose(new IFunction<Object, ICompletableFuture<Object>>() {
+            @Override
+            public ICompletableFuture<Object> apply(Object input) {
+                return next;
+            }
+        });
+
+        future.complete(value);
+        ExpectedRuntimeException error = new ExpectedRuntimeException();
+        next.complete(error);
+
+        assertFailedWith(result, error);
+    }
+
+    @Test
+    public void thenCompose_whenFunctionReturnsNull() throws Exception {
+        ICompletableFuture<Object> result = future.thenCompose(new IFunction<Object, ICompletableFuture<Object>>() {
+            @Override
+            public ICompletableFuture<Object> apply(Object input) {
+                return null;
+            }
+        });
+
+        future.complete(value);
+
+        try {
+            result.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertInstanceOf(NullPointerException.class, e.getCause());
+        }
+    }
+
+    @Test
+    public void andThen_whenNonBlocking_runsOnCompletingThread() {
+        Executor defaultExecutor = mock(Executor.class);
+        TestFuture future = new TestFuture(defaultExecutor, logger);
+        NonBlockingCallback callback = new NonBlockingCallback();
+        future.andThen(callback);
+
+        future.complete(value);
+
+        assertSame(Thread.currentThread(), callback.thread.get());
+        assertSame(value, callback.response.get());
+        verifyZeroInteractions(defaultExecutor);
+    }
+
+    private static void assertFailedWith(ICompletableFuture future, Throwable expected) throws InterruptedException {
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(expected, e.getCause());
+        }
+    }
+
+    private static class AppendFunction implements IFunction<Object, String> {
+
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        private final String suffix;
+
+        AppendFunction(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public String apply(Object input) {
+            thread.set(Thread.currentThread());
+            return input + suffix;
+        }
+    }
+
+    private static class NonBlockingAppendFunction extends AppendFunction implements NonBlocking {
+
+        NonBlockingAppendFunction(String suffix) {
+            super(suffix);
+        }
+    }
+
+    private static class NonBlockingCallback implements ExecutionCallback<Object>, NonBlocking {
+
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        final AtomicReference<Object> response = new AtomicReference<Object>();
+
+        @Override
+        public void onResponse(Object response) {
+            this.thread.set(Thread.currentThread());
+            this.response.set(response);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+        }
+    }
+}
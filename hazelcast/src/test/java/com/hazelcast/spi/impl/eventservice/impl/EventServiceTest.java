@@ -16,16 +16,27 @@
 
 package com.hazelcast.spi.impl.eventservice.impl;
 
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.Message;
 import com.hazelcast.core.MessageListener;
 import com.hazelcast.instance.HazelcastInstanceImpl;
 import com.hazelcast.instance.HazelcastInstanceProxy;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.internal.diagnostics.Diagnostics;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.listener.EntryUpdatedListener;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -38,10 +49,19 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 public class EventServiceTest extends HazelcastTestSupport {
@@ -116,6 +136,172 @@ public class EventServiceTest extends HazelcastTestSupport {
         l3.await(30, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testBatchedEvents_keepOrder() {
+        Config config = new Config()
+                .setProperty(GroupProperty.EVENT_BATCH_SIZE.getName(), "100")
+                .setProperty(Diagnostics.METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance h1 = factory.newHazelcastInstance(config);
+        HazelcastInstance h2 = factory.newHazelcastInstance(config);
+
+        final int messageCount = 1000;
+        final List<Object> received = Collections.synchronizedList(new ArrayList<Object>());
+        h2.getTopic("foo").addMessageListener(new MessageListener<Object>() {
+            @Override
+            public void onMessage(Message<Object> message) {
+                received.add(message.getMessageObject());
+            }
+        });
+
+        ITopic<Object> topic = h1.getTopic("foo");
+        for (int i = 0; i < messageCount; i++) {
+            topic.publish(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(messageCount, received.size());
+            }
+        });
+        for (int i = 0; i < messageCount; i++) {
+            assertEquals(i, received.get(i));
+        }
+
+        MetricsRegistry metricsRegistry = getNode(h1).nodeEngine.getMetricsRegistry();
+        long batchCount = metricsRegistry.newLongGauge("event.batchCount").read();
+        assertTrue(batchCount > 0);
+        assertTrue(batchCount < messageCount);
+        assertEquals(messageCount, metricsRegistry.newLongGauge("event.batchedEventCount").read());
+    }
+
+    @Test
+    public void testBatchingDisabled() {
+        Config config = new Config()
+                .setProperty(GroupProperty.EVENT_BATCH_SIZE.getName(), "1")
+                .setProperty(Diagnostics.METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance h1 = factory.newHazelcastInstance(config);
+        HazelcastInstance h2 = factory.newHazelcastInstance(config);
+
+        final CountDownLatch latch = new CountDownLatch(100);
+        h2.getTopic("foo").addMessageListener(createMessageListener(latch));
+
+        ITopic<Object> topic = h1.getTopic("foo");
+        for (int i = 0; i < 100; i++) {
+            topic.publish(i);
+        }
+
+        assertOpenEventually(latch);
+        assertEquals(0, getNode(h1).nodeEngine.getMetricsRegistry().newLongGauge("event.batchCount").read());
+    }
+
+    @Test
+    public void testListenerQueue_slowListenerOnlyDropsItsOwnEvents() {
+        Config config = new Config()
+                .setProperty(GroupProperty.EVENT_LISTENER_QUEUE_CAPACITY.getName(), "10")
+                .setProperty(Diagnostics.METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Object> received = Collections.synchronizedList(new ArrayList<Object>());
+        ITopic<Object> topic = hz.getTopic("foo");
+        String id = topic.addMessageListener(new MessageListener<Object>() {
+            @Override
+            public void onMessage(Message<Object> message) {
+                assertOpenEventually(release);
+                received.add(message.getMessageObject());
+            }
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            topic.publish(i);
+        }
+
+        MetricsRegistry metricsRegistry = getNode(hz).nodeEngine.getMetricsRegistry();
+        String prefix = "event.[" + TopicService.SERVICE_NAME + "].listener.[" + id + "]";
+        assertTrue(metricsRegistry.newLongGauge(prefix + ".backlog").read() <= 10);
+        assertTrue(metricsRegistry.newLongGauge(prefix + ".droppedCount").read() > 0);
+        assertEquals(0, metricsRegistry.newLongGauge("event.rejectedCount").read());
+
+        release.countDown();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(received.isEmpty());
+                assertEquals(999, received.get(received.size() - 1));
+            }
+        });
+        assertTrue(received.size() <= 11);
+    }
+
+    @Test
+    public void testListenerQueue_coalesce() {
+        Config config = new Config()
+                .setProperty(GroupProperty.EVENT_LISTENER_QUEUE_CAPACITY.getName(), "10")
+                .setProperty(GroupProperty.EVENT_LISTENER_QUEUE_OVERFLOW_POLICY.getName(), "COALESCE")
+                .setProperty(Diagnostics.METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final Map<Integer, Integer> received = new ConcurrentHashMap<Integer, Integer>();
+        IMap<Integer, Integer> map = hz.getMap("foo");
+        String id = map.addEntryListener(new EntryUpdatedListener<Integer, Integer>() {
+            @Override
+            public void entryUpdated(EntryEvent<Integer, Integer> event) {
+                assertOpenEventually(release);
+                received.put(event.getKey(), event.getValue());
+            }
+        }, true);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i % 10, i);
+        }
+        release.countDown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (int key = 0; key < 10; key++) {
+                    assertEquals(990 + key, (int) received.get(key));
+                }
+            }
+        });
+        MetricsRegistry metricsRegistry = getNode(hz).nodeEngine.getMetricsRegistry();
+        String prefix = "event.[" + MapService.SERVICE_NAME + "].listener.[" + id + "]";
+        assertTrue(metricsRegistry.newLongGauge(prefix + ".coalescedCount").read() > 0);
+    }
+
+    @Test
+    public void testListenerQueue_block_doesNotBlockPartitionThreads() {
+        Config config = new Config()
+                .setProperty(GroupProperty.EVENT_LISTENER_QUEUE_CAPACITY.getName(), "10")
+                .setProperty(GroupProperty.EVENT_LISTENER_QUEUE_OVERFLOW_POLICY.getName(), "BLOCK")
+                .setProperty(GroupProperty.EVENT_QUEUE_TIMEOUT_MILLIS.getName(), String.valueOf(TimeUnit.MINUTES.toMillis(10)))
+                .setProperty(Diagnostics.METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        IMap<Integer, Integer> map = hz.getMap("foo");
+        String id = map.addEntryListener(new EntryUpdatedListener<Integer, Integer>() {
+            @Override
+            public void entryUpdated(EntryEvent<Integer, Integer> event) {
+                assertOpenEventually(release);
+            }
+        }, true);
+
+        // the events are published on the partition thread, which must drop them instead of waiting for the listener
+        for (int i = 0; i < 1000; i++) {
+            map.put(i % 10, i);
+        }
+
+        MetricsRegistry metricsRegistry = getNode(hz).nodeEngine.getMetricsRegistry();
+        String prefix = "event.[" + MapService.SERVICE_NAME + "].listener.[" + id + "]";
+        assertTrue(metricsRegistry.newLongGauge(prefix + ".droppedCount").read() > 0);
+        release.countDown();
+    }
+
     private TopicEvent builTopicEvent(String value, MemberImpl member, SerializationService ss) {
         return new TopicEvent("foo", ss.toData(value), member.getAddress());
     }
@@ -19,6 +19,7 @@ package com.hazelcast.topic;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.ListenerConfig;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.Message;
@@ -43,6 +44,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -91,6 +93,66 @@ public class TopicTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void testPublishAsync() throws Exception {
+        testPublishAsync(false);
+    }
+
+    @Test
+    public void testPublishAsync_whenGlobalOrderingEnabled() throws Exception {
+        testPublishAsync(true);
+    }
+
+    private void testPublishAsync(boolean globalOrderingEnabled) throws Exception {
+        String randomTopicName = randomString();
+        Config config = new Config();
+        config.getTopicConfig(randomTopicName).setGlobalOrderingEnabled(globalOrderingEnabled);
+
+        HazelcastInstance instance = createHazelcastInstance(config);
+        ITopic<String> topic = instance.getTopic(randomTopicName);
+        final CountDownLatch latch = new CountDownLatch(1);
+        topic.addMessageListener(new MessageListener<String>() {
+            @Override
+            public void onMessage(Message<String> message) {
+                if ("foobar".equals(message.getMessageObject())) {
+                    latch.countDown();
+                }
+            }
+        });
+
+        topic.publishAsync("foobar").get();
+
+        assertOpenEventually(latch);
+    }
+
+    @Test
+    public void testPublishAsync_keepsOrder() throws Exception {
+        HazelcastInstance instance = createHazelcastInstance();
+        ITopic<Integer> topic = instance.getTopic(randomString());
+        final List<Integer> received = new CopyOnWriteArrayList<Integer>();
+        topic.addMessageListener(new MessageListener<Integer>() {
+            @Override
+            public void onMessage(Message<Integer> message) {
+                received.add(message.getMessageObject());
+            }
+        });
+
+        final List<Integer> expected = new ArrayList<Integer>();
+        ICompletableFuture<Void> last = null;
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+            last = topic.publishAsync(i);
+        }
+        last.get();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expected, received);
+            }
+        });
+    }
+
     @Test
     public void testTopicPublishingMember() {
         final int nodeCount = 3;
@@ -4,6 +4,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.ReliableTopicConfig;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.Message;
 import com.hazelcast.monitor.LocalTopicStats;
@@ -172,6 +173,56 @@ public abstract class ReliableTopicAbstractTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void publishMultiple_whenManyListeners() throws InterruptedException {
+        final List<ReliableMessageListenerMock> listeners = new ArrayList<ReliableMessageListenerMock>();
+        for (int k = 0; k < 10; k++) {
+            ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+            listeners.add(listener);
+            topic.addMessageListener(listener);
+        }
+
+        final List<String> items = new ArrayList<String>();
+        for (int k = 0; k < CAPACITY; k++) {
+            items.add("" + k);
+            topic.publish("" + k);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReliableMessageListenerMock listener : listeners) {
+                    assertEquals(items, Arrays.asList(listener.objects.toArray()));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void publishAsyncMultiple() throws Exception {
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        final List<String> items = new ArrayList<String>();
+        List<ICompletableFuture<Void>> futures = new ArrayList<ICompletableFuture<Void>>();
+        for (int k = 0; k < CAPACITY; k++) {
+            items.add("" + k);
+            futures.add(topic.publishAsync("" + k));
+        }
+
+        for (ICompletableFuture<Void> future : futures) {
+            future.get();
+        }
+
+        assertEquals(CAPACITY, topic.getLocalTopicStats().getPublishOperationCount());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(items, Arrays.asList(listener.objects.toArray()));
+            }
+        });
+    }
+
     @Test
     public void testMessageFieldSetCorrectly() {
         final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.TopicOverloadException;
+import com.hazelcast.topic.TopicOverloadPolicy;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReliableTopicPublisherTest extends HazelcastTestSupport {
+
+    private static final Executor CALLER_RUNS = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private List<Collection<ReliableTopicMessage>> batches;
+    private List<AddAllFuture> addAllFutures;
+    private List<Runnable> scheduled;
+    private int published;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        batches = new ArrayList<Collection<ReliableTopicMessage>>();
+        addAllFutures = new ArrayList<AddAllFuture>();
+        scheduled = new ArrayList<Runnable>();
+
+        ringbuffer = mock(Ringbuffer.class);
+        when(ringbuffer.capacity()).thenReturn(100L);
+        when(ringbuffer.addAllAsync(anyCollection(), any(OverflowPolicy.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                batches.add(new ArrayList<ReliableTopicMessage>((Collection<ReliableTopicMessage>) invocation.getArguments()[0]));
+                AddAllFuture future = new AddAllFuture();
+                addAllFutures.add(future);
+                return future;
+            }
+        });
+    }
+
+    private ReliableTopicPublisher newPublisher(TopicOverloadPolicy policy) {
+        return new ReliableTopicPublisher("topic", ringbuffer, policy, CALLER_RUNS, Logger.getLogger(getClass())) {
+            @Override
+            protected void schedule(Runnable task, long delayMs) {
+                scheduled.add(task);
+            }
+
+            @Override
+            protected void onPublished(int messageCount) {
+                published += messageCount;
+            }
+        };
+    }
+
+    @Test
+    public void publish_whenBatchInFlight_thenMessagesCoalesced() throws Exception {
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.BLOCK);
+
+        ICompletableFuture<Void> f1 = publisher.publish(message());
+        ICompletableFuture<Void> f2 = publisher.publish(message());
+        ICompletableFuture<Void> f3 = publisher.publish(message());
+        ICompletableFuture<Void> f4 = publisher.publish(message());
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+        assertFalse(f1.isDone());
+
+        addAllFutures.get(0).complete(0L);
+
+        assertNull(f1.get());
+        assertFalse(f2.isDone());
+        assertEquals(2, batches.size());
+        assertEquals(3, batches.get(1).size());
+
+        addAllFutures.get(1).complete(3L);
+
+        assertTrue(f2.isDone());
+        assertTrue(f3.isDone());
+        assertTrue(f4.isDone());
+        assertEquals(4, published);
+    }
+
+    @Test
+    public void publish_whenMoreMessagesThanCapacity_thenBatchLimitedByCapacity() {
+        when(ringbuffer.capacity()).thenReturn(2L);
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.BLOCK);
+
+        for (int k = 0; k < 3; k++) {
+            publisher.publish(message());
+        }
+        addAllFutures.get(0).complete(0L);
+        for (int k = 0; k < 2; k++) {
+            publisher.publish(message());
+        }
+        addAllFutures.get(1).complete(2L);
+
+        assertEquals(3, batches.size());
+        assertEquals(1, batches.get(0).size());
+        assertEquals(2, batches.get(1).size());
+        assertEquals(2, batches.get(2).size());
+    }
+
+    @Test
+    public void publish_whenBlockPolicyAndCapacityWaiting_thenFails() throws Exception {
+        when(ringbuffer.capacity()).thenReturn(2L);
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.BLOCK);
+
+        // the first message is in flight, the next two are waiting
+        for (int k = 0; k < 3; k++) {
+            publisher.publish(message());
+        }
+        ICompletableFuture<Void> f = publisher.publish(message());
+
+        assertTrue(f.isDone());
+        try {
+            f.get();
+            fail();
+        } catch (TopicOverloadException expected) {
+            ignore(expected);
+        } catch (ExecutionException expected) {
+            assertInstanceOf(TopicOverloadException.class, expected.getCause());
+        }
+
+        addAllFutures.get(0).complete(0L);
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(1).size());
+    }
+
+    @Test
+    public void publish_whenDiscardNewestPolicyAndCapacityWaiting_thenDiscarded() throws Exception {
+        when(ringbuffer.capacity()).thenReturn(2L);
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.DISCARD_NEWEST);
+
+        for (int k = 0; k < 3; k++) {
+            publisher.publish(message());
+        }
+        ReliableTopicMessage discarded = message();
+        ICompletableFuture<Void> f = publisher.publish(discarded);
+
+        assertNull(f.get());
+        addAllFutures.get(0).complete(0L);
+        assertEquals(2, batches.size());
+        assertFalse(batches.get(1).contains(discarded));
+    }
+
+    @Test
+    public void publish_whenDiscardOldestPolicyAndCapacityWaiting_thenOldestWaitingDiscarded() throws Exception {
+        when(ringbuffer.capacity()).thenReturn(2L);
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.DISCARD_OLDEST);
+
+        publisher.publish(message());
+        ReliableTopicMessage oldest = message();
+        ICompletableFuture<Void> f = publisher.publish(oldest);
+        publisher.publish(message());
+        ReliableTopicMessage newest = message();
+        publisher.publish(newest);
+
+        assertNull(f.get());
+        addAllFutures.get(0).complete(0L);
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(1).size());
+        assertFalse(batches.get(1).contains(oldest));
+        assertTrue(batches.get(1).contains(newest));
+    }
+
+    @Test
+    public void publish_whenErrorPolicyAndNoSpace_thenBatchFails() throws Exception {
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.ERROR);
+
+        ICompletableFuture<Void> f = publisher.publish(message());
+        addAllFutures.get(0).complete(-1L);
+
+        try {
+            f.get();
+            fail();
+        } catch (TopicOverloadException expected) {
+            ignore(expected);
+        } catch (ExecutionException expected) {
+            assertInstanceOf(TopicOverloadException.class, expected.getCause());
+        }
+        assertEquals(0, published);
+    }
+
+    @Test
+    public void publish_whenDiscardNewestPolicyAndNoSpace_thenBatchDiscarded() throws Exception {
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.DISCARD_NEWEST);
+
+        ICompletableFuture<Void> f = publisher.publish(message());
+        addAllFutures.get(0).complete(-1L);
+
+        assertNull(f.get());
+        assertEquals(1, batches.size());
+        assertEquals(0, published);
+    }
+
+    @Test
+    public void publish_whenBlockPolicyAndNoSpace_thenBatchRetried() throws Exception {
+        ReliableTopicPublisher publisher = newPublisher(TopicOverloadPolicy.BLOCK);
+
+        ICompletableFuture<Void> f1 = publisher.publish(message());
+        ICompletableFuture<Void> f2 = publisher.publish(message());
+        addAllFutures.get(0).complete(-1L);
+
+        assertFalse(f1.isDone());
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        assertEquals(2, batches.size());
+        assertEquals(batches.get(0), batches.get(1));
+
+        addAllFutures.get(1).complete(0L);
+        assertNull(f1.get());
+        assertFalse(f2.isDone());
+        assertEquals(3, batches.size());
+    }
+
+    private static ReliableTopicMessage message() {
+        return new ReliableTopicMessage(null, null);
+    }
+
+    private static final class AddAllFuture extends AbstractCompletableFuture<Long> {
+
+        private AddAllFuture() {
+            super(CALLER_RUNS, Logger.getLogger(AddAllFuture.class));
+        }
+
+        private void complete(long sequence) {
+            setResult(sequence);
+        }
+    }
+}
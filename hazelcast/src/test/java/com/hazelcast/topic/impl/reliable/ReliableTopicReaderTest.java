@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReliableTopicReaderTest extends HazelcastTestSupport {
+
+    private static final Executor CALLER_RUNS = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private List<Long> readSequences;
+    private List<ReadFuture> readFutures;
+    private ReliableTopicReader reader;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        readSequences = new ArrayList<Long>();
+        readFutures = new ArrayList<ReadFuture>();
+
+        Ringbuffer<ReliableTopicMessage> ringbuffer = mock(Ringbuffer.class);
+        when(ringbuffer.readManyAsync(anyLong(), anyInt(), anyInt(), any(IFunction.class)))
+                .thenAnswer(new Answer<Object>() {
+                    @Override
+                    public Object answer(InvocationOnMock invocation) throws Throwable {
+                        readSequences.add((Long) invocation.getArguments()[0]);
+                        ReadFuture future = new ReadFuture();
+                        readFutures.add(future);
+                        return future;
+                    }
+                });
+
+        reader = new ReliableTopicReader(ringbuffer, CALLER_RUNS, 10);
+    }
+
+    @Test
+    public void read_whenSameSequence_thenReadShared() {
+        Listener listener1 = new Listener();
+        Listener listener2 = new Listener();
+
+        reader.read(5, listener1);
+        reader.read(5, listener2);
+
+        assertEquals(1, readSequences.size());
+        assertEquals(1, reader.pendingReads());
+
+        List<ReliableTopicMessage> messages = messages(3);
+        readFutures.get(0).complete(new ListReadResultSet(messages));
+
+        assertEquals(messages, listener1.messages);
+        assertEquals(messages, listener2.messages);
+        assertEquals(0, reader.pendingReads());
+    }
+
+    @Test
+    public void read_whenDifferentSequence_thenSeparateReads() {
+        reader.read(5, new Listener());
+        reader.read(7, new Listener());
+
+        assertEquals(2, readSequences.size());
+        assertEquals(2, reader.pendingReads());
+    }
+
+    @Test
+    public void read_whenSequenceInLastBatch_thenServedFromLastBatch() {
+        Listener listener1 = new Listener();
+        reader.read(5, listener1);
+        List<ReliableTopicMessage> messages = messages(3);
+        readFutures.get(0).complete(new ListReadResultSet(messages));
+
+        Listener listener2 = new Listener();
+        reader.read(6, listener2);
+
+        assertEquals(1, readSequences.size());
+        assertEquals(messages.subList(1, 3), listener2.messages);
+    }
+
+    @Test
+    public void read_whenSequenceAfterLastBatch_thenNewRead() {
+        reader.read(5, new Listener());
+        readFutures.get(0).complete(new ListReadResultSet(messages(3)));
+
+        reader.read(8, new Listener());
+
+        assertEquals(2, readSequences.size());
+        assertEquals(Long.valueOf(8), readSequences.get(1));
+    }
+
+    @Test
+    public void read_whenFailure_thenAllListenersNotified() {
+        Listener listener1 = new Listener();
+        Listener listener2 = new Listener();
+        reader.read(5, listener1);
+        reader.read(5, listener2);
+
+        StaleSequenceException failure = new StaleSequenceException("stale", 10);
+        readFutures.get(0).complete(failure);
+
+        assertSame(failure, listener1.failure);
+        assertSame(failure, listener2.failure);
+        assertNull(listener1.messages);
+        assertEquals(0, reader.pendingReads());
+    }
+
+    private static List<ReliableTopicMessage> messages(int count) {
+        List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>();
+        for (int k = 0; k < count; k++) {
+            messages.add(new ReliableTopicMessage(null, null));
+        }
+        return messages;
+    }
+
+    private static class Listener implements ExecutionCallback<List<ReliableTopicMessage>> {
+
+        private List<ReliableTopicMessage> messages;
+        private Throwable failure;
+
+        @Override
+        public void onResponse(List<ReliableTopicMessage> response) {
+            messages = response;
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            failure = t;
+        }
+    }
+
+    private static final class ReadFuture extends AbstractCompletableFuture<ReadResultSet<ReliableTopicMessage>> {
+
+        private ReadFuture() {
+            super(CALLER_RUNS, Logger.getLogger(ReadFuture.class));
+        }
+
+        private void complete(Object result) {
+            setResult(result);
+        }
+    }
+
+    private static final class ListReadResultSet implements ReadResultSet<ReliableTopicMessage> {
+
+        private final List<ReliableTopicMessage> messages;
+
+        private ListReadResultSet(List<ReliableTopicMessage> messages) {
+            this.messages = messages;
+        }
+
+        @Override
+        public int readCount() {
+            return messages.size();
+        }
+
+        @Override
+        public ReliableTopicMessage get(int index) {
+            return messages.get(index);
+        }
+
+        @Override
+        public Iterator<ReliableTopicMessage> iterator() {
+            return messages.iterator();
+        }
+    }
+}
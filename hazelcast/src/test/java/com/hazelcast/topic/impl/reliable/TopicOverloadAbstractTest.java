@@ -16,6 +16,7 @@
 
 package com.hazelcast.topic.impl.reliable;
 
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.spi.serialization.SerializationService;
@@ -30,6 +31,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
@@ -87,6 +89,48 @@ public abstract class TopicOverloadAbstractTest extends HazelcastTestSupport {
         assertEquals(head, ringbuffer.headSequence());
     }
 
+    @Test
+    public void whenError_andNoSpace_publishAsync() throws Exception {
+        ICompletableFuture<Void> last = null;
+        for (int k = 0; k < ringbuffer.capacity(); k++) {
+            last = topic.publishAsync("old");
+        }
+        last.get();
+
+        long tail = ringbuffer.tailSequence();
+        long head = ringbuffer.headSequence();
+
+        try {
+            topic.publishAsync("new").get();
+            fail();
+        } catch (TopicOverloadException expected) {
+            EmptyStatement.ignore(expected);
+        } catch (ExecutionException expected) {
+            assertInstanceOf(TopicOverloadException.class, expected.getCause());
+        }
+
+        assertEquals(tail, ringbuffer.tailSequence());
+        assertEquals(head, ringbuffer.headSequence());
+    }
+
+    @Test
+    public void whenDiscardNewest_whenNoSpace_publishAsync() throws Exception {
+        ICompletableFuture<Void> last = null;
+        for (int k = 0; k < ringbuffer.capacity(); k++) {
+            last = topic.publishAsync("old");
+        }
+        last.get();
+
+        long tail = ringbuffer.tailSequence();
+        long head = ringbuffer.headSequence();
+
+        topic.publishAsync("new").get();
+
+        // check that nothing has changed
+        assertEquals(tail, ringbuffer.tailSequence());
+        assertEquals(head, ringbuffer.headSequence());
+    }
+
     @Test
     public void whenDiscardOldest_whenNoSpace() {
         for (int k = 0; k < ringbuffer.capacity(); k++) {
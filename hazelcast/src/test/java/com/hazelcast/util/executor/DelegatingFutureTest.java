@@ -18,6 +18,7 @@ package com.hazelcast.util.executor;
 
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IFunction;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
@@ -37,7 +38,9 @@ import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -123,6 +126,60 @@ public class DelegatingFutureTest {
         future.andThen(callback, new CallerRunsExecutor());
     }
 
+    @Test
+    public void test_thenApply_Data() throws Exception {
+        Data data = serializationService.toData("value");
+        ICompletableFuture<String> future = new DelegatingFuture<String>(new FakeCompletableFuture(data),
+                serializationService);
+
+        ICompletableFuture<Integer> length = ChainedFuture.thenApply(future, new IFunction<String, Integer>() {
+            @Override
+            public Integer apply(String input) {
+                return input.length();
+            }
+        });
+
+        assertEquals(5, (int) length.get());
+    }
+
+    @Test
+    public void test_thenApply_Exception() throws Exception {
+        Throwable error = new RuntimeException();
+        ICompletableFuture<String> future = new DelegatingFuture<String>(new FakeCompletableFuture(error), null);
+
+        ICompletableFuture<Integer> length = ChainedFuture.thenApply(future, new IFunction<String, Integer>() {
+            @Override
+            public Integer apply(String input) {
+                return input.length();
+            }
+        });
+
+        try {
+            length.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        }
+    }
+
+    @Test
+    public void test_thenCompose_Data() throws Exception {
+        Data data = serializationService.toData("value");
+        ICompletableFuture<String> future = new DelegatingFuture<String>(new FakeCompletableFuture(data),
+                serializationService);
+
+        IFunction<String, ICompletableFuture<String>> function = new IFunction<String, ICompletableFuture<String>>() {
+            @Override
+            public ICompletableFuture<String> apply(String input) {
+                Data next = serializationService.toData(input + "-next");
+                return new DelegatingFuture<String>(new FakeCompletableFuture(next), serializationService);
+            }
+        };
+        ICompletableFuture<String> composed = ChainedFuture.thenCompose(future, function);
+
+        assertEquals("value-next", composed.get());
+    }
+
     private static class FakeCompletableFuture<V> implements ICompletableFuture<V> {
         private final Object value;
 
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.executor;
+
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class WorkStealingStripedExecutorTest extends HazelcastTestSupport {
+
+    private static final int THREAD_COUNT = 2;
+
+    private final ILogger logger = Logger.getLogger(WorkStealingStripedExecutorTest.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private WorkStealingStripedExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new WorkStealingStripedExecutor(logger, "test", null, THREAD_COUNT, 1000);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testTasksOfKeyRunInOrder() {
+        int keyCount = 10;
+        int taskCount = 1000;
+        final List<List<Integer>> results = new ArrayList<List<Integer>>();
+        for (int key = 0; key < keyCount; key++) {
+            results.add(Collections.synchronizedList(new ArrayList<Integer>()));
+        }
+
+        for (int i = 0; i < taskCount; i++) {
+            for (int key = 0; key < keyCount; key++) {
+                executor.execute(new AddTask(key, i, results.get(key)));
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, executor.getWorkQueueSize());
+            }
+        });
+        for (List<Integer> result : results) {
+            assertEquals(taskCount, result.size());
+            for (int i = 0; i < taskCount; i++) {
+                assertEquals(i, (int) result.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testIdleWorkerStealsFromBlockedWorker() {
+        // keys 0 and 2 belong to the key-queues of the same worker
+        executor.execute(new BlockingTask(0, release));
+        final AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            executor.execute(new CountingTask(2, completed));
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(10, completed.get());
+            }
+        });
+    }
+
+    @Test
+    public void testTasksOfBlockedKeyAreNotStolen() {
+        executor.execute(new BlockingTask(0, release));
+        final AtomicInteger completed = new AtomicInteger();
+        executor.execute(new CountingTask(0, completed));
+
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, completed.get());
+            }
+        }, 1);
+
+        release.countDown();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, completed.get());
+            }
+        });
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testRejectsTasksWhenWorkerIsFull() {
+        executor.shutdown();
+        executor = new WorkStealingStripedExecutor(logger, "test", null, 1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        executor.execute(new BlockingTask(0, release) {
+            @Override
+            public void run() {
+                started.countDown();
+                super.run();
+            }
+        });
+        assertOpenEventually(started);
+
+        executor.execute(new CountingTask(0, new AtomicInteger()));
+        executor.execute(new CountingTask(0, new AtomicInteger()));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testRejectsTasksAfterShutdown() {
+        executor.shutdown();
+
+        assertFalse(executor.isLive());
+        executor.execute(new CountingTask(0, new AtomicInteger()));
+    }
+
+    @Test
+    public void testProbes() {
+        final MetricsRegistryImpl metricsRegistry = new MetricsRegistryImpl(logger, ProbeLevel.INFO);
+        executor.provideMetrics(metricsRegistry, "test");
+
+        executor.execute(new BlockingTask(0, release));
+        executor.execute(new CountingTask(2, new AtomicInteger()));
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, sumProbes(metricsRegistry, ".completedCount"));
+            }
+        });
+
+        assertEquals(1, sumProbes(metricsRegistry, ".stolenKeyQueueCount"));
+        assertEquals(2, sumProbes(metricsRegistry, ".startedCount"));
+        assertTrue(metricsRegistry.getNames().size() >= THREAD_COUNT);
+
+        // reading the max latency doesn't reset it
+        long maxLatencyMicros = sumProbes(metricsRegistry, ".maxLatencyMicros");
+        assertEquals(maxLatencyMicros, sumProbes(metricsRegistry, ".maxLatencyMicros"));
+    }
+
+    private static long sumProbes(MetricsRegistryImpl metricsRegistry, String suffix) {
+        long sum = 0;
+        for (String name : metricsRegistry.getNames()) {
+            if (name.endsWith(suffix)) {
+                sum += metricsRegistry.newLongGauge(name).read();
+            }
+        }
+        return sum;
+    }
+
+    private static class AddTask implements StripedRunnable {
+
+        private final int key;
+        private final int value;
+        private final List<Integer> result;
+
+        AddTask(int key, int value, List<Integer> result) {
+            this.key = key;
+            this.value = value;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            result.add(value);
+        }
+
+        @Override
+        public int getKey() {
+            return key;
+        }
+    }
+
+    private static class CountingTask implements StripedRunnable {
+
+        private final int key;
+        private final AtomicInteger completed;
+
+        CountingTask(int key, AtomicInteger completed) {
+            this.key = key;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            completed.incrementAndGet();
+        }
+
+        @Override
+        public int getKey() {
+            return key;
+        }
+    }
+
+    private static class BlockingTask implements StripedRunnable {
+
+        private final int key;
+        private final CountDownLatch release;
+
+        BlockingTask(int key, CountDownLatch release) {
+            this.key = key;
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            assertOpenEventually(release);
+        }
+
+        @Override
+        public int getKey() {
+            return key;
+        }
+    }
+}